@@ -16,6 +16,8 @@
  */
 package org.apache.isis.applib.services.eventbus;
 
+import java.util.Collection;
+
 import org.apache.isis.applib.internal.context._Plugin;
 
 /**
@@ -50,6 +52,18 @@ public interface EventBusImplementation {
 	 */
 	void post(Object event);
 
+	/**
+	 * The types of event that the subscriber would receive (including, by subtyping, any of their subtypes), or
+	 * <tt>null</tt> if cannot be determined, in which case the subscriber is assumed to receive all events.
+	 *
+	 * <p>
+	 *     Used by {@link org.apache.isis.applib.services.eventbus.EventBusService#hasSubscribers(Class)}.
+	 * </p>
+	 */
+	default Collection<Class<?>> eventTypesSubscribedBy(Object domainService) {
+		return null;
+	}
+
 	// -- LOOKUP
 
 	public static EventBusImplementation get() {
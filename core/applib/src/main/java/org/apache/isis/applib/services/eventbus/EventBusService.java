@@ -16,6 +16,7 @@
  */
 package org.apache.isis.applib.services.eventbus;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
@@ -24,6 +25,7 @@
 import javax.annotation.PreDestroy;
 
 import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.internal.collections._Maps;
 import org.apache.isis.applib.internal.collections._Sets;
 
 /**
@@ -159,6 +161,7 @@ protected void doRegister(Object domainService) {
             subscribers.add(domainService);
         } else {
             eventBusImplementation.register(domainService);
+            indexEventTypesSubscribedBy(eventBusImplementation, domainService);
         }
     }
 
@@ -214,6 +217,64 @@ protected boolean hasPosted() {
 
     
 
+    // -- hasSubscribers
+
+    /**
+     * The types of events subscribed to, indexed in {@link #setupEventBus()}.
+     */
+    private final Set<Class<?>> subscribedEventTypes = _Sets.newConcurrentHashSet();
+
+    /**
+     * Memoizes {@link #hasSubscribers(Class)} for each type of event queried.
+     */
+    private final Map<Class<?>, Boolean> hasSubscribersByEventType = _Maps.newConcurrentHashMap();
+
+    /**
+     * Whether any subscriber would receive an event of the specified type, allowing callers to avoid instantiating
+     * and {@link #post(Object) posting} events that no-one is interested in.
+     *
+     * <p>
+     *     Note that this considers only the type of the event; subscribers are still free to ignore events that they
+     *     do receive (for example those of a {@link AbstractDomainEvent.Phase phase} they are not interested in).
+     * </p>
+     *
+     * <p>
+     *     As for {@link #post(Object)}, calling this method will cause the event bus to be set up (if it has not
+     *     been already).
+     * </p>
+     */
+    @Programmatic
+    public boolean hasSubscribers(final Class<?> eventType) {
+        if(getEventBusImplementation() == null) {
+            return false;
+        }
+        return hasSubscribersByEventType.computeIfAbsent(eventType, this::isSubscribedTo);
+    }
+
+    private boolean isSubscribedTo(final Class<?> eventType) {
+        for (final Class<?> subscribedEventType : subscribedEventTypes) {
+            if(subscribedEventType.isAssignableFrom(eventType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void indexEventTypesSubscribedBy(
+            final EventBusImplementation eventBusImplementation,
+            final Object subscriber) {
+        final Collection<Class<?>> eventTypes = eventBusImplementation.eventTypesSubscribedBy(subscriber);
+        if(eventTypes != null) {
+            subscribedEventTypes.addAll(eventTypes);
+        } else {
+            // can't tell, so assume interested in everything
+            subscribedEventTypes.add(Object.class);
+        }
+        hasSubscribersByEventType.clear();
+    }
+
+    
+
 
     // -- getEventBus
 
@@ -260,13 +321,17 @@ protected void setupEventBus() {
         if(eventBusImplementation != null) {
             return;
         }
-        this.eventBusImplementation = newEventBus();
+        final EventBusImplementation eventBusImplementation = newEventBus();
 
         registeredSubscribers = getSubscribers();
 
         for (Object subscriber : this.registeredSubscribers) {
             eventBusImplementation.register(subscriber);
+            indexEventTypesSubscribedBy(eventBusImplementation, subscriber);
         }
+
+        // only once fully indexed, so that concurrent calls to hasSubscribers(...) never see a partial index
+        this.eventBusImplementation = eventBusImplementation;
     }
 
     protected void teardownEventBus() {
@@ -277,6 +342,8 @@ protected void teardownEventBus() {
         }
 
         this.eventBusImplementation = null;
+        subscribedEventTypes.clear();
+        hasSubscribersByEventType.clear();
     }
 
     
@@ -0,0 +1,102 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.applib.services.publish;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.internal.collections._Lists;
+import org.apache.isis.applib.services.iactn.Interaction;
+
+/**
+ * Simply holds on to everything published, for use in (integration) tests.
+ *
+ * <p>
+ * Deliberately not annotated as a domain service (it would otherwise hold on to everything published for the
+ * lifetime of the application); instead, register it explicitly, eg using the <tt>AppManifest</tt>'s
+ * additional services.
+ * </p>
+ */
+public class PublisherServiceInMemory implements PublisherService {
+
+    private final List<Interaction.Execution<?, ?>> executions = new CopyOnWriteArrayList<>();
+    private final List<PublishedObjects> publishedObjects = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(final Interaction.Execution<?, ?> execution) {
+        executions.add(execution);
+        signal();
+    }
+
+    @Override
+    public void publish(final PublishedObjects publishedObjects) {
+        this.publishedObjects.add(publishedObjects);
+        signal();
+    }
+
+    /**
+     * The executions published so far, in the order published.
+     */
+    @Programmatic
+    public List<Interaction.Execution<?, ?>> getExecutions() {
+        return _Lists.newArrayList(executions);
+    }
+
+    /**
+     * The changed objects published so far, in the order published.
+     */
+    @Programmatic
+    public List<PublishedObjects> getPublishedObjects() {
+        return _Lists.newArrayList(publishedObjects);
+    }
+
+    @Programmatic
+    public void clear() {
+        executions.clear();
+        publishedObjects.clear();
+    }
+
+    /**
+     * Waits (up to the timeout) until at least the specified number of executions and changed objects have been
+     * published in total; useful when publishing asynchronously.
+     *
+     * @return whether that many were published within the timeout.
+     */
+    @Programmatic
+    public synchronized boolean awaitPublished(final int count, final long timeout, final TimeUnit unit)
+            throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (executions.size() + publishedObjects.size() < count) {
+            final long remainingNanos = deadline - System.nanoTime();
+            if(remainingNanos <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+        }
+        return true;
+    }
+
+    private synchronized void signal() {
+        notifyAll();
+    }
+
+}
@@ -56,7 +56,7 @@ public void publish(final Interaction.Execution<?, ?> execution) {
         final InteractionDto interactionDto =
                 InteractionDtoUtils.newInteractionDto(execution, InteractionDtoUtils.Strategy.DEEP);
 
-        LOG.debug(InteractionDtoUtils.toXml(interactionDto));
+        LOG.debug(InteractionDtoUtils.toCompactXml(interactionDto));
 
     }
 
@@ -69,7 +69,7 @@ public void publish(final PublishedObjects publishedObjects) {
 
         final ChangesDto changesDto = publishedObjects.getDto();
 
-        LOG.debug(ChangesDtoUtils.toXml(changesDto));
+        LOG.debug(ChangesDtoUtils.toCompactXml(changesDto));
     }
 
 
@@ -50,6 +50,9 @@ public <T> T execute(
             }
         }
         final Key cacheKey = new Key(callingClass, methodName, keys);
+        if(shared != null && shared.isEnabledFor(callingClass, methodName)) {
+            return executeWithCaching(() -> shared.execute(callable, cacheKey), cacheKey);
+        }
         return executeWithCaching(callable, cacheKey);
     }
 
@@ -134,4 +137,7 @@ public void resetForNextTransaction() {
     @Inject
     protected QueryResultCacheControl control;
 
+    @Inject
+    protected QueryResultsCacheShared shared;
+
 }
\ No newline at end of file
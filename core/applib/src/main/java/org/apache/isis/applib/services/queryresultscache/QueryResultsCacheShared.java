@@ -0,0 +1,516 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.queryresultscache;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.internal.base._Casts;
+import org.apache.isis.applib.internal.collections._Lists;
+import org.apache.isis.applib.internal.collections._Maps;
+import org.apache.isis.applib.internal.collections._Sets;
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Application-scoped second-level tier of the {@link QueryResultsCache}, sharing the results of selected (opted-in)
+ * methods across transactions.
+ *
+ * <p>
+ * A method opts in by configuring its <tt>maxSize</tt> and/or <tt>ttlSeconds</tt>, eg:
+ * <pre>
+ * isis.services.queryResultsCache.shared.com.mycompany.CountryRepository#allCountries.maxSize=10
+ * isis.services.queryResultsCache.shared.com.mycompany.CountryRepository#allCountries.ttlSeconds=3600
+ * isis.services.queryResultsCache.shared.com.mycompany.CountryRepository#allCountries.invalidatedBy=com.mycompany.Country
+ * </pre>
+ * Each such method has its own region, evicting its least recently used entries once full.  A region is cleared
+ * whenever a transaction that changed an entity of any of its <tt>invalidatedBy</tt> types (or, if not specified,
+ * of any type) commits.  Without a <tt>ttlSeconds</tt>, entries never expire: they are held until evicted or
+ * invalidated, so a <tt>ttlSeconds</tt> should be configured for any results that could become stale other than by
+ * a change committed through the framework (eg by some other application writing to the same database).
+ *
+ * <p>
+ * Only immutable results (of calls with immutable arguments) are shared: values such as strings, numbers, enums
+ * and bookmarks, and lists, sets or maps of these (shared as unmodifiable copies, so such methods should declare
+ * their return type as <tt>List</tt>, <tt>Set</tt> or <tt>Map</tt>).  In particular entities, being bound to the
+ * persistence session that loaded them, are never shared; such methods should instead accept and return eg
+ * bookmarks.  Results that are not
+ * shared continue to be cached for the duration of the interaction only.
+ *
+ * <p>
+ * Callers do not use this service directly; {@link QueryResultsCacheInternal} delegates to it for those methods
+ * that have opted in.
+ */
+@DomainService(
+        nature = NatureOfService.DOMAIN,
+        menuOrder = "" + Integer.MAX_VALUE
+)
+public class QueryResultsCacheShared {
+
+    private static final Logger LOG = LoggerFactory.getLogger(QueryResultsCacheShared.class);
+
+    static final String KEY_PREFIX = "isis.services.queryResultsCache.shared.";
+    static final String KEY_SUFFIX_MAX_SIZE = ".maxSize";
+    static final String KEY_SUFFIX_TTL_SECS = ".ttlSeconds";
+    static final String KEY_SUFFIX_INVALIDATED_BY = ".invalidatedBy";
+
+    static final int DEFAULT_MAX_SIZE = 1000;
+
+    /**
+     * Returned by {@link #shareableCopyOf(Object)} for results that cannot be shared.
+     */
+    static final Object UNSHAREABLE = new Object();
+
+    private static final Set<Class<?>> IMMUTABLE_VALUE_TYPES = _Sets.<Class<?>>unmodifiable(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+            Float.class, Double.class, BigDecimal.class, BigInteger.class, UUID.class, Bookmark.class);
+
+    private final Map<String, Region> regionByName = _Maps.newHashMap();
+
+    @Programmatic
+    @PostConstruct
+    public void init(final Map<String, String> properties) {
+        final Map<String, Map<String, String>> settingsByRegionName = _Maps.newHashMap();
+        for (final Map.Entry<String, String> entry : properties.entrySet()) {
+            final String key = entry.getKey();
+            if(!key.startsWith(KEY_PREFIX)) {
+                continue;
+            }
+            for (final String suffix : new String[] { KEY_SUFFIX_MAX_SIZE, KEY_SUFFIX_TTL_SECS, KEY_SUFFIX_INVALIDATED_BY }) {
+                if(key.endsWith(suffix)) {
+                    final String regionName = key.substring(KEY_PREFIX.length(), key.length() - suffix.length());
+                    settingsByRegionName.computeIfAbsent(regionName, __ -> _Maps.newHashMap())
+                            .put(suffix, entry.getValue().trim());
+                }
+            }
+        }
+        for (final Map.Entry<String, Map<String, String>> entry : settingsByRegionName.entrySet()) {
+            final Region region = Region.of(entry.getKey(), entry.getValue());
+            LOG.info("sharing query results across transactions for {}", region);
+            regionByName.put(region.name, region);
+        }
+    }
+
+    /**
+     * Whether results of the method are shared across transactions (ie it has been configured to do so).
+     */
+    @Programmatic
+    public boolean isEnabledFor(final Class<?> callingClass, final String methodName) {
+        return !regionByName.isEmpty() && regionByName.containsKey(regionNameFor(callingClass, methodName));
+    }
+
+    /**
+     * Returns the shared result for the key if there is one, else calls the callable and (if the result is
+     * {@link #shareableCopyOf(Object) immutable}) shares its result.
+     *
+     * <p>
+     * The key's arguments must likewise be immutable; if any is not (for example, an entity) then the callable is
+     * simply called, and its result not shared.
+     *
+     * <p>
+     * Shared collections are unmodifiable copies, returned to every caller (including the one that computed it).
+     *
+     * <p>
+     * Any exceptions are propagated as is; {@link QueryResultsCacheInternal} is responsible for wrapping them.
+     */
+    @Programmatic
+    public <T> T execute(final Callable<T> callable, final QueryResultsCache.Key key) throws Exception {
+        final Region region = regionByName.get(regionNameFor(key.getCallingClass(), key.getMethodName()));
+        if(region == null) {
+            return callable.call();
+        }
+
+        // the key is held on to by the region just as much as the result, so it too must be immutable
+        final QueryResultsCache.Key cacheKey = shareableCopyOf(key);
+        if(cacheKey == null) {
+            region.unshareable.increment();
+            LOG.debug("SHARED SKIP (mutable key): {}", key);
+            return callable.call();
+        }
+
+        final long now = System.nanoTime();
+        final Region.Entry entry = region.get(cacheKey, now);
+        if(entry != null) {
+            LOG.debug("SHARED HIT: {}", cacheKey);
+            return _Casts.uncheckedCast(entry.result);
+        }
+        LOG.debug("SHARED MISS: {}", cacheKey);
+
+        // any commit while the callable is running may have made its result stale already, in which case it is not shared
+        final long generation = region.generation();
+        final T result = callable.call();
+        final Object shareable = shareableCopyOf(result);
+        if(shareable == UNSHAREABLE) {
+            region.unshareable.increment();
+            LOG.debug("SHARED SKIP (mutable result): {}", cacheKey);
+            return result;
+        }
+        region.put(cacheKey, shareable, generation, now);
+        return _Casts.uncheckedCast(shareable);
+    }
+
+    /**
+     * Not API: for framework to call once a transaction has committed, to clear out any regions invalidated by
+     * changes to entities of the specified types.
+     */
+    @Programmatic
+    public void invalidate(final Collection<Class<?>> changedTypes) {
+        if(changedTypes.isEmpty()) {
+            return;
+        }
+        for (final Region region : regionByName.values()) {
+            if(region.isInvalidatedByAnyOf(changedTypes)) {
+                region.clear();
+            }
+        }
+    }
+
+    @Programmatic
+    public void invalidateAll() {
+        for (final Region region : regionByName.values()) {
+            region.clear();
+        }
+    }
+
+    /**
+     * Hit/miss/eviction counters of each of the configured regions.
+     */
+    @Programmatic
+    public List<Statistics> getStatistics() {
+        final List<Statistics> statistics = _Lists.newArrayList();
+        for (final Region region : regionByName.values()) {
+            statistics.add(region.statistics());
+        }
+        return statistics;
+    }
+
+    /**
+     * The form in which the result can be shared across transactions, or {@link #UNSHAREABLE} if it cannot be.
+     *
+     * <p>
+     * Only immutable values are shared: strings, primitive wrappers, {@link BigDecimal}s, {@link BigInteger}s,
+     * enums, <tt>java.time</tt> values, {@link UUID}s and {@link Bookmark}s, along with lists, sets and maps (nested
+     * to any depth) of these, which are copied into unmodifiable collections.  Anything else is not shared; in
+     * particular entities (which are bound to the persistence session that loaded them), view models and
+     * <tt>java.util.Date</tt>s, which are mutable.
+     */
+    static Object shareableCopyOf(final Object result) {
+        if(result == null || isImmutableValue(result)) {
+            return result;
+        }
+        if(result instanceof List) {
+            final List<Object> copy = _Lists.newArrayList();
+            for (final Object element : (List<?>) result) {
+                final Object shareableElement = shareableCopyOf(element);
+                if(shareableElement == UNSHAREABLE) {
+                    return UNSHAREABLE;
+                }
+                copy.add(shareableElement);
+            }
+            return Collections.unmodifiableList(copy);
+        }
+        if(result instanceof Set) {
+            final Set<Object> copy = result instanceof SortedSet
+                    ? new TreeSet<>(_Casts.<SortedSet<Object>>uncheckedCast(result).comparator())
+                    : _Sets.newLinkedHashSet();
+            for (final Object element : (Set<?>) result) {
+                final Object shareableElement = shareableCopyOf(element);
+                if(shareableElement == UNSHAREABLE) {
+                    return UNSHAREABLE;
+                }
+                copy.add(shareableElement);
+            }
+            return copy instanceof SortedSet
+                    ? Collections.unmodifiableSortedSet((SortedSet<Object>) copy)
+                    : Collections.unmodifiableSet(copy);
+        }
+        if(result instanceof Map) {
+            final Map<Object, Object> copy = result instanceof SortedMap
+                    ? new TreeMap<>(_Casts.<SortedMap<Object, Object>>uncheckedCast(result).comparator())
+                    : new LinkedHashMap<>();
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) result).entrySet()) {
+                final Object shareableKey = shareableCopyOf(entry.getKey());
+                final Object shareableValue = shareableCopyOf(entry.getValue());
+                if(shareableKey == UNSHAREABLE || shareableValue == UNSHAREABLE) {
+                    return UNSHAREABLE;
+                }
+                copy.put(shareableKey, shareableValue);
+            }
+            return copy instanceof SortedMap
+                    ? Collections.unmodifiableSortedMap((SortedMap<Object, Object>) copy)
+                    : Collections.unmodifiableMap(copy);
+        }
+        return UNSHAREABLE;
+    }
+
+    /**
+     * A copy of the key whose arguments are all {@link #shareableCopyOf(Object) shareable}, or <tt>null</tt> if any
+     * of them is not (for example, an entity).
+     */
+    static QueryResultsCache.Key shareableCopyOf(final QueryResultsCache.Key key) {
+        final Object[] keys = key.getKeys();
+        final Object[] shareableKeys = new Object[keys != null ? keys.length : 0];
+        for (int i = 0; i < shareableKeys.length; i++) {
+            final Object shareableKey = shareableCopyOf(keys[i]);
+            if(shareableKey == UNSHAREABLE) {
+                return null;
+            }
+            shareableKeys[i] = shareableKey;
+        }
+        return new QueryResultsCache.Key(key.getCallingClass(), key.getMethodName(), shareableKeys);
+    }
+
+    private static boolean isImmutableValue(final Object object) {
+        final Class<?> type = object.getClass();
+        if(IMMUTABLE_VALUE_TYPES.contains(type) || object instanceof Enum) {
+            return true;
+        }
+        final Package pkg = type.getPackage();
+        return pkg != null && pkg.getName().equals("java.time");
+    }
+
+    static String regionNameFor(final Class<?> callingClass, final String methodName) {
+        return callingClass.getName() + "#" + methodName;
+    }
+
+    // -- Region
+
+    static class Region {
+
+        static class Entry {
+            final Object result;
+            final long expiresAt;
+
+            Entry(final Object result, final long expiresAt) {
+                this.result = result;
+                this.expiresAt = expiresAt;
+            }
+        }
+
+        final String name;
+        final int maxSize;
+        final long ttlNanos;
+        final List<String> invalidatedBy;
+
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder evictions = new LongAdder();
+        final LongAdder invalidations = new LongAdder();
+        final LongAdder unshareable = new LongAdder();
+
+        private final LinkedHashMap<QueryResultsCache.Key, Entry> entries;
+        private long generation;
+
+        Region(final String name, final int maxSize, final long ttlNanos, final List<String> invalidatedBy) {
+            this.name = name;
+            this.maxSize = maxSize;
+            this.ttlNanos = ttlNanos;
+            this.invalidatedBy = invalidatedBy;
+            this.entries = new LinkedHashMap<QueryResultsCache.Key, Entry>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<QueryResultsCache.Key, Entry> eldest) {
+                    if(size() > Region.this.maxSize) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        static Region of(final String name, final Map<String, String> settings) {
+            final String maxSize = settings.get(KEY_SUFFIX_MAX_SIZE);
+            final String ttlSecs = settings.get(KEY_SUFFIX_TTL_SECS);
+            final String invalidatedBy = settings.get(KEY_SUFFIX_INVALIDATED_BY);
+            final List<String> invalidatedByList = _Lists.newArrayList();
+            if(invalidatedBy != null) {
+                for (final String typeName : invalidatedBy.split(",")) {
+                    if(!typeName.trim().isEmpty()) {
+                        invalidatedByList.add(typeName.trim());
+                    }
+                }
+            }
+            return new Region(
+                    name,
+                    maxSize != null ? Math.max(1, Integer.parseInt(maxSize)) : DEFAULT_MAX_SIZE,
+                    ttlSecs != null ? TimeUnit.SECONDS.toNanos(Long.parseLong(ttlSecs)) : 0L,
+                    invalidatedByList);
+        }
+
+        synchronized Entry get(final QueryResultsCache.Key key, final long now) {
+            final Entry entry = entries.get(key);
+            if(entry == null) {
+                misses.increment();
+                return null;
+            }
+            if(ttlNanos > 0 && now - entry.expiresAt > 0) {
+                entries.remove(key);
+                evictions.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry;
+        }
+
+        synchronized long generation() {
+            return generation;
+        }
+
+        synchronized void put(final QueryResultsCache.Key key, final Object result, final long generation, final long now) {
+            if(this.generation != generation) {
+                return;
+            }
+            entries.put(key, new Entry(result, now + ttlNanos));
+        }
+
+        synchronized void clear() {
+            generation++;
+            entries.clear();
+            invalidations.increment();
+        }
+
+        boolean isInvalidatedByAnyOf(final Collection<Class<?>> changedTypes) {
+            if(invalidatedBy.isEmpty()) {
+                return true;
+            }
+            for (final Class<?> changedType : changedTypes) {
+                for (Class<?> type = changedType; type != null; type = type.getSuperclass()) {
+                    if(invalidatedBy.contains(type.getName())) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        synchronized Statistics statistics() {
+            return new Statistics(
+                    name, entries.size(), hits.sum(), misses.sum(), evictions.sum(), invalidations.sum(),
+                    unshareable.sum());
+        }
+
+        @Override
+        public String toString() {
+            return String.format("'%s' (maxSize %d, ttl %ds, invalidatedBy %s)",
+                    name, maxSize, TimeUnit.NANOSECONDS.toSeconds(ttlNanos),
+                    invalidatedBy.isEmpty() ? "any entity" : invalidatedBy);
+        }
+    }
+
+    // -- Statistics
+
+    /**
+     * A point-in-time snapshot of the counters of a region (that is, of a method sharing its results).
+     */
+    public static class Statistics {
+        private final String regionName;
+        private final int size;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long invalidations;
+        private final long unshareable;
+
+        Statistics(
+                final String regionName,
+                final int size,
+                final long hits,
+                final long misses,
+                final long evictions,
+                final long invalidations,
+                final long unshareable) {
+            this.regionName = regionName;
+            this.size = size;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.invalidations = invalidations;
+            this.unshareable = unshareable;
+        }
+
+        /**
+         * In the form <tt>FQCN#methodName</tt>.
+         */
+        public String getRegionName() {
+            return regionName;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         * Entries removed because the region was full, or because they had expired.
+         */
+        public long getEvictions() {
+            return evictions;
+        }
+
+        /**
+         * Number of times the region was cleared because of a committed change.
+         */
+        public long getInvalidations() {
+            return invalidations;
+        }
+
+        /**
+         * Number of results not shared because they were (or contained) mutable objects, such as entities.
+         */
+        public long getUnshareable() {
+            return unshareable;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: size %d, hits %d, misses %d, evictions %d, invalidations %d, unshareable %d",
+                    regionName, size, hits, misses, evictions, invalidations, unshareable);
+        }
+    }
+
+}
@@ -21,6 +21,7 @@
 
 import java.util.List;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.query.Query;
@@ -163,6 +164,19 @@ public interface RepositoryService {
     @Programmatic
     <T> List<T> allMatches(Query<T> query);
 
+    /**
+     * As per {@link #allMatches(Query)}, but iterating over the matching instances lazily rather than loading them
+     * all into memory; intended for exports and batch jobs over large numbers of instances.
+     *
+     * <p>
+     *     Once the next instance has been consumed, the previous one is evicted (unless it was modified), so the
+     *     stream should be consumed rather than collected.  The stream must be consumed and
+     *     {@link Stream#close() close}d (eg using try-with-resources) within the current transaction.
+     * </p>
+     */
+    @Programmatic
+    <T> Stream<T> streamMatches(Query<T> query);
+
     /**
      * Find the only instance of the specified type (including subtypes) that
      * has the specified title.
@@ -28,8 +28,6 @@
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
-import javax.xml.bind.Unmarshaller;
 
 import org.apache.isis.applib.internal.resources._Resource;
 
@@ -51,13 +49,16 @@ static JAXBContext getJaxbContext() {
         return jaxbContext;
     }
 
-    public static ChangesDto fromXml(final Reader reader) {
-        try {
-            final Unmarshaller un = getJaxbContext().createUnmarshaller();
-            return (ChangesDto) un.unmarshal(reader);
-        } catch (JAXBException e) {
-            throw new RuntimeException(e);
+    private static JaxbDtoCodec<ChangesDto> codec;
+    private static JaxbDtoCodec<ChangesDto> getCodec() {
+        if(codec == null) {
+            codec = new JaxbDtoCodec<>(ChangesDtoUtils::getJaxbContext);
         }
+        return codec;
+    }
+
+    public static ChangesDto fromXml(final Reader reader) {
+        return getCodec().fromXml(reader);
     }
 
     public static ChangesDto fromXml(final String xml) {
@@ -80,13 +81,24 @@ public static String toXml(final ChangesDto changesDto) {
     }
 
     public static void toXml(final ChangesDto changesDto, final Writer writer) {
-        try {
-            final Marshaller m = getJaxbContext().createMarshaller();
-            m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-            m.marshal(changesDto, writer);
-        } catch (JAXBException e) {
-            throw new RuntimeException(e);
-        }
+        toXml(changesDto, writer, true);
+    }
+
+    /**
+     * As {@link #toXml(ChangesDto, Writer)}, optionally without indentation (as is more appropriate for publishing,
+     * persisting or transmitting the XML).
+     */
+    public static void toXml(final ChangesDto changesDto, final Writer writer, final boolean formatted) {
+        getCodec().toXml(changesDto, writer, formatted);
+    }
+
+    /**
+     * Non-indented XML.
+     */
+    public static String toCompactXml(final ChangesDto changesDto) {
+        final CharArrayWriter caw = new CharArrayWriter();
+        toXml(changesDto, caw, false);
+        return caw.toString();
     }
     
 
@@ -26,9 +26,6 @@
 import java.nio.charset.Charset;
 
 import javax.xml.bind.JAXBContext;
-import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
-import javax.xml.bind.Unmarshaller;
 
 import org.apache.isis.applib.internal.resources._Resource;
 import org.apache.isis.applib.util.JaxbUtil;
@@ -54,13 +51,16 @@ static JAXBContext getJaxbContext() {
         return jaxbContext;
     }
 
-    public static CommandDto fromXml(final Reader reader) {
-        try {
-            final Unmarshaller un = getJaxbContext().createUnmarshaller();
-            return (CommandDto) un.unmarshal(reader);
-        } catch (JAXBException e) {
-            throw new RuntimeException(e);
+    private static JaxbDtoCodec<CommandDto> codec;
+    private static JaxbDtoCodec<CommandDto> getCodec() {
+        if(codec == null) {
+            codec = new JaxbDtoCodec<>(CommandDtoUtils::getJaxbContext);
         }
+        return codec;
+    }
+
+    public static CommandDto fromXml(final Reader reader) {
+        return getCodec().fromXml(reader);
     }
 
     public static CommandDto fromXml(final String xml) {
@@ -83,13 +83,24 @@ public static String toXml(final CommandDto commandDto) {
     }
 
     public static void toXml(final CommandDto commandDto, final Writer writer) {
-        try {
-            final Marshaller m = getJaxbContext().createMarshaller();
-            m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-            m.marshal(commandDto, writer);
-        } catch (JAXBException e) {
-            throw new RuntimeException(e);
-        }
+        toXml(commandDto, writer, true);
+    }
+
+    /**
+     * As {@link #toXml(CommandDto, Writer)}, optionally without indentation (as is more appropriate for persisting or
+     * transmitting the XML).
+     */
+    public static void toXml(final CommandDto commandDto, final Writer writer, final boolean formatted) {
+        getCodec().toXml(commandDto, writer, formatted);
+    }
+
+    /**
+     * Non-indented XML.
+     */
+    public static String toCompactXml(final CommandDto commandDto) {
+        final CharArrayWriter caw = new CharArrayWriter();
+        toXml(commandDto, caw, false);
+        return caw.toString();
     }
 
     
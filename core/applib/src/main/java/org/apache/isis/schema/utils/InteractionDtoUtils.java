@@ -31,8 +31,6 @@
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
-import javax.xml.bind.Unmarshaller;
 
 import org.apache.isis.applib.internal.base._NullSafe;
 import org.apache.isis.applib.internal.collections._Lists;
@@ -70,13 +68,16 @@ static JAXBContext getJaxbContext() {
 		return jaxbContext;
 	}
 
-	public static InteractionDto fromXml(final Reader reader) {
-		try {
-			final Unmarshaller un = getJaxbContext().createUnmarshaller();
-			return (InteractionDto) un.unmarshal(reader);
-		} catch (JAXBException e) {
-			throw new RuntimeException(e);
+	private static JaxbDtoCodec<InteractionDto> codec;
+	private static JaxbDtoCodec<InteractionDto> getCodec() {
+		if(codec == null) {
+			codec = new JaxbDtoCodec<>(InteractionDtoUtils::getJaxbContext);
 		}
+		return codec;
+	}
+
+	public static InteractionDto fromXml(final Reader reader) {
+		return getCodec().fromXml(reader);
 	}
 
 	public static InteractionDto fromXml(final String xml) {
@@ -99,13 +100,24 @@ public static String toXml(final InteractionDto interactionDto) {
 	}
 
 	public static void toXml(final InteractionDto interactionDto, final Writer writer) {
-		try {
-			final Marshaller m = getJaxbContext().createMarshaller();
-			m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-			m.marshal(interactionDto, writer);
-		} catch (JAXBException e) {
-			throw new RuntimeException(e);
-		}
+		toXml(interactionDto, writer, true);
+	}
+
+	/**
+	 * As {@link #toXml(InteractionDto, Writer)}, optionally without indentation (as is more appropriate for publishing,
+	 * persisting or transmitting the XML).
+	 */
+	public static void toXml(final InteractionDto interactionDto, final Writer writer, final boolean formatted) {
+		getCodec().toXml(interactionDto, writer, formatted);
+	}
+
+	/**
+	 * Non-indented XML.
+	 */
+	public static String toCompactXml(final InteractionDto interactionDto) {
+		final CharArrayWriter caw = new CharArrayWriter();
+		toXml(interactionDto, caw, false);
+		return caw.toString();
 	}
 	
 
@@ -0,0 +1,107 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.schema.utils;
+
+import java.io.Reader;
+import java.io.Writer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Supplier;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+
+import org.apache.isis.applib.internal.base._Casts;
+
+/**
+ * Converts a JAXB-annotated DTO (for which the {@link JAXBContext} is provided) to and from XML, reusing
+ * {@link Marshaller}s and {@link Unmarshaller}s (which are not thread-safe).
+ *
+ * <p>
+ * These are pooled (rather than held per thread) so that none are left behind on container threads, which would
+ * otherwise pin the webapp's class loader once undeployed; at most {@link #POOL_SIZE} of each are kept, any more
+ * being created as required and then discarded.
+ */
+final class JaxbDtoCodec<T> {
+
+    static final int POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
+    private final Supplier<JAXBContext> jaxbContextSupplier;
+
+    private final BlockingQueue<Marshaller> formattedMarshallers = new ArrayBlockingQueue<>(POOL_SIZE);
+    private final BlockingQueue<Marshaller> compactMarshallers = new ArrayBlockingQueue<>(POOL_SIZE);
+    private final BlockingQueue<Unmarshaller> unmarshallers = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    JaxbDtoCodec(final Supplier<JAXBContext> jaxbContextSupplier) {
+        this.jaxbContextSupplier = jaxbContextSupplier;
+    }
+
+    T fromXml(final Reader reader) {
+        final Unmarshaller unmarshaller = unmarshaller();
+        try {
+            final T dto = _Casts.uncheckedCast(unmarshaller.unmarshal(reader));
+            unmarshallers.offer(unmarshaller);
+            return dto;
+        } catch (JAXBException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    void toXml(final T dto, final Writer writer, final boolean formatted) {
+        final BlockingQueue<Marshaller> marshallers = formatted ? formattedMarshallers : compactMarshallers;
+        final Marshaller marshaller = marshaller(marshallers, formatted);
+        try {
+            marshaller.marshal(dto, writer);
+            marshallers.offer(marshaller);
+        } catch (JAXBException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // -- helpers
+
+    private Marshaller marshaller(final BlockingQueue<Marshaller> marshallers, final boolean formatted) {
+        final Marshaller pooled = marshallers.poll();
+        if(pooled != null) {
+            return pooled;
+        }
+        try {
+            final Marshaller m = jaxbContextSupplier.get().createMarshaller();
+            m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, formatted);
+            return m;
+        } catch (JAXBException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private Unmarshaller unmarshaller() {
+        final Unmarshaller pooled = unmarshallers.poll();
+        if(pooled != null) {
+            return pooled;
+        }
+        try {
+            return jaxbContextSupplier.get().createUnmarshaller();
+        } catch (JAXBException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+}
@@ -0,0 +1,265 @@
+/**
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.isis.applib.services.queryresultscache;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.applib.internal.base._Casts;
+import org.apache.isis.applib.internal.collections._Lists;
+import org.apache.isis.applib.internal.collections._Maps;
+import org.apache.isis.applib.services.bookmark.Bookmark;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class QueryResultsCacheSharedTest {
+
+    static class Repository {}
+    static class Country {}
+    static class Region extends Country {}
+    static class Customer {}
+
+    private QueryResultsCacheShared shared;
+    private AtomicInteger calls;
+
+    @Before
+    public void setUp() throws Exception {
+        final Map<String, String> properties = _Maps.newHashMap();
+        properties.put(QueryResultsCacheShared.KEY_PREFIX + Repository.class.getName() + "#findCountry.maxSize", "2");
+        properties.put(QueryResultsCacheShared.KEY_PREFIX + Repository.class.getName() + "#findCountry.invalidatedBy", Country.class.getName());
+        properties.put(QueryResultsCacheShared.KEY_PREFIX + Repository.class.getName() + "#findAny.ttlSeconds", "60");
+        properties.put("isis.some.other.property", "ignored");
+
+        shared = new QueryResultsCacheShared();
+        shared.init(properties);
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    public void only_enabled_for_configured_methods() throws Exception {
+        assertThat(shared.isEnabledFor(Repository.class, "findCountry"), is(true));
+        assertThat(shared.isEnabledFor(Repository.class, "findAny"), is(true));
+        assertThat(shared.isEnabledFor(Repository.class, "findCustomer"), is(false));
+    }
+
+    @Test
+    public void hit_after_miss() throws Exception {
+        assertThat(execute("findCountry", "uk"), is("uk-1"));
+        assertThat(execute("findCountry", "uk"), is("uk-1"));
+        assertThat(execute("findCountry", "fr"), is("fr-2"));
+
+        final QueryResultsCacheShared.Statistics statistics = statisticsFor("findCountry");
+        assertThat(statistics.getHits(), is(1L));
+        assertThat(statistics.getMisses(), is(2L));
+        assertThat(statistics.getSize(), is(2));
+    }
+
+    @Test
+    public void evicts_least_recently_used() throws Exception {
+        execute("findCountry", "uk");
+        execute("findCountry", "fr");
+        execute("findCountry", "uk");
+        execute("findCountry", "de");
+
+        assertThat(statisticsFor("findCountry").getEvictions(), is(1L));
+        assertThat(execute("findCountry", "uk"), is("uk-1"));
+        assertThat(execute("findCountry", "fr"), is("fr-4"));
+    }
+
+    @Test
+    public void invalidated_by_configured_types_and_their_subtypes() throws Exception {
+        execute("findCountry", "uk");
+
+        shared.invalidate(Collections.<Class<?>>singleton(Customer.class));
+        assertThat(execute("findCountry", "uk"), is("uk-1"));
+
+        shared.invalidate(Collections.<Class<?>>singleton(Region.class));
+        assertThat(execute("findCountry", "uk"), is("uk-2"));
+        assertThat(statisticsFor("findCountry").getInvalidations(), is(1L));
+    }
+
+    @Test
+    public void invalidated_by_any_type_if_none_configured() throws Exception {
+        execute("findAny", "x");
+
+        shared.invalidate(Collections.<Class<?>>singleton(Customer.class));
+        assertThat(execute("findAny", "x"), is("x-2"));
+    }
+
+    @Test
+    public void result_not_shared_if_invalidated_while_being_computed() throws Exception {
+        final QueryResultsCache.Key key = new QueryResultsCache.Key(Repository.class, "findCountry", "uk");
+        shared.execute(() -> {
+            shared.invalidateAll();
+            return "stale";
+        }, key);
+
+        assertThat(execute("findCountry", "uk"), is("uk-1"));
+    }
+
+    @Test
+    public void shares_immutable_values() throws Exception {
+        for (final Object value : Arrays.asList(
+                "uk", 1, 2L, BigDecimal.ONE, Boolean.TRUE, TimeUnit.SECONDS, LocalDate.of(2018, 1, 1),
+                new Bookmark("CTY", "1"))) {
+            assertThat(QueryResultsCacheShared.shareableCopyOf(value), is(sameInstance(value)));
+        }
+    }
+
+    @Test
+    public void does_not_share_mutable_objects() throws Exception {
+        assertThat(QueryResultsCacheShared.shareableCopyOf(new Country()),
+                is(sameInstance(QueryResultsCacheShared.UNSHAREABLE)));
+        assertThat(QueryResultsCacheShared.shareableCopyOf(new Date()),
+                is(sameInstance(QueryResultsCacheShared.UNSHAREABLE)));
+        assertThat(QueryResultsCacheShared.shareableCopyOf(new String[] { "uk" }),
+                is(sameInstance(QueryResultsCacheShared.UNSHAREABLE)));
+    }
+
+    @Test
+    public void does_not_share_collections_containing_mutable_objects_at_any_depth() throws Exception {
+        final List<Object> nested = _Lists.newArrayList();
+        nested.add("uk");
+        nested.add(Collections.singletonMap("fr", Collections.singletonList(new Country())));
+
+        assertThat(QueryResultsCacheShared.shareableCopyOf(nested),
+                is(sameInstance(QueryResultsCacheShared.UNSHAREABLE)));
+    }
+
+    @Test
+    public void shares_collections_of_values_as_unmodifiable_copies() throws Exception {
+        final List<String> countries = _Lists.newArrayList();
+        countries.add("uk");
+        countries.add("fr");
+        final SortedSet<String> sorted = new TreeSet<>(countries);
+
+        final List<String> sharedCountries = _Casts.uncheckedCast(QueryResultsCacheShared.shareableCopyOf(countries));
+        final SortedSet<String> sharedSorted = _Casts.uncheckedCast(QueryResultsCacheShared.shareableCopyOf(sorted));
+
+        assertThat(sharedCountries, is(countries));
+        assertThat(sharedCountries, is(not(sameInstance(countries))));
+        assertThat(sharedSorted.first(), is("fr"));
+        try {
+            sharedCountries.add("de");
+            fail();
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+
+        // changing the original does not change the copy
+        countries.clear();
+        assertThat(sharedCountries.size(), is(2));
+    }
+
+    @Test
+    public void shared_collection_is_returned_to_all_callers() throws Exception {
+        final QueryResultsCache.Key key = new QueryResultsCache.Key(Repository.class, "findCountry", "all");
+        final Callable<List<String>> callable = () -> {
+            calls.incrementAndGet();
+            return _Lists.newArrayList(Arrays.asList("uk"));
+        };
+
+        final List<String> first = shared.execute(callable, key);
+        final List<String> second = shared.execute(callable, key);
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(calls.get(), is(1));
+        try {
+            first.add("fr");
+            fail();
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void mutable_result_is_returned_but_not_shared() throws Exception {
+        final QueryResultsCache.Key key = new QueryResultsCache.Key(Repository.class, "findCountry", "mutable");
+        final Callable<Country> callable = () -> {
+            calls.incrementAndGet();
+            return new Country();
+        };
+
+        final Country first = shared.execute(callable, key);
+        final Country second = shared.execute(callable, key);
+
+        assertThat(second, is(not(sameInstance(first))));
+        assertThat(calls.get(), is(2));
+        assertThat(statisticsFor("findCountry").getUnshareable(), is(2L));
+    }
+
+    @Test
+    public void not_shared_if_any_argument_is_mutable() throws Exception {
+        final Customer customer = new Customer();
+        final QueryResultsCache.Key key = new QueryResultsCache.Key(Repository.class, "findCountry", "uk", customer);
+        final Callable<String> callable = () -> "uk-" + calls.incrementAndGet();
+
+        assertThat(shared.execute(callable, key), is("uk-1"));
+        assertThat(shared.execute(callable, key), is("uk-2"));
+
+        final QueryResultsCacheShared.Statistics statistics = statisticsFor("findCountry");
+        assertThat(statistics.getSize(), is(0));
+        assertThat(statistics.getUnshareable(), is(2L));
+    }
+
+    @Test
+    public void collection_arguments_are_copied() throws Exception {
+        final List<String> codes = _Lists.newArrayList("uk");
+        final QueryResultsCache.Key key = new QueryResultsCache.Key(Repository.class, "findCountry", codes);
+        final Callable<String> callable = () -> "countries-" + calls.incrementAndGet();
+        shared.execute(callable, key);
+
+        // when the caller subsequently changes the argument
+        codes.add("fr");
+
+        // then the shared result is still keyed by the original
+        assertThat(shared.execute(callable, new QueryResultsCache.Key(Repository.class, "findCountry", Arrays.asList("uk"))),
+                is("countries-1"));
+    }
+
+    private String execute(final String methodName, final String arg) throws Exception {
+        final QueryResultsCache.Key key = new QueryResultsCache.Key(Repository.class, methodName, arg);
+        return shared.execute(() -> arg + "-" + calls.incrementAndGet(), key);
+    }
+
+    private QueryResultsCacheShared.Statistics statisticsFor(final String methodName) {
+        for (final QueryResultsCacheShared.Statistics statistics : shared.getStatistics()) {
+            if(statistics.getRegionName().equals(Repository.class.getName() + "#" + methodName)) {
+                return statistics;
+            }
+        }
+        throw new IllegalArgumentException(methodName);
+    }
+
+}
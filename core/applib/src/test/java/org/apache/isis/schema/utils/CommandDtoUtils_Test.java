@@ -18,15 +18,23 @@
  */
 package org.apache.isis.schema.utils;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.Before;
 import org.junit.Test;
 
+import org.apache.isis.schema.cmd.v1.ActionDto;
 import org.apache.isis.schema.cmd.v1.CommandDto;
 import org.apache.isis.schema.cmd.v1.MapDto;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 public class CommandDtoUtils_Test {
 
@@ -65,4 +73,43 @@ public void setUserData() {
         CommandDtoUtils.setUserData(dto, "someKey", null);
         assertThat(CommandDtoUtils.getUserData(dto, "someKey"), is(nullValue()));
     }
+
+    @Test
+    public void toCompactXml_and_back() {
+
+        dto.setMajorVersion("1");
+        dto.setMinorVersion("4");
+        dto.setTransactionId("1231231-123123-123123-123123");
+        dto.setUser("sven");
+        final ActionDto actionDto = new ActionDto();
+        actionDto.setMemberIdentifier("org.apache.isis.Customer#placeOrder()");
+        dto.setMember(actionDto);
+        CommandDtoUtils.setUserData(dto, "someKey", "someValue");
+
+        final String compactXml = CommandDtoUtils.toCompactXml(dto);
+        final CommandDto roundtripped = CommandDtoUtils.fromXml(compactXml);
+
+        assertThat(CommandDtoUtils.toXml(roundtripped), is(CommandDtoUtils.toXml(dto)));
+        assertTrue(compactXml.length() < CommandDtoUtils.toXml(dto).length());
+    }
+
+    @Test
+    public void marshallers_are_reused_concurrently() throws Exception {
+
+        dto.setTransactionId("1231231-123123-123123-123123");
+        final String expected = CommandDtoUtils.toCompactXml(dto);
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(2 * JaxbDtoCodec.POOL_SIZE);
+        try {
+            final List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                futures.add(executorService.submit(() -> CommandDtoUtils.toCompactXml(CommandDtoUtils.fromXml(expected))));
+            }
+            for (final Future<String> future : futures) {
+                assertThat(future.get(), is(expected));
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
 }
\ No newline at end of file
@@ -133,6 +133,14 @@ public void setAttribute(final String attributeName, final Object attribute) {
         attributeByName.put(attributeName, attribute);
     }
 
+    /**
+     * A copy of all {@link #getAttribute(String) attributes}, for example so that a new session can be created for
+     * the same (already authenticated) user.
+     */
+    public Map<String, Object> copyOfAttributes() {
+        return Collections.unmodifiableMap(new HashMap<String, Object>(attributeByName));
+    }
+
     
 
     // -- MessageBroker
@@ -18,15 +18,6 @@
  */
 package org.apache.isis.core.metamodel.adapter.oid;
 
-import java.util.Iterator;
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
-import com.google.common.base.Splitter;
-import com.google.common.base.Strings;
-import com.google.common.collect.Lists;
-
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.services.bookmark.Bookmark;
 import org.apache.isis.core.metamodel.adapter.oid.Oid.State;
@@ -93,40 +84,25 @@ private OidMarshaller(){}
     
 
     // -- private constants
-    private static final String TRANSIENT_INDICATOR =
-            Bookmark.ObjectState.TRANSIENT.getCode() ; // "!"
+    private static final char TRANSIENT_INDICATOR_CHAR =
+            Bookmark.ObjectState.TRANSIENT.getCode().charAt(0); // '!'
+    private static final char VIEWMODEL_INDICATOR_CHAR =
+            VIEWMODEL_INDICATOR.charAt(0); // '*'
 
 	private static final String SEPARATOR = ":";
-	private static final String SEPARATOR_NESTING = "~";
 	private static final String SEPARATOR_COLLECTION = "$";
-	private static final String SEPARATOR_VERSION = "^";
 
-	private static final String WORD = "[^" + SEPARATOR + SEPARATOR_NESTING + SEPARATOR_COLLECTION + "\\" + SEPARATOR_VERSION + "#" + "]+";
-	private static final String DIGITS = "\\d+";
-	
-	private static final String WORD_GROUP = "(" + WORD + ")";
-	private static final String DIGITS_GROUP = "(" + DIGITS + ")";
-    
-	private static Pattern OIDSTR_PATTERN = 
-            Pattern.compile(
-            		"^(" +
-            		   "(" +
-            		     "([" + TRANSIENT_INDICATOR + VIEWMODEL_INDICATOR + "])?" +
-            		     WORD_GROUP + SEPARATOR + WORD_GROUP + 
-            		   ")" +
-            		   "(" + 
-            			 "(" + SEPARATOR_NESTING + WORD + SEPARATOR + WORD + ")*" + // nesting of aggregates
-            		   ")" +
-            		 ")" +
-    		 		 "(" + "[" + SEPARATOR_COLLECTION + "]" + WORD + ")?"  + // optional collection name
-    		 		 "(" + 
-    		 		     "[\\" + SEPARATOR_VERSION + "]" +  
-    		 		     DIGITS_GROUP +                    // optional version digit
-    		 		     SEPARATOR + WORD_GROUP + "?" +    // optional version user name 
-    		 		     SEPARATOR + DIGITS_GROUP + "?" +  // optional version UTC time
-    		 		 ")?" + 
-            		 "$");
-    
+	private static final char SEPARATOR_CHAR = ':';
+	private static final char SEPARATOR_NESTING_CHAR = '~';
+	private static final char SEPARATOR_COLLECTION_CHAR = '$';
+	private static final char SEPARATOR_VERSION_CHAR = '^';
+
+	/**
+	 * Describes the syntax accepted by {@link #unmarshal(String, Class)}, where a <i>word</i> is any (non-empty)
+	 * sequence of characters other than the separators and <tt>#</tt>.
+	 */
+	private static final String OIDSTR_SYNTAX =
+			"[!|*]word:word(~word:word)*[$word][^digits:[word]:[digits]]";
 
     // -- join, split
     @Programmatic
@@ -144,103 +120,143 @@ public String splitInstanceId(String oidStr) {
 
     // -- unmarshal
 
+    /**
+     * Parses the oid str in a single pass (rather than using a regular expression), as this is done for every
+     * bookmark, memento and link.
+     */
     @Programmatic
     @SuppressWarnings("unchecked")
 	public <T extends Oid> T unmarshal(String oidStr, Class<T> requestedType) {
-        
-        final Matcher matcher = OIDSTR_PATTERN.matcher(oidStr);
-        if (!matcher.matches()) {
-            throw new IllegalArgumentException("Could not parse OID '" + oidStr + "'; should match pattern: " + OIDSTR_PATTERN.pattern());
+
+        final int length = oidStr.length();
+        int pos = 0;
+
+        // optional state indicator, only if followed by the root object type
+        State state = State.PERSISTENT;
+        if(length > 1 && isWordChar(oidStr.charAt(1))) {
+            final char indicator = oidStr.charAt(0);
+            if(indicator == TRANSIENT_INDICATOR_CHAR) {
+                state = State.TRANSIENT;
+                pos++;
+            } else if(indicator == VIEWMODEL_INDICATOR_CHAR) {
+                state = State.VIEWMODEL;
+                pos++;
+            }
         }
 
-        final String isTransientOrViewModelStr = getGroup(matcher, 3);
-        final State state;
-        if("!".equals(isTransientOrViewModelStr)) {
-            state = State.TRANSIENT;
-        } else if("*".equals(isTransientOrViewModelStr)) {
-            state = State.VIEWMODEL;
-        } else {
-            state = State.PERSISTENT;
+        final int rootObjectTypeEnd = endOfWord(oidStr, pos);
+        final int rootIdentifierEnd = endOfWord(oidStr, expect(oidStr, rootObjectTypeEnd, SEPARATOR_CHAR));
+        final String rootObjectType = oidStr.substring(pos, rootObjectTypeEnd);
+        final String rootIdentifier = oidStr.substring(rootObjectTypeEnd + 1, rootIdentifierEnd);
+        pos = rootIdentifierEnd;
+
+        // nesting of aggregates
+        boolean aggregated = false;
+        while(pos < length && oidStr.charAt(pos) == SEPARATOR_NESTING_CHAR) {
+            pos = endOfWord(oidStr, expect(oidStr, endOfWord(oidStr, pos + 1), SEPARATOR_CHAR));
+            aggregated = true;
         }
-        
-        final String rootObjectType = getGroup(matcher, 4);
-        final String rootIdentifier = getGroup(matcher, 5);
-        
-        final String aggregateOidPart = getGroup(matcher, 6);
-        final List<AggregateOidPart> aggregateOidParts = Lists.newArrayList();
-        final Splitter nestingSplitter = Splitter.on(SEPARATOR_NESTING);
-        final Splitter partsSplitter = Splitter.on(SEPARATOR);
-        if(aggregateOidPart != null) {
-            final Iterable<String> tildaSplitIter = nestingSplitter.split(aggregateOidPart);
-            for(String str: tildaSplitIter) {
-                if(Strings.isNullOrEmpty(str)) {
-                    continue; // leading "~"
-                }
-                final Iterator<String> colonSplitIter = partsSplitter.split(str).iterator();
-                final String objectType = colonSplitIter.next();
-                final String localId = colonSplitIter.next();
-                aggregateOidParts.add(new AggregateOidPart(objectType, localId));
-            }
+
+        // optional collection name
+        String collectionName = null;
+        if(pos < length && oidStr.charAt(pos) == SEPARATOR_COLLECTION_CHAR) {
+            final int collectionNameEnd = endOfWord(oidStr, pos + 1);
+            collectionName = oidStr.substring(pos + 1, collectionNameEnd);
+            pos = collectionNameEnd;
+        }
+
+        // optional version (sequence, optional user name, optional UTC time)
+        Version version = null;
+        if(pos < length && oidStr.charAt(pos) == SEPARATOR_VERSION_CHAR) {
+            final int sequenceEnd = endOfDigits(oidStr, pos + 1, false);
+            final int userStart = expect(oidStr, sequenceEnd, SEPARATOR_CHAR);
+            final int userEnd = endOfOptionalWord(oidStr, userStart);
+            final int utcTimestampStart = expect(oidStr, userEnd, SEPARATOR_CHAR);
+            final int utcTimestampEnd = endOfDigits(oidStr, utcTimestampStart, true);
+            version = Version.create(
+                    oidStr.substring(pos + 1, sequenceEnd),
+                    emptyToNull(oidStr, userStart, userEnd),
+                    emptyToNull(oidStr, utcTimestampStart, utcTimestampEnd));
+            pos = utcTimestampEnd;
+        }
+
+        if(pos != length) {
+            throw couldNotParse(oidStr);
         }
-        final String collectionPart = getGroup(matcher, 8);
-        final String collectionName = collectionPart != null ? collectionPart.substring(1) : null;
-        
-        final String versionSequence = getGroup(matcher, 10);
-        final String versionUser = getGroup(matcher, 11); 
-        final String versionUtcTimestamp = getGroup(matcher, 12);
-        final Version version = Version.create(versionSequence, versionUser, versionUtcTimestamp);
 
+        if(aggregated) {
+            throw new RuntimeException("Aggregated Oids are no longer supported");
+        }
+
+        final RootOid rootOid = new RootOid(ObjectSpecId.of(rootObjectType), rootIdentifier, state, version);
         if(collectionName == null) {
-            if(aggregateOidParts.isEmpty()) {
-                ensureCorrectType(oidStr, requestedType, RootOid.class);
-                return (T) new RootOid(ObjectSpecId.of(rootObjectType), rootIdentifier, state, version);
-            } else {
-                throw new RuntimeException("Aggregated Oids are no longer supported");
-            }
+            ensureCorrectType(oidStr, requestedType, RootOid.class);
+            return (T) rootOid;
         } else {
-            final String oidStrWithoutCollectionName = getGroup(matcher, 1);
-            
-            final String parentOidStr = oidStrWithoutCollectionName + marshal(version);
-
-            RootOid parentOid = this.unmarshal(parentOidStr, RootOid.class);
             ensureCorrectType(oidStr, requestedType, ParentedCollectionOid.class);
-            return (T)new ParentedCollectionOid(parentOid, collectionName);
+            return (T)new ParentedCollectionOid(rootOid, collectionName);
         }
     }
 
+    private static boolean isWordChar(final char c) {
+        return c != SEPARATOR_CHAR && c != SEPARATOR_NESTING_CHAR && c != SEPARATOR_COLLECTION_CHAR
+                && c != SEPARATOR_VERSION_CHAR && c != '#';
+    }
 
-
-    private static class AggregateOidPart {
-        AggregateOidPart(String objectType, String localId) {
-            this.objectType = objectType;
-            this.localId = localId;
+    /**
+     * @return the index just after the (non-empty) word starting at <tt>start</tt>.
+     */
+    private static int endOfWord(final String oidStr, final int start) {
+        final int end = endOfOptionalWord(oidStr, start);
+        if(end == start) {
+            throw couldNotParse(oidStr);
         }
-        String objectType;
-        String localId;
-        public String toString() {
-            return SEPARATOR_NESTING + objectType + SEPARATOR + localId;
+        return end;
+    }
+
+    private static int endOfOptionalWord(final String oidStr, final int start) {
+        int end = start;
+        while(end < oidStr.length() && isWordChar(oidStr.charAt(end))) {
+            end++;
         }
+        return end;
     }
-    
 
-    private <T> void ensureCorrectType(String oidStr, Class<T> requestedType, final Class<? extends Oid> actualType) {
-        if(!requestedType.isAssignableFrom(actualType)) {
-            throw new IllegalArgumentException("OID '" + oidStr + "' does not represent a " +
-            actualType.getSimpleName());
+    private static int endOfDigits(final String oidStr, final int start, final boolean optional) {
+        int end = start;
+        while(end < oidStr.length() && oidStr.charAt(end) >= '0' && oidStr.charAt(end) <= '9') {
+            end++;
+        }
+        if(end == start && !optional) {
+            throw couldNotParse(oidStr);
         }
+        return end;
     }
 
-    private String getGroup(final Matcher matcher, final int group) {
-        final int groupCount = matcher.groupCount();
-        if(group > groupCount) {
-            return null;
+    /**
+     * @return the index just after the expected separator.
+     */
+    private static int expect(final String oidStr, final int pos, final char separator) {
+        if(pos >= oidStr.length() || oidStr.charAt(pos) != separator) {
+            throw couldNotParse(oidStr);
         }
-        final String val = matcher.group(group);
-        return Strings.emptyToNull(val);
+        return pos + 1;
     }
 
+    private static String emptyToNull(final String oidStr, final int start, final int end) {
+        return end > start ? oidStr.substring(start, end) : null;
+    }
 
-    
+    private static IllegalArgumentException couldNotParse(final String oidStr) {
+        return new IllegalArgumentException("Could not parse OID '" + oidStr + "'; should match: " + OIDSTR_SYNTAX);
+    }
+
+    private <T> void ensureCorrectType(String oidStr, Class<T> requestedType, final Class<? extends Oid> actualType) {
+        if(!requestedType.isAssignableFrom(actualType)) {
+            throw new IllegalArgumentException("OID '" + oidStr + "' does not represent a " +
+            actualType.getSimpleName());
+        }
+    }
 
     // -- marshal
     @Programmatic
@@ -250,9 +266,15 @@ public final String marshal(RootOid rootOid) {
 
     @Programmatic
     public final String marshalNoVersion(RootOid rootOid) {
-        final String transientIndicator = rootOid.isTransient()? TRANSIENT_INDICATOR : "";
-        final String viewModelIndicator = rootOid.isViewModel()? VIEWMODEL_INDICATOR : "";
-        return transientIndicator + viewModelIndicator + rootOid.getObjectSpecId() + SEPARATOR + rootOid.getIdentifier();
+        final String objectType = rootOid.getObjectSpecId().asString();
+        final String identifier = rootOid.getIdentifier();
+        final StringBuilder buf = new StringBuilder(objectType.length() + identifier.length() + 2);
+        if(rootOid.isTransient()) {
+            buf.append(TRANSIENT_INDICATOR_CHAR);
+        } else if(rootOid.isViewModel()) {
+            buf.append(VIEWMODEL_INDICATOR_CHAR);
+        }
+        return buf.append(objectType).append(SEPARATOR_CHAR).append(identifier).toString();
     }
 
     @Programmatic
@@ -270,12 +292,16 @@ public final String marshal(Version version) {
         if(version == null) {
             return "";
         }
-        final String versionUser = version.getUser();
-        return SEPARATOR_VERSION + version.getSequence() + SEPARATOR + Strings.nullToEmpty(versionUser) + SEPARATOR + nullToEmpty(version.getUtcTimestamp());
-    }
-
-    private static String nullToEmpty(Object obj) {
-        return obj == null? "": "" + obj;
+        final StringBuilder buf = new StringBuilder(32)
+                .append(SEPARATOR_VERSION_CHAR).append(version.getSequence()).append(SEPARATOR_CHAR);
+        if(version.getUser() != null) {
+            buf.append(version.getUser());
+        }
+        buf.append(SEPARATOR_CHAR);
+        if(version.getUtcTimestamp() != null) {
+            buf.append(version.getUtcTimestamp().longValue());
+        }
+        return buf.toString();
     }
     
 
@@ -54,6 +54,10 @@ public class RootOid implements TypedOid, Serializable {
     private Version version;
 
     private int cachedHashCode;
+
+    // marshalled forms, computed lazily (the first is invalidated if the version changes)
+    private transient String cachedEnString;
+    private transient String cachedEnStringNoVersion;
     
 
     // -- Constructor, factory methods
@@ -170,12 +174,18 @@ public static RootOid deString(final String oidStr) {
 
     @Override
     public String enString() {
-        return OID_MARSHALLER.marshal(this);
+        if(cachedEnString == null) {
+            cachedEnString = enStringNoVersion() + OID_MARSHALLER.marshal(version);
+        }
+        return cachedEnString;
     }
 
     @Override
     public String enStringNoVersion() {
-        return OID_MARSHALLER.marshalNoVersion(this);
+        if(cachedEnStringNoVersion == null) {
+            cachedEnStringNoVersion = OID_MARSHALLER.marshalNoVersion(this);
+        }
+        return cachedEnStringNoVersion;
     }
     
 
@@ -214,6 +224,7 @@ public Version getVersion() {
     @Override
     public void setVersion(final Version version) {
         this.version = version;
+        this.cachedEnString = null;
     }
     
 
@@ -70,6 +70,19 @@ public interface FacetHolder {
      */
     List<Facet> getFacets(Predicate<Facet> predicate);
 
+    /**
+     * The facets that are (or {@link DecoratingFacet decorate}) an instance of the specified type, typically one
+     * of the {@link org.apache.isis.core.metamodel.interactions.HidingInteractionAdvisor interaction advisor}
+     * types.
+     *
+     * <p>
+     * Unlike {@link #getFacets(Predicate)}, implementations may compute these just once (until the facets next
+     * change); this default implementation simply filters every time.
+     */
+    default List<Facet> getFacetsOfType(final Class<?> type) {
+        return getFacets(FacetUtil.isA(type));
+    }
+
     /**
      * Adds the facet, extracting its {@link Facet#facetType() type} as the key.
      * 
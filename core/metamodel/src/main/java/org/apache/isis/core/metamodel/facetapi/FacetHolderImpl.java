@@ -19,18 +19,37 @@
 
 package org.apache.isis.core.metamodel.facetapi;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.google.common.base.Predicate;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+
+import org.apache.isis.applib.internal.base._Casts;
 
 /**
  * For base subclasses or, more likely, to help write tests.
  */
 public class FacetHolderImpl implements FacetHolder {
 
-    private final Map<Class<? extends Facet>, Facet> facetsByClass = new HashMap<Class<? extends Facet>, Facet>();
+    private static final Facet[] NO_FACETS = new Facet[0];
+
+    /**
+     * Indexed by {@link FacetTypeIds#idOf(Class) facet type id}, so only as long as the largest id of the facet
+     * types actually held; <tt>null</tt> for any facet type not held.
+     */
+    private Facet[] facetsById = NO_FACETS;
+
+    /**
+     * Computed on demand by {@link #getFacetsOfType(Class)} (and, for all facets, by {@link #getFacets(Predicate)});
+     * replaced (rather than cleared, so that a computation racing with a change cannot repopulate it) whenever the
+     * facets change.
+     */
+    private volatile Map<Class<?>, List<Facet>> facetsByType = new ConcurrentHashMap<>();
 
     @Override
     public boolean containsFacet(final Class<? extends Facet> facetType) {
@@ -65,7 +84,8 @@ public void addFacet(final MultiTypedFacet facet) {
     private void addFacet(final Class<? extends Facet> facetType, final Facet facet) {
         final Facet existingFacet = getFacet(facetType);
         if (existingFacet == null || existingFacet.isNoop()) {
-            facetsByClass.put(facetType, facet);
+            putFacet(facetType, facet);
+            facetsChanged();
             return;
         }
         if (!facet.alwaysReplace()) {
@@ -75,33 +95,96 @@ private void addFacet(final Class<? extends Facet> facetType, final Facet facet)
             return;
         }
         facet.setUnderlyingFacet(existingFacet);
-        facetsByClass.put(facetType, facet);
+        putFacet(facetType, facet);
+        facetsChanged();
+    }
+
+    private void putFacet(final Class<? extends Facet> facetType, final Facet facet) {
+        final int id = FacetTypeIds.idOf(facetType);
+        if(id >= facetsById.length) {
+            facetsById = Arrays.copyOf(facetsById, id + 1);
+        }
+        facetsById[id] = facet;
     }
 
     @Override
     public void removeFacet(final Facet facet) {
-        FacetUtil.removeFacet(facetsByClass, facet);
+        removeFacet(facet.facetType());
     }
 
     @Override
     public void removeFacet(final Class<? extends Facet> facetType) {
-        FacetUtil.removeFacet(facetsByClass, facetType);
+        final Facet facet = getFacet(facetType);
+        if (facet != null) {
+            facetsById[FacetTypeIds.idOf(facetType)] = null;
+            facet.setFacetHolder(null);
+        }
+        facetsChanged();
+    }
+
+    private void facetsChanged() {
+        facetsByType = new ConcurrentHashMap<>();
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public <T extends Facet> T getFacet(final Class<T> facetType) {
-        return (T) facetsByClass.get(facetType);
+        final int id = FacetTypeIds.idOf(facetType);
+        final Facet[] facetsById = this.facetsById;
+        return id < facetsById.length ? _Casts.uncheckedCast(facetsById[id]) : null;
     }
 
     @Override
     public Class<? extends Facet>[] getFacetTypes() {
-        return FacetUtil.getFacetTypes(facetsByClass);
+        final List<Class<? extends Facet>> facetTypes = Lists.newArrayList();
+        final Facet[] facetsById = this.facetsById;
+        for (int id = 0; id < facetsById.length; id++) {
+            if(facetsById[id] != null) {
+                facetTypes.add(FacetTypeIds.typeOf(id));
+            }
+        }
+        return _Casts.uncheckedCast(facetTypes.toArray(new Class<?>[facetTypes.size()]));
     }
 
     @Override
     public List<Facet> getFacets(final Predicate<Facet> predicate) {
-        return FacetUtil.getFacets(facetsByClass, predicate);
+        final List<Facet> filteredFacets = Lists.newArrayList();
+        for (final Facet facet : facets(facetsByType)) {
+            if (predicate.apply(facet)) {
+                filteredFacets.add(facet);
+            }
+        }
+        return filteredFacets;
+    }
+
+    @Override
+    public List<Facet> getFacetsOfType(final Class<?> type) {
+        final Map<Class<?>, List<Facet>> facetsByType = this.facetsByType;
+        List<Facet> facetsOfType = facetsByType.get(type);
+        if(facetsOfType == null) {
+            facetsOfType = Collections.unmodifiableList(
+                    Lists.newArrayList(Iterables.filter(facets(facetsByType), FacetUtil.isA(type))));
+            facetsByType.putIfAbsent(type, facetsOfType);
+        }
+        return facetsOfType;
+    }
+
+    /**
+     * The distinct facets held, cached in the given map (as the facets of type {@link Facet}).
+     */
+    private List<Facet> facets(final Map<Class<?>, List<Facet>> facetsByType) {
+        List<Facet> facets = facetsByType.get(Facet.class);
+        if(facets == null) {
+            final List<Facet> distinctFacets = Lists.newArrayList();
+            for (final Facet facet : facetsById) {
+                // facets that implement MultiTypedFacet will be held more than once.  The 'contains' check ensures they are only returned once, however.
+                if (facet != null && !distinctFacets.contains(facet)) {
+                    distinctFacets.add(facet);
+                }
+            }
+            facets = Collections.unmodifiableList(distinctFacets);
+            facetsByType.putIfAbsent(Facet.class, facets);
+        }
+        return facets;
     }
 
 }
@@ -0,0 +1,70 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.facetapi;
+
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * Assigns each facet type a dense integer id, the first time it is seen (in practice, as the metamodel is built),
+ * so that {@link FacetHolderImpl} can hold its facets in an array indexed by that id.
+ */
+final class FacetTypeIds {
+
+    private FacetTypeIds() {}
+
+    private static final ClassValue<Integer> ids = new ClassValue<Integer>() {
+        @Override
+        protected Integer computeValue(final Class<?> facetType) {
+            return register(facetType);
+        }
+    };
+
+    // guarded by FacetTypeIds.class
+    private static final Map<Class<?>, Integer> idsByType = Maps.newHashMap();
+    private static final List<Class<? extends Facet>> typesById = Lists.newArrayList();
+
+    /**
+     * The id of the given facet type, assigning the next one if this type has not been seen before.
+     */
+    static int idOf(final Class<? extends Facet> facetType) {
+        return ids.get(facetType);
+    }
+
+    static synchronized Class<? extends Facet> typeOf(final int id) {
+        return typesById.get(id);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static synchronized Integer register(final Class<?> facetType) {
+        // ClassValue may compute concurrently for the same type, so only ever assign one id per type.
+        Integer id = idsByType.get(facetType);
+        if(id == null) {
+            id = typesById.size();
+            typesById.add((Class<? extends Facet>) facetType);
+            idsByType.put(facetType, id);
+        }
+        return id;
+    }
+
+}
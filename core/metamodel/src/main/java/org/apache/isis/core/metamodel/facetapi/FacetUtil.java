@@ -107,6 +107,23 @@ public static boolean addFacets(final List<Facet> facetList) {
         return addedFacets;
     }
 
+    /**
+     * Matches facets that are an instance of the specified type or, if {@link DecoratingFacet decorating}, whose
+     * decorated facet is.
+     */
+    public static Predicate<Facet> isA(final Class<?> superClass) {
+        return new Predicate<Facet>() {
+            @Override
+            public boolean apply(final Facet facet) {
+                if (facet instanceof DecoratingFacet) {
+                    final DecoratingFacet<?> decoratingFacet = (DecoratingFacet<?>) facet;
+                    return apply(decoratingFacet.getDecoratedFacet());
+                }
+                return superClass.isAssignableFrom(facet.getClass());
+            }
+        };
+    }
+
     /**
      * Bit nasty, for use only by {@link FacetHolder}s that index their
      * {@link Facet}s in a Map.
@@ -19,11 +19,15 @@
 
 package org.apache.isis.core.metamodel.facets;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
@@ -65,6 +69,10 @@ public ActionDomainEvent<?> postEventForAction(
             final Command command,
             final ObjectAdapter resultAdapter) {
 
+        if(!isPostRequired(phase, eventType)) {
+            return null;
+        }
+
         try {
             final ActionDomainEvent<?> event;
 
@@ -117,6 +125,21 @@ public ActionDomainEvent<?> postEventForAction(
         }
     }
 
+    /**
+     * Events for the {@link AbstractDomainEvent.Phase#HIDE hide}, {@link AbstractDomainEvent.Phase#DISABLE disable}
+     * and {@link AbstractDomainEvent.Phase#VALIDATE validate} phases are posted for every member rendered, so are
+     * not even instantiated if there are no subscribers for the event type; callers then treat the member as
+     * visible, usable and valid.
+     *
+     * <p>
+     *     Events for the executing and executed phases are always posted, because the event is also associated with
+     *     the {@link Command} and its return value may be changed by the event.
+     * </p>
+     */
+    private boolean isPostRequired(final AbstractDomainEvent.Phase phase, final Class<?> eventType) {
+        return phase.isExecutingOrLater() || getEventBusService().hasSubscribers(eventType);
+    }
+
     private static <T> List<T> immutableList(final Iterable<T> iterable) {
         return Collections.unmodifiableList(Lists.newArrayList(iterable));
     }
@@ -128,22 +151,19 @@ static <S> ActionDomainEvent<S> newActionDomainEvent(
             final S source,
             final Object... arguments) throws InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
 
-        final Constructor<?>[] constructors = type.getConstructors();
-
         // no-arg constructor
-        for (final Constructor<?> constructor : constructors) {
-            final Class<?>[] parameterTypes = constructor.getParameterTypes();
-            if(parameterTypes.length == 0) {
-                final Object event = constructor.newInstance();
-                final ActionDomainEvent<S> ade = (ActionDomainEvent<S>) event;
-
-                ade.setSource(source);
-                ade.setIdentifier(identifier);
-                ade.setArguments(asList(arguments));
-                return ade;
-            }
+        final MethodHandle noArgConstructor = noArgConstructorFor(type);
+        if(noArgConstructor != null) {
+            final Object event = newInstance(noArgConstructor);
+            final ActionDomainEvent<S> ade = (ActionDomainEvent<S>) event;
+
+            ade.setSource(source);
+            ade.setIdentifier(identifier);
+            ade.setArguments(asList(arguments));
+            return ade;
         }
 
+        final Constructor<?>[] constructors = constructorsFor(type);
 
         for (final Constructor<?> constructor : constructors) {
             final Class<?>[] parameterTypes = constructor.getParameterTypes();
@@ -183,6 +203,10 @@ private static List<Object> asList(final Object[] arguments) {
             final Object oldValue,
             final Object newValue) {
 
+        if(!isPostRequired(phase, eventType)) {
+            return null;
+        }
+
         try {
             final PropertyDomainEvent<?, ?> event;
             final Object source = ObjectAdapter.Util.unwrap(targetAdapter);
@@ -220,23 +244,20 @@ static <S,T> PropertyDomainEvent<S,T> newPropertyDomainEvent(
             final T oldValue,
             final T newValue) throws NoSuchMethodException, SecurityException, InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException  {
 
-        final Constructor<?>[] constructors = type.getConstructors();
-
         // no-arg constructor
-        for (final Constructor<?> constructor : constructors) {
-            final Class<?>[] parameterTypes = constructor.getParameterTypes();
-            if(parameterTypes.length == 0) {
-                final Object event = constructor.newInstance();
-                final PropertyDomainEvent<S, T> pde = (PropertyDomainEvent<S, T>) event;
-                pde.setSource(source);
-                pde.setIdentifier(identifier);
-                pde.setOldValue(oldValue);
-                pde.setNewValue(newValue);
-                return pde;
-            }
+        final MethodHandle noArgConstructor = noArgConstructorFor(type);
+        if(noArgConstructor != null) {
+            final Object event = newInstance(noArgConstructor);
+            final PropertyDomainEvent<S, T> pde = (PropertyDomainEvent<S, T>) event;
+            pde.setSource(source);
+            pde.setIdentifier(identifier);
+            pde.setOldValue(oldValue);
+            pde.setNewValue(newValue);
+            return pde;
         }
 
         // else
+        final Constructor<?>[] constructors = constructorsFor(type);
         for (final Constructor<?> constructor : constructors) {
             final Class<?>[] parameterTypes = constructor.getParameterTypes();
             if(parameterTypes.length != 4) {
@@ -272,6 +293,11 @@ static <S,T> PropertyDomainEvent<S,T> newPropertyDomainEvent(
             final ObjectAdapter targetAdapter,
             final CollectionDomainEvent.Of of,
             final Object reference) {
+
+        if(!isPostRequired(phase, eventType)) {
+            return null;
+        }
+
         try {
             final CollectionDomainEvent<?, ?> event;
             if (existingEvent != null && phase.isExecuted()) {
@@ -304,24 +330,21 @@ <S, T> CollectionDomainEvent<S, T> newCollectionDomainEvent(
             throws NoSuchMethodException, SecurityException, InstantiationException,
             IllegalAccessException, IllegalArgumentException, InvocationTargetException {
 
-        final Constructor<?>[] constructors = type.getConstructors();
-
         // no-arg constructor
-        for (final Constructor<?> constructor : constructors) {
-            final Class<?>[] parameterTypes = constructor.getParameterTypes();
-            if(parameterTypes.length ==0) {
-                final Object event = constructor.newInstance();
-                final CollectionDomainEvent<S, T> cde = (CollectionDomainEvent<S, T>) event;
-
-                cde.setSource(source);
-                cde.setIdentifier(identifier);
-                cde.setOf(of);
-                cde.setValue(value);
-                return cde;
-            }
+        final MethodHandle noArgConstructor = noArgConstructorFor(type);
+        if(noArgConstructor != null) {
+            final Object event = newInstance(noArgConstructor);
+            final CollectionDomainEvent<S, T> cde = (CollectionDomainEvent<S, T>) event;
+
+            cde.setSource(source);
+            cde.setIdentifier(identifier);
+            cde.setOf(of);
+            cde.setValue(value);
+            return cde;
         }
 
         // search for constructor accepting source, identifier, type, value
+        final Constructor<?>[] constructors = constructorsFor(type);
         for (final Constructor<?> constructor : constructors) {
             final Class<?>[] parameterTypes = constructor.getParameterTypes();
             if(parameterTypes.length != 4) {
@@ -393,6 +416,58 @@ <S, T> CollectionDomainEvent<S, T> newCollectionDomainEvent(
     
 
 
+    // -- constructors
+
+    /**
+     * The public no-arg constructor of each event type (if any), resolved once and adapted to return {@link Object}
+     * so that it can be {@link MethodHandle#invokeExact(Object...) invoked exactly}.
+     */
+    private static final ClassValue<Optional<MethodHandle>> noArgConstructorByType = new ClassValue<Optional<MethodHandle>>() {
+        @Override
+        protected Optional<MethodHandle> computeValue(final Class<?> type) {
+            for (final Constructor<?> constructor : type.getConstructors()) {
+                if(constructor.getParameterTypes().length == 0) {
+                    try {
+                        final MethodHandle methodHandle = MethodHandles.lookup().unreflectConstructor(constructor);
+                        return Optional.of(methodHandle.asType(MethodType.methodType(Object.class)));
+                    } catch (IllegalAccessException e) {
+                        // eg the class itself is not accessible; fall back to the other constructors
+                        return Optional.empty();
+                    }
+                }
+            }
+            return Optional.empty();
+        }
+    };
+
+    /**
+     * The public constructors of each event type, resolved once (rather than copied on every call to
+     * {@link Class#getConstructors()}).
+     */
+    private static final ClassValue<Constructor<?>[]> constructorsByType = new ClassValue<Constructor<?>[]>() {
+        @Override
+        protected Constructor<?>[] computeValue(final Class<?> type) {
+            return type.getConstructors();
+        }
+    };
+
+    private static MethodHandle noArgConstructorFor(final Class<?> type) {
+        return noArgConstructorByType.get(type).orElse(null);
+    }
+
+    private static Constructor<?>[] constructorsFor(final Class<?> type) {
+        return constructorsByType.get(type);
+    }
+
+    private static Object newInstance(final MethodHandle noArgConstructor) throws InvocationTargetException {
+        try {
+            return (Object) noArgConstructor.invokeExact();
+        } catch (Throwable ex) {
+            // same as Constructor#newInstance()
+            throw new InvocationTargetException(ex);
+        }
+    }
+
     // -- eventBusService
 
     private EventBusService getEventBusService() {
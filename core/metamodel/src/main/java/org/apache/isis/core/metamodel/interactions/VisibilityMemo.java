@@ -0,0 +1,153 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.interactions;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.apache.isis.applib.annotation.Where;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.consent.Consent;
+import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
+import org.apache.isis.core.metamodel.spec.feature.ObjectMember;
+
+/**
+ * Memoises the {@link ObjectMember#isVisible(ObjectAdapter, InteractionInitiatedBy, Where) visibility} of members
+ * for the duration of a {@link #memoizing(Supplier) unit of work} on the current thread.
+ *
+ * <p>
+ * Intended for read-only work on behalf of a single user, such as rendering the response to a request, where the
+ * same member is otherwise evaluated for the same object many times over.  Outside of such a unit of work,
+ * visibility is always evaluated afresh.
+ */
+public final class VisibilityMemo {
+
+    private VisibilityMemo() {
+    }
+
+    private static final ThreadLocal<Map<Key, Consent>> consentByKey = new ThreadLocal<>();
+
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+
+    /**
+     * Runs the block, memoising visibility within it; if already within such a block, then simply joins it.
+     */
+    public static <T> T memoizing(final Supplier<T> block) {
+        if (consentByKey.get() != null) {
+            return block.get();
+        }
+        consentByKey.set(new HashMap<>());
+        try {
+            return block.get();
+        } finally {
+            consentByKey.remove();
+        }
+    }
+
+    /**
+     * The memoised visibility of the member for the target, otherwise as evaluated by the supplied function.
+     */
+    public static Consent isVisible(
+            final ObjectMember member,
+            final ObjectAdapter target,
+            final InteractionInitiatedBy interactionInitiatedBy,
+            final Where where,
+            final Supplier<Consent> evaluation) {
+        final Map<Key, Consent> memo = consentByKey.get();
+        if (memo == null) {
+            return evaluation.get();
+        }
+        final Key key = new Key(member, target, interactionInitiatedBy, where);
+        final Consent memoised = memo.get(key);
+        if (memoised != null) {
+            hits.increment();
+            return memoised;
+        }
+        misses.increment();
+        final Consent consent = evaluation.get();
+        memo.put(key, consent);
+        return consent;
+    }
+
+    /**
+     * Number of times (since startup) a memoised visibility was reused.
+     */
+    public static long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of times (since startup) visibility had to be evaluated within a memoising unit of work.
+     */
+    public static long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Identity-based; the same adapter is used for any given object within a session.
+     */
+    private static final class Key {
+        private final ObjectMember member;
+        private final ObjectAdapter target;
+        private final InteractionInitiatedBy interactionInitiatedBy;
+        private final Where where;
+        private final int hashCode;
+
+        Key(
+                final ObjectMember member,
+                final ObjectAdapter target,
+                final InteractionInitiatedBy interactionInitiatedBy,
+                final Where where) {
+            this.member = member;
+            this.target = target;
+            this.interactionInitiatedBy = interactionInitiatedBy;
+            this.where = where;
+            int result = System.identityHashCode(member);
+            result = 31 * result + System.identityHashCode(target);
+            result = 31 * result + (interactionInitiatedBy != null ? interactionInitiatedBy.hashCode() : 0);
+            result = 31 * result + (where != null ? where.hashCode() : 0);
+            this.hashCode = result;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return member == other.member &&
+                    target == other.target &&
+                    interactionInitiatedBy == other.interactionInitiatedBy &&
+                    where == other.where;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+}
@@ -17,6 +17,8 @@
 package org.apache.isis.core.metamodel.services.persistsession;
 
 import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.query.Query;
@@ -171,6 +173,28 @@ public interface PersistenceSessionServiceInternal extends AdapterManager {
     @Programmatic
     <T> ObjectAdapter firstMatchingQuery(Query<T> query);
 
+    /**
+     * Provided by <tt>PersistenceSession</tt> when used by framework.
+     *
+     * <p>
+     * Called by <tt>RepositoryServiceInternalDefault</tt>.
+     */
+    @Programmatic
+    <T> Stream<ObjectAdapter> streamMatchingQuery(Query<T> query);
+
+    /**
+     * Provided by <tt>PersistenceSession</tt> when used by framework.
+     *
+     * <p>
+     * As per {@link #streamMatchingQuery(Query)}, but returning only the adapters that match the filter; those that
+     * do not match may be evicted as soon as they have been tested.
+     *
+     * <p>
+     * Called by <tt>RepositoryServiceInternalDefault</tt>.
+     */
+    @Programmatic
+    <T> Stream<ObjectAdapter> streamMatchingQuery(Query<T> query, Predicate<ObjectAdapter> filter);
+
     void executeWithinTransaction(TransactionalClosure transactionalClosure);
 
 
@@ -20,6 +20,7 @@
 
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.services.iactn.Interaction;
+import org.apache.isis.applib.services.xactn.Transaction;
 
 public interface PublishingServiceInternal {
 
@@ -33,6 +34,24 @@ void publishAction(
     @Programmatic
     void publishProperty(final Interaction.Execution execution);
 
+    /**
+     * Called once the transaction (within which anything was published) has committed and completed; implementations
+     * that defer publishing until then (for example, to deliver asynchronously) can hand over what was published.
+     *
+     * <p>
+     * Called after (rather than from within) the commit, so implementations are free to start transactions of their
+     * own.
+     */
+    @Programmatic
+    default void transactionCommitted(final Transaction transaction) {}
+
+    /**
+     * Called once the transaction has been aborted; implementations that defer publishing should discard anything
+     * published within it.
+     */
+    @Programmatic
+    default void transactionAborted(final Transaction transaction) {}
+
 
     interface Block<T> {
         T exec();
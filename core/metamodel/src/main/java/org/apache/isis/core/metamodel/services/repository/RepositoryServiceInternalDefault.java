@@ -19,22 +19,23 @@
 
 package org.apache.isis.core.metamodel.services.repository;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import javax.annotation.PostConstruct;
 
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.isis.applib.PersistFailedException;
 import org.apache.isis.applib.RepositoryException;
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
 import org.apache.isis.applib.annotation.Programmatic;
-import org.apache.isis.applib.internal.base._NullSafe;
+import org.apache.isis.applib.internal.base._Casts;
+import org.apache.isis.applib.internal.collections._Lists;
 import org.apache.isis.applib.query.Query;
+import org.apache.isis.applib.query.QueryDefault;
 import org.apache.isis.applib.query.QueryFindAllInstances;
 import org.apache.isis.applib.services.factory.FactoryService;
 import org.apache.isis.applib.services.repository.RepositoryService;
@@ -149,14 +150,40 @@ public <T> List<T> allInstances(final Class<T> type, long... range) {
 
     // //////////////////////////////////////
 
+    /**
+     * Iterates over all instances using a single query, filtering them as they are loaded and stopping as soon as
+     * the range has been satisfied.  The range applies to the matching instances (not to all instances).
+     *
+     * <p>
+     * Instances that do not match are evicted from the persistence session (unless already in use) as soon as they
+     * have been tested, so memory is only held for the matching instances that are returned.
+     */
     @Programmatic
 	@Override
 	public <T> List<T> allMatches(Class<T> ofType, final Predicate<? super T> predicate, long... range) {
-		return _NullSafe.stream(allInstances(ofType, range))
-				.filter(predicate)
-				.collect(Collectors.toCollection(ArrayList::new));
+        final long start = range.length > 0 ? range[0] : 0;
+        final long count = range.length > 1 && range[1] > 0 ? range[1] : Long.MAX_VALUE;
+
+        if(autoFlush) {
+            transactionService.flushTransaction();
+        }
+
+        final List<T> matching = _Lists.newArrayList();
+        persistenceSessionServiceInternal.executeWithinTransaction(() -> {
+            try (final Stream<T> instances = streamAllMatching(ofType, predicate)) {
+                instances.skip(start).limit(count).forEach(matching::add);
+            }
+        });
+        return matching;
 	}
 
+    <T> Stream<T> streamAllMatching(final Class<T> ofType, final Predicate<? super T> predicate) {
+        return persistenceSessionServiceInternal.streamMatchingQuery(
+                    new QueryFindAllInstances<>(ofType),
+                    adapter -> predicate.test(_Casts.<T>uncheckedCast(adapter.getObject())))
+                .map(adapter -> _Casts.<T>uncheckedCast(adapter.getObject()));
+    }
+
     @Programmatic
     @Override
     public <T> List<T> allMatches(final Query<T> query) {
@@ -166,6 +193,16 @@ public <T> List<T> allMatches(final Query<T> query) {
         return submitQuery(query);
     }
 
+    @Programmatic
+    @Override
+    public <T> Stream<T> streamMatches(final Query<T> query) {
+        if(autoFlush) {
+            transactionService.flushTransaction();
+        }
+        return persistenceSessionServiceInternal.streamMatchingQuery(query)
+                .map(adapter -> _Casts.<T>uncheckedCast(adapter.getObject()));
+    }
+
     <T> List<T> submitQuery(final Query<T> query) {
         final List<ObjectAdapter> allMatching = persistenceSessionServiceInternal.allMatchingQuery(query);
         return ObjectAdapter.Util.unwrapT(allMatching);
@@ -188,7 +225,7 @@ public <T> T uniqueMatch(final Class<T> type, final Predicate<T> predicate) {
     @Programmatic
     @Override
     public <T> T uniqueMatch(final Query<T> query) {
-        final List<T> instances = allMatches(query); // No need to fetch more than 2.
+        final List<T> instances = allMatches(withAtMostTwoResults(query)); // No need to fetch more than 2.
         if (instances.size() > 1) {
             throw new RepositoryException("Found more that one instance for query:" + query.getDescription());
         }
@@ -201,6 +238,28 @@ private static <T> T firstInstanceElseNull(final List<T> instances) {
         return instances.size() == 0 ? null : instances.get(0);
     }
 
+    /**
+     * Limits the query to (at most) 2 results, copying it rather than modifying the caller's query; queries of other
+     * types are returned unchanged.
+     */
+    static <T> Query<T> withAtMostTwoResults(final Query<T> query) {
+        if(query.getCount() > 0 && query.getCount() <= 2) {
+            return query;
+        }
+        if(query instanceof QueryDefault) {
+            final QueryDefault<T> queryDefault = (QueryDefault<T>) query;
+            return new QueryDefault<>(
+                    queryDefault.getResultType(), queryDefault.getQueryName(),
+                    queryDefault.getArgumentsByParameterName())
+                    .withStart(query.getStart())
+                    .withCount(2);
+        }
+        if(query instanceof QueryFindAllInstances) {
+            return new QueryFindAllInstances<>(query.getResultType(), query.getStart(), 2);
+        }
+        return query;
+    }
+
 
     private Object unwrapped(Object domainObject) {
         return wrapperFactory != null ? wrapperFactory.unwrap(domainObject) : domainObject;
@@ -19,6 +19,9 @@
 package org.apache.isis.core.metamodel.spec;
 
 import java.io.Serializable;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.isis.applib.internal.collections._Maps;
 
 import org.apache.isis.core.metamodel.facets.object.objectspecid.ObjectSpecIdFacet;
 
@@ -32,11 +35,33 @@
 public final class ObjectSpecId implements Serializable {
 
     private static final long serialVersionUID = 1L;
+
+    /**
+     * Upper bound on the number of interned instances, in case spec ids are obtained from (arbitrary) user input, eg
+     * from a URL.
+     */
+    private static final int MAX_INTERNED = 10_000;
+
+    private static final ConcurrentMap<String, ObjectSpecId> internedBySpecId = _Maps.newConcurrentHashMap();
     
     private final String specId;
 
+    /**
+     * Returns an interned instance (so that subsequent {@link #equals(Object) equality} checks are usually by
+     * identity), as spec ids are obtained for every oid that is unmarshalled.
+     */
     public static ObjectSpecId of(String specId) {
-        return new ObjectSpecId(specId);
+        if(specId == null) {
+            return new ObjectSpecId(specId);
+        }
+        final ObjectSpecId objectSpecId = internedBySpecId.get(specId);
+        if(objectSpecId != null) {
+            return objectSpecId;
+        }
+        if(internedBySpecId.size() >= MAX_INTERNED) {
+            return new ObjectSpecId(specId);
+        }
+        return internedBySpecId.computeIfAbsent(specId, ObjectSpecId::new);
     }
 
     public ObjectSpecId(String specId) {
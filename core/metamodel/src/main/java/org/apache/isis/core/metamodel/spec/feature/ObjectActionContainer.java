@@ -61,11 +61,26 @@ public interface ObjectActionContainer {
     /**
      * Returns an array of actions of the specified type, including or excluding
      * contributed actions as required.
+     *
+     * <p>
+     * The list is unmodifiable; if no filtering is required (the predicate is
+     * {@link com.google.common.base.Predicates#alwaysTrue()}), it is also shared by all callers.
      */
     List<ObjectAction> getObjectActions(ActionType type, Contributed contributee, Predicate<ObjectAction> predicate);
 
+    /**
+     * As {@link #getObjectActions(ActionType, Contributed, Predicate)}, for several types.  The list is unmodifiable;
+     * if no filtering is required and the types are {@link ActionType#ALL all} types, it is also shared by all
+     * callers.
+     */
     List<ObjectAction> getObjectActions(List<ActionType> types, Contributed contributee, Predicate<ObjectAction> predicate);
 
+    /**
+     * All actions, of all types.
+     *
+     * <p>
+     * The list is unmodifiable and shared by all callers; copy it before modifying.
+     */
     List<ObjectAction> getObjectActions(Contributed contributee);
 
 
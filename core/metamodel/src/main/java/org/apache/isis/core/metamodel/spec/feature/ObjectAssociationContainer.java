@@ -39,6 +39,9 @@ public interface ObjectAssociationContainer {
     /**
      * Return all the fields that exist in an object of this specification,
      * although they need not all be accessible or visible.
+     *
+     * <p>
+     * The list is unmodifiable and shared by all callers; copy it before modifying.
      */
     List<ObjectAssociation> getAssociations(Contributed contributed);
 
@@ -55,6 +58,11 @@ public interface ObjectAssociationContainer {
      * To get the statically visible fields (where any invisible and
      * unauthorised fields have been removed) use
      * <tt>ObjectAssociationFilters#staticallyVisible(...)</tt>
+     *
+     * <p>
+     * The list is unmodifiable; for the {@link ObjectAssociation.Predicates#PROPERTIES} and
+     * {@link ObjectAssociation.Predicates#COLLECTIONS} predicates
+     * it is also shared by all callers.
      * 
      * @see Predicates
      */
@@ -63,14 +71,18 @@ public interface ObjectAssociationContainer {
     /**
      * All {@link ObjectAssociation association}s that represent
      * {@link OneToOneAssociation properties}.
+     *
+     * <p>
+     * The list is unmodifiable and shared by all callers; copy it before modifying.
      */
     List<OneToOneAssociation> getProperties(Contributed contributed);
 
     /**
      * All {@link ObjectAssociation association}s that represents
      * {@link OneToManyAssociation collections}.
-     * 
-     * @return
+     *
+     * <p>
+     * The list is unmodifiable and shared by all callers; copy it before modifying.
      */
     List<OneToManyAssociation> getCollections(Contributed contributed);
 
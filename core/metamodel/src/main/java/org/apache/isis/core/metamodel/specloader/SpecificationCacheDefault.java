@@ -22,6 +22,8 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
 import com.google.common.collect.Maps;
 
@@ -31,15 +33,45 @@
 import org.apache.isis.core.metamodel.specloader.validator.MetaModelValidator;
 import org.apache.isis.core.metamodel.specloader.validator.ValidationFailures;
 
+/**
+ * Thread-safe: lookups are lock-free, and specifications can be created (and subsequently introspected) concurrently
+ * from multiple threads, see {@link SpecificationLoader#init()}.
+ */
 class SpecificationCacheDefault {
     
-    private final Map<String, ObjectSpecification> specByClassName = Maps.newHashMap();
-    private Map<ObjectSpecId, String> classNameBySpecId;
+    private final ConcurrentMap<String, ObjectSpecification> specByClassName = Maps.newConcurrentMap();
+    private volatile ConcurrentMap<ObjectSpecId, String> classNameBySpecId;
 
     public ObjectSpecification get(final String className) {
         return specByClassName.get(className);
     }
 
+    /**
+     * Returns the cached specification for the class, else atomically creates (but does not introspect) and caches
+     * one using the provided function.
+     *
+     * <p>
+     * The function must not itself attempt to load any other specification.
+     */
+    public ObjectSpecification computeIfAbsent(
+            final String className,
+            final Function<String, ObjectSpecification> specificationFactory) {
+        final ObjectSpecification spec = specByClassName.get(className);
+        if(spec != null) {
+            // fast path; avoids locking the map's bin when already present
+            return spec;
+        }
+        final ObjectSpecification[] created = new ObjectSpecification[1];
+        final ObjectSpecification cached = specByClassName.computeIfAbsent(className, name -> {
+            created[0] = specificationFactory.apply(name);
+            return created[0];
+        });
+        if(cached == created[0]) {
+            recache(cached);
+        }
+        return cached;
+    }
+
     public void cache(final String className, final ObjectSpecification spec) {
         specByClassName.put(className, spec);
         recache(spec);
@@ -67,14 +99,15 @@ public ObjectSpecification getByObjectType(ObjectSpecId objectSpecID) {
      * xxxallxxx most specs have been loaded.
      */
     void setCacheBySpecId(final Map<ObjectSpecId, ObjectSpecification> specById) {
-        this.classNameBySpecId = Maps.newHashMap();
+        final ConcurrentMap<ObjectSpecId, String> classNameBySpecId = Maps.newConcurrentMap();
 
         for (ObjectSpecId objectSpecId : specById.keySet()) {
             final ObjectSpecification objectSpec = specById.get(objectSpecId);
             final String className = objectSpec.getCorrespondingClass().getName();
-            this.classNameBySpecId.put(objectSpecId, className);
+            classNameBySpecId.put(objectSpecId, className);
             this.specByClassName.put(className, objectSpec);
         }
+        this.classNameBySpecId = classNameBySpecId;
     }
 
     public ObjectSpecification remove(String typeName) {
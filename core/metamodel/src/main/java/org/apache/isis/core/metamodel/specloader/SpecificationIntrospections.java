@@ -0,0 +1,103 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.specloader;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.google.common.collect.Maps;
+
+import org.apache.isis.core.commons.exceptions.IsisException;
+
+/**
+ * Tracks the introspection of each specification (keyed by class name) as a {@link FutureTask}, so that the
+ * introspection of any given class is performed exactly once.
+ *
+ * <p>
+ * Once a class has been introspected, requests for it are lock-free.  Otherwise, introspection is performed while
+ * holding a single (reentrant) lock, as has always been the case, so that a thread requesting a specification that
+ * is being introspected by some other thread waits until the whole of that introspection (including that of any
+ * specifications it references) has completed; callers on other threads therefore only ever see fully introspected
+ * specifications.  The one exception is for recursive references within a single thread (eg a parent referencing a
+ * child that references the parent), which obtain the specification while it is still being introspected.
+ */
+class SpecificationIntrospections {
+
+    private final ConcurrentMap<String, FutureTask<Void>> taskByClassName = Maps.newConcurrentMap();
+    private final ReentrantLock introspectionLock = new ReentrantLock();
+
+    /**
+     * Performs the introspection for the class if not yet done, or otherwise waits for any introspection in progress
+     * on another thread to complete.
+     */
+    public void introspect(final String className, final Runnable introspection) {
+
+        final FutureTask<Void> existing = taskByClassName.get(className);
+        if(existing != null && existing.isDone()) {
+            get(existing);
+            return;
+        }
+
+        introspectionLock.lock();
+        try {
+            final FutureTask<Void> task =
+                    taskByClassName.computeIfAbsent(className, __ -> new FutureTask<>(introspection, null));
+
+            // a no-op if already run, or being run further up this thread's stack
+            task.run();
+
+            if(task.isDone()) {
+                get(task);
+            }
+            // otherwise a recursive reference back to a class already being introspected by this thread
+        } finally {
+            introspectionLock.unlock();
+        }
+    }
+
+    private static void get(final FutureTask<Void> task) {
+        try {
+            task.get();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IsisException("Interrupted while waiting for introspection", ex);
+        } catch (final ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if(cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if(cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IsisException(cause);
+        }
+    }
+
+    public void remove(final String className) {
+        taskByClassName.remove(className);
+    }
+
+    public void clear() {
+        taskByClassName.clear();
+    }
+
+}
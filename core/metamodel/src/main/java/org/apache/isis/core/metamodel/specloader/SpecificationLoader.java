@@ -22,8 +22,6 @@
 import java.util.Map;
 import java.util.Set;
 
-import javax.ws.rs.HEAD;
-
 import com.google.common.base.Function;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -99,6 +97,7 @@ public class SpecificationLoader implements ApplicationScopedComponent {
 
     private final MetaModelValidator metaModelValidator;
     private final SpecificationCacheDefault cache = new SpecificationCacheDefault();
+    private final SpecificationIntrospections introspections = new SpecificationIntrospections();
     private final PostProcessor postProcessor;
 
     public SpecificationLoader(
@@ -159,11 +158,22 @@ public void init() {
     }
 
     private void loadSpecificationsForServices() {
-        for (final Class<?> serviceClass : allServiceClasses()) {
+        final List<Class<?>> serviceClasses = allServiceClasses();
+
+        // create the specs of all services up-front, so that each is marked as a service irrespective of
+        // whether it is first referenced by some other service's introspection.
+        for (final Class<?> serviceClass : serviceClasses) {
             final DomainService domainService = serviceClass.getAnnotation(DomainService.class);
             final NatureOfService nature = domainService != null ? domainService.nature() : NatureOfService.DOMAIN;
-            // will 'markAsService'
-            internalLoadSpecification(serviceClass, nature);
+            final Class<?> substitutedType = classSubstitutor.getClass(serviceClass);
+            if(substitutedType != null) {
+                // will 'markAsService'
+                cache.computeIfAbsent(substitutedType.getName(), __ -> createSpecification(substitutedType, nature));
+            }
+        }
+
+        for (final Class<?> serviceClass : serviceClasses) {
+            internalLoadSpecification(serviceClass);
         }
     }
 
@@ -207,6 +217,7 @@ public void shutdown() {
         initialized = false;
 
         cache.clear();
+        introspections.clear();
     }
 
     
@@ -232,6 +243,7 @@ public void invalidateCache(final Class<?> cls) {
         while(spec != null) {
             final Class<?> type = spec.getCorrespondingClass();
             cache.remove(type.getName());
+            introspections.remove(type.getName());
             if(spec.containsDoOpFacet(ObjectSpecIdFacet.class)) {
                 // umm.  Some specs do not have an ObjectSpecIdFacet...
                 recache(spec);
@@ -338,33 +350,15 @@ private ObjectSpecification loadSpecificationForSubstitutedClass(final Class<?>
         Assert.assertNotNull(type);
 
         final String typeName = type.getName();
-        final ObjectSpecification spec = cache.get(typeName);
-        if (spec != null) {
-            return spec;
-        }
-
-        return loadSpecificationForSubstitutedClassSynchronized(type, nature);
-    }
-
-    private synchronized ObjectSpecification loadSpecificationForSubstitutedClassSynchronized(
-            final Class<?> type,
-            final NatureOfService natureOfService) {
-
-        final String typeName = type.getName();
-        final ObjectSpecification spec = cache.get(typeName);
-        if (spec != null) {
-            // because caller isn't synchronized.
-            return spec;
-        }
-        final ObjectSpecification specification = createSpecification(type, natureOfService);
 
         // put into the cache prior to introspecting, to prevent
         // infinite loops
-        cache.cache(typeName, specification);
+        final ObjectSpecification spec = cache.computeIfAbsent(typeName, __ -> createSpecification(type, nature));
 
-        introspectIfRequired(specification);
+        // introspects exactly once, or waits for introspection in progress on some other thread to complete
+        introspections.introspect(typeName, () -> introspectIfRequired(spec));
 
-        return specification;
+        return spec;
     }
 
     /**
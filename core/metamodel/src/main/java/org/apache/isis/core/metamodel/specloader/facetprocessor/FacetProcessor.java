@@ -116,7 +116,7 @@ public class FacetProcessor implements ServicesInjectorAware {
      * Lazily initialized, then cached. The lists remain in the same order that
      * the factories were {@link #registerFactory(FacetFactory) registered}.
      */
-    private Map<FeatureType, List<FacetFactory>> factoryListByFeatureType = null;
+    private volatile Map<FeatureType, List<FacetFactory>> factoryListByFeatureType = null;
 
     public FacetProcessor(final ProgrammingModel programmingModel) {
         this.programmingModel = programmingModel;
@@ -358,7 +358,11 @@ public void processParams(
     }
 
     private List<FacetFactory> getFactoryListByFeatureType(final FeatureType featureType) {
-        cacheByFeatureTypeIfRequired();
+        Map<FeatureType, List<FacetFactory>> factoryListByFeatureType = this.factoryListByFeatureType;
+        if (factoryListByFeatureType == null) {
+            // the specs may be introspected concurrently, so only synchronize if not yet cached
+            factoryListByFeatureType = cacheByFeatureTypeIfRequired();
+        }
         List<FacetFactory> list = factoryListByFeatureType.get(featureType);
         return list != null? list: Collections.<FacetFactory>emptyList();
     }
@@ -370,11 +374,11 @@ private void clearCaches() {
         cachedPropertyOrCollectionIdentifyingFactories = null;
     }
 
-    private synchronized void cacheByFeatureTypeIfRequired() {
+    private synchronized Map<FeatureType, List<FacetFactory>> cacheByFeatureTypeIfRequired() {
         if (factoryListByFeatureType != null) {
-            return;
+            return factoryListByFeatureType;
         }
-        factoryListByFeatureType = Maps.newHashMap();
+        final Map<FeatureType, List<FacetFactory>> factoryListByFeatureType = Maps.newHashMap();
         for (final FacetFactory factory : factories) {
             final List<FeatureType> featureTypes = factory.getFeatureTypes();
             for (final FeatureType featureType : featureTypes) {
@@ -382,6 +386,9 @@ private synchronized void cacheByFeatureTypeIfRequired() {
                 factoryList.add(factory);
             }
         }
+        // only publish once fully populated
+        this.factoryListByFeatureType = factoryListByFeatureType;
+        return factoryListByFeatureType;
     }
 
     private synchronized void cacheMethodPrefixesIfRequired() {
@@ -147,7 +147,7 @@ protected synchronized List<ObjectActionParameter> determineParameters() {
     }
 
     @Override
-    public Consent isVisible(
+    protected Consent doIsVisible(
             final ObjectAdapter contributee,
             final InteractionInitiatedBy interactionInitiatedBy,
             Where where) {
@@ -238,6 +238,11 @@ public List<Facet> getFacets(Predicate<Facet> predicate) {
         return facetHolder.getFacets(predicate);
     }
 
+    @Override
+    public List<Facet> getFacetsOfType(Class<?> type) {
+        return facetHolder.getFacetsOfType(type);
+    }
+
     @Override
     public void addFacet(Facet facet) {
         facetHolder.addFacet(facet);
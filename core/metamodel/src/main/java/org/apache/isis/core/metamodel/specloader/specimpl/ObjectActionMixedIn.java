@@ -154,7 +154,7 @@ protected synchronized List<ObjectActionParameter> determineParameters() {
     }
 
     @Override
-    public Consent isVisible(
+    protected Consent doIsVisible(
             final ObjectAdapter mixedInAdapter,
             final InteractionInitiatedBy interactionInitiatedBy,
             final Where where) {
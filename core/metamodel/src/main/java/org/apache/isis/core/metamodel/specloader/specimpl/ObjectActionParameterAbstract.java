@@ -246,6 +246,12 @@ public List<Facet> getFacets(final Predicate<Facet> predicate) {
         return facetHolder != null ? facetHolder.getFacets(predicate) : Lists.<Facet> newArrayList();
     }
 
+    @Override
+    public List<Facet> getFacetsOfType(final Class<?> type) {
+        final FacetHolder facetHolder = getFacetHolder();
+        return facetHolder != null ? facetHolder.getFacetsOfType(type) : Lists.<Facet> newArrayList();
+    }
+
     @Override
     public void addFacet(final Facet facet) {
         final FacetHolder facetHolder = getFacetHolder();
@@ -51,6 +51,7 @@
 import org.apache.isis.core.metamodel.interactions.HidingInteractionAdvisor;
 import org.apache.isis.core.metamodel.interactions.InteractionContext;
 import org.apache.isis.core.metamodel.interactions.InteractionUtils;
+import org.apache.isis.core.metamodel.interactions.VisibilityMemo;
 import org.apache.isis.core.metamodel.interactions.UsabilityContext;
 import org.apache.isis.core.metamodel.interactions.VisibilityContext;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
@@ -155,6 +156,11 @@ public List<Facet> getFacets(final Predicate<Facet> predicate) {
         return getFacetHolder().getFacets(predicate);
     }
 
+    @Override
+    public List<Facet> getFacetsOfType(final Class<?> type) {
+        return getFacetHolder().getFacetsOfType(type);
+    }
+
     @Override
     public void addFacet(final Facet facet) {
         getFacetHolder().addFacet(facet);
@@ -248,6 +254,18 @@ public Consent isVisible(
             final ObjectAdapter target,
             final InteractionInitiatedBy interactionInitiatedBy,
             final Where where) {
+        return VisibilityMemo.isVisible(this, target, interactionInitiatedBy, where,
+                () -> doIsVisible(target, interactionInitiatedBy, where));
+    }
+
+    /**
+     * Evaluates {@link #isVisible(ObjectAdapter, InteractionInitiatedBy, Where) visibility}, unless already
+     * {@link VisibilityMemo memoised}.
+     */
+    protected Consent doIsVisible(
+            final ObjectAdapter target,
+            final InteractionInitiatedBy interactionInitiatedBy,
+            final Where where) {
         return isVisibleResult(target, interactionInitiatedBy, where).createConsent();
     }
 
@@ -474,7 +492,8 @@ protected void setupCommandDtoAndExecutionContext(final CommandDto dto) {
 
         // memento
 
-        final String mementoXml = CommandDtoUtils.toXml(dto);
+        // not indented, as the memento is for persisting (rather than reading)
+        final String mementoXml = CommandDtoUtils.toCompactXml(dto);
         command.setMemento(mementoXml);
 
         // copy over the command execution 'context' (if available)
@@ -19,19 +19,18 @@
 
 package org.apache.isis.core.metamodel.specloader.specimpl;
 
-import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Stream;
 
 import com.google.common.base.Function;
-import com.google.common.collect.Collections2;
-import com.google.common.collect.FluentIterable;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Ordering;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -100,22 +99,42 @@ public abstract class ObjectSpecificationAbstract extends FacetHolderImpl implem
 
     private final static Logger LOG = LoggerFactory.getLogger(ObjectSpecificationAbstract.class);
 
+    /**
+     * Synchronized because subclasses may be introspected concurrently.
+     */
     private static class SubclassList {
         private final List<ObjectSpecification> classes = Lists.newArrayList();
+        private final Comparator<ObjectSpecification> order;
+
+        /**
+         * @param order - if specified, the subclasses are held in this order (rather than in the order added), so
+         *              that it does not depend on the order in which they happen to be introspected.
+         */
+        SubclassList(final Comparator<ObjectSpecification> order) {
+            this.order = order;
+        }
 
-        public void addSubclass(final ObjectSpecification subclass) {
+        public synchronized void addSubclass(final ObjectSpecification subclass) {
             if(classes.contains(subclass)) { 
                 return;
             }
-            classes.add(subclass);
+            if(order == null) {
+                classes.add(subclass);
+                return;
+            }
+            int index = 0;
+            while(index < classes.size() && order.compare(classes.get(index), subclass) <= 0) {
+                index++;
+            }
+            classes.add(index, subclass);
         }
 
-        public boolean hasSubclasses() {
+        public synchronized boolean hasSubclasses() {
             return !classes.isEmpty();
         }
 
-        public List<ObjectSpecification> toList() {
-            return Collections.unmodifiableList(classes);
+        public synchronized List<ObjectSpecification> toList() {
+            return Collections.unmodifiableList(Lists.newArrayList(classes));
         }
     }
 
@@ -129,25 +148,122 @@ public List<ObjectSpecification> toList() {
 
 
 
-    private final List<ObjectAssociation> associations = Lists.newArrayList();
-    private final List<ObjectAction> objectActions = Lists.newArrayList();
-    // partitions and caches objectActions by type; updated in sortCacheAndUpdateActions()
-    private final Map<ActionType, List<ObjectAction>> objectActionsByType = createObjectActionsByType();
+    /**
+     * Immutable snapshot of the associations, sorted, partitioned and indexed once (in
+     * {@link #sortAndUpdateAssociations(List)}) rather than on every call.
+     */
+    private static final class AssociationTable {
+
+        static final AssociationTable EMPTY = new AssociationTable(Collections.<ObjectAssociation>emptyList());
+
+        // in dewey order (as per sortAssociations())
+        private final Map<Contributed, List<ObjectAssociation>> associations = Maps.newEnumMap(Contributed.class);
+        // in member order sequence
+        private final Map<Contributed, List<ObjectAssociation>> associationsBySequence = Maps.newEnumMap(Contributed.class);
+        private final Map<Contributed, List<OneToOneAssociation>> properties = Maps.newEnumMap(Contributed.class);
+        private final Map<Contributed, List<OneToManyAssociation>> collections = Maps.newEnumMap(Contributed.class);
+        // over all (ie including contributed) associations; first one wins
+        private final Map<String, ObjectAssociation> associationsById;
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        AssociationTable(final List<ObjectAssociation> orderedAssociations) {
+            for (final Contributed contributed : Contributed.values()) {
+                final Predicate<ObjectAssociation> regularElseContributed =
+                        ContributeeMember.Predicates.regularElse(contributed);
+                final List<ObjectAssociation> associations = Lists.newArrayList(
+                        Iterables.filter(orderedAssociations, regularElseContributed));
+                // a stable sort, so filtering this list gives the same order as sorting a filtered list
+                final List<ObjectAssociation> associationsBySequence =
+                        Ordering.from(ObjectMember.Comparators.byMemberOrderSequence()).sortedCopy(associations);
+
+                this.associations.put(contributed, Collections.unmodifiableList(associations));
+                this.associationsBySequence.put(contributed, Collections.unmodifiableList(associationsBySequence));
+                this.properties.put(contributed, (List) Collections.unmodifiableList(Lists.newArrayList(
+                        Iterables.filter(associationsBySequence, ObjectAssociation.Predicates.PROPERTIES))));
+                this.collections.put(contributed, (List) Collections.unmodifiableList(Lists.newArrayList(
+                        Iterables.filter(associationsBySequence, ObjectAssociation.Predicates.COLLECTIONS))));
+            }
+            final Map<String, ObjectAssociation> associationsById = Maps.newHashMap();
+            for (final ObjectAssociation association : this.associations.get(Contributed.INCLUDED)) {
+                associationsById.putIfAbsent(association.getId(), association);
+            }
+            this.associationsById = Collections.unmodifiableMap(associationsById);
+        }
+    }
+
+    /**
+     * Immutable snapshot of the actions, sorted, partitioned (by {@link ActionType}) and indexed once (in
+     * {@link #sortCacheAndUpdateActions(List)}) rather than on every call.
+     */
+    private static final class ActionTable {
+
+        static final ActionTable EMPTY = new ActionTable(Collections.<ObjectAction>emptyList());
+
+        // in dewey order (as per sortActions())
+        private final List<ObjectAction> actions;
+        private final Map<ActionType, Map<Contributed, List<ObjectAction>>> actionsByType = Maps.newEnumMap(ActionType.class);
+        // all types, in order of ActionType.ALL
+        private final Map<Contributed, List<ObjectAction>> actionsOfAllTypes = Maps.newEnumMap(Contributed.class);
+        // over all (ie including contributed) actions, keyed by both identity strings; first one wins
+        private final Map<ActionType, Map<String, ObjectAction>> actionsByTypeAndId = Maps.newEnumMap(ActionType.class);
+        private final Map<String, ObjectAction> actionsById;
+
+        @SuppressWarnings("unchecked")
+        ActionTable(final List<ObjectAction> orderedActions) {
+            this.actions = Collections.unmodifiableList(Lists.newArrayList(orderedActions));
+            for (final Contributed contributed : Contributed.values()) {
+                final Predicate<ObjectAction> regularElseContributed =
+                        ContributeeMember.Predicates.regularElse(contributed);
+                final List<ObjectAction> actionsOfAllTypes = Lists.newArrayList();
+                for (final ActionType type : ActionType.ALL) {
+                    final Predicate<ObjectAction> ofType = ObjectAction.Predicates.ofType(type);
+                    final List<ObjectAction> actionsOfType = Lists.newArrayList(
+                            Iterables.filter(orderedActions,
+                                    com.google.common.base.Predicates.and(ofType, regularElseContributed)));
+                    Map<Contributed, List<ObjectAction>> byContributed = actionsByType.get(type);
+                    if(byContributed == null) {
+                        byContributed = Maps.newEnumMap(Contributed.class);
+                        actionsByType.put(type, byContributed);
+                    }
+                    byContributed.put(contributed, Collections.unmodifiableList(actionsOfType));
+                    actionsOfAllTypes.addAll(actionsOfType);
+                }
+                this.actionsOfAllTypes.put(contributed, Collections.unmodifiableList(actionsOfAllTypes));
+            }
+            for (final ActionType type : ActionType.ALL) {
+                actionsByTypeAndId.put(type, index(actionsByType.get(type).get(Contributed.INCLUDED)));
+            }
+            this.actionsById = index(actionsOfAllTypes.get(Contributed.INCLUDED));
+        }
 
-    private static Map<ActionType, List<ObjectAction>> createObjectActionsByType() {
-        final Map<ActionType, List<ObjectAction>> map = Maps.newHashMap();
-        for (final ActionType type : ActionType.values()) {
-            map.put(type, Lists.<ObjectAction>newArrayList());
+        /**
+         * For each action in turn, indexes by {@link Identifier#toNameParmsIdentityString()} and then by
+         * {@link Identifier#toNameIdentityString()}, so that a lookup returns the same action as a linear scan
+         * matching on either would.
+         */
+        private static Map<String, ObjectAction> index(final List<ObjectAction> actions) {
+            final Map<String, ObjectAction> actionsById = Maps.newHashMap();
+            for (final ObjectAction action : actions) {
+                final Identifier identifier = action.getIdentifier();
+                actionsById.putIfAbsent(identifier.toNameParmsIdentityString(), action);
+                actionsById.putIfAbsent(identifier.toNameIdentityString(), action);
+            }
+            return Collections.unmodifiableMap(actionsById);
         }
-        return map;
     }
 
-    private boolean contributeeAndMixedInAssociationsAdded;
-    private boolean contributeeAndMixedInActionsAdded;
+    private volatile AssociationTable associationTable = AssociationTable.EMPTY;
+    private volatile ActionTable actionTable = ActionTable.EMPTY;
+
+    private final Object associationsLock = new Object();
+    private final Object actionsLock = new Object();
+
+    private volatile boolean contributeeAndMixedInAssociationsAdded;
+    private volatile boolean contributeeAndMixedInActionsAdded;
 
 
     private final List<ObjectSpecification> interfaces = Lists.newArrayList();
-    private final SubclassList directSubclasses = new SubclassList();
+    private final SubclassList directSubclasses = new SubclassList(ObjectSpecification.COMPARATOR_FULLY_QUALIFIED_CLASS_NAME);
     // built lazily
     private SubclassList transitiveSubclasses;
 
@@ -166,7 +282,7 @@ private static Map<ActionType, List<ObjectAction>> createObjectActionsByType() {
     private NavigableParentFacet navigableParentFacet;
     private CssClassFacet cssClassFacet;
 
-    private IntrospectionState introspected = IntrospectionState.NOT_INTROSPECTED;
+    private volatile IntrospectionState introspected = IntrospectionState.NOT_INTROSPECTED;
     
 
     // -- Constructor
@@ -322,23 +438,17 @@ private void updateSubclasses(final ObjectSpecification subclass) {
 
     protected void sortAndUpdateAssociations(final List<ObjectAssociation> associations) {
         final List<ObjectAssociation> orderedAssociations = sortAssociations(associations);
-        synchronized (this.associations) {
-            this.associations.clear();
-            this.associations.addAll(orderedAssociations);
+        final AssociationTable associationTable = new AssociationTable(orderedAssociations);
+        synchronized (associationsLock) {
+            this.associationTable = associationTable;
         }
     }
 
     protected void sortCacheAndUpdateActions(final List<ObjectAction> objectActions) {
         final List<ObjectAction> orderedActions = sortActions(objectActions);
-        synchronized (this.objectActions){
-            this.objectActions.clear();
-            this.objectActions.addAll(orderedActions);
-
-            for (final ActionType type : ActionType.values()) {
-                final List<ObjectAction> objectActionForType = objectActionsByType.get(type);
-                objectActionForType.clear();
-                objectActionForType.addAll(Collections2.filter(objectActions, ObjectAction.Predicates.ofType(type)));
-            }
+        final ActionTable actionTable = new ActionTable(orderedActions);
+        synchronized (actionsLock) {
+            this.actionTable = actionTable;
         }
     }
 
@@ -595,7 +705,8 @@ public List<ObjectSpecification> subclasses(final Depth depth) {
     }
 
     private synchronized SubclassList transitiveSubclasses() {
-        final SubclassList appendTo = new SubclassList();
+        // in depth-first order of the (sorted) direct subclasses
+        final SubclassList appendTo = new SubclassList(null);
         appendSubclasses(this, appendTo);
         transitiveSubclasses = appendTo;
         return transitiveSubclasses;
@@ -629,20 +740,29 @@ public final boolean isAbstract() {
     // -- Associations
     @Override
     public List<ObjectAssociation> getAssociations(final Contributed contributed) {
+        return associationTable(contributed).associations.get(contributed);
+    }
+
+    /**
+     * Returns the current {@link AssociationTable}, first adding in the contributee and mixed-in associations if
+     * requested and not yet done.
+     */
+    private AssociationTable associationTable(final Contributed contributed) {
         // the "contributed.isIncluded()" guard is required because we cannot do this too early;
         // there must be a session available
         if(contributed.isIncluded() && !contributeeAndMixedInAssociationsAdded) {
-            synchronized (this.associations) {
-                List<ObjectAssociation> associations = Lists.newArrayList(this.associations);
-                associations.addAll(createContributeeAssociations());
-                associations.addAll(createMixedInAssociations());
-                sortAndUpdateAssociations(associations);
-                contributeeAndMixedInAssociationsAdded = true;
+            synchronized (associationsLock) {
+                if(!contributeeAndMixedInAssociationsAdded) {
+                    final List<ObjectAssociation> associations =
+                            Lists.newArrayList(this.associationTable.associations.get(Contributed.INCLUDED));
+                    associations.addAll(createContributeeAssociations());
+                    associations.addAll(createMixedInAssociations());
+                    sortAndUpdateAssociations(associations);
+                    contributeeAndMixedInAssociationsAdded = true;
+                }
             }
         }
-        final List<ObjectAssociation> associations = Lists.newArrayList(this.associations);
-        return Lists.newArrayList(Iterables.filter(
-                associations, ContributeeMember.Predicates.regularElse(contributed)));
+        return associationTable;
     }
 
 
@@ -674,9 +794,6 @@ public ObjectMember getMember(final String memberId) {
      * simply returns <tt>null</tt>.
      * 
      * <p>
-     * TODO put fields into hash.
-     * 
-     * <p>
      * TODO: could this be made final? (ie does the framework ever call this
      * method for an {@link org.apache.isis.core.metamodel.specloader.specimpl.standalonelist.ObjectSpecificationOnStandaloneList})
      */
@@ -712,12 +829,7 @@ public ObjectAssociation getAssociation(final String id) {
     }
 
     private ObjectAssociation getAssociationWithId(final String id) {
-        for (final ObjectAssociation objectAssociation : getAssociations(Contributed.INCLUDED)) {
-            if (objectAssociation.getId().equals(id)) {
-                return objectAssociation;
-            }
-        }
-        return null;
+        return associationTable(Contributed.INCLUDED).associationsById.get(id);
     }
 
     @Deprecated
@@ -727,27 +839,28 @@ public List<ObjectAssociation> getAssociations(Predicate<ObjectAssociation> pred
     }
 
     @Override
+    @SuppressWarnings({ "rawtypes", "unchecked" })
     public List<ObjectAssociation> getAssociations(Contributed contributed, final Predicate<ObjectAssociation> predicate) {
-        final List<ObjectAssociation> allAssociations = getAssociations(contributed);
-        return Lists.newArrayList(
-                FluentIterable.from(allAssociations)
-                        .filter((Predicate) predicate)
-                        .toSortedList(ObjectMember.Comparators.byMemberOrderSequence())
-        );
+        final AssociationTable associationTable = associationTable(contributed);
+        if(predicate == ObjectAssociation.Predicates.PROPERTIES) {
+            return (List) associationTable.properties.get(contributed);
+        }
+        if(predicate == ObjectAssociation.Predicates.COLLECTIONS) {
+            return (List) associationTable.collections.get(contributed);
+        }
+        // already in member order sequence, so no need to sort
+        return Collections.unmodifiableList(Lists.newArrayList(
+                Iterables.filter(associationTable.associationsBySequence.get(contributed), predicate)));
     }
 
-    @SuppressWarnings({ "rawtypes", "unchecked" })
     @Override
     public List<OneToOneAssociation> getProperties(Contributed contributed) {
-        final List list = getAssociations(contributed, ObjectAssociation.Predicates.PROPERTIES);
-        return list;
+        return associationTable(contributed).properties.get(contributed);
     }
 
     @Override
-    @SuppressWarnings({ "unchecked", "rawtypes" })
     public List<OneToManyAssociation> getCollections(Contributed contributed) {
-        final List list = getAssociations(contributed, ObjectAssociation.Predicates.COLLECTIONS);
-        return list;
+        return associationTable(contributed).collections.get(contributed);
     }
 
     
@@ -759,40 +872,70 @@ public List<ObjectAction> getObjectActions(
             final Contributed contributed, 
             final Predicate<ObjectAction> predicate) {
 
+        final ActionTable actionTable = actionTable(contributed);
+        if(predicate == com.google.common.base.Predicates.<ObjectAction>alwaysTrue()) {
+            if(types == ActionType.ALL) {
+                return actionTable.actionsOfAllTypes.get(contributed);
+            }
+            if(types.size() == 1) {
+                return actionTable.actionsByType.get(types.get(0)).get(contributed);
+            }
+        }
+
+        final List<ObjectAction> actions = Lists.newArrayList();
+        for (final ActionType type : types) {
+            Iterables.addAll(actions, Iterables.filter(actionTable.actionsByType.get(type).get(contributed), predicate));
+        }
+        return Collections.unmodifiableList(actions);
+    }
+
+    /**
+     * The (first) action, of any type and including contributed actions, whose
+     * {@link Identifier#toNameParmsIdentityString()} or {@link Identifier#toNameIdentityString()} is the given id;
+     * looked up in a hash index rather than by scanning the actions.
+     */
+    protected ObjectAction getObjectActionWithId(final String id) {
+        return id != null ? actionTable(Contributed.INCLUDED).actionsById.get(id) : null;
+    }
+
+    /**
+     * As {@link #getObjectActionWithId(String)}, but restricted to actions of the given type.
+     */
+    protected ObjectAction getObjectActionWithId(final ActionType type, final String id) {
+        return id != null ? actionTable(Contributed.INCLUDED).actionsByTypeAndId.get(type).get(id) : null;
+    }
+
+    /**
+     * Returns the current {@link ActionTable}, first adding in the contributee and mixed-in actions if requested and
+     * not yet done.
+     */
+    private ActionTable actionTable(final Contributed contributed) {
         // update our list of actions if requesting for contributed actions
         // and they have not yet been added
         // the "contributed.isIncluded()" guard is required because we cannot do this too early;
         // there must be a session available
         if(contributed.isIncluded() && !contributeeAndMixedInActionsAdded) {
-            synchronized (this.objectActions) {
-                final List<ObjectAction> actions = Lists.newArrayList(this.objectActions);
-                final boolean containsMixin = containsDoOpFacet(MixinFacet.class);
-                final boolean containsDomainService = containsDoOpFacet(DomainServiceFacet.class);
-                final boolean isService = isService();
-                if (containsMixin || containsDomainService || isService) {
-                    // don't contribute to mixins themselves!
-                    // don't contribute to services either
-                    // - isService() is sufficient check for internal services registered directly with ServicesInjector
-                    // - checking for DomainServiceFacet is for application services (isService() may not have been called, for these)
-                } else {
-                    actions.addAll(createContributeeActions());
-                    actions.addAll(createMixedInActions());
+            synchronized (actionsLock) {
+                if(!contributeeAndMixedInActionsAdded) {
+                    final List<ObjectAction> actions = Lists.newArrayList(this.actionTable.actions);
+                    final boolean containsMixin = containsDoOpFacet(MixinFacet.class);
+                    final boolean containsDomainService = containsDoOpFacet(DomainServiceFacet.class);
+                    final boolean isService = isService();
+                    if (containsMixin || containsDomainService || isService) {
+                        // don't contribute to mixins themselves!
+                        // don't contribute to services either
+                        // - isService() is sufficient check for internal services registered directly with ServicesInjector
+                        // - checking for DomainServiceFacet is for application services (isService() may not have been called, for these)
+                    } else {
+                        actions.addAll(createContributeeActions());
+                        actions.addAll(createMixedInActions());
+                    }
+                    sortCacheAndUpdateActions(actions);
+                    contributeeAndMixedInActionsAdded = true;
                 }
-                sortCacheAndUpdateActions(actions);
-                contributeeAndMixedInActionsAdded = true;
             }
         }
-
-        final List<ObjectAction> actions = Lists.newArrayList();
-        for (final ActionType type : types) {
-            final Collection<ObjectAction> filterActions =
-                    Collections2.filter(objectActionsByType.get(type), (Predicate) predicate);
-            actions.addAll(filterActions);
-        }
-        return Lists.newArrayList(
-                Iterables.filter(
-                        actions,
-                        ContributeeMember.Predicates.regularElse(contributed)));
+        return actionTable;
     }
 
     @Override
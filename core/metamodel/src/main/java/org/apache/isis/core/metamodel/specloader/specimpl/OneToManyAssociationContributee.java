@@ -138,7 +138,7 @@ public int getContributeeParamPosition() {
     }
 
     @Override
-    public Consent isVisible(
+    protected Consent doIsVisible(
             final ObjectAdapter contributee,
             final InteractionInitiatedBy interactionInitiatedBy,
             Where where) {
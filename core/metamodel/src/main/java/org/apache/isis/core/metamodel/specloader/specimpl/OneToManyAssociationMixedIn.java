@@ -171,7 +171,7 @@ public String getOriginalId() {
     }
 
     @Override
-    public Consent isVisible(
+    protected Consent doIsVisible(
             final ObjectAdapter mixedInAdapter,
             final InteractionInitiatedBy interactionInitiatedBy,
             final Where where) {
@@ -28,12 +28,14 @@ public final class ValidationFailures implements Iterable<String> {
 
     private final Set<String> messages = Sets.newLinkedHashSet();
     
-    public void add(final String pattern, final Object... arguments) {
+    // synchronized since failures may be added by facet factories while specs are being introspected concurrently
+
+    public synchronized void add(final String pattern, final Object... arguments) {
         final String message = String.format(pattern, arguments);
         messages.add(message);
     }
 
-    public void addAll(final Iterable<String> messages) {
+    public synchronized void addAll(final Iterable<String> messages) {
         for (final String message : messages) {
             this.messages.add(message);
         }
@@ -43,7 +45,7 @@ public void add(final ValidationFailures validationFailures) {
         addAll(validationFailures.getMessages());
     }
 
-    public void assertNone() {
+    public synchronized void assertNone() {
         if (!occurred()) {
             return;
         }
@@ -51,15 +53,15 @@ public void assertNone() {
         throw new MetaModelInvalidException(sortedMessages);
     }
 
-    public boolean occurred() {
+    public synchronized boolean occurred() {
         return !messages.isEmpty();
     }
 
-    public Set<String> getMessages() {
-        return Collections.unmodifiableSet(messages);
+    public synchronized Set<String> getMessages() {
+        return Collections.unmodifiableSet(Sets.newLinkedHashSet(messages));
     }
 
-    public int getNumberOfMessages() {
+    public synchronized int getNumberOfMessages() {
         return messages.size();
     }
 
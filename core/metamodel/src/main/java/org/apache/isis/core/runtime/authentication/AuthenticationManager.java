@@ -60,4 +60,27 @@ public interface AuthenticationManager extends ApplicationScopedComponent {
     @Programmatic
     void closeSession(AuthenticationSession authenticationSession);
 
+    /**
+     * Whether the provided (previously {@link #authenticate(AuthenticationRequest) authenticated}) session can be
+     * reused for a further request without authenticating again, re-establishing any state required to do so.
+     *
+     * <p>
+     * The default implementation returns <tt>false</tt>, so that every request is authenticated afresh.
+     */
+    @Programmatic
+    default boolean resumeSession(AuthenticationSession authenticationSession) {
+        return false;
+    }
+
+    /**
+     * Releases any state re-established (for the current thread) by {@link #resumeSession(AuthenticationSession)};
+     * called at the end of every request, whether or not the session was resumed.
+     *
+     * <p>
+     * The default implementation does nothing.
+     */
+    @Programmatic
+    default void suspendSession(AuthenticationSession authenticationSession) {
+    }
+
 }
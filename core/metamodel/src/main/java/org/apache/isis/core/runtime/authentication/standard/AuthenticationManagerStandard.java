@@ -23,10 +23,12 @@
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.google.common.collect.Collections2;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.core.commons.authentication.AuthenticationSession;
@@ -37,10 +39,26 @@
 import org.apache.isis.core.runtime.authentication.AuthenticationManager;
 import org.apache.isis.core.runtime.authentication.AuthenticationRequest;
 import org.apache.isis.core.runtime.authentication.RegistrationDetails;
+import org.apache.isis.core.runtime.threadpool.LatencyHistogram;
 
 public class AuthenticationManagerStandard implements AuthenticationManager {
 
-    private final Map<String, String> userByValidationCode = Maps.newHashMap();
+    /**
+     * How long (in minutes) a validation code remains valid since last {@link #isSessionValid(AuthenticationSession)
+     * checked}; 0 means never expire.
+     */
+    public static final String KEY_VALIDATION_CODE_IDLE_TIMEOUT_MINUTES =
+            "isis.authentication.validationCode.idleTimeoutMinutes";
+    public static final int VALIDATION_CODE_IDLE_TIMEOUT_MINUTES_DEFAULT = 24 * 60;
+
+    private static final long PURGE_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final Map<String, ValidationCode> validationCodes = new ConcurrentHashMap<>();
+    private final AtomicLong nextPurgeAt = new AtomicLong();
+    private long validationCodeIdleTimeoutMillis =
+            TimeUnit.MINUTES.toMillis(VALIDATION_CODE_IDLE_TIMEOUT_MINUTES_DEFAULT);
+
+    private final LatencyHistogram authenticatorLatency = new LatencyHistogram();
 
     private final List<Authenticator> authenticators = Lists.newArrayList();
 
@@ -64,6 +82,9 @@ public AuthenticationManagerStandard(final IsisConfiguration configuration) {
     @Programmatic
     public final void init(final DeploymentCategory deploymentCategory) {
         defaultRandomCodeGeneratorIfNecessary();
+        validationCodeIdleTimeoutMillis = TimeUnit.MINUTES.toMillis(
+                configuration.getInteger(
+                        KEY_VALIDATION_CODE_IDLE_TIMEOUT_MINUTES, VALIDATION_CODE_IDLE_TIMEOUT_MINUTES_DEFAULT));
         addDefaultAuthenticators();
         if (authenticators.size() == 0) {
             throw new IsisException("No authenticators specified");
@@ -96,9 +117,12 @@ public void shutdown() {
     // Session Management (including authenticate)
     // //////////////////////////////////////////////////////////
 
+    /**
+     * Not synchronized; the {@link Authenticator}s may be called concurrently.
+     */
     @Programmatic
     @Override
-    public synchronized final AuthenticationSession authenticate(final AuthenticationRequest request) {
+    public final AuthenticationSession authenticate(final AuthenticationRequest request) {
         if (request == null) {
             return null;
         }
@@ -107,21 +131,37 @@ public synchronized final AuthenticationSession authenticate(final Authenticatio
         if (compatibleAuthenticators.size() == 0) {
             throw new NoAuthenticatorException("No authenticator available for processing " + request.getClass().getName());
         }
+        purgeExpiredValidationCodesIfDue();
         for (final Authenticator authenticator : compatibleAuthenticators) {
-            final AuthenticationSession authSession = authenticator.authenticate(request, getUnusedRandomCode());
+            final String code = reserveUnusedRandomCode();
+            final long t0 = System.currentTimeMillis();
+            final AuthenticationSession authSession;
+            try {
+                authSession = authenticator.authenticate(request, code);
+            } catch (final RuntimeException ex) {
+                validationCodes.remove(code);
+                throw ex;
+            } finally {
+                authenticatorLatency.record(System.currentTimeMillis() - t0);
+            }
+            validationCodes.remove(code);
             if (authSession != null) {
-                userByValidationCode.put(authSession.getValidationCode(), authSession.getUserName());
+                validationCodes.put(authSession.getValidationCode(), new ValidationCode(authSession.getUserName()));
                 return authSession;
             }
         }
         return null;
     }
 
-    private String getUnusedRandomCode() {
+    /**
+     * Reserves the code (so that no concurrent authentication can be handed the same one) until the authenticator
+     * has returned.
+     */
+    private String reserveUnusedRandomCode() {
         String code;
         do {
             code = randomCodeGenerator.generateRandomCode();
-        } while (userByValidationCode.containsKey(code));
+        } while (validationCodes.putIfAbsent(code, ValidationCode.RESERVED) != null);
 
         return code;
     }
@@ -129,8 +169,43 @@ private String getUnusedRandomCode() {
     @Programmatic
     @Override
     public final boolean isSessionValid(final AuthenticationSession session) {
-        final String userName = userByValidationCode.get(session.getValidationCode());
-        return session.hasUserNameOf(userName);
+        final String code = session.getValidationCode();
+        final ValidationCode validationCode = validationCodes.get(code);
+        if (validationCode == null) {
+            return false;
+        }
+        final long now = System.currentTimeMillis();
+        if (validationCode.isExpired(now, validationCodeIdleTimeoutMillis)) {
+            validationCodes.remove(code, validationCode);
+            return false;
+        }
+        validationCode.touch(now);
+        return session.hasUserNameOf(validationCode.userName);
+    }
+
+    /**
+     * Valid, and every {@link Authenticator} is able to {@link Authenticator#resume(AuthenticationSession) resume} it.
+     */
+    @Programmatic
+    @Override
+    public boolean resumeSession(final AuthenticationSession session) {
+        if (!isSessionValid(session)) {
+            return false;
+        }
+        for (final Authenticator authenticator : authenticators) {
+            if (!authenticator.resume(session)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Programmatic
+    @Override
+    public void suspendSession(final AuthenticationSession session) {
+        for (final Authenticator authenticator : authenticators) {
+            authenticator.suspend(session);
+        }
     }
 
     @Programmatic
@@ -140,7 +215,56 @@ public void closeSession(final AuthenticationSession session) {
         for (Authenticator authenticator : authenticators) {
             authenticator.logout(session);
         }
-        userByValidationCode.remove(session.getValidationCode());
+        validationCodes.remove(session.getValidationCode());
+    }
+
+    /**
+     * Validation codes of sessions that are never {@link #closeSession(AuthenticationSession) closed} (eg those of
+     * stateless REST requests) would otherwise accumulate forever.
+     */
+    private void purgeExpiredValidationCodesIfDue() {
+        if (validationCodeIdleTimeoutMillis <= 0) {
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        final long purgeAt = nextPurgeAt.get();
+        if (now < purgeAt || !nextPurgeAt.compareAndSet(purgeAt, now + PURGE_INTERVAL_MILLIS)) {
+            return;
+        }
+        validationCodes.values().removeIf(validationCode -> validationCode.isExpired(now, validationCodeIdleTimeoutMillis));
+    }
+
+    /**
+     * The time taken by the {@link Authenticator}s to {@link Authenticator#authenticate(AuthenticationRequest, String)
+     * authenticate} requests (eg the round trip to an LDAP server).
+     */
+    @Programmatic
+    public LatencyHistogram getAuthenticatorLatency() {
+        return authenticatorLatency;
+    }
+
+    private static class ValidationCode {
+
+        /**
+         * Placeholder while an authenticator is deciding; never matches a user name.
+         */
+        static final ValidationCode RESERVED = new ValidationCode(null);
+
+        private final String userName;
+        private volatile long lastAccessedAt;
+
+        ValidationCode(final String userName) {
+            this.userName = userName;
+            this.lastAccessedAt = System.currentTimeMillis();
+        }
+
+        boolean isExpired(final long now, final long idleTimeoutMillis) {
+            return this != RESERVED && idleTimeoutMillis > 0 && now - lastAccessedAt > idleTimeoutMillis;
+        }
+
+        void touch(final long now) {
+            lastAccessedAt = now;
+        }
     }
 
     // //////////////////////////////////////////////////////////
@@ -218,7 +342,7 @@ public void setRandomCodeGenerator(final RandomCodeGenerator randomCodeGenerator
     public String toString() {
         final ToString str = ToString.createAnonymous(this);
         str.append("authenticators", authenticators.size());
-        str.append("users", userByValidationCode.size());
+        str.append("users", validationCodes.size());
         return str.toString();
     }
 
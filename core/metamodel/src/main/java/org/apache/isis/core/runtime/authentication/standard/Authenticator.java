@@ -44,5 +44,28 @@ public interface Authenticator extends ApplicationScopedComponent {
      */
     AuthenticationSession authenticate(AuthenticationRequest request, String code);
 
+    /**
+     * Re-establishes (for the current thread) any state that a session previously returned by
+     * {@link #authenticate(AuthenticationRequest, String)} relies upon, without checking the credentials again.
+     *
+     * <p>
+     * The default implementation does nothing, so is suitable for any authenticator that holds no such state.
+     *
+     * @return whether the session can be reused; if not, the request will be authenticated afresh.
+     */
+    default boolean resume(AuthenticationSession session) {
+        return true;
+    }
+
+    /**
+     * Releases (from the current thread) whatever state was re-established by {@link #resume(AuthenticationSession)},
+     * once the request using the session has completed.
+     *
+     * <p>
+     * The default implementation does nothing.
+     */
+    default void suspend(AuthenticationSession session) {
+    }
+
     void logout(AuthenticationSession session);
 }
@@ -0,0 +1,156 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.threadpool;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link ThreadPoolExecutor} that records how long each task waited in the queue and how long it took to execute,
+ * and how many tasks were rejected.
+ *
+ * <p>
+ * Tasks are timed in {@link #beforeExecute(Thread, Runnable)} and {@link #afterExecute(Runnable, Throwable)} rather
+ * than by wrapping them, so that {@link #remove(Runnable)} and {@link #shutdownNow()} work with the tasks as
+ * submitted.  The queue wait is known only for tasks {@link #submit(Callable) submitted} (or invoked) as
+ * {@link java.util.concurrent.Future}s, whose {@link #newTaskFor(Callable) task} records when it was created;
+ * tasks passed directly to {@link #execute(Runnable)} have only their execution timed.
+ */
+class InstrumentedThreadPoolExecutor extends ThreadPoolExecutor {
+
+    private final String poolName;
+    private final LatencyHistogram queueWaitHistogram = new LatencyHistogram();
+    private final LatencyHistogram executionHistogram = new LatencyHistogram();
+    private final LongAdder rejectedCount;
+    private final ThreadLocal<Long> startedAt = new ThreadLocal<>();
+
+    InstrumentedThreadPoolExecutor(
+            final String poolName,
+            final int corePoolSize,
+            final int maximumPoolSize,
+            final long keepAliveTime,
+            final TimeUnit unit,
+            final BlockingQueue<Runnable> workQueue,
+            final ThreadFactory threadFactory,
+            final RejectedExecutionHandler handler) {
+        this(poolName, corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory, handler,
+                new LongAdder());
+    }
+
+    private InstrumentedThreadPoolExecutor(
+            final String poolName,
+            final int corePoolSize,
+            final int maximumPoolSize,
+            final long keepAliveTime,
+            final TimeUnit unit,
+            final BlockingQueue<Runnable> workQueue,
+            final ThreadFactory threadFactory,
+            final RejectedExecutionHandler handler,
+            final LongAdder rejectedCount) {
+        super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory,
+                new CountingRejectedExecutionHandler(handler, rejectedCount));
+        this.poolName = poolName;
+        this.rejectedCount = rejectedCount;
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(final Runnable runnable, final T value) {
+        return new TimedFutureTask<>(runnable, value);
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(final Callable<T> callable) {
+        return new TimedFutureTask<>(callable);
+    }
+
+    @Override
+    protected void beforeExecute(final Thread thread, final Runnable runnable) {
+        super.beforeExecute(thread, runnable);
+        final long now = System.nanoTime();
+        if(runnable instanceof TimedFutureTask) {
+            final long enqueuedAt = ((TimedFutureTask<?>) runnable).enqueuedAt;
+            queueWaitHistogram.record(TimeUnit.NANOSECONDS.toMillis(now - enqueuedAt));
+        }
+        startedAt.set(now);
+    }
+
+    @Override
+    protected void afterExecute(final Runnable runnable, final Throwable throwable) {
+        final Long started = startedAt.get();
+        if(started != null) {
+            startedAt.remove();
+            executionHistogram.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        }
+        super.afterExecute(runnable, throwable);
+    }
+
+    @Override
+    public void setRejectedExecutionHandler(final RejectedExecutionHandler handler) {
+        super.setRejectedExecutionHandler(new CountingRejectedExecutionHandler(handler, rejectedCount));
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    public ThreadPoolMetrics getMetrics() {
+        return new ThreadPoolMetrics(
+                poolName,
+                getPoolSize(), getActiveCount(), getLargestPoolSize(), getMaximumPoolSize(),
+                getQueue().size(), getQueue().remainingCapacity(),
+                getCompletedTaskCount(), rejectedCount.sum(),
+                queueWaitHistogram.copy(), executionHistogram.copy());
+    }
+
+    private static class TimedFutureTask<T> extends FutureTask<T> {
+        private final long enqueuedAt = System.nanoTime();
+
+        TimedFutureTask(final Callable<T> callable) {
+            super(callable);
+        }
+
+        TimedFutureTask(final Runnable runnable, final T value) {
+            super(runnable, value);
+        }
+    }
+
+    private static class CountingRejectedExecutionHandler implements RejectedExecutionHandler {
+        private final RejectedExecutionHandler delegate;
+        private final LongAdder rejectedCount;
+
+        CountingRejectedExecutionHandler(final RejectedExecutionHandler delegate, final LongAdder rejectedCount) {
+            this.delegate = delegate;
+            this.rejectedCount = rejectedCount;
+        }
+
+        @Override
+        public void rejectedExecution(final Runnable runnable, final ThreadPoolExecutor executor) {
+            rejectedCount.increment();
+            delegate.rejectedExecution(runnable, executor);
+        }
+    }
+}
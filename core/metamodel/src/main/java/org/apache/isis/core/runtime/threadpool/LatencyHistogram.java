@@ -0,0 +1,114 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.threadpool;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of latencies (in milliseconds), with buckets whose upper bounds are successive powers of two:
+ * the first bucket counts latencies under 1ms, the next under 2ms, then under 4ms and so on; the last bucket counts
+ * everything else.
+ */
+public final class LatencyHistogram {
+
+    public static final int NUMBER_OF_BUCKETS = 20;
+
+    private final AtomicLongArray counts = new AtomicLongArray(NUMBER_OF_BUCKETS);
+    private final LongAdder totalMillis = new LongAdder();
+
+    public void record(final long millis) {
+        counts.incrementAndGet(bucketFor(millis));
+        totalMillis.add(millis);
+    }
+
+    /**
+     * A copy of the histogram as it is now, unaffected by latencies subsequently recorded in this one.
+     */
+    LatencyHistogram copy() {
+        final LatencyHistogram copy = new LatencyHistogram();
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            copy.counts.set(i, counts.get(i));
+        }
+        copy.totalMillis.add(totalMillis.sum());
+        return copy;
+    }
+
+    static int bucketFor(final long millis) {
+        if(millis < 1) {
+            return 0;
+        }
+        // number of bits required to represent millis, ie 1 -> 1, 2..3 -> 2, 4..7 -> 3
+        final int bucket = 64 - Long.numberOfLeadingZeros(millis);
+        return Math.min(bucket, NUMBER_OF_BUCKETS - 1);
+    }
+
+    /**
+     * The (exclusive) upper bound of the bucket, or {@link Long#MAX_VALUE} for the last.
+     */
+    public static long upperBoundMillisOf(final int bucket) {
+        return bucket < NUMBER_OF_BUCKETS - 1 ? 1L << bucket : Long.MAX_VALUE;
+    }
+
+    /**
+     * A copy of the counts, indexed by bucket.
+     */
+    public long[] getCounts() {
+        final long[] copy = new long[NUMBER_OF_BUCKETS];
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            copy[i] = counts.get(i);
+        }
+        return copy;
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    public long getTotalMillis() {
+        return totalMillis.sum();
+    }
+
+    /**
+     * An approximation (the upper bound of the bucket) of the latency within which the given fraction of
+     * tasks completed.
+     */
+    public long percentileMillis(final double fraction) {
+        final long[] snapshot = getCounts();
+        long count = 0;
+        for (final long bucketCount : snapshot) {
+            count += bucketCount;
+        }
+        final long threshold = (long) Math.ceil(count * fraction);
+        long cumulative = 0;
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            cumulative += snapshot[i];
+            if(cumulative >= threshold && cumulative > 0) {
+                return upperBoundMillisOf(i);
+            }
+        }
+        return 0;
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.threadpool;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How a thread pool applies back-pressure once all of its threads are busy and its queue is full.
+ */
+public enum RejectionPolicy {
+
+    /**
+     * The task is rejected with a {@link RejectedExecutionException}.
+     */
+    ABORT {
+        @Override
+        RejectedExecutionHandler handler() {
+            return new ThreadPoolExecutor.AbortPolicy();
+        }
+    },
+    /**
+     * The task is run by the submitting thread itself.
+     */
+    CALLER_RUNS {
+        @Override
+        RejectedExecutionHandler handler() {
+            return new ThreadPoolExecutor.CallerRunsPolicy();
+        }
+    },
+    /**
+     * The submitting thread blocks until there is space in the queue.
+     *
+     * <p>
+     * The task is instead rejected with a {@link RejectedExecutionException} if the pool is (or, while waiting,
+     * is) shut down, because it would otherwise never be run.
+     */
+    BLOCK {
+        @Override
+        RejectedExecutionHandler handler() {
+            return (runnable, executor) -> {
+                try {
+                    do {
+                        if (executor.isShutdown()) {
+                            throw new RejectedExecutionException("Thread pool has been shut down");
+                        }
+                    } while (!executor.getQueue().offer(runnable, BLOCK_POLL_MILLIS, TimeUnit.MILLISECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RejectedExecutionException("Interrupted while waiting to enqueue task", e);
+                }
+                // as per ThreadPoolExecutor#execute, recheck in case shut down just as the task was queued
+                if (executor.isShutdown() && executor.getQueue().remove(runnable)) {
+                    throw new RejectedExecutionException("Thread pool has been shut down");
+                }
+            };
+        }
+    };
+
+    /**
+     * How often a {@link #BLOCK blocked} submitting thread checks whether the pool has been shut down.
+     */
+    private static final long BLOCK_POLL_MILLIS = 100;
+
+    abstract RejectedExecutionHandler handler();
+
+    static RejectionPolicy parse(final String value, final RejectionPolicy defaultPolicy) {
+        if(value == null) {
+            return defaultPolicy;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            return defaultPolicy;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.threadpool;
+
+/**
+ * A point-in-time snapshot of the state of one of the thread pools managed by {@link ThreadPoolSupport}.
+ */
+public final class ThreadPoolMetrics {
+
+    private final String poolName;
+    private final int poolSize;
+    private final int activeThreads;
+    private final int largestPoolSize;
+    private final int maximumPoolSize;
+    private final int queueDepth;
+    private final int queueRemainingCapacity;
+    private final long completedTasks;
+    private final long rejectedTasks;
+    private final LatencyHistogram queueWait;
+    private final LatencyHistogram execution;
+
+    ThreadPoolMetrics(
+            final String poolName,
+            final int poolSize,
+            final int activeThreads,
+            final int largestPoolSize,
+            final int maximumPoolSize,
+            final int queueDepth,
+            final int queueRemainingCapacity,
+            final long completedTasks,
+            final long rejectedTasks,
+            final LatencyHistogram queueWait,
+            final LatencyHistogram execution) {
+        this.poolName = poolName;
+        this.poolSize = poolSize;
+        this.activeThreads = activeThreads;
+        this.largestPoolSize = largestPoolSize;
+        this.maximumPoolSize = maximumPoolSize;
+        this.queueDepth = queueDepth;
+        this.queueRemainingCapacity = queueRemainingCapacity;
+        this.completedTasks = completedTasks;
+        this.rejectedTasks = rejectedTasks;
+        this.queueWait = queueWait;
+        this.execution = execution;
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public int getActiveThreads() {
+        return activeThreads;
+    }
+
+    public int getLargestPoolSize() {
+        return largestPoolSize;
+    }
+
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public int getQueueRemainingCapacity() {
+        return queueRemainingCapacity;
+    }
+
+    public long getCompletedTasks() {
+        return completedTasks;
+    }
+
+    public long getRejectedTasks() {
+        return rejectedTasks;
+    }
+
+    /**
+     * How long tasks waited in the queue before starting to execute.
+     */
+    public LatencyHistogram getQueueWait() {
+        return queueWait;
+    }
+
+    /**
+     * How long tasks took to execute.
+     */
+    public LatencyHistogram getExecution() {
+        return execution;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "%s: threads %d/%d (active %d, largest %d), queue %d (remaining %d), completed %d, rejected %d, "
+                        + "wait p50<%dms p99<%dms, execution p50<%dms p99<%dms",
+                poolName, poolSize, maximumPoolSize, activeThreads, largestPoolSize,
+                queueDepth, queueRemainingCapacity, completedTasks, rejectedTasks,
+                queueWait.percentileMillis(0.5), queueWait.percentileMillis(0.99),
+                execution.percentileMillis(0.5), execution.percentileMillis(0.99));
+    }
+}
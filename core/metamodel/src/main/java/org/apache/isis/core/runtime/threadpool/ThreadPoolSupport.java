@@ -22,23 +22,31 @@
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.isis.applib.internal.collections._Lists;
+import org.apache.isis.applib.internal.collections._Maps;
 import org.apache.isis.applib.internal.context._Context;
+import org.apache.isis.core.commons.config.IsisConfiguration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * ThreadPoolSupport is application-scoped, meaning ThreadPoolSupport is closed on
- * application's end of life-cycle. 
+ * application's end of life-cycle.
  * <br/><br/>
- * Implementation Note: ThreadPoolSupport::close is triggered by _Context.clear() 
+ * Manages any number of named thread pools, each created lazily on first use.  Each pool can be configured using
+ * <tt>isis.threadpool.&lt;poolName&gt;.*</tt> properties (see {@link #configure(IsisConfiguration)}), and its
+ * {@link #getMetrics() metrics} observed.
+ * <br/><br/>
+ * Implementation Note: ThreadPoolSupport::close is triggered by _Context.clear()
  * when application shuts down.
  *
  */
@@ -46,33 +54,59 @@ public final class ThreadPoolSupport implements AutoCloseable {
 
     private static final Logger LOG = LoggerFactory.getLogger(ThreadPoolSupport.class);
 
+    /**
+     * The pool used by {@link #invokeAll(List)}.
+     */
+    public static final String DEFAULT_POOL_NAME = "default";
+
+    static final String KEY_PREFIX = "isis.threadpool.";
+    static final String KEY_SUFFIX_CORE_SIZE = ".coreSize";
+    static final String KEY_SUFFIX_MAX_SIZE = ".maxSize";
+    static final String KEY_SUFFIX_QUEUE_CAPACITY = ".queueCapacity";
+    static final String KEY_SUFFIX_KEEP_ALIVE_SECS = ".keepAliveSeconds";
+    static final String KEY_SUFFIX_REJECTION_POLICY = ".rejectionPolicy";
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 25;
+    private static final int DEFAULT_KEEP_ALIVE_SECS = 5;
+
     private final ThreadGroup group;
-    private final ThreadPoolExecutor executor;
+    private final ConcurrentMap<String, InstrumentedThreadPoolExecutor> executorByPoolName = _Maps.newConcurrentHashMap();
+
+    private volatile IsisConfiguration configuration;
 
     private ThreadPoolSupport() {
-    	
         group = new ThreadGroup(ThreadPoolSupport.class.getName());
+    }
 
-        final int corePoolSize = Runtime.getRuntime().availableProcessors();
-        final int maximumPoolSize = Runtime.getRuntime().availableProcessors();
-        final int keepAliveTimeSecs = 5;
-
-        final int queueCapacity = 25;
-        final BlockingQueue<Runnable> workQueue = new LinkedBlockingQueue<>(queueCapacity);
-
-        executor = new ThreadPoolExecutor(
-                corePoolSize,
-                maximumPoolSize,
-                keepAliveTimeSecs, TimeUnit.SECONDS,
-                workQueue,
-                new ThreadFactory() {
-                    @Override
-                    public Thread newThread(final Runnable r) {
-                        return new Thread(group, r);
-                    }
-                });
+    /**
+     * Provides the configuration for any pools subsequently created, and reconfigures the size, keep-alive and
+     * rejection policy of any pools already created (the capacity of their queue cannot be changed).
+     */
+    public void configure(final IsisConfiguration configuration) {
+        this.configuration = configuration;
+        for (final InstrumentedThreadPoolExecutor executor : executorByPoolName.values()) {
+            final PoolSettings settings = PoolSettings.of(executor.getPoolName(), configuration);
+            // when growing, must increase the maximum before the core size (and vice versa when shrinking)
+            if(settings.maxSize >= executor.getMaximumPoolSize()) {
+                executor.setMaximumPoolSize(settings.maxSize);
+                executor.setCorePoolSize(settings.coreSize);
+            } else {
+                executor.setCorePoolSize(settings.coreSize);
+                executor.setMaximumPoolSize(settings.maxSize);
+            }
+            executor.setKeepAliveTime(settings.keepAliveSecs, TimeUnit.SECONDS);
+            executor.setRejectedExecutionHandler(settings.rejectionPolicy.handler());
+        }
     }
 
+    // -- join
+
+    /**
+     * Waits for all of the futures to complete.
+     *
+     * @throws RuntimeException - the failure of the first future (in list order) to have failed, with the
+     * failures of any others added as {@link Throwable#getSuppressed() suppressed}.
+     */
     public static List<Object> join(final List<Future<Object>> futures) {
         if (futures == null) {
             return null;
@@ -81,8 +115,20 @@ public static List<Object> join(final List<Future<Object>> futures) {
         final long t0 = System.currentTimeMillis();
         try{
             final List<Object> returnValues = _Lists.newArrayList();
+            RuntimeException failure = null;
             for (Future<Object> future : futures) {
-                returnValues.add(join(future));
+                try {
+                    returnValues.add(join(future));
+                } catch (RuntimeException e) {
+                    if(failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+            if(failure != null) {
+                throw failure;
             }
             return returnValues;
         } finally {
@@ -91,30 +137,159 @@ public static List<Object> join(final List<Future<Object>> futures) {
         }
     }
 
+    /**
+     * Waits for the future to complete.
+     *
+     * @throws RuntimeException - the exception thrown by the task (wrapped if checked), or if interrupted.
+     */
     public static Object join(final Future<Object> future) {
         try {
             return future.get();
-        } catch (InterruptedException | ExecutionException e) {
-            // ignore
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for task to complete", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if(cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if(cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
         }
-        return null;
     }
 
+    // -- invokeAll
+
+    /**
+     * Executes the callables using the {@link #DEFAULT_POOL_NAME default} pool.
+     */
     public List<Future<Object>> invokeAll(final List<Callable<Object>> callables) {
+        return invokeAll(DEFAULT_POOL_NAME, callables);
+    }
+
+    public List<Future<Object>> invokeAll(final String poolName, final List<Callable<Object>> callables) {
         try {
-            return executor.invokeAll(callables);
+            return getExecutor(poolName).invokeAll(callables);
         } catch (InterruptedException e) {
             throw new RuntimeException(e);
         }
     }
-    
+
+    /**
+     * The executor of the named pool, created if necessary.
+     */
+    public ExecutorService getExecutor(final String poolName) {
+        return executorByPoolName.computeIfAbsent(poolName, this::newExecutor);
+    }
+
+    private InstrumentedThreadPoolExecutor newExecutor(final String poolName) {
+        final PoolSettings settings = PoolSettings.of(poolName, configuration);
+        final BlockingQueue<Runnable> workQueue = new LinkedBlockingQueue<>(settings.queueCapacity);
+        final AtomicInteger threadNumber = new AtomicInteger();
+        final ThreadFactory threadFactory = new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable r) {
+                return new Thread(group, r, "isis-" + poolName + "-" + threadNumber.incrementAndGet());
+            }
+        };
+        LOG.info("creating thread pool {}", settings);
+        return new InstrumentedThreadPoolExecutor(
+                poolName,
+                settings.coreSize,
+                settings.maxSize,
+                settings.keepAliveSecs, TimeUnit.SECONDS,
+                workQueue,
+                threadFactory,
+                settings.rejectionPolicy.handler());
+    }
+
+    // -- metrics
+
+    /**
+     * Metrics of all of the pools created so far.
+     */
+    public List<ThreadPoolMetrics> getMetrics() {
+        final List<ThreadPoolMetrics> metrics = _Lists.newArrayList();
+        for (final InstrumentedThreadPoolExecutor executor : executorByPoolName.values()) {
+            metrics.add(executor.getMetrics());
+        }
+        return metrics;
+    }
+
+    /**
+     * Metrics of the named pool, or <tt>null</tt> if it has not been created.
+     */
+    public ThreadPoolMetrics getMetrics(final String poolName) {
+        final InstrumentedThreadPoolExecutor executor = executorByPoolName.get(poolName);
+        return executor != null ? executor.getMetrics() : null;
+    }
+
     public static ThreadPoolSupport getInstance() {
     	return _Context.computeIfAbsent(ThreadPoolSupport.class, __-> new ThreadPoolSupport());
     }
 
 	@Override
 	public void close() throws Exception {
-		executor.shutdown();
+        for (final InstrumentedThreadPoolExecutor executor : executorByPoolName.values()) {
+            executor.shutdown();
+        }
 	}
-    
+
+    // -- PoolSettings
+
+    static final class PoolSettings {
+
+        final String poolName;
+        final int coreSize;
+        final int maxSize;
+        final int queueCapacity;
+        final int keepAliveSecs;
+        final RejectionPolicy rejectionPolicy;
+
+        private PoolSettings(
+                final String poolName,
+                final int coreSize,
+                final int maxSize,
+                final int queueCapacity,
+                final int keepAliveSecs,
+                final RejectionPolicy rejectionPolicy) {
+            this.poolName = poolName;
+            this.coreSize = coreSize;
+            this.maxSize = Math.max(coreSize, maxSize);
+            this.queueCapacity = queueCapacity;
+            this.keepAliveSecs = keepAliveSecs;
+            this.rejectionPolicy = rejectionPolicy;
+        }
+
+        /**
+         * @param configuration - if <tt>null</tt> (not yet available during bootstrapping), then the defaults are used.
+         */
+        static PoolSettings of(final String poolName, final IsisConfiguration configuration) {
+            final int availableProcessors = Runtime.getRuntime().availableProcessors();
+            if(configuration == null) {
+                return new PoolSettings(
+                        poolName, availableProcessors, availableProcessors, DEFAULT_QUEUE_CAPACITY,
+                        DEFAULT_KEEP_ALIVE_SECS, RejectionPolicy.ABORT);
+            }
+            final String prefix = KEY_PREFIX + poolName;
+            final int coreSize = Math.max(1, configuration.getInteger(prefix + KEY_SUFFIX_CORE_SIZE, availableProcessors));
+            return new PoolSettings(
+                    poolName,
+                    coreSize,
+                    configuration.getInteger(prefix + KEY_SUFFIX_MAX_SIZE, coreSize),
+                    Math.max(1, configuration.getInteger(prefix + KEY_SUFFIX_QUEUE_CAPACITY, DEFAULT_QUEUE_CAPACITY)),
+                    configuration.getInteger(prefix + KEY_SUFFIX_KEEP_ALIVE_SECS, DEFAULT_KEEP_ALIVE_SECS),
+                    RejectionPolicy.parse(
+                            configuration.getString(prefix + KEY_SUFFIX_REJECTION_POLICY), RejectionPolicy.ABORT));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("'%s' (core %d, max %d, queue %d, keepAlive %ds, %s)",
+                    poolName, coreSize, maxSize, queueCapacity, keepAliveSecs, rejectionPolicy);
+        }
+    }
+
 }
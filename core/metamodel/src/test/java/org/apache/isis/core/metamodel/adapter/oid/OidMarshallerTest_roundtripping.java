@@ -21,6 +21,7 @@
 
 import org.junit.Test;
 
+import org.apache.isis.core.metamodel.adapter.version.Version;
 import org.apache.isis.core.metamodel.spec.ObjectSpecId;
 
 import static org.hamcrest.CoreMatchers.is;
@@ -72,4 +73,15 @@ public void collectionOid_withVersion() {
         assertThat(deString.getRootOid().getVersion(), is(parentOid.getVersion())); // assert separately because not part of equality check
     }
 
+    @Test
+    public void rootOid_whenVersionChanged() {
+        RootOid oid = RootOid.create(ObjectSpecId.of("CUS"), "123", 90807L);
+        assertThat(oid.enString(), is("CUS:123^90807::"));
+
+        oid.setVersion(Version.create(90808L, "fredbloggs", 1231231232L));
+
+        assertThat(oid.enString(), is("CUS:123^90808:fredbloggs:1231231232"));
+        assertThat(oid.enStringNoVersion(), is("CUS:123"));
+    }
+
 }
@@ -25,7 +25,9 @@
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 
 /**
 * <dt>CUS:123</dt>
@@ -191,6 +193,44 @@ public void badPattern() {
         oidMarshaller.unmarshal("xxx", RootOid.class);
     }
 
-    
+    @Test
+    public void viewModelRoot() {
+        final String oidStr = "*CUS:123";
+
+        final RootOid rootOid = oidMarshaller.unmarshal(oidStr, RootOid.class);
+        assertThat(rootOid.isViewModel(), is(true));
+        assertThat(rootOid.getObjectSpecId(), is(ObjectSpecId.of("CUS")));
+        assertThat(rootOid.getIdentifier(), is("123"));
+    }
+
+    @Test
+    public void collectionOfPersistentRootWithVersion() {
+        final String oidStr = "CUS:123$items^90809::1231231232";
+
+        final ParentedCollectionOid collectionOid = oidMarshaller.unmarshal(oidStr, ParentedCollectionOid.class);
+        assertThat(collectionOid.getName(), is("items"));
+        assertThat(collectionOid.getRootOid().getVersion().getSequence(), is(90809L));
+        assertThat(collectionOid.getRootOid().getVersion().getUser(), is(nullValue()));
+        assertThat(collectionOid.getRootOid().getVersion().getUtcTimestamp(), is(1231231232L));
+    }
+
+    @Test(expected=RuntimeException.class)
+    public void aggregatedNoLongerSupported() {
+        oidMarshaller.unmarshal("CUS:123~NME:2", RootOid.class);
+    }
+
+    @Test
+    public void badPatterns() {
+        for (final String oidStr : new String[] {
+                "", "CUS", "CUS:", ":123", "!", "CUS:123$", "CUS:123~NME", "CUS:123^", "CUS:123^90809",
+                "CUS:123^90809:", "CUS:123^90809::x", "CUS:123#x", "CUS:123$items$other" }) {
+            try {
+                oidMarshaller.unmarshal(oidStr, Oid.class);
+                fail("'" + oidStr + "' should not have parsed");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
 
 }
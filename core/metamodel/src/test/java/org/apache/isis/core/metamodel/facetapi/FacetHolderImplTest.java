@@ -0,0 +1,113 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.facetapi;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.common.base.Predicates;
+
+import junit.framework.TestCase;
+
+public class FacetHolderImplTest extends TestCase {
+
+    public static interface FooFacet extends Facet {
+    }
+
+    public static interface BarFacet extends Facet {
+    }
+
+    public static interface BazFacet extends Facet {
+    }
+
+    public static class ConcreteFacet extends FacetAbstract {
+        public ConcreteFacet(final Class<? extends Facet> facetType, final FacetHolder holder) {
+            super(facetType, holder, Derivation.NOT_DERIVED);
+        }
+    }
+
+    public static class FooAndBarFacet extends FacetAbstract implements MultiTypedFacet, FooFacet, BarFacet {
+        public FooAndBarFacet(final FacetHolder holder) {
+            super(FooFacet.class, holder, Derivation.NOT_DERIVED);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Class<? extends Facet>[] facetTypes() {
+            return new Class[] { FooFacet.class, BarFacet.class };
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T extends Facet> T getFacet(final Class<T> facet) {
+            return (T) this;
+        }
+    }
+
+    private FacetHolderImpl facetHolder;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        facetHolder = new FacetHolderImpl();
+    }
+
+    public void testFacetNotHeld() {
+        assertNull(facetHolder.getFacet(FooFacet.class));
+        assertFalse(facetHolder.containsFacet(FooFacet.class));
+        assertEquals(0, facetHolder.getFacetTypes().length);
+    }
+
+    public void testAddAndGetFacet() {
+        final ConcreteFacet fooFacet = new ConcreteFacet(FooFacet.class, facetHolder);
+        facetHolder.addFacet(fooFacet);
+
+        assertSame(fooFacet, facetHolder.getFacet(FooFacet.class));
+        assertNull(facetHolder.getFacet(BarFacet.class));
+        assertEquals(Arrays.<Class<?>>asList(FooFacet.class), Arrays.<Class<?>>asList(facetHolder.getFacetTypes()));
+    }
+
+    public void testRemoveFacet() {
+        final ConcreteFacet fooFacet = new ConcreteFacet(FooFacet.class, facetHolder);
+        facetHolder.addFacet(fooFacet);
+        facetHolder.addFacet(new ConcreteFacet(BazFacet.class, facetHolder));
+
+        facetHolder.removeFacet(FooFacet.class);
+
+        assertNull(facetHolder.getFacet(FooFacet.class));
+        assertNull(fooFacet.getFacetHolder());
+        assertNotNull(facetHolder.getFacet(BazFacet.class));
+        assertEquals(1, facetHolder.getFacets(Predicates.<Facet>alwaysTrue()).size());
+    }
+
+    public void testMultiTypedFacetIsReturnedOnce() {
+        final FooAndBarFacet fooAndBarFacet = new FooAndBarFacet(facetHolder);
+        facetHolder.addFacet((MultiTypedFacet) fooAndBarFacet);
+
+        assertSame(fooAndBarFacet, facetHolder.getFacet(FooFacet.class));
+        assertSame(fooAndBarFacet, facetHolder.getFacet(BarFacet.class));
+        assertEquals(2, facetHolder.getFacetTypes().length);
+
+        final List<Facet> facets = facetHolder.getFacets(Predicates.<Facet>alwaysTrue());
+        assertEquals(1, facets.size());
+        assertEquals(1, facetHolder.getFacetsOfType(BarFacet.class).size());
+    }
+
+}
@@ -100,4 +100,15 @@ public void testIsAWhenIsNotBecauseASuperclass() {
         TestCase.assertFalse(predicate.apply(fooSuperFacet));
     }
 
+    public void testFacetsOfTypeReflectChangesToTheHolder() {
+        TestCase.assertTrue(facetHolder.getFacetsOfType(FooFacet.class).isEmpty());
+
+        facetHolder.addFacet(fooFacet);
+        facetHolder.addFacet(barFacet);
+        TestCase.assertEquals(1, facetHolder.getFacetsOfType(FooFacet.class).size());
+
+        facetHolder.removeFacet(fooFacet);
+        TestCase.assertTrue(facetHolder.getFacetsOfType(FooFacet.class).isEmpty());
+    }
+
 }
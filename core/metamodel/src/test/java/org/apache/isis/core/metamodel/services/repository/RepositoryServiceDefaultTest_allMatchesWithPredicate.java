@@ -0,0 +1,153 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.services.repository;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import org.jmock.Expectations;
+import org.jmock.api.Invocation;
+import org.jmock.auto.Mock;
+import org.jmock.lib.action.CustomAction;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.RepositoryException;
+import org.apache.isis.applib.internal.base._Casts;
+import org.apache.isis.applib.internal.collections._Lists;
+import org.apache.isis.applib.internal.collections._Maps;
+import org.apache.isis.applib.query.Query;
+import org.apache.isis.applib.query.QueryDefault;
+import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternal;
+import org.apache.isis.core.runtime.system.transaction.TransactionalClosure;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class RepositoryServiceDefaultTest_allMatchesWithPredicate {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private PersistenceSessionServiceInternal mockPersistenceSessionServiceInternal;
+
+    private RepositoryServiceInternalDefault repositoryService;
+
+    private final List<Long> instances = LongStream.range(0, 20).boxed().collect(Collectors.toList());
+    private final List<Query<?>> submitted = _Lists.newArrayList();
+    private final AtomicInteger queriesExecuted = new AtomicInteger();
+    private final AtomicInteger instancesLoaded = new AtomicInteger();
+    private final AtomicInteger queriesClosed = new AtomicInteger();
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockPersistenceSessionServiceInternal).executeWithinTransaction(with(any(TransactionalClosure.class)));
+            will(new CustomAction("execute closure") {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    ((TransactionalClosure) invocation.getParameter(0)).execute();
+                    return null;
+                }
+            });
+        }});
+
+        repositoryService = new RepositoryServiceInternalDefault() {
+            @Override <T> List<T> submitQuery(final Query<T> query) {
+                submitted.add(query);
+                final int start = (int) Math.min(query.getStart(), instances.size());
+                final int end = (int) Math.min(query.getStart() + query.getCount(), instances.size());
+                return (List<T>) _Lists.newArrayList(instances.subList(start, end));
+            }
+            @Override <T> Stream<T> streamAllMatching(final Class<T> ofType, final Predicate<? super T> predicate) {
+                queriesExecuted.incrementAndGet();
+                return instances.stream()
+                        .peek(x -> instancesLoaded.incrementAndGet())
+                        .map(x -> _Casts.<T>uncheckedCast(x))
+                        .filter(predicate)
+                        .onClose(queriesClosed::incrementAndGet);
+            }
+        };
+        repositoryService.persistenceSessionServiceInternal = mockPersistenceSessionServiceInternal;
+        final Map<String, String> properties = _Maps.newHashMap();
+        properties.put("isis.services.container.disableAutoFlush", "true");
+        repositoryService.init(properties);
+    }
+
+    @Test
+    public void range_applies_to_matching_instances() throws Exception {
+        final List<Long> evens = repositoryService.allMatches(Long.class, x -> x % 2 == 0, 2, 3);
+
+        assertThat(evens, is(Arrays.asList(4L, 6L, 8L)));
+    }
+
+    @Test
+    public void uses_a_single_query_and_stops_once_range_satisfied() throws Exception {
+        repositoryService.allMatches(Long.class, x -> x % 2 == 0, 0, 3);
+
+        // 0, 2 and 4 match; nothing beyond 4 is loaded
+        assertThat(queriesExecuted.get(), is(1));
+        assertThat(instancesLoaded.get(), is(5));
+        assertThat(queriesClosed.get(), is(1));
+    }
+
+    @Test
+    public void without_range_returns_all_matches() throws Exception {
+        final List<Long> all = repositoryService.allMatches(Long.class, x -> true);
+
+        assertThat(all, is(instances));
+        assertThat(queriesExecuted.get(), is(1));
+        assertThat(queriesClosed.get(), is(1));
+    }
+
+    @Test
+    public void uniqueMatch_fetches_at_most_two() throws Exception {
+        final QueryDefault<Long> query = new QueryDefault<>(Long.class, "findAll");
+
+        try {
+            repositoryService.uniqueMatch(query);
+            fail();
+        } catch (RepositoryException e) {
+            // expected, there is more than one
+        }
+
+        assertThat(submitted.get(0).getCount(), is(2L));
+        assertThat(query.getCount(), is(0L));
+    }
+
+    @Test
+    public void uniqueMatch_leaves_narrower_query_alone() throws Exception {
+        final QueryDefault<Long> query = new QueryDefault<>(Long.class, "findAll").withCount(1);
+
+        assertThat(RepositoryServiceInternalDefault.withAtMostTwoResults(query), is(sameInstance((Query<Long>) query)));
+    }
+
+}
@@ -20,6 +20,11 @@
 
 import org.junit.Test;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
 public class ObjectSpecIdTest_constructor {
 
     @Test
@@ -39,5 +44,13 @@ public void cannotBeNull() throws Exception {
         new ObjectSpecId(null);
     }
 
+    @Test
+    public void of_isInterned() throws Exception {
+        final ObjectSpecId objectSpecId = ObjectSpecId.of("CUS");
+
+        assertThat(ObjectSpecId.of(new String("CUS")), is(sameInstance(objectSpecId)));
+        assertThat(new ObjectSpecId("CUS"), is(not(sameInstance(objectSpecId))));
+        assertThat(new ObjectSpecId("CUS"), is(objectSpecId));
+    }
 
 }
@@ -100,6 +100,28 @@ public void allSpecs_whenCached() {
         assertThat(allSpecs.size(), is(2));
     }
 
+    @Test
+    public void computeIfAbsent_whenNotCached() {
+        final String customerClassName = Customer.class.getName();
+
+        final ObjectSpecification objectSpecification =
+                specificationCache.computeIfAbsent(customerClassName, className -> customerSpec);
+
+        assertSame(objectSpecification, customerSpec);
+        assertSame(specificationCache.get(customerClassName), customerSpec);
+    }
+
+    @Test
+    public void computeIfAbsent_whenCached() {
+        final String customerClassName = Customer.class.getName();
+        specificationCache.cache(customerClassName, customerSpec);
+
+        final ObjectSpecification objectSpecification =
+                specificationCache.computeIfAbsent(customerClassName, className -> orderSpec);
+
+        assertSame(objectSpecification, customerSpec);
+    }
+
     @Test(expected=IllegalStateException.class)
     public void getByObjectType_whenNotSet() {
         specificationCache.getByObjectType(ObjectSpecId.of("CUS"));
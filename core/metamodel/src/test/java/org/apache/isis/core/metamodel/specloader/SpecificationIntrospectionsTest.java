@@ -0,0 +1,122 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.specloader;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class SpecificationIntrospectionsTest {
+
+    private SpecificationIntrospections introspections;
+    private ExecutorService executorService;
+
+    @Before
+    public void setUp() throws Exception {
+        introspections = new SpecificationIntrospections();
+        executorService = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void introspects_only_once() throws Exception {
+        final AtomicInteger count = new AtomicInteger();
+
+        introspections.introspect("Customer", count::incrementAndGet);
+        introspections.introspect("Customer", count::incrementAndGet);
+
+        assertThat(count.get(), is(1));
+    }
+
+    @Test
+    public void recursive_reference_within_same_thread_does_not_wait() throws Exception {
+        final AtomicInteger count = new AtomicInteger();
+
+        introspections.introspect("Customer", () -> {
+            count.incrementAndGet();
+            introspections.introspect("Customer", count::incrementAndGet);
+        });
+
+        assertThat(count.get(), is(1));
+    }
+
+    @Test
+    public void cyclic_reference_across_threads_only_sees_completed_introspection() throws Exception {
+
+        // given Customer being introspected on one thread
+        final Future<?> customer = executorService.submit(this::introspectCustomer);
+        assertThat(customerStarted.await(5, TimeUnit.SECONDS), is(true));
+
+        // when Order (which references Customer, and vice versa) is requested on another
+        final Future<Boolean> order = executorService.submit(() -> {
+            introspectOrder();
+            return orderIntrospected.get() && customerIntrospected.get();
+        });
+
+        // then
+        customer.get(5, TimeUnit.SECONDS);
+        assertThat(order.get(5, TimeUnit.SECONDS), is(true));
+    }
+
+    private final CountDownLatch customerStarted = new CountDownLatch(1);
+    private final AtomicBoolean customerIntrospected = new AtomicBoolean();
+    private final AtomicBoolean orderIntrospected = new AtomicBoolean();
+
+    private void introspectCustomer() {
+        introspections.introspect("Customer", () -> {
+            customerStarted.countDown();
+            sleepQuietly(100);
+            introspectOrder();
+            customerIntrospected.set(true);
+        });
+    }
+
+    private void introspectOrder() {
+        introspections.introspect("Order", () -> {
+            sleepQuietly(100);
+            introspectCustomer();
+            orderIntrospected.set(true);
+        });
+    }
+
+    private static void sleepQuietly(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,183 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.specloader.specimpl;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.Identifier;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
+import org.apache.isis.core.metamodel.deployment.DeploymentCategoryProvider;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.spec.ActionType;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAction;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ObjectSpecificationAbstractTest_memberTables {
+
+    private static final int NUMBER_OF_PROPERTIES = 40;
+    private static final int NUMBER_OF_COLLECTIONS = 20;
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private ServicesInjector mockServicesInjector;
+    @Mock
+    private SpecificationLoader mockSpecificationLoader;
+    @Mock
+    private DeploymentCategoryProvider mockDeploymentCategoryProvider;
+
+    public static class Customer {
+    }
+
+    private final List<ObjectAssociation> associations = Lists.newArrayList();
+    private ObjectSpecificationAbstract specification;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockServicesInjector).getSpecificationLoader();
+            will(returnValue(mockSpecificationLoader));
+
+            allowing(mockServicesInjector).getDeploymentCategoryProvider();
+            will(returnValue(mockDeploymentCategoryProvider));
+
+            allowing(mockDeploymentCategoryProvider).getDeploymentCategory();
+            will(returnValue(DeploymentCategory.PRODUCTION));
+        }});
+
+        // in reverse order, to check that they are sorted
+        for (int i = NUMBER_OF_COLLECTIONS - 1; i >= 0; i--) {
+            associations.add(mockAssociation(String.format("collection%02d", i), false));
+        }
+        for (int i = NUMBER_OF_PROPERTIES - 1; i >= 0; i--) {
+            associations.add(mockAssociation(String.format("property%02d", i), true));
+        }
+
+        specification = new ObjectSpecificationAbstract(Customer.class, "Customer", mockServicesInjector, null) {
+            @Override
+            public void introspectTypeHierarchyAndMembers() {
+                sortAndUpdateAssociations(associations);
+                sortCacheAndUpdateActions(Collections.<ObjectAction>emptyList());
+            }
+
+            // so that no contributee or mixed-in members are added
+            @Override public boolean isService() { return true; }
+            @Override public boolean isViewModel() { return false; }
+            @Override public boolean isMixin() { return false; }
+            @Override public boolean isViewModelCloneable(final ObjectAdapter targetAdapter) { return false; }
+            @Override public boolean isWizard() { return false; }
+
+            @Override
+            public ObjectAction getObjectAction(
+                    final ActionType type, final String id, final List<ObjectSpecification> parameters) {
+                return null;
+            }
+            @Override
+            public ObjectAction getObjectAction(final ActionType type, final String id) {
+                return getObjectActionWithId(type, id);
+            }
+            @Override
+            public ObjectAction getObjectAction(final String id) {
+                return getObjectActionWithId(id);
+            }
+        };
+        specification.introspectTypeHierarchyAndMembers();
+    }
+
+    private ObjectAssociation mockAssociation(final String id, final boolean property) {
+        final ObjectAssociation association = context.mock(ObjectAssociation.class, id);
+        final Identifier identifier = Identifier.propertyOrCollectionIdentifier(Customer.class, id);
+        context.checking(new Expectations() {{
+            allowing(association).getId();
+            will(returnValue(id));
+
+            allowing(association).getIdentifier();
+            will(returnValue(identifier));
+
+            allowing(association).getFacet(with(any(Class.class)));
+            will(returnValue(null));
+
+            allowing(association).isOneToOneAssociation();
+            will(returnValue(property));
+
+            allowing(association).isOneToManyAssociation();
+            will(returnValue(!property));
+        }});
+        return association;
+    }
+
+    @Test
+    public void associationsAreLookedUpById() throws Exception {
+        for (final ObjectAssociation association : associations) {
+            assertThat(specification.getAssociation(association.getId()), is(sameInstance(association)));
+        }
+    }
+
+    @Test
+    public void associationsAreSortedAndPartitioned() throws Exception {
+        final List<ObjectAssociation> all = specification.getAssociations(Contributed.EXCLUDED);
+        assertThat(all.size(), is(NUMBER_OF_PROPERTIES + NUMBER_OF_COLLECTIONS));
+        assertThat(all.get(0).getId(), is("collection00"));
+
+        assertThat(specification.getProperties(Contributed.EXCLUDED).size(), is(NUMBER_OF_PROPERTIES));
+        assertThat(specification.getProperties(Contributed.EXCLUDED).get(0).getId(), is("property00"));
+        assertThat(specification.getCollections(Contributed.EXCLUDED).size(), is(NUMBER_OF_COLLECTIONS));
+    }
+
+    @Test
+    public void associationsAreNotCopiedOnEachCall() throws Exception {
+        assertThat(specification.getAssociations(Contributed.EXCLUDED),
+                is(sameInstance(specification.getAssociations(Contributed.EXCLUDED))));
+        assertThat(specification.getProperties(Contributed.EXCLUDED),
+                is(sameInstance(specification.getProperties(Contributed.EXCLUDED))));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void associationsCannotBeModified() throws Exception {
+        specification.getAssociations(Contributed.EXCLUDED).clear();
+    }
+
+    @Test
+    public void unknownActionIsNotFound() throws Exception {
+        assertThat(specification.getObjectAction("unknown"), is((ObjectAction) null));
+        assertThat(specification.getObjectAction(ActionType.USER, null), is((ObjectAction) null));
+    }
+
+}
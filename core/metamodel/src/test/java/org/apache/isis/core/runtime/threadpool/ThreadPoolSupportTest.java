@@ -0,0 +1,186 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.threadpool;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.apache.isis.applib.internal.context._Context;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class ThreadPoolSupportTest {
+
+    @After
+    public void tearDown() throws Exception {
+        _Context.clear();
+    }
+
+    @Test
+    public void join_returns_results() throws Exception {
+        final List<Future<Object>> futures = ThreadPoolSupport.getInstance().invokeAll(Arrays.<Callable<Object>>asList(
+                () -> "a",
+                () -> "b"));
+
+        assertThat(ThreadPoolSupport.join(futures), is(Arrays.<Object>asList("a", "b")));
+    }
+
+    @Test
+    public void join_propagates_failures() throws Exception {
+        final List<Future<Object>> futures = ThreadPoolSupport.getInstance().invokeAll(Arrays.<Callable<Object>>asList(
+                () -> "a",
+                () -> { throw new IllegalArgumentException("first"); },
+                () -> { throw new IllegalStateException("second"); }));
+
+        try {
+            ThreadPoolSupport.join(futures);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is("first"));
+            assertThat(e.getSuppressed().length, is(1));
+        }
+    }
+
+    @Test
+    public void metrics_per_named_pool() throws Exception {
+        ThreadPoolSupport.join(ThreadPoolSupport.getInstance().invokeAll("other", Arrays.<Callable<Object>>asList(
+                () -> "a")));
+
+        final ThreadPoolMetrics metrics = ThreadPoolSupport.getInstance().getMetrics("other");
+
+        assertThat(metrics.getPoolName(), is("other"));
+        assertThat(metrics.getRejectedTasks(), is(0L));
+        assertThat(ThreadPoolSupport.getInstance().getMetrics("unused"), is(nullValue()));
+    }
+
+    @Test
+    public void metrics_are_a_snapshot() throws Exception {
+        final InstrumentedThreadPoolExecutor executor = newInstrumentedExecutor();
+        try {
+            executor.submit(() -> "a").get();
+            final ThreadPoolMetrics metrics = executor.getMetrics();
+            final long executed = metrics.getExecution().getCount();
+
+            executor.submit(() -> "b").get();
+
+            assertThat(metrics.getExecution().getCount(), is(executed));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void queued_tasks_are_returned_as_submitted() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final InstrumentedThreadPoolExecutor executor = newInstrumentedExecutor();
+        try {
+            executor.execute(() -> awaitQuietly(release)); // occupies the only thread
+            final Runnable queued = () -> {};
+            executor.execute(queued);
+            final Future<?> queuedFuture = executor.submit(() -> {});
+
+            assertThat(executor.remove(queued), is(true));
+            assertThat(executor.shutdownNow(), is(Arrays.<Runnable>asList((Runnable) queuedFuture)));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static InstrumentedThreadPoolExecutor newInstrumentedExecutor() {
+        return new InstrumentedThreadPoolExecutor("test", 1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(2), Executors.defaultThreadFactory(), RejectionPolicy.ABORT.handler());
+    }
+
+    @Test
+    public void block_policy_rejects_once_shut_down() throws Exception {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(1), RejectionPolicy.BLOCK.handler());
+        executor.shutdown();
+
+        try {
+            executor.execute(() -> {});
+            fail();
+        } catch (RejectedExecutionException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void block_policy_releases_blocked_submitter_when_shut_down() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(1), RejectionPolicy.BLOCK.handler());
+        try {
+            executor.execute(() -> awaitQuietly(release)); // occupies the only thread
+            executor.execute(() -> {}); // fills the queue
+
+            final AtomicReference<Throwable> outcome = new AtomicReference<>();
+            final Thread submitter = new Thread(() -> {
+                try {
+                    executor.execute(() -> {});
+                } catch (Throwable e) {
+                    outcome.set(e);
+                }
+            });
+            submitter.start();
+
+            executor.shutdown();
+            submitter.join(TimeUnit.SECONDS.toMillis(5));
+
+            assertThat(submitter.isAlive(), is(false));
+            assertThat(outcome.get() instanceof RejectedExecutionException, is(true));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    public void histogram_buckets() throws Exception {
+        assertThat(LatencyHistogram.bucketFor(0), is(0));
+        assertThat(LatencyHistogram.bucketFor(1), is(1));
+        assertThat(LatencyHistogram.bucketFor(3), is(2));
+        assertThat(LatencyHistogram.bucketFor(4), is(3));
+        assertThat(LatencyHistogram.bucketFor(Long.MAX_VALUE), is(LatencyHistogram.NUMBER_OF_BUCKETS - 1));
+    }
+
+}
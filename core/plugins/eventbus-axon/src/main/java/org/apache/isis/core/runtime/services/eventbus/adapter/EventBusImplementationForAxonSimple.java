@@ -16,6 +16,7 @@
  */
 package org.apache.isis.core.runtime.services.eventbus.adapter;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -25,6 +26,7 @@
 import org.axonframework.domain.GenericEventMessage;
 import org.axonframework.eventhandling.SimpleEventBus;
 import org.axonframework.eventhandling.annotation.AnnotationEventListenerAdapter;
+import org.axonframework.eventhandling.annotation.EventHandler;
 
 /**
  * A wrapper for an Axon {@link org.axonframework.eventhandling.SimpleEventBus},
@@ -70,6 +72,11 @@ public void post(final Object event) {
     }
 
 
+    @Override
+    public Collection<Class<?>> eventTypesSubscribedBy(final Object domainService) {
+        return firstParameterTypesOfMethodsAnnotatedWith(domainService, EventHandler.class);
+    }
+
     @Override
     protected AbstractDomainEvent<?> asDomainEvent(final Object event) {
         if(event instanceof GenericEventMessage) {
@@ -16,6 +16,9 @@
  */
 package org.apache.isis.core.runtime.services.eventbus.adapter;
 
+import java.util.Collection;
+
+import com.google.common.eventbus.Subscribe;
 import com.google.common.eventbus.SubscriberExceptionContext;
 import com.google.common.eventbus.SubscriberExceptionHandler;
 
@@ -58,6 +61,11 @@ public void post(final Object event) {
         eventBus.post(event);
     }
 
+    @Override
+    public Collection<Class<?>> eventTypesSubscribedBy(final Object domainService) {
+        return firstParameterTypesOfMethodsAnnotatedWith(domainService, Subscribe.class);
+    }
+
     @Override
     protected AbstractDomainEvent<?> asDomainEvent(final Object event) {
         return event instanceof AbstractDomainEvent
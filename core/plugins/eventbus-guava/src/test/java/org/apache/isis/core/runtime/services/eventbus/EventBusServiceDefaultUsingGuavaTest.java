@@ -126,4 +126,58 @@ public void disallow_late_registration_means_can_register_before_post() throws E
         }
 
     }
-}
\ No newline at end of file
+
+    public static class HasSubscribers extends EventBusServiceDefaultTest {
+
+        public static class SomeEvent {}
+        public static class SomeSubEvent extends SomeEvent {}
+        public static class OtherEvent {}
+
+        public static class SomeEventSubscriber {
+            @Subscribe
+            public void on(SomeEvent ev) {
+            }
+        }
+
+        public static class SomeEventSubscriberSubclass extends SomeEventSubscriber {
+            @Override
+            public void on(SomeEvent ev) {
+                super.on(ev);
+            }
+        }
+
+        @Before
+        public void setUp() throws Exception {
+            super.setUp();
+            eventBusService.init(ImmutableMap.of(
+                    EventBusServiceDefault.KEY_ALLOW_LATE_REGISTRATION, "true",
+                    EventBusServiceDefault.KEY_EVENT_BUS_IMPLEMENTATION, "guava"));
+        }
+
+        @Test
+        public void subscribed_to_type_and_subtypes_only() throws Exception {
+            eventBusService.register(new SomeEventSubscriber());
+
+            assertThat(eventBusService.hasSubscribers(SomeEvent.class), is(true));
+            assertThat(eventBusService.hasSubscribers(SomeSubEvent.class), is(true));
+            assertThat(eventBusService.hasSubscribers(OtherEvent.class), is(false));
+        }
+
+        @Test
+        public void subscriber_methods_inherited_from_superclass() throws Exception {
+            eventBusService.register(new SomeEventSubscriberSubclass());
+
+            assertThat(eventBusService.hasSubscribers(SomeEvent.class), is(true));
+        }
+
+        @Test
+        public void late_registration_is_indexed() throws Exception {
+            assertThat(eventBusService.hasSubscribers(SomeEvent.class), is(false));
+
+            eventBusService.register(new SomeEventSubscriber());
+
+            assertThat(eventBusService.hasSubscribers(SomeEvent.class), is(true));
+        }
+
+    }
+}
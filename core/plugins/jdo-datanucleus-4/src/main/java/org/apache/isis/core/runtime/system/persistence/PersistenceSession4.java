@@ -31,6 +31,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import javax.jdo.FetchGroup;
 import javax.jdo.FetchPlan;
@@ -400,6 +401,14 @@ public <T> ObjectAdapter firstMatchingQuery(final Query<T> query) {
         return list.size() > 0 ? list.get(0) : null;
     }
 
+    /**
+     * Not lazy: the results are loaded up-front, as for {@link #allMatchingQuery(Query)}.
+     */
+    @Override
+    public <T> Stream<ObjectAdapter> streamMatchingQuery(final Query<T> query) {
+        return allMatchingQuery(query).stream();
+    }
+
     /**
      * Finds and returns instances that match the specified query.
      *
@@ -1285,6 +1294,10 @@ public ObjectAdapter adapterForAny(RootOid rootOid) {
         }
     }
     
+    /**
+     * The adapters of those oids that could be loaded, iterating in the same order as the provided oids (even though
+     * those already mapped are located before the remainder are loaded in bulk).
+     */
     @Override
     public Map<RootOid, ObjectAdapter> adaptersFor(final List<RootOid> rootOids) {
         return adaptersFor(rootOids, ConcurrencyChecking.NO_CHECK);
@@ -1294,7 +1307,7 @@ private Map<RootOid,ObjectAdapter> adaptersFor(
             final List<RootOid> rootOids,
             final ConcurrencyChecking concurrencyChecking) {
 
-        final Map<RootOid, ObjectAdapter> adapterByOid = _Maps.newLinkedHashMap();
+        final Map<RootOid, ObjectAdapter> adapterByOid = _Maps.newHashMap();
 
         List<RootOid> notYetLoadedOids = _Lists.newArrayList();
         for (RootOid rootOid : rootOids) {
@@ -1338,7 +1351,23 @@ private Map<RootOid,ObjectAdapter> adaptersFor(
             }
         }
 
-        return adapterByOid;
+        return inOrderOf(rootOids, adapterByOid);
+    }
+
+    /**
+     * The adapters, iterating in the order of the oids; oids with no adapter are omitted.
+     */
+    static Map<RootOid, ObjectAdapter> inOrderOf(
+            final List<RootOid> rootOids,
+            final Map<RootOid, ObjectAdapter> adapterByOid) {
+        final Map<RootOid, ObjectAdapter> adapterByOidInOrder = _Maps.newLinkedHashMap();
+        for (final RootOid rootOid : rootOids) {
+            final ObjectAdapter adapter = adapterByOid.get(rootOid);
+            if(adapter != null) {
+                adapterByOidInOrder.put(rootOid, adapter);
+            }
+        }
+        return adapterByOidInOrder;
     }
 
     /**
@@ -0,0 +1,81 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.system.persistence;
+
+import java.util.List;
+
+import org.apache.isis.applib.internal.collections._Lists;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.runtime.persistence.objectstore.transaction.CreateObjectCommand;
+import org.apache.isis.core.runtime.persistence.objectstore.transaction.PersistenceCommand;
+
+/**
+ * Executes the commands of a {@link PersistenceSession5} that is persisting in bulk, keeping track of the entities
+ * created or loaded (eg looked up as references) so that, once flushed, they can be evicted rather than
+ * accumulating over the course of the transaction.
+ */
+class BulkPersistenceCommandExecutor {
+
+    interface Evictor {
+        /**
+         * An entity loaded since the last flush.
+         */
+        void evictLoaded(ObjectAdapter adapter);
+
+        /**
+         * An entity created (and now flushed) since the last flush.
+         */
+        void evictCreated(ObjectAdapter adapter);
+    }
+
+    private final List<ObjectAdapter> loaded = _Lists.newArrayList();
+    private final List<ObjectAdapter> created = _Lists.newArrayList();
+
+    void loaded(final ObjectAdapter adapter) {
+        loaded.add(adapter);
+    }
+
+    /**
+     * Executes the commands in their original order (so that, for example, a delete followed by a create re-using
+     * the same unique key still succeeds), then flushes, then evicts those entities created or loaded.
+     */
+    void execute(final List<PersistenceCommand> commands, final Runnable flush, final Evictor evictor) {
+        for (final PersistenceCommand command : commands) {
+            command.execute(null);
+            if(command instanceof CreateObjectCommand) {
+                created.add(command.onAdapter());
+            }
+        }
+        flush.run();
+
+        for (final ObjectAdapter adapter : created) {
+            evictor.evictCreated(adapter);
+        }
+        for (final ObjectAdapter adapter : loaded) {
+            evictor.evictLoaded(adapter);
+        }
+        clear();
+    }
+
+    void clear() {
+        loaded.clear();
+        created.clear();
+    }
+
+}
@@ -27,13 +27,17 @@
 import java.sql.Timestamp;
 import java.text.MessageFormat;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import javax.jdo.FetchGroup;
 import javax.jdo.FetchPlan;
+import javax.jdo.JDOException;
+import javax.jdo.JDOObjectNotFoundException;
 import javax.jdo.PersistenceManager;
 import javax.jdo.PersistenceManagerFactory;
 import javax.jdo.identity.SingleFieldIdentity;
@@ -41,6 +45,7 @@
 
 import org.apache.isis.applib.internal.collections._Lists;
 import org.apache.isis.applib.internal.collections._Maps;
+import org.apache.isis.applib.internal.collections._Sets;
 import org.apache.isis.applib.query.Query;
 import org.apache.isis.applib.services.bookmark.Bookmark;
 import org.apache.isis.applib.services.bookmark.BookmarkService;
@@ -111,13 +116,17 @@
 import org.apache.isis.core.runtime.system.transaction.IsisTransactionManager;
 import org.apache.isis.core.runtime.system.transaction.TransactionalClosure;
 import org.apache.isis.core.runtime.system.transaction.TransactionalClosureWithReturn;
+import org.apache.isis.objectstore.jdo.datanucleus.JDOStateManagerForIsis;
 import org.apache.isis.objectstore.jdo.datanucleus.persistence.commands.DataNucleusCreateObjectCommand;
 import org.apache.isis.objectstore.jdo.datanucleus.persistence.commands.DataNucleusDeleteObjectCommand;
 import org.apache.isis.objectstore.jdo.datanucleus.persistence.queries.PersistenceQueryFindAllInstancesProcessor;
 import org.apache.isis.objectstore.jdo.datanucleus.persistence.queries.PersistenceQueryFindUsingApplibQueryProcessor;
 import org.apache.isis.objectstore.jdo.datanucleus.persistence.queries.PersistenceQueryProcessor;
 import org.apache.isis.objectstore.jdo.datanucleus.persistence.spi.JdoObjectIdSerializer;
+import org.datanucleus.ExecutionContext;
+import org.datanucleus.api.jdo.JDOPersistenceManager;
 import org.datanucleus.enhancement.Persistable;
+import org.datanucleus.exceptions.NucleusException;
 import org.datanucleus.exceptions.NucleusObjectNotFoundException;
 import org.datanucleus.identity.DatastoreIdImpl;
 import org.slf4j.Logger;
@@ -136,6 +145,20 @@ public class PersistenceSession5 extends PersistenceSessionBase
 
     private static final Logger LOG = LoggerFactory.getLogger(PersistenceSession5.class);
 
+    /**
+     * The maximum number of objects of any given class to load with a single call, when loading in bulk (eg for
+     * standalone collections).
+     */
+    static final String KEY_BULK_LOAD_BATCH_SIZE = "isis.persistor.datanucleus.bulkLoad.batchSize";
+    static final int BULK_LOAD_BATCH_SIZE_DEFAULT = 100;
+
+    /**
+     * The name of the (JDO) fetch group to add to the fetch plan when loading in bulk, for those entities that
+     * declare it (using <tt>@FetchGroup</tt>).
+     */
+    static final String KEY_BULK_LOAD_FETCH_GROUP = "isis.persistor.datanucleus.bulkLoad.fetchGroup";
+    static final String BULK_LOAD_FETCH_GROUP_DEFAULT = "bulkLoad";
+
     /**
      * Initialize the object store so that calls to this object store access
      * persisted objects and persist changes to the object that are saved.
@@ -400,6 +423,44 @@ public <T> ObjectAdapter firstMatchingQuery(final Query<T> query) {
         return list.size() > 0 ? list.get(0) : null;
     }
 
+    /**
+     * As per {@link #allMatchingQuery(Query)}, but iterating over the results lazily, and evicting each (unless
+     * modified) once the next has been consumed.
+     *
+     * <p>
+     * Must be called within a transaction, and the returned stream closed before that transaction completes.
+     */
+    @Override
+    public <T> Stream<ObjectAdapter> streamMatchingQuery(final Query<T> query) {
+        return streamInstancesInTransaction(query, null);
+    }
+
+    /**
+     * As per {@link #streamMatchingQuery(Query)}, but returning only the adapters that match the filter; these are
+     * not evicted, whereas those that do not match are evicted (unless modified) as soon as they have been tested.
+     *
+     * <p>
+     * Must be called within a transaction, and the returned stream closed before that transaction completes.
+     */
+    @Override
+    public <T> Stream<ObjectAdapter> streamMatchingQuery(final Query<T> query, final Predicate<ObjectAdapter> filter) {
+        return streamInstancesInTransaction(query, filter);
+    }
+
+    private <T> Stream<ObjectAdapter> streamInstancesInTransaction(
+            final Query<T> query,
+            final Predicate<ObjectAdapter> filterIfAny) {
+        if(!transactionManager.inTransaction()) {
+            throw new IllegalStateException("Can only stream the results of a query within a transaction");
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("streamInstances using (applib) Query: {}", query);
+        }
+        final PersistenceQuery persistenceQuery = createPersistenceQueryFor(query, QueryCardinality.MULTIPLE);
+        final PersistenceQueryProcessor<? extends PersistenceQuery> processor = lookupProcessorFor(persistenceQuery);
+        return streamPersistenceQuery(processor, persistenceQuery, filterIfAny);
+    }
+
     /**
      * Finds and returns instances that match the specified query.
      *
@@ -468,6 +529,15 @@ private <Q extends PersistenceQuery> List<ObjectAdapter> processPersistenceQuery
             final PersistenceQuery persistenceQuery) {
         return persistenceQueryProcessor.process((Q) persistenceQuery);
     }
+    @SuppressWarnings("unchecked")
+    private <Q extends PersistenceQuery> Stream<ObjectAdapter> streamPersistenceQuery(
+            final PersistenceQueryProcessor<Q> persistenceQueryProcessor,
+            final PersistenceQuery persistenceQuery,
+            final Predicate<ObjectAdapter> filterIfAny) {
+        return filterIfAny != null
+                ? persistenceQueryProcessor.stream((Q) persistenceQuery, filterIfAny)
+                : persistenceQueryProcessor.stream((Q) persistenceQuery);
+    }
 
     // -- createTransientInstance, createViewModelInstance
 
@@ -779,61 +849,136 @@ private Object loadPersistentPojo(final RootOid rootOid) {
         return result;
     }
 
+    /**
+     * Loads the pojos for the oids (none of which are already loaded) in bulk, grouped by class and in batches of
+     * (at most) {@link #KEY_BULK_LOAD_BATCH_SIZE}.  The {@link #KEY_BULK_LOAD_FETCH_GROUP configured fetch group}
+     * is added to the fetch plan while doing so, and honoured by those entities that declare it.
+     *
+     * @return the pojos (in the order of the oids), with <tt>null</tt> for any that could not be loaded.
+     */
     private Map<RootOid,Object> loadPersistentPojos(final List<RootOid> rootOids) {
 
+        final Map<RootOid, Object> pojoByOid = Maps.newLinkedHashMap();
         if(rootOids.isEmpty()) {
-            return zip(rootOids, Collections.emptyList());
+            return pojoByOid;
         }
 
-        final List<Object> dnOids = _Lists.newArrayList();
+        final Map<Class<?>, List<RootOid>> rootOidsByClass = Maps.newLinkedHashMap();
         for (final RootOid rootOid : rootOids) {
-            final Object id = JdoObjectIdSerializer.toJdoObjectId(rootOid);
-            if(id instanceof SingleFieldIdentity) {
-                dnOids.add(id);
-            } else if (id instanceof String && ((String) id).contains("[OID]")) {
-                final DatastoreIdImpl datastoreId = new DatastoreIdImpl((String)id);
-                dnOids.add(datastoreId);
-            } else {
-                // application identity
-                final DatastoreIdImpl datastoreId = new DatastoreIdImpl(clsOf(rootOid).getName(), id);
-                dnOids.add(datastoreId);
-            }
+            pojoByOid.put(rootOid, null);
+            rootOidsByClass.computeIfAbsent(clsOf(rootOid), cls -> _Lists.newArrayList()).add(rootOid);
         }
-        FetchPlan fetchPlan = persistenceManager.getFetchPlan();
+
+        final int batchSize = Math.max(1,
+                configuration.getInteger(KEY_BULK_LOAD_BATCH_SIZE, BULK_LOAD_BATCH_SIZE_DEFAULT));
+        final String fetchGroup = configuration.getString(
+                KEY_BULK_LOAD_FETCH_GROUP, BULK_LOAD_FETCH_GROUP_DEFAULT);
+
+        final FetchPlan fetchPlan = persistenceManager.getFetchPlan();
         fetchPlan.addGroup(FetchGroup.DEFAULT);
-        final List<Object> persistentPojos = Lists.newArrayList();
+        final boolean addFetchGroup = !fetchPlan.getGroups().contains(fetchGroup);
+        if(addFetchGroup) {
+            fetchPlan.addGroup(fetchGroup);
+        }
         try {
-            final Collection<Object> pojos = persistenceManager.getObjectsById(dnOids, true);
-            for (final Object pojo : pojos) {
-                try {
-                    persistentPojos.add(pojo);
-                } catch(Exception ex) {
-                    persistentPojos.add(null);
+            for (final List<RootOid> rootOidsOfClass : rootOidsByClass.values()) {
+                for (final List<RootOid> batch : Lists.partition(rootOidsOfClass, batchSize)) {
+                    loadPersistentPojos(batch, pojoByOid);
                 }
             }
-        } catch(NucleusObjectNotFoundException nonfe) {
-            // at least one not found; fall back to loading one by one
-            for (final Object dnOid : dnOids) {
-                try {
-                    final Object persistentPojo = persistenceManager.getObjectById(dnOid);
-                    persistentPojos.add(persistentPojo);
-                } catch(Exception ex) {
-                    persistentPojos.add(null);
-                }
+        } finally {
+            if(addFetchGroup) {
+                fetchPlan.removeGroup(fetchGroup);
             }
         }
-        Map<RootOid, Object> pojoByOid = zip(rootOids, persistentPojos);
         return pojoByOid;
     }
 
-    private static Map<RootOid, Object> zip(final List<RootOid> rootOids, final Collection<Object> pojos) {
-        final Map<RootOid,Object> pojoByOid = Maps.newLinkedHashMap();
-        int i = 0;
-        for (final Object pojo : pojos) {
-            final RootOid rootOid = rootOids.get(i++);
-            pojoByOid.put(rootOid, pojo);
+    /**
+     * If any of the batch cannot be found, then those that were not found (as reported by the exception) are
+     * discarded and the remainder reloaded; only if none are reported is each of the batch loaded one by one.
+     */
+    private void loadPersistentPojos(final List<RootOid> batch, final Map<RootOid, Object> pojoByOid) {
+
+        final Map<Object, RootOid> rootOidByDnOid = Maps.newLinkedHashMap();
+        for (final RootOid rootOid : batch) {
+            rootOidByDnOid.put(dnOidFor(rootOid), rootOid);
+        }
+
+        while(!rootOidByDnOid.isEmpty()) {
+            final List<Object> dnOids = _Lists.newArrayList(rootOidByDnOid.keySet());
+            try {
+                final Collection<Object> pojos = persistenceManager.getObjectsById(dnOids, true);
+                int i = 0;
+                for (final Object pojo : pojos) {
+                    pojoByOid.put(rootOidByDnOid.get(dnOids.get(i++)), pojo);
+                }
+                return;
+            } catch(JDOObjectNotFoundException | NucleusObjectNotFoundException ex) {
+                final List<Object> notFound = failedObjectsOf(ex);
+                if(!rootOidByDnOid.keySet().removeAll(notFound)) {
+                    break;
+                }
+                LOG.debug("loadPersistentPojos: {} not found, reloading remaining {}", notFound, rootOidByDnOid.size());
+            }
+        }
+
+        // unable to determine which could not be found; fall back to loading one by one
+        for (final Map.Entry<Object, RootOid> entry : rootOidByDnOid.entrySet()) {
+            try {
+                pojoByOid.put(entry.getValue(), persistenceManager.getObjectById(entry.getKey()));
+            } catch(Exception ex) {
+                // not found
+            }
+        }
+    }
+
+    private Object dnOidFor(final RootOid rootOid) {
+        final Object id = JdoObjectIdSerializer.toJdoObjectId(rootOid);
+        if(id instanceof SingleFieldIdentity) {
+            return id;
+        } else if (id instanceof String && ((String) id).contains("[OID]")) {
+            return new DatastoreIdImpl((String)id);
+        } else {
+            // application identity
+            return new DatastoreIdImpl(clsOf(rootOid).getName(), id);
+        }
+    }
+
+    private static List<Object> failedObjectsOf(final RuntimeException ex) {
+        final List<Object> failedObjects = _Lists.newArrayList();
+        if(ex instanceof JDOException) {
+            final JDOException jdoException = (JDOException) ex;
+            addIfNotNull(failedObjects, jdoException.getFailedObject());
+            final Throwable[] nestedExceptions = jdoException.getNestedExceptions();
+            if(nestedExceptions != null) {
+                for (final Throwable nestedException : nestedExceptions) {
+                    if(nestedException instanceof JDOException) {
+                        addIfNotNull(failedObjects, ((JDOException) nestedException).getFailedObject());
+                    } else if(nestedException instanceof NucleusException) {
+                        addIfNotNull(failedObjects, ((NucleusException) nestedException).getFailedObject());
+                    }
+                }
+            }
+        } else if(ex instanceof NucleusException) {
+            final NucleusException nucleusException = (NucleusException) ex;
+            addIfNotNull(failedObjects, nucleusException.getFailedObject());
+            final Throwable[] nestedExceptions = nucleusException.getNestedExceptions();
+            if(nestedExceptions != null) {
+                for (final Throwable nestedException : nestedExceptions) {
+                    if(nestedException instanceof NucleusException) {
+                        addIfNotNull(failedObjects, ((NucleusException) nestedException).getFailedObject());
+                    }
+                }
+            }
+        }
+        return failedObjects;
+    }
+
+    private static void addIfNotNull(final List<Object> list, final Object obj) {
+        if(obj != null) {
+            list.add(obj);
         }
-        return pojoByOid;
     }
 
     private Class<?> clsOf(final RootOid oid) {
@@ -1090,12 +1235,72 @@ public void execute(final List<PersistenceCommand> commands) {
 
     private void executeCommands(final List<PersistenceCommand> commands) {
 
+        if(bulkPersistence) {
+            bulkPersistenceCommandExecutor.execute(commands, persistenceManager::flush, bulkPersistenceEvictor);
+            return;
+        }
+
         for (final PersistenceCommand command : commands) {
             command.execute(null);
         }
         persistenceManager.flush();
     }
-    
+
+
+    // -- bulk persistence
+
+    private static final String DATANUCLEUS_FLUSH_MODE = "datanucleus.flush.mode";
+
+    private boolean bulkPersistence;
+    private Object flushModeBeforeBulkPersistence;
+
+    /**
+     * Tracks the entities created or loaded (eg looked up as references) while persisting in bulk; those still clean
+     * once flushed are evicted each time the commands are executed, so that they do not accumulate over the course
+     * of the transaction.
+     */
+    private final BulkPersistenceCommandExecutor bulkPersistenceCommandExecutor = new BulkPersistenceCommandExecutor();
+
+    private final BulkPersistenceCommandExecutor.Evictor bulkPersistenceEvictor =
+            new BulkPersistenceCommandExecutor.Evictor() {
+                @Override
+                public void evictLoaded(final ObjectAdapter adapter) {
+                    // might already have been removed, eg if deleted
+                    if(getAdapterFor(adapter.getObject()) == adapter) {
+                        evictIfClean(adapter);
+                    }
+                }
+
+                @Override
+                public void evictCreated(final ObjectAdapter adapter) {
+                    if(getAdapterFor(adapter.getObject()) == adapter) {
+                        evictIfFlushed(adapter);
+                    }
+                }
+            };
+
+    /**
+     * While persisting in bulk, DataNucleus' flush mode is set to <tt>MANUAL</tt>, so that inserts are deferred
+     * until flushed and can be batched (up to the <tt>datanucleus.rdbms.statementBatchLimit</tt>).
+     */
+    @Override
+    public void setBulkPersistence(final boolean bulkPersistence) {
+        if(this.bulkPersistence == bulkPersistence) {
+            return;
+        }
+        this.bulkPersistence = bulkPersistence;
+        if(bulkPersistence) {
+            flushModeBeforeBulkPersistence = persistenceManager.getProperties().get(DATANUCLEUS_FLUSH_MODE);
+            persistenceManager.setProperty(DATANUCLEUS_FLUSH_MODE, "MANUAL");
+        } else {
+            bulkPersistenceCommandExecutor.clear();
+            persistenceManager.setProperty(DATANUCLEUS_FLUSH_MODE,
+                    flushModeBeforeBulkPersistence != null
+                            ? flushModeBeforeBulkPersistence
+                            : persistenceManager.currentTransaction().getOptimistic() ? "MANUAL" : "AUTO");
+            flushModeBeforeBulkPersistence = null;
+        }
+    }
 
     // -- getAggregateRoot, remappedFrom
 
@@ -1141,6 +1346,21 @@ public ObjectAdapter getAdapterFor(final Oid oid) {
     }
 
 
+    /**
+     * A copy of the {@link Oid}s of all adapters currently mapped.
+     *
+     * <p>
+     * Used when {@link #streamMatchingQuery(Query) streaming} over query results, to distinguish the entities that
+     * were already in use before the query ran (and so must not be evicted) from those only loaded by the query.
+     */
+    public Set<Oid> getMappedOids() {
+        final Set<Oid> oids = _Sets.newHashSet();
+        for (final Oid oid : oidAdapterMap) {
+            oids.add(oid);
+        }
+        return oids;
+    }
+
     private ObjectAdapter existingOrValueAdapter(Object pojo) {
 
         // attempt to locate adapter for the pojo
@@ -1285,6 +1505,10 @@ public ObjectAdapter adapterForAny(RootOid rootOid) {
         }
     }
     
+    /**
+     * The adapters of those oids that could be loaded, iterating in the same order as the provided oids (even though
+     * those already mapped are located before the remainder are loaded in bulk).
+     */
     @Override
     public Map<RootOid, ObjectAdapter> adaptersFor(final List<RootOid> rootOids) {
         return adaptersFor(rootOids, ConcurrencyChecking.NO_CHECK);
@@ -1294,7 +1518,7 @@ private Map<RootOid,ObjectAdapter> adaptersFor(
             final List<RootOid> rootOids,
             final ConcurrencyChecking concurrencyChecking) {
 
-        final Map<RootOid, ObjectAdapter> adapterByOid = _Maps.newLinkedHashMap();
+        final Map<RootOid, ObjectAdapter> adapterByOid = _Maps.newHashMap();
 
         List<RootOid> notYetLoadedOids = _Lists.newArrayList();
         for (RootOid rootOid : rootOids) {
@@ -1338,7 +1562,23 @@ private Map<RootOid,ObjectAdapter> adaptersFor(
             }
         }
 
-        return adapterByOid;
+        return inOrderOf(rootOids, adapterByOid);
+    }
+
+    /**
+     * The adapters, iterating in the order of the oids; oids with no adapter are omitted.
+     */
+    static Map<RootOid, ObjectAdapter> inOrderOf(
+            final List<RootOid> rootOids,
+            final Map<RootOid, ObjectAdapter> adapterByOid) {
+        final Map<RootOid, ObjectAdapter> adapterByOidInOrder = _Maps.newLinkedHashMap();
+        for (final RootOid rootOid : rootOids) {
+            final ObjectAdapter adapter = adapterByOid.get(rootOid);
+            if(adapter != null) {
+                adapterByOidInOrder.put(rootOid, adapter);
+            }
+        }
+        return adapterByOidInOrder;
     }
 
     /**
@@ -1725,6 +1965,50 @@ public void removeAdapter(final ObjectAdapter adapter) {
         unmap(adapter);
     }
 
+    /**
+     * Removes the adapter (as per {@link #removeAdapter(ObjectAdapter)}) and evicts its pojo from the
+     * {@link PersistenceManager}, but only if the pojo is an entity that has not been created, modified or deleted
+     * in this transaction.
+     *
+     * <p>
+     * Used when {@link #streamMatchingQuery(Query) streaming} over query results, so that entities already
+     * consumed can be garbage collected.
+     */
+    public void evictIfClean(final ObjectAdapter adapter) {
+        final Object pojo = adapter.getObject();
+        if(!(pojo instanceof Persistable)) {
+            return;
+        }
+        final Persistable persistable = (Persistable) pojo;
+        if(persistable.dnIsDirty() || persistable.dnIsNew() || persistable.dnIsDeleted()) {
+            return;
+        }
+        if(changedObjectsServiceInternal.isEnlisted(adapter)) {
+            return;
+        }
+        removeAdapter(adapter);
+        persistenceManager.evict(pojo);
+    }
+
+    /**
+     * As per {@link #evictIfClean(ObjectAdapter)}, but for an entity created (and since flushed) in this
+     * transaction while {@link #setBulkPersistence(boolean) persisting in bulk}.  Such an entity is not enlisted for
+     * auditing and publishing (see <tt>ChangedObjectsServiceInternal#setBulkPersistence(boolean)</tt>), so once
+     * evicted nothing in the session holds on to it.
+     */
+    private void evictIfFlushed(final ObjectAdapter adapter) {
+        final Object pojo = adapter.getObject();
+        if(!(pojo instanceof Persistable)) {
+            return;
+        }
+        final Persistable persistable = (Persistable) pojo;
+        if(persistable.dnIsDirty() || persistable.dnIsDeleted()) {
+            return;
+        }
+        removeAdapter(adapter);
+        persistenceManager.evict(pojo);
+    }
+
     private void unmap(final ObjectAdapter adapter) {
         ensureMapsConsistent(adapter);
 
@@ -1922,6 +2206,9 @@ public void initializeMapAndCheckConcurrency(final Persistable pojo) {
                 remapRecreatedPojo(adapter, pojo);
             } else {
                 adapter = mapRecreatedPojo(originalOid, pojo);
+                if(bulkPersistence) {
+                    bulkPersistenceCommandExecutor.loaded(adapter);
+                }
 
                 CallbackFacet.Util.callCallback(adapter, LoadedCallbackFacet.class);
                 postLifecycleEventIfRequired(adapter, LoadedLifecycleEventFacet.class);
@@ -2096,7 +2383,12 @@ public void enlistUpdatingAndInvokeIsisUpdatingCallback(final Persistable pojo)
 
         // we call this come what may;
         // additional properties may now have been changed, and the changeKind for publishing might also be modified
-        changedObjectsServiceInternal.enlistUpdating(adapter);
+        if(isManagedByIsisStateManager(pojo)) {
+            // the modified properties are enlisted individually, see enlistUpdatingProperty(...)
+            changedObjectsServiceInternal.enlistUpdatingFieldByField(adapter);
+        } else {
+            changedObjectsServiceInternal.enlistUpdating(adapter);
+        }
 
         if(!wasAlreadyEnlisted) {
             // prevent an infinite loop... don't call the 'updating()' callback on this object if we have already done so
@@ -2107,6 +2399,60 @@ public void enlistUpdatingAndInvokeIsisUpdatingCallback(final Persistable pojo)
         ensureRootObject(pojo);
     }
 
+    private boolean isManagedByIsisStateManager(final Persistable pojo) {
+        final ExecutionContext executionContext = ((JDOPersistenceManager) persistenceManager).getExecutionContext();
+        return executionContext.findObjectProvider(pojo) instanceof JDOStateManagerForIsis;
+    }
+
+    /**
+     * Called by the {@link JDOStateManagerForIsis} just before a field of a persistent entity is written, to enlist
+     * the corresponding property for auditing (capturing its pre-modification value); only those properties actually
+     * modified are therefore audited.
+     *
+     * <p>
+     * Fields that do not correspond to a property are not audited.
+     */
+    public void enlistUpdatingProperty(final Persistable pojo, final String fieldName) {
+        ObjectAdapter adapter = getAdapterFor(pojo);
+        if (adapter == null) {
+            // as per enlistUpdatingAndInvokeIsisUpdatingCallback(...)
+            adapter = mapPersistent(pojo);
+            if (adapter == null) {
+                return;
+            }
+        }
+        if (adapter.isTransient()) {
+            return;
+        }
+
+        final ObjectAssociation property = propertyForField(adapter.getSpecification(), fieldName);
+        if(property == null) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("field '{}' of {} is not a property, so not audited", fieldName, adapter.getSpecification().getFullIdentifier());
+            }
+            return;
+        }
+        changedObjectsServiceInternal.enlistUpdating(adapter, property);
+    }
+
+    /**
+     * The property whose id matches the name of the (JDO) field, ignoring case and any leading underscores, or
+     * <tt>null</tt> if there is none (including if the field is a collection, which are not audited).
+     */
+    static ObjectAssociation propertyForField(final ObjectSpecification spec, final String fieldName) {
+        final String name = fieldName.replaceFirst("^_+", "");
+        ObjectAssociation ignoringCase = null;
+        for (final ObjectAssociation association : spec.getAssociations(Contributed.EXCLUDED)) {
+            if(association.getId().equals(fieldName)) {
+                return association.isOneToOneAssociation() ? association : null;
+            }
+            if(ignoringCase == null && association.getId().equalsIgnoreCase(name)) {
+                ignoringCase = association;
+            }
+        }
+        return ignoringCase != null && ignoringCase.isOneToOneAssociation() ? ignoringCase : null;
+    }
+
     /**
      * makes sure the entity is known to Isis and is a root
      * @param pojo
@@ -19,16 +19,21 @@
 
 package org.apache.isis.objectstore.jdo.datanucleus;
 
+import java.util.Objects;
+
 import org.datanucleus.ExecutionContext;
 import org.datanucleus.cache.CachedPC;
 import org.datanucleus.enhancement.Persistable;
 import org.datanucleus.metadata.AbstractClassMetaData;
+import org.datanucleus.state.LifeCycleState;
 import org.datanucleus.state.ReferentialStateManagerImpl;
 import org.datanucleus.store.FieldValues;
 import org.datanucleus.store.fieldmanager.FieldManager;
 
 import org.apache.isis.core.metamodel.services.ServicesInjector;
 import org.apache.isis.core.runtime.system.context.IsisContext;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession5;
+import org.apache.isis.core.runtime.system.session.IsisSession;
 import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
 
 public class JDOStateManagerForIsis extends ReferentialStateManagerImpl {
@@ -201,6 +206,110 @@ public void replaceNonLoadedFields(int fieldNumbers[], FieldManager fm) {
         }
     }
 
+    @Override
+    public void setBooleanField(Persistable pc, int fieldNumber, boolean currentValue, boolean newValue) {
+        if (currentValue != newValue) {
+            enlistUpdatingField(pc, fieldNumber);
+        }
+        super.setBooleanField(pc, fieldNumber, currentValue, newValue);
+    }
+
+    @Override
+    public void setByteField(Persistable pc, int fieldNumber, byte currentValue, byte newValue) {
+        if (currentValue != newValue) {
+            enlistUpdatingField(pc, fieldNumber);
+        }
+        super.setByteField(pc, fieldNumber, currentValue, newValue);
+    }
+
+    @Override
+    public void setCharField(Persistable pc, int fieldNumber, char currentValue, char newValue) {
+        if (currentValue != newValue) {
+            enlistUpdatingField(pc, fieldNumber);
+        }
+        super.setCharField(pc, fieldNumber, currentValue, newValue);
+    }
+
+    @Override
+    public void setDoubleField(Persistable pc, int fieldNumber, double currentValue, double newValue) {
+        if (currentValue != newValue) {
+            enlistUpdatingField(pc, fieldNumber);
+        }
+        super.setDoubleField(pc, fieldNumber, currentValue, newValue);
+    }
+
+    @Override
+    public void setFloatField(Persistable pc, int fieldNumber, float currentValue, float newValue) {
+        if (currentValue != newValue) {
+            enlistUpdatingField(pc, fieldNumber);
+        }
+        super.setFloatField(pc, fieldNumber, currentValue, newValue);
+    }
+
+    @Override
+    public void setIntField(Persistable pc, int fieldNumber, int currentValue, int newValue) {
+        if (currentValue != newValue) {
+            enlistUpdatingField(pc, fieldNumber);
+        }
+        super.setIntField(pc, fieldNumber, currentValue, newValue);
+    }
+
+    @Override
+    public void setLongField(Persistable pc, int fieldNumber, long currentValue, long newValue) {
+        if (currentValue != newValue) {
+            enlistUpdatingField(pc, fieldNumber);
+        }
+        super.setLongField(pc, fieldNumber, currentValue, newValue);
+    }
+
+    @Override
+    public void setShortField(Persistable pc, int fieldNumber, short currentValue, short newValue) {
+        if (currentValue != newValue) {
+            enlistUpdatingField(pc, fieldNumber);
+        }
+        super.setShortField(pc, fieldNumber, currentValue, newValue);
+    }
+
+    @Override
+    public void setStringField(Persistable pc, int fieldNumber, String currentValue, String newValue) {
+        if (!Objects.equals(currentValue, newValue)) {
+            enlistUpdatingField(pc, fieldNumber);
+        }
+        super.setStringField(pc, fieldNumber, currentValue, newValue);
+    }
+
+    @Override
+    public void setObjectField(Persistable pc, int fieldNumber, Object currentValue, Object newValue) {
+        if (currentValue != newValue) {
+            enlistUpdatingField(pc, fieldNumber);
+        }
+        super.setObjectField(pc, fieldNumber, currentValue, newValue);
+    }
+
+    /**
+     * Enlists the property corresponding to a field of a persistent (not new or deleted) entity that is about to be
+     * written, so that only the properties actually modified need be audited.  Its pre-modification value is read
+     * (by way of its getter) before the field is written.
+     */
+    private void enlistUpdatingField(Persistable pc, int fieldNumber) {
+        if (pc != myPC || hint.get() != Hint.NONE) {
+            return;
+        }
+        final LifeCycleState lifecycleState = getLifecycleState();
+        if (lifecycleState == null || !lifecycleState.isPersistent() || lifecycleState.isNew() || lifecycleState.isDeleted()) {
+            return;
+        }
+        final IsisSession isisSession = getSessionFactory().getCurrentSession();
+        if (isisSession == null || !(isisSession.getPersistenceSession() instanceof PersistenceSession5)) {
+            return;
+        }
+
+        final String fieldName = getClassMetaData().getMetaDataForManagedMemberAtAbsolutePosition(fieldNumber).getName();
+
+        final PersistenceSession5 persistenceSession = (PersistenceSession5) isisSession.getPersistenceSession();
+        persistenceSession.enlistUpdatingProperty(myPC, fieldName);
+    }
+
     public void postCommit(org.datanucleus.Transaction tx) {
         final Hint previous = hint.get();
         try {
@@ -19,6 +19,8 @@
 package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
 
 import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import javax.jdo.Query;
 
@@ -39,6 +41,41 @@ public PersistenceQueryFindAllInstancesProcessor(final PersistenceSession5 persi
     }
 
     public List<ObjectAdapter> process(final PersistenceQueryFindAllInstances persistenceQuery) {
+        final Query<?> jdoQuery = newJdoQuery(persistenceQuery);
+        try {
+            final List<?> pojos = (List<?>) jdoQuery.execute();
+            return loadAdapters(pojos);
+        } finally {
+            jdoQuery.closeAll();
+        }
+    }
+
+    @Override
+    public Stream<ObjectAdapter> stream(final PersistenceQueryFindAllInstances persistenceQuery) {
+        return newStream(persistenceQuery, null);
+    }
+
+    @Override
+    public Stream<ObjectAdapter> stream(
+            final PersistenceQueryFindAllInstances persistenceQuery,
+            final Predicate<ObjectAdapter> filter) {
+        return newStream(persistenceQuery, filter);
+    }
+
+    private Stream<ObjectAdapter> newStream(
+            final PersistenceQueryFindAllInstances persistenceQuery,
+            final Predicate<ObjectAdapter> filterIfAny) {
+        final Query<?> jdoQuery = newJdoQuery(persistenceQuery);
+        prepareForStreaming(jdoQuery);
+        try {
+            return streamAdapters(jdoQuery, () -> (List<?>) jdoQuery.execute(), filterIfAny);
+        } catch (final RuntimeException ex) {
+            jdoQuery.closeAll();
+            throw ex;
+        }
+    }
+
+    private Query<?> newJdoQuery(final PersistenceQueryFindAllInstances persistenceQuery) {
 
         final ObjectSpecification specification = persistenceQuery.getSpecification();
         
@@ -51,12 +88,6 @@ public List<ObjectAdapter> process(final PersistenceQueryFindAllInstances persis
         if (LOG.isDebugEnabled()) {
             LOG.debug("allInstances(): class={}", specification.getFullIdentifier());
         }
-
-        try {
-            final List<?> pojos = (List<?>) jdoQuery.execute();
-            return loadAdapters(pojos);
-        } finally {
-            jdoQuery.closeAll();
-        }
+        return jdoQuery;
     }
 }
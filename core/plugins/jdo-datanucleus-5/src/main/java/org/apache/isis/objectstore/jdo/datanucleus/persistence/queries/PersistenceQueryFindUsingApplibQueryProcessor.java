@@ -21,6 +21,8 @@
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import javax.jdo.Query;
 
@@ -60,6 +62,44 @@ public List<ObjectAdapter> process(final PersistenceQueryFindUsingApplibQueryDef
         return loadAdapters(results);
     }
 
+    @Override
+    public Stream<ObjectAdapter> stream(final PersistenceQueryFindUsingApplibQueryDefault persistenceQuery) {
+        return newStream(persistenceQuery, null);
+    }
+
+    @Override
+    public Stream<ObjectAdapter> stream(
+            final PersistenceQueryFindUsingApplibQueryDefault persistenceQuery,
+            final Predicate<ObjectAdapter> filter) {
+        return newStream(persistenceQuery, filter);
+    }
+
+    private Stream<ObjectAdapter> newStream(
+            final PersistenceQueryFindUsingApplibQueryDefault persistenceQuery,
+            final Predicate<ObjectAdapter> filterIfAny) {
+        final String queryName = persistenceQuery.getQueryName();
+        final ObjectSpecification objectSpec = persistenceQuery.getSpecification();
+        if((objectSpec.getFullIdentifier() + "#pk").equals(queryName)) {
+            // at most one result anyway
+            final Stream<ObjectAdapter> adapters = process(persistenceQuery).stream();
+            return filterIfAny != null ? adapters.filter(filterIfAny) : adapters;
+        }
+
+        final Map<String, Object> argumentsByParameterName = unwrap(
+                persistenceQuery.getArgumentsAdaptersByParameterName());
+        final Query<?> jdoQuery = newJdoNamedQuery(persistenceQuery, argumentsByParameterName);
+        prepareForStreaming(jdoQuery);
+        try {
+            return streamAdapters(jdoQuery, () -> {
+                final List<?> results = (List<?>) jdoQuery.executeWithMap(argumentsByParameterName);
+                return results != null ? results : Collections.emptyList();
+            }, filterIfAny);
+        } catch (final RuntimeException ex) {
+            jdoQuery.closeAll();
+            throw ex;
+        }
+    }
+
     // special case handling
     private List<?> getResultsPk(final PersistenceQueryFindUsingApplibQueryDefault persistenceQuery) {
 
@@ -93,10 +133,31 @@ private List<?> getResultsPk(final PersistenceQueryFindUsingApplibQueryDefault p
 
     private List<?> getResults(final PersistenceQueryFindUsingApplibQueryDefault persistenceQuery) {
         
-        final String queryName = persistenceQuery.getQueryName();
         final Map<String, Object> argumentsByParameterName = unwrap(
                 persistenceQuery.getArgumentsAdaptersByParameterName());
         final QueryCardinality cardinality = persistenceQuery.getCardinality();
+        final Query<?> jdoQuery = newJdoNamedQuery(persistenceQuery, argumentsByParameterName);
+
+        try {
+            final List<?> results = (List<?>) jdoQuery.executeWithMap(argumentsByParameterName);
+            if(results == null) {
+                return Collections.emptyList();
+            }
+            final List<?> resultsToReturn =
+                    cardinality == QueryCardinality.MULTIPLE
+                            ? results
+                            : firstIfAnyOf(results);
+            return Lists.newArrayList(resultsToReturn);
+        } finally {
+            jdoQuery.closeAll();
+        }
+    }
+
+    private Query<?> newJdoNamedQuery(
+            final PersistenceQueryFindUsingApplibQueryDefault persistenceQuery,
+            final Map<String, Object> argumentsByParameterName) {
+
+        final String queryName = persistenceQuery.getQueryName();
         final ObjectSpecification objectSpec = persistenceQuery.getSpecification();
 
         final Class<?> cls = objectSpec.getCorrespondingClass();
@@ -112,20 +173,7 @@ private List<?> getResults(final PersistenceQueryFindUsingApplibQueryDefault per
         if (LOG.isDebugEnabled()) {
             LOG.debug("{} # {} ( {} )", cls.getName(), queryName, argumentsByParameterName);
         }
-        
-        try {
-            final List<?> results = (List<?>) jdoQuery.executeWithMap(argumentsByParameterName);
-            if(results == null) {
-                return Collections.emptyList();
-            }
-            final List<?> resultsToReturn =
-                    cardinality == QueryCardinality.MULTIPLE
-                            ? results
-                            : firstIfAnyOf(results);
-            return Lists.newArrayList(resultsToReturn);
-        } finally {
-            jdoQuery.closeAll();
-        }
+        return jdoQuery;
     }
 
     private List<?> firstIfAnyOf(final List<?> results) {
@@ -18,12 +18,26 @@
  */
 package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import javax.jdo.FetchPlan;
+import javax.jdo.Query;
 import javax.jdo.listener.InstanceLifecycleEvent;
 
 import org.apache.isis.core.commons.ensure.Assert;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.Oid;
 import org.apache.isis.core.runtime.system.persistence.IsisLifecycleListener2;
 import org.apache.isis.core.runtime.system.persistence.PersistenceQuery;
 import org.apache.isis.core.runtime.system.persistence.PersistenceSession5;
@@ -50,22 +64,150 @@ protected PersistenceQueryProcessorAbstract(final PersistenceSession5 persistenc
     protected List<ObjectAdapter> loadAdapters(final List<?> pojos) {
         final List<ObjectAdapter> adapters = Lists.newArrayList();
         for (final Object pojo : pojos) {
-        	// ought not to be necessary, however for some queries it seems that the 
-        	// lifecycle listener is not called
-            ObjectAdapter adapter;
-            if(pojo instanceof Persistable) {
-                // an entity
-                persistenceSession.initializeMapAndCheckConcurrency((Persistable) pojo);
-                adapter = persistenceSession.getAdapterFor(pojo);
-            } else {
-                // a value type
-                adapter = persistenceSession.adapterFor(pojo);
-            }
-            Assert.assertNotNull(adapter);
-            adapters.add(adapter);
+            adapters.add(loadAdapter(pojo));
         }
         return adapters;
     }
 
+    private ObjectAdapter loadAdapter(final Object pojo) {
+        // ought not to be necessary, however for some queries it seems that the
+        // lifecycle listener is not called
+        ObjectAdapter adapter;
+        if(pojo instanceof Persistable) {
+            // an entity
+            persistenceSession.initializeMapAndCheckConcurrency((Persistable) pojo);
+            adapter = persistenceSession.getAdapterFor(pojo);
+        } else {
+            // a value type
+            adapter = persistenceSession.adapterFor(pojo);
+        }
+        Assert.assertNotNull(adapter);
+        return adapter;
+    }
+
+    /**
+     * Prepares the query such that DataNucleus does not hold on to the results already iterated over, and fetches
+     * them from the database in batches.
+     */
+    protected static void prepareForStreaming(final Query<?> jdoQuery) {
+        jdoQuery.addExtension("datanucleus.query.resultCacheType", "none");
+        jdoQuery.addExtension("datanucleus.query.loadResultsAtCommit", "false");
+        jdoQuery.getFetchPlan().setFetchSize(FetchPlan.FETCH_SIZE_OPTIMAL);
+    }
+
+    /**
+     * Executes the query and lazily maps each of the resultant pojos to its adapter as the returned stream is
+     * consumed.
+     *
+     * <p>
+     * Once the consumer has moved on to the next pojo, the previous one is evicted (both its adapter, and from the
+     * JDO persistence manager) unless it was already mapped before the query was executed or has since been
+     * modified, so that the memory used is independent of the number of results.  Closing the stream closes the
+     * query.
+     *
+     * <p>
+     * If a filter is provided, then only the adapters matching it are returned, and these are <i>not</i> evicted
+     * (they are typically collected by the caller); those that do not match are evicted as soon as they have been
+     * tested.
+     */
+    protected Stream<ObjectAdapter> streamAdapters(
+            final Query<?> jdoQuery,
+            final Supplier<List<?>> execution,
+            final Predicate<ObjectAdapter> filter) {
+        // must be captured before executing the query: the lifecycle listener maps each pojo as it is loaded.
+        final Set<Oid> mappedBeforehand = persistenceSession.getMappedOids();
+        final EvictingIterator iterator = new EvictingIterator(
+                execution.get().iterator(), this::loadAdapter, mappedBeforehand, persistenceSession::evictIfClean,
+                filter);
+        return StreamSupport.stream(
+                    Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        iterator.evictPrevious();
+                    } finally {
+                        jdoQuery.closeAll();
+                    }
+                });
+    }
+
+    static class EvictingIterator implements Iterator<ObjectAdapter> {
+
+        private final Iterator<?> pojos;
+        private final Function<Object, ObjectAdapter> loader;
+        private final Set<Oid> mappedBeforehand;
+        private final Consumer<ObjectAdapter> evictor;
+        private final Predicate<ObjectAdapter> filter;
+        private ObjectAdapter previous;
+        private ObjectAdapter nextMatch;
+
+        EvictingIterator(
+                final Iterator<?> pojos,
+                final Function<Object, ObjectAdapter> loader,
+                final Set<Oid> mappedBeforehand,
+                final Consumer<ObjectAdapter> evictor) {
+            this(pojos, loader, mappedBeforehand, evictor, null);
+        }
+
+        /**
+         * @param filter - if non-null, then only matching adapters are returned, and are never evicted.
+         */
+        EvictingIterator(
+                final Iterator<?> pojos,
+                final Function<Object, ObjectAdapter> loader,
+                final Set<Oid> mappedBeforehand,
+                final Consumer<ObjectAdapter> evictor,
+                final Predicate<ObjectAdapter> filter) {
+            this.pojos = pojos;
+            this.loader = loader;
+            this.mappedBeforehand = mappedBeforehand;
+            this.evictor = evictor;
+            this.filter = filter;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if(filter == null) {
+                return pojos.hasNext();
+            }
+            while(nextMatch == null && pojos.hasNext()) {
+                final ObjectAdapter adapter = loader.apply(pojos.next());
+                if(filter.test(adapter)) {
+                    nextMatch = adapter;
+                } else {
+                    evict(adapter);
+                }
+            }
+            return nextMatch != null;
+        }
+
+        @Override
+        public ObjectAdapter next() {
+            if(filter == null) {
+                evictPrevious();
+                previous = loader.apply(pojos.next());
+                return previous;
+            }
+            if(!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final ObjectAdapter match = nextMatch;
+            nextMatch = null;
+            return match;
+        }
+
+        void evictPrevious() {
+            if(previous != null) {
+                evict(previous);
+            }
+            previous = null;
+        }
+
+        private void evict(final ObjectAdapter adapter) {
+            final Oid oid = adapter.getOid();
+            if(oid == null || !mappedBeforehand.contains(oid)) {
+                evictor.accept(adapter);
+            }
+        }
+    }
 
 }
@@ -0,0 +1,167 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.system.persistence;
+
+import java.util.Arrays;
+
+import org.jmock.Expectations;
+import org.jmock.Sequence;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.runtime.persistence.objectstore.transaction.CreateObjectCommand;
+import org.apache.isis.core.runtime.persistence.objectstore.transaction.DestroyObjectCommand;
+import org.apache.isis.core.runtime.persistence.objectstore.transaction.PersistenceCommand;
+import org.apache.isis.core.runtime.persistence.objectstore.transaction.PersistenceCommandContext;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+public class BulkPersistenceCommandExecutorTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private BulkPersistenceCommandExecutor.Evictor mockEvictor;
+
+    @Mock
+    private Runnable mockFlush;
+
+    private ObjectAdapter customerA, customerB, customerBReplacement, order, referencedProduct;
+
+    private BulkPersistenceCommandExecutor executor;
+
+    @Before
+    public void setUp() throws Exception {
+        customerA = context.mock(ObjectAdapter.class, "customerA");
+        customerB = context.mock(ObjectAdapter.class, "customerB");
+        customerBReplacement = context.mock(ObjectAdapter.class, "customerBReplacement");
+        order = context.mock(ObjectAdapter.class, "order");
+        referencedProduct = context.mock(ObjectAdapter.class, "referencedProduct");
+
+        executor = new BulkPersistenceCommandExecutor();
+    }
+
+    private CreateObjectCommand createCommand(final ObjectAdapter adapter) {
+        final CreateObjectCommand command = context.mock(CreateObjectCommand.class, "create " + adapter);
+        context.checking(new Expectations() {{
+            allowing(command).onAdapter();
+            will(returnValue(adapter));
+        }});
+        return command;
+    }
+
+    private DestroyObjectCommand destroyCommand(final ObjectAdapter adapter) {
+        final DestroyObjectCommand command = context.mock(DestroyObjectCommand.class, "destroy " + adapter);
+        context.checking(new Expectations() {{
+            allowing(command).onAdapter();
+            will(returnValue(adapter));
+        }});
+        return command;
+    }
+
+    @Test
+    public void executes_commands_in_original_order_then_flushes() throws Exception {
+
+        // given a delete followed by an insert that re-uses the same unique key, interleaved with other types
+        final CreateObjectCommand createCustomerA = createCommand(customerA);
+        final CreateObjectCommand createOrder = createCommand(order);
+        final DestroyObjectCommand destroyCustomerB = destroyCommand(customerB);
+        final CreateObjectCommand createCustomerBReplacement = createCommand(customerBReplacement);
+
+        final Sequence sequence = context.sequence("commands");
+        context.checking(new Expectations() {{
+            oneOf(createCustomerA).execute(with(aNull(PersistenceCommandContext.class)));
+            inSequence(sequence);
+            oneOf(createOrder).execute(with(aNull(PersistenceCommandContext.class)));
+            inSequence(sequence);
+            oneOf(destroyCustomerB).execute(with(aNull(PersistenceCommandContext.class)));
+            inSequence(sequence);
+            oneOf(createCustomerBReplacement).execute(with(aNull(PersistenceCommandContext.class)));
+            inSequence(sequence);
+            oneOf(mockFlush).run();
+            inSequence(sequence);
+
+            ignoring(mockEvictor);
+        }});
+
+        // when
+        executor.execute(
+                Arrays.<PersistenceCommand>asList(createCustomerA, createOrder, destroyCustomerB, createCustomerBReplacement),
+                mockFlush, mockEvictor);
+    }
+
+    @Test
+    public void evicts_created_and_loaded_once_flushed() throws Exception {
+
+        // given
+        final CreateObjectCommand createCustomerA = createCommand(customerA);
+        final CreateObjectCommand createOrder = createCommand(order);
+        final DestroyObjectCommand destroyCustomerB = destroyCommand(customerB);
+        executor.loaded(referencedProduct);
+
+        final Sequence sequence = context.sequence("flushThenEvict");
+        context.checking(new Expectations() {{
+            allowing(createCustomerA).execute(null);
+            allowing(createOrder).execute(null);
+            allowing(destroyCustomerB).execute(null);
+
+            oneOf(mockFlush).run();
+            inSequence(sequence);
+            oneOf(mockEvictor).evictCreated(customerA);
+            inSequence(sequence);
+            oneOf(mockEvictor).evictCreated(order);
+            inSequence(sequence);
+            oneOf(mockEvictor).evictLoaded(referencedProduct);
+            inSequence(sequence);
+
+            never(mockEvictor).evictCreated(customerB);
+        }});
+
+        // when
+        executor.execute(
+                Arrays.<PersistenceCommand>asList(createCustomerA, createOrder, destroyCustomerB),
+                mockFlush, mockEvictor);
+    }
+
+    @Test
+    public void evicts_only_those_since_last_flush() throws Exception {
+
+        // given
+        final CreateObjectCommand createCustomerA = createCommand(customerA);
+        final CreateObjectCommand createOrder = createCommand(order);
+
+        context.checking(new Expectations() {{
+            allowing(createCustomerA).execute(null);
+            allowing(createOrder).execute(null);
+            allowing(mockFlush).run();
+
+            oneOf(mockEvictor).evictCreated(customerA);
+            oneOf(mockEvictor).evictCreated(order);
+        }});
+
+        // when
+        executor.execute(Arrays.<PersistenceCommand>asList(createCustomerA), mockFlush, mockEvictor);
+        executor.execute(Arrays.<PersistenceCommand>asList(createOrder), mockFlush, mockEvictor);
+    }
+
+}
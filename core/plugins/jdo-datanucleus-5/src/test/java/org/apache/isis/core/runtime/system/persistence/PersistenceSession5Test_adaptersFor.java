@@ -0,0 +1,99 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.system.persistence;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.Lists;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class PersistenceSession5Test_adaptersFor {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    private RootOid oid1, oid2, oid3, oid4;
+    private ObjectAdapter adapter1, adapter2, adapter3, adapter4;
+
+    @Before
+    public void setUp() throws Exception {
+        final ObjectSpecId specId = ObjectSpecId.of("CUS");
+        oid1 = RootOid.create(specId, "1");
+        oid2 = RootOid.create(specId, "2");
+        oid3 = RootOid.create(specId, "3");
+        oid4 = RootOid.create(specId, "4");
+
+        adapter1 = context.mock(ObjectAdapter.class, "adapter1");
+        adapter2 = context.mock(ObjectAdapter.class, "adapter2");
+        adapter3 = context.mock(ObjectAdapter.class, "adapter3");
+        adapter4 = context.mock(ObjectAdapter.class, "adapter4");
+    }
+
+    @Test
+    public void aligned_with_requested_oids_when_mixing_mapped_and_loaded() throws Exception {
+
+        // given oid2 and oid4 were already mapped, while oid1 and oid3 were loaded in bulk afterwards
+        final Map<RootOid, ObjectAdapter> adapterByOid = new HashMap<>();
+        adapterByOid.put(oid2, adapter2);
+        adapterByOid.put(oid4, adapter4);
+        adapterByOid.put(oid3, adapter3);
+        adapterByOid.put(oid1, adapter1);
+
+        final List<RootOid> requested = Arrays.asList(oid3, oid1, oid4, oid2);
+
+        // when
+        final Map<RootOid, ObjectAdapter> adapters = PersistenceSession5.inOrderOf(requested, adapterByOid);
+
+        // then
+        assertThat(Lists.newArrayList(adapters.keySet()), is(requested));
+        assertThat(Lists.newArrayList(adapters.values()), is(Arrays.asList(adapter3, adapter1, adapter4, adapter2)));
+    }
+
+    @Test
+    public void omits_those_that_could_not_be_loaded() throws Exception {
+
+        // given
+        final Map<RootOid, ObjectAdapter> adapterByOid = new HashMap<>();
+        adapterByOid.put(oid4, adapter4);
+        adapterByOid.put(oid1, adapter1);
+
+        // when
+        final Map<RootOid, ObjectAdapter> adapters =
+                PersistenceSession5.inOrderOf(Arrays.asList(oid1, oid2, oid3, oid4), adapterByOid);
+
+        // then
+        assertThat(Lists.newArrayList(adapters.keySet()), is(Arrays.asList(oid1, oid4)));
+    }
+
+}
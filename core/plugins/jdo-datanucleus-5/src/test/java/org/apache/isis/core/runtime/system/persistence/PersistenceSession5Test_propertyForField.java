@@ -0,0 +1,92 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.system.persistence;
+
+import java.util.Arrays;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class PersistenceSession5Test_propertyForField {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private ObjectSpecification mockSpecification;
+
+    private ObjectAssociation nameProperty;
+    private ObjectAssociation ordersCollection;
+
+    @Before
+    public void setUp() throws Exception {
+        nameProperty = association("name", true);
+        ordersCollection = association("orders", false);
+        context.checking(new Expectations() {{
+            allowing(mockSpecification).getAssociations(Contributed.EXCLUDED);
+            will(returnValue(Arrays.asList(nameProperty, ordersCollection)));
+        }});
+    }
+
+    @Test
+    public void matches_property_by_id() throws Exception {
+        assertThat(PersistenceSession5.propertyForField(mockSpecification, "name"), is(sameInstance(nameProperty)));
+    }
+
+    @Test
+    public void matches_property_ignoring_case_and_leading_underscores() throws Exception {
+        assertThat(PersistenceSession5.propertyForField(mockSpecification, "_Name"), is(sameInstance(nameProperty)));
+    }
+
+    @Test
+    public void collections_are_not_audited() throws Exception {
+        assertThat(PersistenceSession5.propertyForField(mockSpecification, "orders"), is(nullValue()));
+    }
+
+    @Test
+    public void fields_that_are_not_properties_are_not_audited() throws Exception {
+        assertThat(PersistenceSession5.propertyForField(mockSpecification, "version"), is(nullValue()));
+    }
+
+    private ObjectAssociation association(final String id, final boolean oneToOne) {
+        final ObjectAssociation association = context.mock(ObjectAssociation.class, id);
+        context.checking(new Expectations() {{
+            allowing(association).getId();
+            will(returnValue(id));
+            allowing(association).isOneToOneAssociation();
+            will(returnValue(oneToOne));
+        }});
+        return association;
+    }
+
+}
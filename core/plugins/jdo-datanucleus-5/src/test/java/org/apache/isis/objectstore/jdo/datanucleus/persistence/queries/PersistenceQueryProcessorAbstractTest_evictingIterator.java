@@ -0,0 +1,159 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.jmock.Expectations;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.Oid;
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+import org.apache.isis.core.runtime.system.persistence.adaptermanager.OidAdapterHashMap;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class PersistenceQueryProcessorAbstractTest_evictingIterator {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    private final Map<String, ObjectAdapter> adapterByPojo = new TreeMap<>();
+
+    /**
+     * Stands in for the persistence session's adapter map.
+     */
+    private final OidAdapterHashMap mappedAdapters = new OidAdapterHashMap();
+
+    @Before
+    public void setUp() throws Exception {
+        for (final String pojo : Arrays.asList("a", "b", "c", "d")) {
+            final ObjectAdapter adapter = context.mock(ObjectAdapter.class, pojo);
+            final RootOid oid = RootOid.create(ObjectSpecId.of("CUS"), pojo);
+            context.checking(new Expectations() {{
+                allowing(adapter).getOid();
+                will(returnValue(oid));
+            }});
+            adapterByPojo.put(pojo, adapter);
+        }
+    }
+
+    /**
+     * As per the lifecycle listener, maps the pojo's adapter as the pojo is loaded.
+     */
+    private ObjectAdapter load(final Object pojo) {
+        final ObjectAdapter adapter = adapterByPojo.get(pojo);
+        if(mappedAdapters.getAdapter(adapter.getOid()) == null) {
+            mappedAdapters.add(adapter.getOid(), adapter);
+        }
+        return adapter;
+    }
+
+    private void evict(final ObjectAdapter adapter) {
+        mappedAdapters.remove(adapter.getOid());
+    }
+
+    private Set<Oid> mappedOids() {
+        final Set<Oid> oids = new HashSet<>();
+        for (final Oid oid : mappedAdapters) {
+            oids.add(oid);
+        }
+        return oids;
+    }
+
+    private PersistenceQueryProcessorAbstract.EvictingIterator iteratorOver(final String... pojos) {
+        return new PersistenceQueryProcessorAbstract.EvictingIterator(
+                Arrays.asList(pojos).iterator(), this::load, mappedOids(), this::evict);
+    }
+
+    @Test
+    public void evicts_each_adapter_once_moved_past() throws Exception {
+
+        // given
+        final PersistenceQueryProcessorAbstract.EvictingIterator iterator = iteratorOver("a", "b", "c", "d");
+
+        // when, then
+        while(iterator.hasNext()) {
+            iterator.next();
+            assertThat(mappedOids().size(), is(1));
+        }
+        iterator.evictPrevious();
+        assertThat(mappedOids().size(), is(0));
+    }
+
+    @Test
+    public void does_not_evict_adapters_mapped_beforehand() throws Exception {
+
+        // given
+        load("b");
+        final PersistenceQueryProcessorAbstract.EvictingIterator iterator = iteratorOver("a", "b", "c", "d");
+
+        // when
+        while(iterator.hasNext()) {
+            iterator.next();
+        }
+        iterator.evictPrevious();
+
+        // then
+        assertThat(mappedOids().size(), is(1));
+        assertThat(mappedAdapters.getAdapter(adapterByPojo.get("b").getOid()), is(notNullValue()));
+        assertThat(mappedAdapters.getAdapter(adapterByPojo.get("a").getOid()), is(nullValue()));
+    }
+
+    @Test
+    public void when_filtered_returns_matches_and_retains_them_but_evicts_the_others() throws Exception {
+
+        // given
+        final ObjectAdapter b = adapterByPojo.get("b");
+        final ObjectAdapter d = adapterByPojo.get("d");
+        final PersistenceQueryProcessorAbstract.EvictingIterator iterator =
+                new PersistenceQueryProcessorAbstract.EvictingIterator(
+                        Arrays.asList("a", "b", "c", "d").iterator(), this::load, mappedOids(), this::evict,
+                        adapter -> adapter == b || adapter == d);
+
+        // when
+        final List<ObjectAdapter> matches = new ArrayList<>();
+        while(iterator.hasNext()) {
+            matches.add(iterator.next());
+        }
+        iterator.evictPrevious();
+
+        // then
+        assertThat(matches, is(Arrays.asList(b, d)));
+        assertThat(mappedOids().size(), is(2));
+        assertThat(mappedAdapters.getAdapter(b.getOid()), is(notNullValue()));
+        assertThat(mappedAdapters.getAdapter(d.getOid()), is(notNullValue()));
+    }
+
+}
@@ -16,9 +16,16 @@
  */
 package org.apache.isis.core.runtime.services.background;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 
 import org.apache.isis.applib.services.bookmark.Bookmark;
 import org.apache.isis.applib.services.bookmark.BookmarkService;
@@ -28,6 +35,9 @@
 import org.apache.isis.applib.services.iactn.Interaction;
 import org.apache.isis.applib.services.iactn.InteractionContext;
 import org.apache.isis.applib.services.jaxb.JaxbService;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.commons.authentication.AuthenticationSessionAbstract;
+import org.apache.isis.core.commons.config.IsisConfiguration;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
 import org.apache.isis.core.metamodel.facets.actions.action.invocation.CommandUtil;
@@ -36,6 +46,7 @@
 import org.apache.isis.core.metamodel.spec.feature.ObjectAction;
 import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
 import org.apache.isis.core.metamodel.spec.feature.OneToOneAssociation;
+import org.apache.isis.core.runtime.authentication.standard.SimpleSession;
 import org.apache.isis.core.runtime.sessiontemplate.AbstractIsisSessionTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,6 +56,7 @@
 import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
 import org.apache.isis.core.runtime.system.transaction.IsisTransactionManager;
 import org.apache.isis.core.runtime.system.transaction.TransactionalClosure;
+import org.apache.isis.core.runtime.threadpool.ThreadPoolSupport;
 
 /**
  * Intended to be used as a base class for executing queued up {@link Command background action}s.
@@ -52,11 +64,39 @@
  * <p>
  * This implementation uses the {@link #findBackgroundCommandsToExecute() hook method} so that it is
  * independent of the location where the actions have actually been persisted to.
+ *
+ * <p>
+ * By default the commands are executed sequentially, in the order found.  If
+ * <tt>isis.services.background.parallelism</tt> is set (greater than 1), they are instead partitioned by their
+ * {@link Command#getTarget() target} and the partitions executed concurrently on the {@link #POOL_NAME background}
+ * thread pool; commands for the same target are still executed in order.  Each partition re-loads its commands
+ * (using the {@link BookmarkService}) in a session of its own, <tt>isis.services.background.batchSize</tt> at a
+ * time, each command being executed in its own transaction as before.  Each partition's sessions are for a
+ * {@link #copyOf(AuthenticationSession) copy} of the calling thread's authentication session, and the throughput
+ * and failures of each partition are available afterwards from {@link #getLastStatistics()}.
+ *
+ * <p>
+ * If the pool rejects a partition, then what happens is determined by the pool's
+ * <tt>isis.threadpool.background.rejectionPolicy</tt>: with <tt>CALLER_RUNS</tt> the partition is executed by the
+ * calling thread, with <tt>BLOCK</tt> the calling thread waits until the pool can accept it, while with
+ * <tt>ABORT</tt> (the default) the partition is skipped, with a warning, and its commands are left to be found
+ * again by a subsequent execution.
  */
 public abstract class BackgroundCommandExecution extends CommandExecutionAbstract {
 
     private final static Logger LOG = LoggerFactory.getLogger(BackgroundCommandExecution.class);
 
+    /**
+     * The name of the {@link ThreadPoolSupport} pool on which partitions are executed.
+     */
+    public static final String POOL_NAME = "background";
+
+    public static final String KEY_PARALLELISM = "isis.services.background.parallelism";
+    public static final int PARALLELISM_DEFAULT = 1;
+
+    public static final String KEY_BATCH_SIZE = "isis.services.background.batchSize";
+    public static final int BATCH_SIZE_DEFAULT = 100;
+
     /**
      * Defaults to the historical defaults * for running background commands.
      */
@@ -81,14 +121,350 @@ protected void doExecute(Object context) {
 
         LOG.debug("Found {} to execute", commands.size());
 
+        final int parallelism = getParallelism();
+        if(parallelism > 1 && commands.size() > 1) {
+            final List<Partition> partitions = partition(commands, parallelism);
+            if(partitions != null) {
+                final AuthenticationSession authenticationSession =
+                        getIsisSessionFactory().getCurrentSession().getAuthenticationSession();
+                lastStatistics = executeConcurrently(partitions, authenticationSession, getBatchSize());
+                return;
+            }
+        }
+
         for (final Command command : commands) {
             execute(transactionManager, (CommandWithDto) command);
         }
     }
 
+    private Statistics lastStatistics;
+
+    /**
+     * The throughput and failures of each partition of the most recent execution, if its commands were
+     * {@link #KEY_PARALLELISM executed concurrently}; otherwise <tt>null</tt>.
+     */
+    public Statistics getLastStatistics() {
+        return lastStatistics;
+    }
+
     /**
      * Mandatory hook method
      */
     protected abstract List<? extends Command> findBackgroundCommandsToExecute();
 
+    /**
+     * The maximum number of partitions to execute concurrently; 1 (the default) executes sequentially.
+     */
+    protected int getParallelism() {
+        return getConfiguration().getInteger(KEY_PARALLELISM, PARALLELISM_DEFAULT);
+    }
+
+    /**
+     * The number of commands that each partition executes within a single session.
+     */
+    protected int getBatchSize() {
+        return Math.max(1, getConfiguration().getInteger(KEY_BATCH_SIZE, BATCH_SIZE_DEFAULT));
+    }
+
+    private IsisConfiguration getConfiguration() {
+        return getIsisSessionFactory().getConfiguration();
+    }
+
+    // -- partitioning
+
+    /**
+     * Groups the commands by the hash of their target's bookmark (so that those for any given target end up in the
+     * same partition, in the order found).
+     *
+     * @return <tt>null</tt> if any of the commands cannot be bookmarked (and so could not be re-loaded in another
+     * session).
+     */
+    List<Partition> partition(final List<Command> commands, final int parallelism) {
+        final Map<Integer, Partition> partitionByNumber = Maps.newTreeMap();
+        for (final Command command : commands) {
+            final Bookmark commandBookmark = bookmarkService.bookmarkFor(command);
+            if(commandBookmark == null) {
+                LOG.warn("Unable to bookmark command {}, executing sequentially", command.getTransactionId());
+                return null;
+            }
+            final Bookmark target = command.getTarget();
+            final Object key = target != null ? target.toString() : command.getTransactionId();
+            final int partitionNumber = Math.floorMod(key != null ? key.hashCode() : 0, parallelism);
+            partitionByNumber
+                    .computeIfAbsent(partitionNumber, Partition::new)
+                    .commandBookmarks.add(commandBookmark);
+        }
+        return Lists.newArrayList(partitionByNumber.values());
+    }
+
+    Statistics executeConcurrently(
+            final List<Partition> partitions,
+            final AuthenticationSession authenticationSession,
+            final int batchSize) {
+
+        final ExecutorService executorService = getExecutorService();
+
+        final long t0 = System.currentTimeMillis();
+        final List<Future<Object>> futures = Lists.newArrayList();
+        for (final Partition partition : partitions) {
+            // each partition's thread needs its own session (sessions, and their message brokers, not being thread-safe)
+            final AuthenticationSession partitionSession = copyOf(authenticationSession);
+            final Callable<Object> callable = () -> {
+                executePartition(partition, partitionSession, batchSize);
+                return partition;
+            };
+            try {
+                futures.add(executorService.submit(callable));
+            } catch (RejectedExecutionException ex) {
+                // as per the pool's rejection policy; the commands are still pending, so will be found again
+                LOG.warn("Partition {} rejected by the '{}' thread pool; leaving its {} commands for the next execution",
+                        partition.number, POOL_NAME, partition.commandBookmarks.size());
+                partition.rejected = true;
+            }
+        }
+        ThreadPoolSupport.join(futures);
+        final long elapsedMillis = System.currentTimeMillis() - t0;
+
+        final List<PartitionStatistics> partitionStatistics = Lists.newArrayList();
+        for (final Partition partition : partitions) {
+            partitionStatistics.add(partition.statistics());
+        }
+        final Statistics statistics = new Statistics(partitionStatistics, elapsedMillis);
+        LOG.info("{}", statistics);
+        return statistics;
+    }
+
+    /**
+     * A session for the same user (with the same roles and attributes) as that provided, but with its own
+     * {@link org.apache.isis.core.commons.authentication.MessageBroker}.
+     */
+    static AuthenticationSession copyOf(final AuthenticationSession authenticationSession) {
+        if(authenticationSession == null) {
+            return null;
+        }
+        final SimpleSession copy = new SimpleSession(
+                authenticationSession.getUserName(), authenticationSession.getRoles(),
+                authenticationSession.getValidationCode());
+        if(authenticationSession instanceof AuthenticationSessionAbstract) {
+            final Map<String, Object> attributes =
+                    ((AuthenticationSessionAbstract) authenticationSession).copyOfAttributes();
+            for (final Map.Entry<String, Object> entry : attributes.entrySet()) {
+                copy.setAttribute(entry.getKey(), entry.getValue());
+            }
+        }
+        return copy;
+    }
+
+    ExecutorService getExecutorService() {
+        return ThreadPoolSupport.getInstance().getExecutor(POOL_NAME);
+    }
+
+    void executePartition(
+            final Partition partition,
+            final AuthenticationSession authenticationSession,
+            final int batchSize) {
+        partition.execute(authenticationSession, batchSize);
+    }
+
+    private static long ratePerSecond(final int executed, final long elapsedMillis) {
+        return elapsedMillis > 0 ? executed * 1000L / elapsedMillis : executed;
+    }
+
+    /**
+     * The commands (identified by bookmark, in order) to be executed together by a single thread.
+     */
+    class Partition {
+
+        final int number;
+        final List<Bookmark> commandBookmarks = Lists.newArrayList();
+        private volatile int executed;
+        private volatile int failed;
+        private volatile long elapsedMillis;
+        private volatile boolean rejected;
+
+        Partition(final int number) {
+            this.number = number;
+        }
+
+        void execute(final AuthenticationSession authenticationSession, final int batchSize) {
+            final long t0 = System.currentTimeMillis();
+            try {
+                for (final List<Bookmark> batch : Lists.partition(commandBookmarks, batchSize)) {
+                    getIsisSessionFactory().doInSession(() -> {
+                        executeBatch(batch);
+                        return null;
+                    }, authenticationSession);
+                }
+            } finally {
+                elapsedMillis = System.currentTimeMillis() - t0;
+            }
+            LOG.debug("{}", statistics());
+        }
+
+        PartitionStatistics statistics() {
+            return new PartitionStatistics(number, commandBookmarks.size(), executed, failed, elapsedMillis, rejected);
+        }
+
+        private void executeBatch(final List<Bookmark> batch) {
+            final IsisTransactionManager transactionManager = getTransactionManager(getPersistenceSession());
+            final List<CommandWithDto> commands = Lists.newArrayList();
+            transactionManager.executeWithinTransaction(() -> {
+                for (final Bookmark commandBookmark : batch) {
+                    commands.add((CommandWithDto) bookmarkService.lookup(commandBookmark));
+                }
+            });
+            for (final CommandWithDto command : commands) {
+                BackgroundCommandExecution.this.execute(transactionManager, command);
+                executed++;
+                if(command.getException() != null) {
+                    failed++;
+                }
+            }
+        }
+    }
+
+    // -- Statistics
+
+    /**
+     * The throughput and failures of a single partition of commands, once executed (or rejected).
+     */
+    public static class PartitionStatistics {
+        private final int number;
+        private final int commands;
+        private final int executed;
+        private final int failed;
+        private final long elapsedMillis;
+        private final boolean rejected;
+
+        PartitionStatistics(
+                final int number,
+                final int commands,
+                final int executed,
+                final int failed,
+                final long elapsedMillis,
+                final boolean rejected) {
+            this.number = number;
+            this.commands = commands;
+            this.executed = executed;
+            this.failed = failed;
+            this.elapsedMillis = elapsedMillis;
+            this.rejected = rejected;
+        }
+
+        public int getNumber() {
+            return number;
+        }
+
+        /**
+         * The number of commands in the partition, whether or not executed.
+         */
+        public int getCommands() {
+            return commands;
+        }
+
+        /**
+         * The number of commands executed (including those that failed).
+         */
+        public int getExecuted() {
+            return executed;
+        }
+
+        /**
+         * The number of commands executed that failed (ie whose {@link Command#getException() exception} is set).
+         */
+        public int getFailed() {
+            return failed;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public long getExecutedPerSecond() {
+            return ratePerSecond(executed, elapsedMillis);
+        }
+
+        /**
+         * Whether the partition was rejected by the thread pool, in which case its commands were left to be found again
+         * by a subsequent execution.
+         */
+        public boolean isRejected() {
+            return rejected;
+        }
+
+        @Override
+        public String toString() {
+            return rejected
+                    ? String.format("partition %d: rejected (%d commands)", number, commands)
+                    : String.format("partition %d: executed %d of %d commands (%d failed) in %dms (%d/s)",
+                            number, executed, commands, failed, elapsedMillis, getExecutedPerSecond());
+        }
+    }
+
+    /**
+     * The throughput and failures of each of the partitions of commands executed concurrently.
+     */
+    public static class Statistics {
+        private final List<PartitionStatistics> partitions;
+        private final long elapsedMillis;
+
+        Statistics(final List<PartitionStatistics> partitions, final long elapsedMillis) {
+            this.partitions = Collections.unmodifiableList(partitions);
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public List<PartitionStatistics> getPartitions() {
+            return partitions;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public int getExecuted() {
+            int executed = 0;
+            for (final PartitionStatistics partition : partitions) {
+                executed += partition.getExecuted();
+            }
+            return executed;
+        }
+
+        public int getFailed() {
+            int failed = 0;
+            for (final PartitionStatistics partition : partitions) {
+                failed += partition.getFailed();
+            }
+            return failed;
+        }
+
+        /**
+         * The number of commands in partitions that were rejected by the thread pool.
+         */
+        public int getSkipped() {
+            int skipped = 0;
+            for (final PartitionStatistics partition : partitions) {
+                if(partition.isRejected()) {
+                    skipped += partition.getCommands();
+                }
+            }
+            return skipped;
+        }
+
+        public long getExecutedPerSecond() {
+            return ratePerSecond(getExecuted(), elapsedMillis);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Executed %d commands (%d failed, %d skipped) in %d partitions in %dms (%d/s): %s",
+                    getExecuted(), getFailed(), getSkipped(), partitions.size(), elapsedMillis,
+                    getExecutedPerSecond(), partitions);
+        }
+    }
+
+    // //////////////////////////////////////
+
+    @javax.inject.Inject
+    BookmarkService bookmarkService;
+
 }
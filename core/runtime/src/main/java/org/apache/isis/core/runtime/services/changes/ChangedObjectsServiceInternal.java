@@ -18,13 +18,19 @@
  */
 package org.apache.isis.core.runtime.services.changes;
 
+import java.util.BitSet;
+import java.util.Calendar;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
 
 import javax.enterprise.context.RequestScoped;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
@@ -76,6 +82,23 @@ public boolean isEnlisted(ObjectAdapter adapter) {
         return changeKindByEnlistedAdapter.containsKey(adapter);
     }
 
+    /**
+     * Set while {@link org.apache.isis.core.runtime.system.transaction.IsisTransactionManager#executeWithinBulkPersistence(org.apache.isis.core.runtime.system.transaction.TransactionalClosure) persisting in bulk};
+     * objects {@link #enlistCreated(ObjectAdapter) created} in the meantime are not enlisted.
+     */
+    private boolean bulkPersistence;
+
+    /**
+     * Not API: for the framework to indicate that it is persisting in bulk, during which objects that are
+     * {@link #enlistCreated(ObjectAdapter) created} are neither audited nor published; otherwise every one of them
+     * (along with the pre-values of its properties) would be held in memory until the transaction completes, however
+     * many are persisted.  Modifications and deletions continue to be enlisted.
+     */
+    @Programmatic
+    public void setBulkPersistence(final boolean bulkPersistence) {
+        this.bulkPersistence = bulkPersistence;
+    }
+
 
     /**
      * Auditing and publishing support: for object stores to enlist an object that has just been created,
@@ -86,11 +109,14 @@ public boolean isEnlisted(ObjectAdapter adapter) {
      *
      * <p>
      * Supported by the JDO object store; check documentation for support in other objectstores.
+     *
+     * <p>
+     * Ignored while {@link #setBulkPersistence(boolean) persisting in bulk}.
      */
     @Programmatic
     public void enlistCreated(final ObjectAdapter adapter) {
 
-        if(shouldIgnore(adapter)) {
+        if(bulkPersistence || shouldIgnore(adapter)) {
             return;
         }
 
@@ -144,6 +170,102 @@ public void enlistUpdating(final ObjectAdapter adapter) {
         }
     }
 
+    /**
+     * Auditing support: for object stores that track which fields of an object are written, to enlist a single
+     * property of an object that is about to be updated, capturing its pre-modification value (read in the same
+     * way as the post-modification value is read when the transaction commits).
+     *
+     * <p>
+     * Only the properties actually modified are then audited, rather than every property of the object.  Such
+     * object stores should use {@link #enlistUpdatingFieldByField(ObjectAdapter)} rather than
+     * {@link #enlistUpdating(ObjectAdapter)}.
+     *
+     * <p>
+     * Supported by the JDO object store; check documentation for support in other objectstores.
+     */
+    @Programmatic
+    public void enlistUpdating(final ObjectAdapter adapter, final ObjectAssociation property) {
+
+        if(shouldIgnore(adapter)) {
+            return;
+        }
+        if(property.isNotPersisted()) {
+            return;
+        }
+
+        final AdapterAndProperty aap = AdapterAndProperty.of(adapter, property);
+        if(enlistedObjectProperties.containsKey(aap)) {
+            // already enlisted, so ignore
+            return;
+        }
+        enlistedObjectProperties.put(aap, PreAndPostValues.pre(snapshotOf(aap.getPropertyValue())));
+    }
+
+    /**
+     * Auditing and publishing support: as per {@link #enlistUpdating(ObjectAdapter)}, but for object stores that
+     * {@link #enlistUpdating(ObjectAdapter, ObjectAssociation) enlist} each property as its field is written.
+     *
+     * <p>
+     * The pre-modification values of only those properties whose values can be modified in place (such as
+     * {@link Date}s or collections) are captured, as a copy, because such modifications do not write the field.
+     */
+    @Programmatic
+    public void enlistUpdatingFieldByField(final ObjectAdapter adapter) {
+
+        if(shouldIgnore(adapter)) {
+            return;
+        }
+
+        enlistForPublishing(adapter, PublishingChangeKind.UPDATE);
+
+        for (ObjectAssociation property : adapter.getSpecification().getAssociations(Contributed.EXCLUDED, ObjectAssociation.Predicates.PROPERTIES)) {
+            if(!isModifiableInPlace(property.getSpecification().getCorrespondingClass())) {
+                continue;
+            }
+            enlistUpdating(adapter, property);
+        }
+    }
+
+    /**
+     * Whether values of the type can be modified in place (rather than being replaced), as supported for
+     * second-class objects by JDO.
+     */
+    static boolean isModifiableInPlace(final Class<?> type) {
+        return Date.class.isAssignableFrom(type)
+                || Calendar.class.isAssignableFrom(type)
+                || BitSet.class.isAssignableFrom(type)
+                || Collection.class.isAssignableFrom(type)
+                || Map.class.isAssignableFrom(type);
+    }
+
+    /**
+     * A copy of the value if it could be modified in place, so that the pre-modification value is not lost.
+     */
+    static Object snapshotOf(final Object value) {
+        if(value instanceof Date) {
+            return ((Date) value).clone();
+        }
+        if(value instanceof Calendar) {
+            return ((Calendar) value).clone();
+        }
+        if(value instanceof BitSet) {
+            return ((BitSet) value).clone();
+        }
+        if(value instanceof List) {
+            return Lists.newArrayList((List<?>) value);
+        }
+        if(value instanceof Set) {
+            return Sets.newLinkedHashSet((Set<?>) value);
+        }
+        if(value instanceof Collection) {
+            return Lists.newArrayList((Collection<?>) value);
+        }
+        if(value instanceof Map) {
+            return Maps.newLinkedHashMap((Map<?, ?>) value);
+        }
+        return value;
+    }
+
     /**
      * Auditing and publishing support: for object stores to enlist an object that is about to be deleted,
      * capturing the pre-deletion value of the properties of the {@link ObjectAdapter}.
@@ -174,7 +296,7 @@ public void enlistDeleting(final ObjectAdapter adapter) {
             }
             if(enlistedObjectProperties.containsKey(aap)) {
                 // already enlisted, so ignore
-                return;
+                continue;
             }
             PreAndPostValues papv = PreAndPostValues.pre(aap.getPropertyValue());
             enlistedObjectProperties.put(aap, papv);
@@ -16,9 +16,14 @@
  */
 package org.apache.isis.core.runtime.services.eventbus;
 
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Set;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.apache.isis.applib.internal.collections._Sets;
 import org.apache.isis.applib.services.eventbus.AbstractDomainEvent;
 import org.apache.isis.applib.services.eventbus.EventBusImplementation;
 import org.apache.isis.core.commons.exceptions.IsisApplicationException;
@@ -85,6 +90,25 @@ private void abort(final Throwable exception, final AbstractDomainEvent.Phase ph
      */
     protected abstract AbstractDomainEvent<?> asDomainEvent(final Object event);
 
+    /**
+     * Helper for implementations of {@link #eventTypesSubscribedBy(Object)}: the type of the first parameter of all
+     * methods of the subscriber (including those inherited from its superclasses, as is the case for proxies of
+     * request-scoped services) that are annotated with the specified annotation.
+     */
+    protected static Set<Class<?>> firstParameterTypesOfMethodsAnnotatedWith(
+            final Object subscriber,
+            final Class<? extends Annotation> annotationType) {
+        final Set<Class<?>> eventTypes = _Sets.newLinkedHashSet();
+        for (Class<?> cls = subscriber.getClass(); cls != null && cls != Object.class; cls = cls.getSuperclass()) {
+            for (final Method method : cls.getDeclaredMethods()) {
+                if(method.isAnnotationPresent(annotationType) && method.getParameterTypes().length > 0) {
+                    eventTypes.add(method.getParameterTypes()[0]);
+                }
+            }
+        }
+        return eventTypes;
+    }
+
 
     private void abortTransaction(final Throwable exception) {
         getTransactionManager().getCurrentTransaction().setAbortCause(new IsisApplicationException(exception));
@@ -22,14 +22,20 @@
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.primitives.Primitives;
 
 import org.dom4j.Document;
 import org.dom4j.DocumentException;
+import org.dom4j.DocumentHelper;
 import org.dom4j.Element;
 import org.dom4j.io.SAXReader;
 import org.dom4j.io.XMLWriter;
 import org.joda.time.LocalDate;
 
+import org.apache.isis.applib.internal.collections._Maps;
 import org.apache.isis.applib.services.bookmark.Bookmark;
 import org.apache.isis.core.commons.exceptions.IsisException;
 
@@ -48,22 +54,48 @@ static boolean isSupportedClass(final Class<?> cls) {
     }
 
     /**
-     * @param el
-     * @param name
+     * @param value - either a value of the requested type (or its boxed equivalent), or else any value from which
+     *              that type can be parsed, eg text read from the XML.
      * @param cls - see {@link Parseable}
      * @return
      */
-    static <T> T getChild(final Element el, final String name, final Class<T> cls) {
+    static <T> T convert(final Object value, final Class<T> cls) {
         Parseable.assertSupported(cls);
-        final Element child = el.element(name);
-        if(child == null) { 
+        if(value == null) {
             return null;
         }
-        final String str = decodeForNulls(child.getText());
-        if(str == null) {
-            return null;
+        if(Primitives.wrap(cls).isInstance(value)) {
+            @SuppressWarnings("unchecked")
+            final T t = (T) value;
+            return t;
+        }
+        return Parseable.parse(Parseable.format(value), cls);
+    }
+
+    /**
+     * A document with a <tt>memento</tt> root element, having a child element for each of the values.
+     */
+    static Document asDocument(final Map<String, Object> valueByName) {
+        final Document doc = DocumentHelper.createDocument();
+        final Element el = doc.addElement("memento");
+        for (final Map.Entry<String, Object> entry : valueByName.entrySet()) {
+            addChild(el, entry.getKey(), entry.getValue());
+        }
+        return doc;
+    }
+
+    /**
+     * The (unparsed) text of each child element of the root element; the first of any elements with the same name
+     * wins.
+     */
+    static Map<String, Object> asMap(final Document doc) {
+        final Map<String, Object> valueByName = _Maps.newLinkedHashMap();
+        @SuppressWarnings("unchecked")
+        final List<Element> elements = doc.getRootElement().elements();
+        for (final Element element : elements) {
+            valueByName.putIfAbsent(element.getName(), decodeForNulls(element.getText()));
         }
-        return Parseable.parse(str, cls);
+        return valueByName;
     }
 
     static Document parse(final String xmlStr) {
@@ -0,0 +1,275 @@
+/**
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.isis.core.runtime.services.memento;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+
+import org.joda.time.LocalDate;
+
+import org.apache.isis.applib.internal.collections._Maps;
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.core.commons.exceptions.IsisException;
+
+/**
+ * Compact binary form of the state of a memento, as an alternative to its XML form (see {@link Dom4jUtil}).
+ *
+ * <p>
+ * The encoding is a format byte, followed by the number of entries and then each entry's name and a tagged value.
+ * Lengths and integral values are written as (zig-zag) varints.  The bytes are represented as (unpadded) URL-safe
+ * base 64, prefixed with a <tt>~</tt> so that they can be distinguished both from XML and from the output of
+ * {@link org.apache.isis.applib.services.urlencoding.UrlEncodingServiceUsingBaseEncoding}.
+ * </p>
+ *
+ * <p>
+ * Enums are held by name, and values of any other type not known to the encoding by their
+ * {@link Dom4jUtil.Parseable#format(Object) formatted} string; either way they are parsed into the requested type
+ * when {@link org.apache.isis.applib.services.memento.MementoService.Memento#get(String, Class) read}.
+ * </p>
+ */
+final class MementoBinaryCodec {
+
+    private MementoBinaryCodec(){}
+
+    private static final String PREFIX = "~";
+    private static final byte FORMAT = 1;
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_BOOLEAN = 2;
+    private static final byte TAG_BYTE = 3;
+    private static final byte TAG_SHORT = 4;
+    private static final byte TAG_INTEGER = 5;
+    private static final byte TAG_LONG = 6;
+    private static final byte TAG_FLOAT = 7;
+    private static final byte TAG_DOUBLE = 8;
+    private static final byte TAG_BIG_DECIMAL = 9;
+    private static final byte TAG_BIG_INTEGER = 10;
+    private static final byte TAG_LOCAL_DATE = 11;
+    private static final byte TAG_JAVA_UTIL_DATE = 12;
+    private static final byte TAG_BOOKMARK = 13;
+
+    static boolean isEncoded(final String str) {
+        return str.startsWith(PREFIX);
+    }
+
+    static String encode(final Map<String, Object> valueByName) {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try {
+            final DataOutputStream out = new DataOutputStream(baos);
+            out.writeByte(FORMAT);
+            writeVarint(out, valueByName.size());
+            for (final Map.Entry<String, Object> entry : valueByName.entrySet()) {
+                writeString(out, entry.getKey());
+                writeValue(out, entry.getValue());
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new IsisException(e);
+        }
+        return PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(baos.toByteArray());
+    }
+
+    static Map<String, Object> decode(final String str) {
+        try {
+            final DataInputStream in = new DataInputStream(new ByteArrayInputStream(
+                    Base64.getUrlDecoder().decode(str.substring(PREFIX.length()))));
+            final byte format = in.readByte();
+            if(format != FORMAT) {
+                throw new IsisException("Unsupported memento format: " + format);
+            }
+            final int size = readVarint(in);
+            final Map<String, Object> valueByName = _Maps.newLinkedHashMap();
+            for (int i = 0; i < size; i++) {
+                final String name = readString(in);
+                valueByName.put(name, readValue(in));
+            }
+            return valueByName;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IsisException("Could not decode memento", e);
+        }
+    }
+
+    // -- values
+
+    private static void writeValue(final DataOutputStream out, final Object value) throws IOException {
+        if(value == null) {
+            out.writeByte(TAG_NULL);
+        } else if(value instanceof String) {
+            out.writeByte(TAG_STRING);
+            writeString(out, (String) value);
+        } else if(value instanceof Boolean) {
+            out.writeByte(TAG_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if(value instanceof Byte) {
+            out.writeByte(TAG_BYTE);
+            out.writeByte((Byte) value);
+        } else if(value instanceof Short) {
+            out.writeByte(TAG_SHORT);
+            writeZigZag(out, (Short) value);
+        } else if(value instanceof Integer) {
+            out.writeByte(TAG_INTEGER);
+            writeZigZag(out, (Integer) value);
+        } else if(value instanceof Long) {
+            out.writeByte(TAG_LONG);
+            writeZigZag(out, (Long) value);
+        } else if(value instanceof Float) {
+            out.writeByte(TAG_FLOAT);
+            out.writeFloat((Float) value);
+        } else if(value instanceof Double) {
+            out.writeByte(TAG_DOUBLE);
+            out.writeDouble((Double) value);
+        } else if(value instanceof BigDecimal) {
+            final BigDecimal bigDecimal = (BigDecimal) value;
+            out.writeByte(TAG_BIG_DECIMAL);
+            writeZigZag(out, bigDecimal.scale());
+            writeBytes(out, bigDecimal.unscaledValue().toByteArray());
+        } else if(value instanceof BigInteger) {
+            out.writeByte(TAG_BIG_INTEGER);
+            writeBytes(out, ((BigInteger) value).toByteArray());
+        } else if(value instanceof LocalDate) {
+            final LocalDate localDate = (LocalDate) value;
+            out.writeByte(TAG_LOCAL_DATE);
+            writeZigZag(out, localDate.getYear());
+            out.writeByte(localDate.getMonthOfYear());
+            out.writeByte(localDate.getDayOfMonth());
+        } else if(value instanceof Date) {
+            out.writeByte(TAG_JAVA_UTIL_DATE);
+            writeZigZag(out, ((Date) value).getTime());
+        } else if(value instanceof Bookmark) {
+            out.writeByte(TAG_BOOKMARK);
+            writeString(out, ((Bookmark) value).toString());
+        } else if(value instanceof Enum) {
+            out.writeByte(TAG_STRING);
+            writeString(out, ((Enum<?>) value).name());
+        } else {
+            out.writeByte(TAG_STRING);
+            writeString(out, Dom4jUtil.Parseable.format(value));
+        }
+    }
+
+    private static Object readValue(final DataInputStream in) throws IOException {
+        final byte tag = in.readByte();
+        switch (tag) {
+        case TAG_NULL:
+            return null;
+        case TAG_STRING:
+            return readString(in);
+        case TAG_BOOLEAN:
+            return in.readBoolean();
+        case TAG_BYTE:
+            return in.readByte();
+        case TAG_SHORT:
+            return (short) readZigZag(in);
+        case TAG_INTEGER:
+            return (int) readZigZag(in);
+        case TAG_LONG:
+            return readZigZag(in);
+        case TAG_FLOAT:
+            return in.readFloat();
+        case TAG_DOUBLE:
+            return in.readDouble();
+        case TAG_BIG_DECIMAL:
+            final int scale = (int) readZigZag(in);
+            return new BigDecimal(new BigInteger(readBytes(in)), scale);
+        case TAG_BIG_INTEGER:
+            return new BigInteger(readBytes(in));
+        case TAG_LOCAL_DATE:
+            final int year = (int) readZigZag(in);
+            return new LocalDate(year, in.readByte(), in.readByte());
+        case TAG_JAVA_UTIL_DATE:
+            return new Date(readZigZag(in));
+        case TAG_BOOKMARK:
+            return new Bookmark(readString(in));
+        default:
+            throw new IsisException("Unknown memento value tag: " + tag);
+        }
+    }
+
+    // -- primitives
+
+    private static void writeString(final DataOutputStream out, final String str) throws IOException {
+        writeBytes(out, str.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readString(final DataInputStream in) throws IOException {
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+
+    private static void writeBytes(final DataOutputStream out, final byte[] bytes) throws IOException {
+        writeVarint(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(final DataInputStream in) throws IOException {
+        final int length = readVarint(in);
+        // checked before allocating, so that a malformed (or malicious) length cannot exhaust the heap
+        if(length > in.available()) {
+            throw new IOException("Invalid length: " + length + " (only " + in.available() + " bytes remaining)");
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private static void writeZigZag(final DataOutputStream out, final long value) throws IOException {
+        writeVarint(out, (value << 1) ^ (value >> 63));
+    }
+
+    private static long readZigZag(final DataInputStream in) throws IOException {
+        final long value = readVarLong(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarint(final DataOutputStream out, long value) throws IOException {
+        while((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static int readVarint(final DataInputStream in) throws IOException {
+        final long value = readVarLong(in);
+        if(value < 0 || value > Integer.MAX_VALUE) {
+            throw new IOException("Invalid length: " + value);
+        }
+        return (int) value;
+    }
+
+    private static long readVarLong(final DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+}
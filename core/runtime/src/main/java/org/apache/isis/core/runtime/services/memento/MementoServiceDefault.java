@@ -16,22 +16,18 @@
  */
 package org.apache.isis.core.runtime.services.memento;
 
-import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
-import com.google.common.base.Function;
-import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
 
-import org.dom4j.Document;
-import org.dom4j.DocumentHelper;
-import org.dom4j.Element;
-
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
 import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.internal.collections._Maps;
 import org.apache.isis.applib.services.memento.MementoService;
 import org.apache.isis.applib.services.urlencoding.UrlEncodingService;
+import org.apache.isis.applib.services.urlencoding.UrlEncodingServiceUsingBaseEncoding;
 
 /**
  * This service provides a mechanism by which a serializable memento of arbitrary state can be created.  Most
@@ -51,67 +47,62 @@ public class MementoServiceDefault implements MementoService {
     static class MementoDefault implements Memento {
 
         private final boolean noEncoding;
-        private final Document doc;
+        private final Map<String, Object> valueByName;
 
         private final UrlEncodingService urlEncodingService;
 
         MementoDefault(boolean noEncoding, final UrlEncodingService urlEncodingService) {
-            this(DocumentHelper.createDocument(), noEncoding, urlEncodingService);
-            doc.addElement("memento");
+            this(_Maps.<String, Object>newLinkedHashMap(), noEncoding, urlEncodingService);
         }
 
         MementoDefault(
-                Document doc,
+                final Map<String, Object> valueByName,
                 boolean noEncoding,
                 final UrlEncodingService urlEncodingService) {
-            this.doc = doc;
+            this.valueByName = valueByName;
             this.noEncoding = noEncoding;
             this.urlEncodingService = urlEncodingService;
         }
         
+        /**
+         * As for the XML form that this memento previously held, if the same name is set more than once then the
+         * first value wins.
+         */
         @Override
         public Memento set(String name, Object value) {
-            final Element el = doc.getRootElement();
-            Dom4jUtil.addChild(el, name, value);
+            valueByName.putIfAbsent(name, value);
             return this;
         }
 
         @Override
         public <T> T get(String name, Class<T> cls) {
-            final Element el = doc.getRootElement();
-            return Dom4jUtil.getChild(el, name, cls);
+            return Dom4jUtil.convert(valueByName.get(name), cls);
         }
 
+        /**
+         * Unless {@link MementoServiceDefault#withNoEncoding() no encoding} is in effect (in which case the memento
+         * is XML), uses the {@link MementoBinaryCodec compact binary} form.  This is already URL-safe, so is only
+         * passed through the {@link UrlEncodingService} if that does more than just base 64 encoding (eg compression).
+         */
         @Override
         public String asString() {
-            final String xmlStr = Dom4jUtil.asString(doc);
-            return encode(xmlStr);
-        }
-
-        protected String encode(final String xmlStr) {
-            return noEncoding ? xmlStr : urlEncodingService.encode(xmlStr);
-        }
-
-        private static final Function<Element, String> ELEMENT_NAME = new Function<Element, String>(){
-            @Override
-            public String apply(final Element input) {
-                return input.getName();
+            if(noEncoding) {
+                return Dom4jUtil.asString(Dom4jUtil.asDocument(valueByName));
             }
-        };
+            final String str = MementoBinaryCodec.encode(valueByName);
+            return isBaseEncodingOnly(urlEncodingService) ? str : urlEncodingService.encode(str);
+        }
 
         @Override
         public Set<String> keySet() {
-            Element element = doc.getRootElement();
-            @SuppressWarnings("unchecked")
-            List<Element> elements = element.elements();
-            return Sets.newLinkedHashSet(Iterables.transform(elements, ELEMENT_NAME));
+            return Sets.newLinkedHashSet(valueByName.keySet());
         }
 
         // //////////////////////////////////////
 
         @Override
         public String toString() {
-            return Dom4jUtil.asString(doc);
+            return Dom4jUtil.asString(Dom4jUtil.asDocument(valueByName));
         }
 
     }
@@ -142,17 +133,21 @@ public Memento create() {
     }
 
 
+    /**
+     * Accepts mementos in either the compact binary form or the XML form (as previously created by
+     * {@link Memento#asString()}).
+     */
     @Programmatic
     @Override
     public Memento parse(String str) {
-        String xmlStr;
-        if (noEncoding) {
-            xmlStr = str;
-        } else {
-            xmlStr = urlEncodingService.decode(str);
-        }
-        final Document doc = Dom4jUtil.parse(xmlStr);
-        return new MementoDefault(doc, noEncoding, urlEncodingService);
+        final String decoded =
+                noEncoding || isBaseEncodingOnly(urlEncodingService) && MementoBinaryCodec.isEncoded(str)
+                        ? str
+                        : urlEncodingService.decode(str);
+        final Map<String, Object> valueByName = MementoBinaryCodec.isEncoded(decoded)
+                ? MementoBinaryCodec.decode(decoded)
+                : Dom4jUtil.asMap(Dom4jUtil.parse(decoded));
+        return new MementoDefault(valueByName, noEncoding, urlEncodingService);
     }
 
     @Programmatic
@@ -161,6 +156,10 @@ public boolean canSet(final Object input) {
         return input == null || Dom4jUtil.isSupportedClass(input.getClass());
     }
 
+    private static boolean isBaseEncodingOnly(final UrlEncodingService urlEncodingService) {
+        return urlEncodingService.getClass() == UrlEncodingServiceUsingBaseEncoding.class;
+    }
+
     // //////////////////////////////////////
 
     @javax.inject.Inject
@@ -19,6 +19,8 @@
 package org.apache.isis.core.runtime.services.persistsession;
 
 import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
@@ -187,6 +189,16 @@ public <T> ObjectAdapter firstMatchingQuery(final Query<T> query) {
         return getPersistenceSession().firstMatchingQuery(query);
     }
 
+    @Override
+    public <T> Stream<ObjectAdapter> streamMatchingQuery(final Query<T> query) {
+        return getPersistenceSession().streamMatchingQuery(query);
+    }
+
+    @Override
+    public <T> Stream<ObjectAdapter> streamMatchingQuery(final Query<T> query, final Predicate<ObjectAdapter> filter) {
+        return getPersistenceSession().streamMatchingQuery(query, filter);
+    }
+
     @Override
     public void executeWithinTransaction(TransactionalClosure transactionalClosure) {
         getTransactionManager().executeWithinTransaction(transactionalClosure);
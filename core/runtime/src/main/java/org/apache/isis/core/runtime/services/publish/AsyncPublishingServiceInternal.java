@@ -0,0 +1,515 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.services.publish;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.internal.collections._Lists;
+import org.apache.isis.applib.services.iactn.Interaction;
+import org.apache.isis.applib.services.publish.PublishedObjects;
+import org.apache.isis.applib.services.publish.PublisherService;
+import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
+import org.apache.isis.core.runtime.threadpool.LatencyHistogram;
+import org.apache.isis.core.runtime.threadpool.ThreadPoolSupport;
+
+/**
+ * Optionally (if <tt>isis.services.publish.async.enabled</tt> is set), delivers to the {@link PublisherService}s
+ * asynchronously rather than within the request that published.
+ *
+ * <p>
+ * {@link PublishingServiceInternalDefault} hands over what was published ({@link ExecutionSnapshot snapshots} of
+ * executions, and {@link PublishedObjectsSnapshot snapshots} of the changed objects) once the transaction has
+ * committed.  These are
+ * held in a bounded queue, and delivered in batches on the {@link #POOL_NAME publisher} thread pool, each batch in its
+ * own session and transaction.  If a batch fails then its items are redelivered individually, retrying each up to
+ * <tt>maxAttempts</tt> (in total) before giving up; delivery is therefore at-least-once.
+ *
+ * <p>
+ * Once the queue is full, the <tt>overflowPolicy</tt> determines whether the publishing thread
+ * {@link OverflowPolicy#BLOCK blocks}, {@link OverflowPolicy#CALLER_RUNS delivers} itself, or
+ * {@link OverflowPolicy#DISCARD discards}.
+ *
+ * <p>
+ * Publishers receive immutable copies of the executions, which do not hold on to the target or result objects (these
+ * belong to the by now closed session of the request); they should use the
+ * {@link Interaction.Execution#getDto() dto} instead.
+ */
+@DomainService(
+        nature = NatureOfService.DOMAIN,
+        menuOrder = "" + Integer.MAX_VALUE
+)
+public class AsyncPublishingServiceInternal {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncPublishingServiceInternal.class);
+
+    /**
+     * The name of the {@link ThreadPoolSupport} pool on which published items are delivered.
+     */
+    public static final String POOL_NAME = "publisher";
+
+    static final String KEY_PREFIX = "isis.services.publish.async.";
+    static final String KEY_ENABLED = KEY_PREFIX + "enabled";
+    static final String KEY_QUEUE_CAPACITY = KEY_PREFIX + "queueCapacity";
+    static final String KEY_BATCH_SIZE = KEY_PREFIX + "batchSize";
+    static final String KEY_MAX_ATTEMPTS = KEY_PREFIX + "maxAttempts";
+    static final String KEY_RETRY_DELAY_MILLIS = KEY_PREFIX + "retryDelayMillis";
+    static final String KEY_OVERFLOW_POLICY = KEY_PREFIX + "overflowPolicy";
+
+    static final int DEFAULT_QUEUE_CAPACITY = 1000;
+    static final int DEFAULT_BATCH_SIZE = 100;
+    static final int DEFAULT_MAX_ATTEMPTS = 3;
+    static final int DEFAULT_RETRY_DELAY_MILLIS = 1000;
+
+    private static final long POLL_MILLIS = 200;
+    private static final long SHUTDOWN_TIMEOUT_SECS = 10;
+
+    /**
+     * What to do with a published item once the queue is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The publishing thread waits until there is space in the queue.
+         */
+        BLOCK,
+        /**
+         * The publishing thread delivers the item itself.
+         */
+        CALLER_RUNS,
+        /**
+         * The item is discarded (and a warning logged).
+         */
+        DISCARD;
+
+        static OverflowPolicy parse(final String value, final OverflowPolicy defaultPolicy) {
+            if(value == null) {
+                return defaultPolicy;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase().replace('-', '_'));
+            } catch (IllegalArgumentException e) {
+                return defaultPolicy;
+            }
+        }
+    }
+
+    private boolean enabled;
+    private int batchSize;
+    private int maxAttempts;
+    private long retryDelayMillis;
+    private OverflowPolicy overflowPolicy;
+    private BlockingQueue<Delivery> queue;
+
+    private boolean started;
+    private volatile boolean shutDown;
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    /**
+     * Set while delivering, so that anything published by the publishers themselves is delivered directly rather
+     * than queued (which could otherwise deadlock once the queue is full).
+     */
+    private final ThreadLocal<Boolean> delivering = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batched = new LongAdder();
+    private final AtomicInteger largestBatch = new AtomicInteger();
+    private final LatencyHistogram deliveryLatency = new LatencyHistogram();
+
+    @Programmatic
+    @PostConstruct
+    public void init(final Map<String, String> properties) {
+        enabled = Boolean.parseBoolean(properties.get(KEY_ENABLED));
+        batchSize = Math.max(1, intOf(properties, KEY_BATCH_SIZE, DEFAULT_BATCH_SIZE));
+        maxAttempts = Math.max(1, intOf(properties, KEY_MAX_ATTEMPTS, DEFAULT_MAX_ATTEMPTS));
+        retryDelayMillis = Math.max(0, intOf(properties, KEY_RETRY_DELAY_MILLIS, DEFAULT_RETRY_DELAY_MILLIS));
+        overflowPolicy = OverflowPolicy.parse(properties.get(KEY_OVERFLOW_POLICY), OverflowPolicy.BLOCK);
+
+        final int queueCapacity = Math.max(1, intOf(properties, KEY_QUEUE_CAPACITY, DEFAULT_QUEUE_CAPACITY));
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+
+        if(enabled) {
+            LOG.info("publishing asynchronously (queue {}, batch {}, maxAttempts {}, retryDelay {}ms, {})",
+                    queueCapacity, batchSize, maxAttempts, retryDelayMillis, overflowPolicy);
+        }
+    }
+
+    private static int intOf(final Map<String, String> properties, final String key, final int defaultValue) {
+        final String value = properties.get(key);
+        return value != null ? Integer.parseInt(value.trim()) : defaultValue;
+    }
+
+    /**
+     * Stops accepting items (any subsequently published are delivered directly), and waits a while for those
+     * already queued to be delivered.
+     */
+    @Programmatic
+    @PreDestroy
+    public void shutdown() {
+        shutDown = true;
+        final boolean wasStarted;
+        synchronized (this) {
+            wasStarted = started;
+        }
+        if(!wasStarted) {
+            return;
+        }
+        try {
+            if(!stopped.await(SHUTDOWN_TIMEOUT_SECS, TimeUnit.SECONDS)) {
+                LOG.warn("shutdown: {} published items still to be delivered", queue.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Whether publishing asynchronously; if not, {@link PublishingServiceInternalDefault} delivers to the
+     * {@link PublisherService}s directly, as it always has.
+     */
+    @Programmatic
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Not API: for {@link PublishingServiceInternalDefault} to hand over what was published (immutable copies of
+     * either {@link Interaction.Execution}s or {@link PublishedObjects}) in the course of a transaction that has now
+     * committed.
+     *
+     * <p>
+     * Called once that transaction has completed (rather than from within its commit), so any items that are delivered
+     * by the calling thread itself (because of the {@link OverflowPolicy#CALLER_RUNS overflow policy}, or having been
+     * interrupted while blocked, or once shut down) are delivered in a transaction of their own.
+     */
+    @Programmatic
+    public void enqueue(final List<Object> published) {
+        for (final Object item : published) {
+            enqueue(new Delivery(item, System.nanoTime()));
+        }
+    }
+
+    private void enqueue(final Delivery delivery) {
+        enqueued.increment();
+        if(delivering.get() || shutDown) {
+            deliver(Collections.singletonList(delivery));
+            return;
+        }
+        startIfRequired();
+
+        switch (overflowPolicy) {
+        case BLOCK:
+            try {
+                queue.put(delivery);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                deliver(Collections.singletonList(delivery));
+            }
+            break;
+        case CALLER_RUNS:
+            if(!queue.offer(delivery)) {
+                deliver(Collections.singletonList(delivery));
+            }
+            break;
+        case DISCARD:
+            if(!queue.offer(delivery)) {
+                discarded.increment();
+                LOG.warn("queue full, discarding {}", delivery.published);
+            }
+            break;
+        }
+    }
+
+    private synchronized void startIfRequired() {
+        if(started) {
+            return;
+        }
+        started = true;
+        ThreadPoolSupport.getInstance().getExecutor(POOL_NAME).submit(this::deliverUntilShutDown);
+    }
+
+    private void deliverUntilShutDown() {
+        try {
+            final List<Delivery> batch = _Lists.newArrayList();
+            while (!shutDown || !queue.isEmpty()) {
+                final Delivery first;
+                try {
+                    first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                if(first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                deliver(batch);
+                batch.clear();
+            }
+        } finally {
+            stopped.countDown();
+        }
+    }
+
+    private void deliver(final List<Delivery> batch) {
+        final boolean wasDelivering = delivering.get();
+        delivering.set(Boolean.TRUE);
+        try {
+            batches.increment();
+            batched.add(batch.size());
+            largestBatch.accumulateAndGet(batch.size(), Math::max);
+            try {
+                runInSessionAndTransaction(() -> {
+                    for (final Delivery delivery : batch) {
+                        publish(delivery);
+                    }
+                });
+                for (final Delivery delivery : batch) {
+                    delivered(delivery);
+                }
+            } catch (RuntimeException ex) {
+                LOG.warn("failed to deliver batch of {}, delivering individually", batch.size(), ex);
+                for (final Delivery delivery : batch) {
+                    deliverWithRetries(delivery);
+                }
+            }
+        } finally {
+            delivering.set(wasDelivering);
+        }
+    }
+
+    /**
+     * Having already failed once (as part of a batch).
+     */
+    private void deliverWithRetries(final Delivery delivery) {
+        for (int attempt = 2; attempt <= maxAttempts; attempt++) {
+            retried.increment();
+            if(!sleepBeforeAttempt(attempt)) {
+                break;
+            }
+            try {
+                runInSessionAndTransaction(() -> publish(delivery));
+                delivered(delivery);
+                return;
+            } catch (RuntimeException ex) {
+                LOG.warn("attempt {} of {} to deliver {} failed", attempt, maxAttempts, delivery.published, ex);
+            }
+        }
+        failed.increment();
+        LOG.error("giving up delivering {}", delivery.published);
+    }
+
+    private boolean sleepBeforeAttempt(final int attempt) {
+        try {
+            Thread.sleep(retryDelayMillis * (attempt - 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void publish(final Delivery delivery) {
+        final Object published = delivery.published;
+        for (final PublisherService publisherService : publisherServices) {
+            if(published instanceof PublishedObjects) {
+                publisherService.publish((PublishedObjects) published);
+            } else {
+                publisherService.publish((Interaction.Execution<?, ?>) published);
+            }
+        }
+    }
+
+    private void delivered(final Delivery delivery) {
+        delivered.increment();
+        deliveryLatency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - delivery.enqueuedAt));
+    }
+
+    /**
+     * Overridable for testing.
+     */
+    void runInSessionAndTransaction(final Runnable runnable) {
+        isisSessionFactory.doInSession(() -> isisSessionFactory.getCurrentSession().getPersistenceSession()
+                .getTransactionManager().executeWithinTransaction(runnable::run));
+    }
+
+    /**
+     * The counters (since startup) and current state of the queue.
+     */
+    @Programmatic
+    public Statistics getStatistics() {
+        return new Statistics(
+                queue.size(), queue.remainingCapacity(),
+                enqueued.sum(), delivered.sum(), retried.sum(), failed.sum(), discarded.sum(),
+                batches.sum(), batched.sum(), largestBatch.get(), deliveryLatency);
+    }
+
+    // -- Delivery
+
+    private static class Delivery {
+        private final Object published;
+        private final long enqueuedAt;
+
+        Delivery(final Object published, final long enqueuedAt) {
+            this.published = published;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    // -- Statistics
+
+    /**
+     * A point-in-time snapshot of the counters of the {@link AsyncPublishingServiceInternal}.
+     */
+    public static class Statistics {
+        private final int queueDepth;
+        private final int queueRemainingCapacity;
+        private final long enqueued;
+        private final long delivered;
+        private final long retried;
+        private final long failed;
+        private final long discarded;
+        private final long batches;
+        private final long batched;
+        private final int largestBatch;
+        private final LatencyHistogram deliveryLatency;
+
+        Statistics(
+                final int queueDepth,
+                final int queueRemainingCapacity,
+                final long enqueued,
+                final long delivered,
+                final long retried,
+                final long failed,
+                final long discarded,
+                final long batches,
+                final long batched,
+                final int largestBatch,
+                final LatencyHistogram deliveryLatency) {
+            this.queueDepth = queueDepth;
+            this.queueRemainingCapacity = queueRemainingCapacity;
+            this.enqueued = enqueued;
+            this.delivered = delivered;
+            this.retried = retried;
+            this.failed = failed;
+            this.discarded = discarded;
+            this.batches = batches;
+            this.batched = batched;
+            this.largestBatch = largestBatch;
+            this.deliveryLatency = deliveryLatency;
+        }
+
+        public int getQueueDepth() {
+            return queueDepth;
+        }
+
+        public int getQueueRemainingCapacity() {
+            return queueRemainingCapacity;
+        }
+
+        public long getEnqueued() {
+            return enqueued;
+        }
+
+        public long getDelivered() {
+            return delivered;
+        }
+
+        /**
+         * Number of individual redelivery attempts, after a failure.
+         */
+        public long getRetried() {
+            return retried;
+        }
+
+        /**
+         * Items given up on, having failed on every attempt.
+         */
+        public long getFailed() {
+            return failed;
+        }
+
+        /**
+         * Items discarded because the queue was full (with the {@link OverflowPolicy#DISCARD discard} policy).
+         */
+        public long getDiscarded() {
+            return discarded;
+        }
+
+        public long getBatches() {
+            return batches;
+        }
+
+        public double getAverageBatchSize() {
+            return batches > 0 ? (double) batched / batches : 0;
+        }
+
+        public int getLargestBatch() {
+            return largestBatch;
+        }
+
+        /**
+         * How long items took from being enqueued to being delivered.
+         */
+        public LatencyHistogram getDeliveryLatency() {
+            return deliveryLatency;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "queue %d (remaining %d), enqueued %d, delivered %d, retried %d, failed %d, discarded %d, "
+                            + "batches %d (avg %.1f, largest %d), latency p50<%dms p99<%dms",
+                    queueDepth, queueRemainingCapacity, enqueued, delivered, retried, failed, discarded,
+                    batches, getAverageBatchSize(), largestBatch,
+                    deliveryLatency.percentileMillis(0.5), deliveryLatency.percentileMillis(0.99));
+        }
+    }
+
+    // -- injected services
+
+    @javax.inject.Inject
+    List<PublisherService> publisherServices;
+
+    @javax.inject.Inject
+    IsisSessionFactory isisSessionFactory;
+
+}
@@ -0,0 +1,139 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.publish;
+
+import java.sql.Timestamp;
+
+import org.apache.isis.applib.services.eventbus.AbstractDomainEvent;
+import org.apache.isis.applib.services.iactn.Interaction;
+import org.apache.isis.schema.ixn.v1.MemberExecutionDto;
+import org.apache.isis.schema.utils.MemberExecutionDtoUtils;
+
+/**
+ * An immutable copy of an {@link Interaction.Execution}, holding on to a copy of its {@link #getDto() dto} and to
+ * its timings, but not to the {@link Interaction} or to the (persistence session-bound) target and returned objects,
+ * so that it can be published after the transaction has completed.
+ *
+ * <p>
+ * The target and result are available from the dto.
+ */
+class ExecutionSnapshot<T extends MemberExecutionDto, E extends AbstractDomainEvent<?>>
+        extends Interaction.Execution<T, E> {
+
+    private final T dto;
+    private final Timestamp startedAt;
+    private final Timestamp completedAt;
+    private final Exception threw;
+
+    static <T extends MemberExecutionDto, E extends AbstractDomainEvent<?>> ExecutionSnapshot<T, E> of(
+            final Interaction.Execution<T, E> execution) {
+        return new ExecutionSnapshot<>(execution);
+    }
+
+    private ExecutionSnapshot(final Interaction.Execution<T, E> execution) {
+        super(null, execution.getInteractionType(), execution.getMemberIdentifier(), null,
+                execution.getTargetMember(), execution.getTargetClass());
+        final T dto = execution.getDto();
+        this.dto = dto != null ? MemberExecutionDtoUtils.clone(dto) : null;
+        this.startedAt = copyOf(execution.getStartedAt());
+        this.completedAt = copyOf(execution.getCompletedAt());
+        this.threw = execution.getThrew();
+    }
+
+    private static Timestamp copyOf(final Timestamp timestamp) {
+        return timestamp != null ? (Timestamp) timestamp.clone() : null;
+    }
+
+    @Override
+    public T getDto() {
+        return dto;
+    }
+
+    @Override
+    public Timestamp getStartedAt() {
+        return startedAt;
+    }
+
+    @Override
+    public Timestamp getCompletedAt() {
+        return completedAt;
+    }
+
+    @Override
+    public Exception getThrew() {
+        return threw;
+    }
+
+    /**
+     * Always <tt>null</tt>; use the {@link #getDto() dto} instead.
+     */
+    @Override
+    public Object getReturned() {
+        return null;
+    }
+
+    /**
+     * Just throws an exception; a snapshot cannot be modified.
+     */
+    @Override
+    public void setParent(final Interaction.Execution<?, ?> parent) {
+        throw new IllegalStateException("Parent of a snapshot cannot be set");
+    }
+
+    /**
+     * Just throws an exception; a snapshot cannot be modified.
+     */
+    @Override
+    public void setEvent(final E event) {
+        throw new IllegalStateException("Event of a snapshot cannot be set");
+    }
+
+    /**
+     * Just throws an exception; a snapshot cannot be modified.
+     */
+    @Override
+    public void setStartedAt(final Timestamp startedAt) {
+        throw new IllegalStateException("Start time of a snapshot cannot be set");
+    }
+
+    /**
+     * Just throws an exception; a snapshot cannot be modified.
+     */
+    @Override
+    public void setReturned(final Object returned) {
+        throw new IllegalStateException("Returned object of a snapshot cannot be set");
+    }
+
+    /**
+     * Just throws an exception; a snapshot cannot be modified.
+     */
+    @Override
+    public void setThrew(final Exception threw) {
+        throw new IllegalStateException("Exception of a snapshot cannot be set");
+    }
+
+    /**
+     * Just throws an exception; a snapshot cannot be modified.
+     */
+    @Override
+    public void setDto(final T executionDto) {
+        throw new IllegalStateException("Dto of a snapshot cannot be set");
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.services.publish;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+import org.apache.isis.applib.services.publish.PublishedObjects;
+import org.apache.isis.schema.chg.v1.ChangesDto;
+
+/**
+ * An immutable copy of a {@link PublishedObjects}, holding on to its {@link #getDto() dto} and counts but not to
+ * the (persistence session-bound) objects themselves, so that it can be published after the transaction has
+ * completed.
+ */
+class PublishedObjectsSnapshot implements PublishedObjects {
+
+    private final UUID transactionId;
+    private final Timestamp completedAt;
+    private final String username;
+    private final ChangesDto dto;
+    private final int numberLoaded;
+    private final int numberCreated;
+    private final int numberUpdated;
+    private final int numberDeleted;
+    private final int numberPropertiesModified;
+
+    static PublishedObjectsSnapshot of(final PublishedObjects publishedObjects) {
+        return new PublishedObjectsSnapshot(publishedObjects);
+    }
+
+    private PublishedObjectsSnapshot(final PublishedObjects publishedObjects) {
+        this.transactionId = publishedObjects.getTransactionId();
+        this.completedAt = publishedObjects.getCompletedAt();
+        this.username = publishedObjects.getUsername();
+        this.dto = publishedObjects.getDto();
+        this.numberLoaded = publishedObjects.getNumberLoaded();
+        this.numberCreated = publishedObjects.getNumberCreated();
+        this.numberUpdated = publishedObjects.getNumberUpdated();
+        this.numberDeleted = publishedObjects.getNumberDeleted();
+        this.numberPropertiesModified = publishedObjects.getNumberPropertiesModified();
+    }
+
+    @Override
+    public UUID getTransactionId() {
+        return transactionId;
+    }
+
+    /**
+     * Just throws an exception; a snapshot cannot be modified.
+     */
+    @Override
+    public void setTransactionId(final UUID transactionId) {
+        throw new IllegalStateException("Transaction Id of a snapshot cannot be set");
+    }
+
+    @Override
+    public Timestamp getCompletedAt() {
+        return completedAt;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public ChangesDto getDto() {
+        return dto;
+    }
+
+    @Override
+    public int getNumberLoaded() {
+        return numberLoaded;
+    }
+
+    @Override
+    public int getNumberCreated() {
+        return numberCreated;
+    }
+
+    @Override
+    public int getNumberUpdated() {
+        return numberUpdated;
+    }
+
+    @Override
+    public int getNumberDeleted() {
+        return numberDeleted;
+    }
+
+    @Override
+    public int getNumberPropertiesModified() {
+        return numberPropertiesModified;
+    }
+
+}
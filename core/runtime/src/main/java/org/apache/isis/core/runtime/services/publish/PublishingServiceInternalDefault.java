@@ -27,6 +27,7 @@
 import javax.enterprise.context.RequestScoped;
 
 import com.google.common.base.Predicate;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
 import org.apache.isis.applib.annotation.DomainService;
@@ -42,6 +43,8 @@
 import org.apache.isis.applib.services.publish.PublishedObjects;
 import org.apache.isis.applib.services.publish.PublisherService;
 import org.apache.isis.applib.services.user.UserService;
+import org.apache.isis.applib.services.xactn.Transaction;
+import org.apache.isis.applib.services.xactn.TransactionService;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.facets.object.publishedobject.PublishedObjectFacet;
 import org.apache.isis.core.metamodel.services.publishing.PublishingServiceInternal;
@@ -49,6 +52,11 @@
 
 /**
  * Wrapper around {@link PublisherService}.  Is a no-op if there is no injected service.
+ *
+ * <p>
+ * If {@link AsyncPublishingServiceInternal publishing asynchronously}, then instead holds on to what is published
+ * until the transaction commits, then hands it over to be delivered in the background.
+ * </p>
  */
 @DomainService(
         nature = NatureOfService.DOMAIN,
@@ -86,6 +94,11 @@ public void publishObjects() {
         final PublishedObjects publishedObjects = newPublishedObjects(numberLoaded, numberObjectPropertiesModified,
                 changeKindByPublishedAdapter);
 
+        if(isPublishingAsync()) {
+            enlistPending(PublishedObjectsSnapshot.of(publishedObjects));
+            return;
+        }
+
         for (PublisherService publisherService : publisherServices) {
             publisherService.publish(publishedObjects);
         }
@@ -141,12 +154,74 @@ private void publishToPublisherServices(final Interaction.Execution<?,?> executi
             return;
         }
 
+        if(isPublishingAsync()) {
+            // copied now, because the execution (and its dto) belongs to this request
+            enlistPending(ExecutionSnapshot.of(execution));
+            return;
+        }
+
         for (final PublisherService publisherService : publisherServices) {
             publisherService.publish(execution);
         }
     }
 
 
+    // -- async
+
+    /**
+     * Published within the current transaction, to be handed over to {@link AsyncPublishingServiceInternal} once it
+     * commits.
+     */
+    private final List<Object> pending = Lists.newArrayList();
+
+    /**
+     * The transaction for which the {@link #pending} items were published; they are only ever handed over once this
+     * transaction has committed, and are discarded if it aborts (or, defensively, once anything is published in some
+     * other transaction).
+     */
+    private Transaction pendingTransaction;
+
+    private boolean isPublishingAsync() {
+        return asyncPublishingServiceInternal != null && asyncPublishingServiceInternal.isEnabled();
+    }
+
+    private void enlistPending(final Object published) {
+        final Transaction currentTransaction = transactionService.currentTransaction();
+        if(currentTransaction != pendingTransaction) {
+            clearPending();
+            pendingTransaction = currentTransaction;
+        }
+        pending.add(published);
+    }
+
+    @Programmatic
+    @Override
+    public void transactionCommitted(final Transaction transaction) {
+        if(pending.isEmpty()) {
+            return;
+        }
+        final boolean committedPending = transaction == pendingTransaction;
+        final List<Object> published = Lists.newArrayList(pending);
+        clearPending();
+        if(committedPending) {
+            asyncPublishingServiceInternal.enqueue(published);
+        }
+    }
+
+    @Programmatic
+    @Override
+    public void transactionAborted(final Transaction transaction) {
+        if(transaction == pendingTransaction) {
+            clearPending();
+        }
+    }
+
+    private void clearPending() {
+        pending.clear();
+        pendingTransaction = null;
+    }
+
+
     boolean suppress;
 
     @Programmatic
@@ -194,6 +269,12 @@ public boolean apply(final ObjectAdapter objectAdapter) {
     @javax.inject.Inject
     MetricsService metricsService;
 
+    @javax.inject.Inject
+    TransactionService transactionService;
+
+    @javax.inject.Inject
+    AsyncPublishingServiceInternal asyncPublishingServiceInternal;
+
     
 
 }
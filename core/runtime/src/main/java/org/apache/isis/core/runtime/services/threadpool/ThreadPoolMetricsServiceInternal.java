@@ -0,0 +1,55 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.threadpool;
+
+import java.util.List;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.core.runtime.threadpool.ThreadPoolMetrics;
+import org.apache.isis.core.runtime.threadpool.ThreadPoolSupport;
+
+/**
+ * Exposes the {@link ThreadPoolMetrics metrics} of the thread pools managed by {@link ThreadPoolSupport}, eg for
+ * monitoring in production.
+ */
+@DomainService(
+        nature = NatureOfService.DOMAIN,
+        menuOrder = "" + Integer.MAX_VALUE
+)
+public class ThreadPoolMetricsServiceInternal {
+
+    /**
+     * Metrics of all of the thread pools created so far.
+     */
+    @Programmatic
+    public List<ThreadPoolMetrics> allMetrics() {
+        return ThreadPoolSupport.getInstance().getMetrics();
+    }
+
+    /**
+     * Metrics of the named thread pool, or <tt>null</tt> if it has not been created.
+     */
+    @Programmatic
+    public ThreadPoolMetrics metricsFor(final String poolName) {
+        return ThreadPoolSupport.getInstance().getMetrics(poolName);
+    }
+
+}
@@ -2,6 +2,8 @@
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import javax.jdo.PersistenceManager;
 
@@ -50,10 +52,29 @@ public interface PersistenceSession extends AdapterManager, TransactionalResourc
 
 	ObjectAdapter adapterForAny(RootOid rootOid);
 
+	/**
+	 * The adapters for the oids, iterating in the same order as the provided list; any that cannot be loaded are
+	 * omitted.
+	 */
 	Map<RootOid, ObjectAdapter> adaptersFor(List<RootOid> rootOids);
 
 	<T> List<ObjectAdapter> allMatchingQuery(final Query<T> query);
 
+	/**
+	 * As per {@link #allMatchingQuery(Query)}, but returning the results lazily.  The stream must be
+	 * {@link Stream#close() close}d (within the current transaction) once consumed.
+	 */
+	<T> Stream<ObjectAdapter> streamMatchingQuery(final Query<T> query);
+
+	/**
+	 * As per {@link #streamMatchingQuery(Query)}, but returning only those adapters that match the filter.  Unlike
+	 * {@link #streamMatchingQuery(Query)}, the matching adapters are not evicted once consumed (they are typically
+	 * collected by the caller), only those that do not match.
+	 */
+	default <T> Stream<ObjectAdapter> streamMatchingQuery(final Query<T> query, final Predicate<ObjectAdapter> filter) {
+		return allMatchingQuery(query).stream().filter(filter);
+	}
+
 	void close();
 
 	RootOid createPersistentOrViewModelOid(Object pojo);
@@ -65,6 +86,16 @@ public interface PersistenceSession extends AdapterManager, TransactionalResourc
 	void destroyObjectInTransaction(ObjectAdapter adapter);
 
 	void execute(List<PersistenceCommand> persistenceCommandList);
+
+	/**
+	 * Called by the {@link IsisTransactionManager} on entering and leaving
+	 * {@link IsisTransactionManager#executeWithinBulkPersistence(org.apache.isis.core.runtime.system.transaction.TransactionalClosure) bulk persistence},
+	 * allowing the implementation to {@link #execute(List) execute} commands in a way better suited to large volumes.
+	 * By default does nothing.
+	 */
+	default void setBulkPersistence(boolean bulkPersistence) {
+	}
+
 	<T> ObjectAdapter firstMatchingQuery(final Query<T> query);
 
 	boolean flush();
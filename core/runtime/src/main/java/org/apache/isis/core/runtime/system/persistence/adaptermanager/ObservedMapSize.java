@@ -0,0 +1,62 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.system.persistence.adaptermanager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks the size that the adapter maps of recent sessions grew to, so that the maps of subsequent sessions can be
+ * pre-sized to avoid being resized (rehashed) as they fill up.
+ *
+ * <p>
+ *     The expected size is an exponentially weighted moving average of the observed sizes, bounded so that a single
+ *     unusually large session (eg a batch job) does not cause every subsequent session to over-allocate.
+ * </p>
+ */
+final class ObservedMapSize {
+
+    /**
+     * Every session pre-allocates this many entries at most (even the many that touch only a handful of objects), so
+     * kept small; sessions that grow beyond it simply resize as they always did.
+     */
+    static final int MAX_EXPECTED_SIZE = 500;
+
+    private final int defaultSize;
+    private final AtomicInteger expectedSize;
+
+    ObservedMapSize(final int defaultSize) {
+        this.defaultSize = defaultSize;
+        this.expectedSize = new AtomicInteger(defaultSize);
+    }
+
+    int expectedSize() {
+        return expectedSize.get();
+    }
+
+    /**
+     * Records the size that a map grew to (prior to it being cleared).
+     */
+    void record(final int size) {
+        // races between sessions may lose an observation, which doesn't matter for a sizing hint.
+        final int previous = expectedSize.get();
+        final int average = (int) ((3L * previous + size) / 4);
+        expectedSize.set(Math.min(MAX_EXPECTED_SIZE, Math.max(defaultSize, average)));
+    }
+
+}
@@ -33,13 +33,29 @@
 
 /**
  * A map of the objects' identities and the adapters' of the objects.
+ *
+ * <p>
+ *     Unless a capacity is specified, the map is pre-sized according to the size of the maps of recent sessions, to
+ *     avoid being rehashed as it fills up.
+ * </p>
  */
 public class OidAdapterHashMap implements Iterable<Oid>, SessionScopedComponent {
 
     private static final Logger LOG = LoggerFactory.getLogger(OidAdapterHashMap.class);
     public static final int DEFAULT_OID_ADAPTER_MAP_SIZE = 100;
 
-    private final Map<Oid, ObjectAdapter> adapterByOidMap = Maps.newHashMapWithExpectedSize(DEFAULT_OID_ADAPTER_MAP_SIZE);
+    private static final ObservedMapSize observedSize = new ObservedMapSize(DEFAULT_OID_ADAPTER_MAP_SIZE);
+
+    private final Map<Oid, ObjectAdapter> adapterByOidMap;
+
+    // -- Constructors
+    public OidAdapterHashMap() {
+        this(observedSize.expectedSize());
+    }
+
+    public OidAdapterHashMap(final int capacity) {
+        adapterByOidMap = Maps.newHashMapWithExpectedSize(capacity);
+    }
 
     // -- open, close
 
@@ -51,6 +67,7 @@ public void close() {
         if(LOG.isDebugEnabled()) {
             LOG.debug("close");
         }
+        observedSize.record(adapterByOidMap.size());
         adapterByOidMap.clear();
     }
 
@@ -19,59 +19,42 @@
 
 package org.apache.isis.core.runtime.system.persistence.adaptermanager;
 
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.Map;
 
-import com.google.common.collect.Maps;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.apache.isis.core.commons.components.SessionScopedComponent;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 
+/**
+ * A map of the pojos (by identity) and the adapters of the pojos.
+ *
+ * <p>
+ *     Backed by an {@link IdentityHashMap}, which uses open addressing (linear probing) over a single array of
+ *     alternating keys and values, so lookups do not allocate and the map does not allocate an entry per adapter.
+ *     Unless a capacity is specified, the map is pre-sized according to the size of the maps of recent sessions.
+ * </p>
+ */
 public class PojoAdapterHashMap implements Iterable<ObjectAdapter>, SessionScopedComponent {
 
-    private static class IdentityHashKey {
-        private final Object pojo;
-
-        public IdentityHashKey(final Object pojo) {
-            this.pojo = pojo;
-        }
-
-        @Override
-        public int hashCode() {
-            return System.identityHashCode(pojo);
-        }
-
-        @Override
-        public boolean equals(final Object obj) {
-            return obj == this || (obj instanceof IdentityHashKey && ((IdentityHashKey) obj).pojo == pojo);
-        }
-    }
-
     private static final Logger LOG = LoggerFactory.getLogger(PojoAdapterHashMap.class);
     public static final int DEFAULT_POJO_ADAPTER_MAP_SIZE = OidAdapterHashMap.DEFAULT_OID_ADAPTER_MAP_SIZE;
 
+    private static final ObservedMapSize observedSize = new ObservedMapSize(DEFAULT_POJO_ADAPTER_MAP_SIZE);
+
     protected final Map<Object, ObjectAdapter> adapterByPojoMap;
 
-    // -- Constructors, finalize
+    // -- Constructors
     public PojoAdapterHashMap() {
-        this(DEFAULT_POJO_ADAPTER_MAP_SIZE);
+        this(observedSize.expectedSize());
     }
 
     public PojoAdapterHashMap(final int capacity) {
-        adapterByPojoMap = Maps.newHashMapWithExpectedSize(capacity);
-    }
-
-    @Override
-    protected void finalize() throws Throwable {
-        super.finalize();
-        if(LOG.isDebugEnabled()) {
-            LOG.debug("finalizing hash of pojos");
-        }
+        adapterByPojoMap = new IdentityHashMap<>(capacity);
     }
-    
 
     // -- open, close
 
@@ -83,6 +66,7 @@ public void close() {
         if(LOG.isDebugEnabled()) {
             LOG.debug("close");
         }
+        observedSize.record(adapterByPojoMap.size());
         adapterByPojoMap.clear();
     }
 
@@ -91,17 +75,17 @@ public void close() {
     // -- add, remove
 
     public void add(final Object pojo, final ObjectAdapter adapter) {
-        adapterByPojoMap.put(key(pojo), adapter);
+        adapterByPojoMap.put(pojo, adapter);
 
         if(LOG.isDebugEnabled()) {
-            LOG.debug("add adapter: #{} -> #{}", key(pojo), Long.toHexString(adapter.hashCode()));
+            LOG.debug("add adapter: #{} -> #{}", Long.toHexString(System.identityHashCode(pojo)), Long.toHexString(adapter.hashCode()));
 
         }
     }
 
     public void remove(final ObjectAdapter object) {
         LOG.debug("remove adapter: {}", object);
-        adapterByPojoMap.remove(key(object.getObject()));
+        adapterByPojoMap.remove(object.getObject());
     }
 
     
@@ -109,25 +93,21 @@ public void remove(final ObjectAdapter object) {
     // -- getAdapter, containsPojo
 
     public boolean containsPojo(final Object pojo) {
-        return adapterByPojoMap.containsKey(key(pojo));
+        return adapterByPojoMap.containsKey(pojo);
     }
 
     public ObjectAdapter getAdapter(final Object pojo) {
-        return adapterByPojoMap.get(key(pojo));
+        return adapterByPojoMap.get(pojo);
     }
 
     
 
-    // -- iterator, key
+    // -- iterator
     @Override
     public Iterator<ObjectAdapter> iterator() {
         return adapterByPojoMap.values().iterator();
     }
 
-    private Object key(final Object pojo) {
-        return new IdentityHashKey(pojo);
-    }
-
     
 
 
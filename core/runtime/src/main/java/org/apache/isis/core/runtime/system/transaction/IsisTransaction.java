@@ -20,9 +20,11 @@
 package org.apache.isis.core.runtime.system.transaction;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,6 +32,7 @@
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.services.HasTransactionId;
 import org.apache.isis.applib.services.WithTransactionScope;
+import org.apache.isis.applib.services.queryresultscache.QueryResultsCacheShared;
 import org.apache.isis.applib.services.xactn.Transaction;
 import org.apache.isis.applib.services.xactn.TransactionState;
 import org.apache.isis.core.commons.authentication.AuthenticationSession;
@@ -44,6 +47,7 @@
 import org.apache.isis.core.runtime.persistence.objectstore.transaction.DestroyObjectCommand;
 import org.apache.isis.core.runtime.persistence.objectstore.transaction.PersistenceCommand;
 import org.apache.isis.core.runtime.services.auditing.AuditingServiceInternal;
+import org.apache.isis.core.runtime.services.changes.ChangedObjectsServiceInternal;
 import org.apache.isis.core.runtime.services.persistsession.PersistenceSessionServiceInternalDefault;
 
 /**
@@ -170,6 +174,8 @@ public TransactionState getTransactionState() {
     private final MessageBroker messageBroker;
     private final PublishingServiceInternal publishingServiceInternal;
     private final AuditingServiceInternal auditingServiceInternal;
+    private final ChangedObjectsServiceInternal changedObjectsServiceInternal;
+    private final QueryResultsCacheShared queryResultsCacheShared;
 
     private final List<WithTransactionScope> withTransactionScopes;
 
@@ -192,6 +198,8 @@ public IsisTransaction(
         this.messageBroker = authenticationSession.getMessageBroker();
         this.publishingServiceInternal = servicesInjector.lookupServiceElseFail(PublishingServiceInternal.class);
         this.auditingServiceInternal = servicesInjector.lookupServiceElseFail(AuditingServiceInternal.class);
+        this.changedObjectsServiceInternal = servicesInjector.lookupServiceElseFail(ChangedObjectsServiceInternal.class);
+        this.queryResultsCacheShared = servicesInjector.lookupService(QueryResultsCacheShared.class);
 
         withTransactionScopes = servicesInjector.lookupServices(WithTransactionScope.class);
 
@@ -286,6 +294,10 @@ public void addCommand(final PersistenceCommand command) {
 
         LOG.debug("add command {}", command);
         persistenceCommands.add(command);
+
+        if (isBulkPersistence() && persistenceCommands.size() >= bulkPersistenceBatchSize) {
+            flush();
+        }
     }
 
     private boolean alreadyHasCommand(final Class<?> commandClass, final ObjectAdapter onObject) {
@@ -322,6 +334,42 @@ private void removeCreate(final ObjectAdapter onObject) {
 
     
 
+    // -- bulk persistence
+
+    /**
+     * Zero unless {@link #startBulkPersistence(int) persisting in bulk}, in which case the number of pending
+     * commands at which they are {@link #flush() flush}ed.
+     */
+    private int bulkPersistenceBatchSize;
+    private int bulkPersistedCount;
+
+    /**
+     * Whether {@link IsisTransactionManager#executeWithinBulkPersistence(TransactionalClosure) persisting in bulk},
+     * in which case pending commands are flushed as soon as there are a batch's worth.
+     */
+    public boolean isBulkPersistence() {
+        return bulkPersistenceBatchSize > 0;
+    }
+
+    void startBulkPersistence(final int batchSize) {
+        this.bulkPersistenceBatchSize = batchSize;
+        this.bulkPersistedCount = 0;
+        changedObjectsServiceInternal.setBulkPersistence(true);
+    }
+
+    /**
+     * @return the number of commands executed since {@link #startBulkPersistence(int) started}.
+     */
+    int endBulkPersistence() {
+        final int bulkPersistedCount = this.bulkPersistedCount;
+        this.bulkPersistenceBatchSize = 0;
+        this.bulkPersistedCount = 0;
+        changedObjectsServiceInternal.setBulkPersistence(false);
+        return bulkPersistedCount;
+    }
+
+
+
     // -- flush
 
     public final void flush() {
@@ -383,6 +431,10 @@ private void doFlush() {
                 persistenceCommands.removeAll(persistenceCommandList);
                 try {
                     this.transactionManager.getPersistenceSession().execute(persistenceCommandList);
+                    if (isBulkPersistence()) {
+                        bulkPersistedCount += persistenceCommandList.size();
+                        LOG.debug("bulk persistence: flushed {} commands ({} so far)", persistenceCommandList.size(), bulkPersistedCount);
+                    }
                     for (PersistenceCommand persistenceCommand : persistenceCommandList) {
                         if (persistenceCommand instanceof DestroyObjectCommand) {
                             final ObjectAdapter adapter = persistenceCommand.onAdapter();
@@ -421,6 +473,8 @@ void preCommit() {
             publishingServiceInternal.publishObjects();
             doFlush();
 
+            changedTypes = changedTypes();
+
         } catch (final RuntimeException ex) {
             setAbortCause(new IsisTransactionManagerException(ex));
             throw ex;
@@ -444,6 +498,35 @@ void commit() {
         }
 
         setState(State.COMMITTED);
+
+        if(queryResultsCacheShared != null && changedTypes != null) {
+            queryResultsCacheShared.invalidate(changedTypes);
+        }
+    }
+
+    /**
+     * Called by {@link IsisTransactionManager} once {@link #commit() committed} and the transaction has completed,
+     * so that anything deferred until then (such as asynchronous publishing) is free to start transactions of its own.
+     */
+    void afterCommit() {
+        assert getState() == State.COMMITTED;
+
+        publishingServiceInternal.transactionCommitted(this);
+    }
+
+    /**
+     * The types of the objects changed by this transaction, captured in {@link #preCommit()} (before the
+     * {@link ChangedObjectsServiceInternal} is reset) so that any shared query results can be invalidated once
+     * committed.
+     */
+    private Set<Class<?>> changedTypes;
+
+    private Set<Class<?>> changedTypes() {
+        final Set<Class<?>> changedTypes = Sets.newHashSet();
+        for (final ObjectAdapter adapter : changedObjectsServiceInternal.getChangeKindByEnlistedAdapter().keySet()) {
+            changedTypes.add(adapter.getSpecification().getCorrespondingClass());
+        }
+        return changedTypes;
     }
 
 
@@ -459,6 +542,8 @@ final void markAsAborted() {
 
         LOG.info("abort transaction {}", this);
         setState(State.ABORTED);
+
+        publishingServiceInternal.transactionAborted(this);
     }
 
 
@@ -20,6 +20,7 @@
 package org.apache.isis.core.runtime.system.transaction;
 
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,6 +34,7 @@
 import org.apache.isis.core.commons.exceptions.IsisException;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
 import org.apache.isis.core.runtime.persistence.objectstore.transaction.PersistenceCommand;
+import org.apache.isis.core.runtime.services.changes.ChangedObjectsServiceInternal;
 import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
 import org.apache.isis.core.runtime.system.session.IsisSession;
 
@@ -40,6 +42,13 @@ public class IsisTransactionManager implements SessionScopedComponent {
 
     private static final Logger LOG = LoggerFactory.getLogger(IsisTransactionManager.class);
 
+    /**
+     * The number of pending persistence commands at which they are flushed, when
+     * {@link #executeWithinBulkPersistence(TransactionalClosure) persisting in bulk}.
+     */
+    public static final String KEY_BULK_PERSIST_BATCH_SIZE = "isis.persistor.datanucleus.bulkPersist.batchSize";
+    public static final int BULK_PERSIST_BATCH_SIZE_DEFAULT = 1000;
+
     private int transactionLevel;
 
     private IsisSession session;
@@ -201,6 +210,51 @@ public <Q> Q executeWithinTransaction(
         }
     }
 
+    /**
+     * As per {@link #executeWithinTransaction(TransactionalClosure)}, but persisting in bulk while the closure runs:
+     * pending persistence commands are flushed every {@link #KEY_BULK_PERSIST_BATCH_SIZE batch}, and the
+     * {@link PersistenceSession} is {@link PersistenceSession#setBulkPersistence(boolean) told}, so that it can
+     * execute them accordingly.
+     *
+     * <p>
+     * Objects created while persisting in bulk are not
+     * {@link ChangedObjectsServiceInternal#setBulkPersistence(boolean) enlisted} for auditing and publishing (each
+     * would otherwise be held in memory until the transaction completes); modifications and deletions still are.
+     * On completion, the number of commands executed (and the rate) is logged.
+     * </p>
+     */
+    public void executeWithinBulkPersistence(final TransactionalClosure closure) {
+        executeWithinTransaction(new TransactionalClosure() {
+            @Override
+            public void execute() {
+                final IsisTransaction transaction = getCurrentTransaction();
+                if (transaction.isBulkPersistence()) {
+                    // already persisting in bulk
+                    closure.execute();
+                    return;
+                }
+
+                final int batchSize = Math.max(1, persistenceSession.getConfiguration().getInteger(
+                        KEY_BULK_PERSIST_BATCH_SIZE, BULK_PERSIST_BATCH_SIZE_DEFAULT));
+                final long startedAt = System.nanoTime();
+
+                transaction.startBulkPersistence(batchSize);
+                persistenceSession.setBulkPersistence(true);
+                try {
+                    closure.execute();
+                    transaction.flush();
+                } finally {
+                    persistenceSession.setBulkPersistence(false);
+                    final int executed = transaction.endBulkPersistence();
+                    final long elapsedMillis = Math.max(1L,
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+                    LOG.info("bulk persistence: {} commands executed in {}ms ({} per second)",
+                            executed, elapsedMillis, executed * 1000L / elapsedMillis);
+                }
+            }
+        });
+    }
+
     public boolean inTransaction() {
         return getCurrentTransaction() != null && !getCurrentTransaction().getState().isComplete();
     }
@@ -318,6 +372,11 @@ public void endTransaction() {
                 LOG.error("endTransaction: inconsistency detected between transactionLevel {} and transactionState '{}'", transactionLevel, state);
             }
         }
+
+        // outside of the commit itself, so that no transaction is in progress
+        if(transaction.getState() == IsisTransaction.State.COMMITTED) {
+            transaction.afterCommit();
+        }
     }
 
     private void endTransactionInternal() {
@@ -337,8 +337,12 @@ public void doFilter(final ServletRequest request, final ServletResponse respons
             if (authSession != null) {
                 authSessionStrategy.bind(httpServletRequest, httpServletResponse, authSession);
 
-                sessionFactory.openSession(authSession);
-                chain.doFilter(request, response);
+                try {
+                    sessionFactory.openSession(authSession);
+                    chain.doFilter(request, response);
+                } finally {
+                    sessionFactory.getAuthenticationManager().suspendSession(authSession);
+                }
                 return;
             }
 
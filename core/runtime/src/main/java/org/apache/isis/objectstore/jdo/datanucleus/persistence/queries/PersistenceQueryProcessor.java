@@ -19,12 +19,31 @@
 package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
 
 import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.runtime.system.persistence.PersistenceQuery;
 
 public interface PersistenceQueryProcessor<T extends PersistenceQuery> {
 	List<ObjectAdapter> process(T query);
+
+	/**
+	 * As per {@link #process(PersistenceQuery)}, but (if supported) iterating over the results lazily, rather than
+	 * loading them all up-front.  The stream must be {@link Stream#close() close}d once consumed.
+	 */
+	default Stream<ObjectAdapter> stream(T query) {
+		return process(query).stream();
+	}
+
+	/**
+	 * As per {@link #stream(PersistenceQuery)}, but returning only those adapters that match the filter.  Those
+	 * that match are retained (not evicted) so that they can be collected by the caller; those that do not may be
+	 * evicted as soon as they have been tested.
+	 */
+	default Stream<ObjectAdapter> stream(T query, Predicate<ObjectAdapter> filter) {
+		return stream(query).filter(filter);
+	}
 }
 
 // Copyright (c) Naked Objects Group Ltd.
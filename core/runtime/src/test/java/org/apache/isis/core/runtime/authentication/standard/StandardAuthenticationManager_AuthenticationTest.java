@@ -80,6 +80,11 @@ public void setUp() throws Exception {
 
                 allowing(mockAuthSession).getUserName();
                 will(returnValue("foo"));
+
+                allowing(mockAuthenticator).resume(mockAuthSession);
+                will(returnValue(true));
+
+                allowing(mockAuthenticator).logout(mockAuthSession);
             }
         });
     }
@@ -92,6 +97,25 @@ public void newlyCreatedAuthenticationSessionShouldBeValid() throws Exception {
         assertThat(authenticationManager.isSessionValid(session), is(true));
     }
 
+    @Test
+    public void newlyCreatedAuthenticationSessionCanBeResumed() throws Exception {
+        final AuthenticationRequestPassword request = new AuthenticationRequestPassword("foo", "bar");
+        final AuthenticationSession session = authenticationManager.authenticate(request);
+
+        assertThat(authenticationManager.resumeSession(session), is(true));
+    }
+
+    @Test
+    public void closedAuthenticationSessionShouldNoLongerBeValidOrResumable() throws Exception {
+        final AuthenticationRequestPassword request = new AuthenticationRequestPassword("foo", "bar");
+        final AuthenticationSession session = authenticationManager.authenticate(request);
+
+        authenticationManager.closeSession(session);
+
+        assertThat(authenticationManager.isSessionValid(session), is(false));
+        assertThat(authenticationManager.resumeSession(session), is(false));
+    }
+
     private static <X> Matcher<Class<X>> anySubclassOf(final Class<X> cls) {
         return new TypeSafeMatcher<Class<X>>() {
 
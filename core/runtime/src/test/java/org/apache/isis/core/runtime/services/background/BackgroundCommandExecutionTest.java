@@ -0,0 +1,241 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.background;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.bookmark.BookmarkService;
+import org.apache.isis.applib.services.command.Command;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.runtime.authentication.standard.SimpleSession;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class BackgroundCommandExecutionTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private BookmarkService mockBookmarkService;
+
+    private final Bookmark customer1 = new Bookmark("CUS", "1");
+    private final Bookmark customer2 = new Bookmark("CUS", "2");
+
+    private final Map<Bookmark, List<Bookmark>> executedByTarget = Maps.newConcurrentMap();
+    private final Map<Bookmark, String> threadByCommand = Maps.newConcurrentMap();
+    private final Map<Integer, AuthenticationSession> sessionByPartition = Maps.newConcurrentMap();
+
+    private ExecutorService executorService;
+    private volatile CyclicBarrier barrier;
+
+    private BackgroundCommandExecution execution;
+
+    @Before
+    public void setUp() throws Exception {
+        executorService = Executors.newFixedThreadPool(2);
+        execution = new BackgroundCommandExecution() {
+            @Override
+            protected List<? extends Command> findBackgroundCommandsToExecute() {
+                return Collections.emptyList();
+            }
+
+            @Override
+            ExecutorService getExecutorService() {
+                return executorService;
+            }
+
+            @Override
+            void executePartition(
+                    final Partition partition,
+                    final AuthenticationSession authenticationSession,
+                    final int batchSize) {
+                if(authenticationSession != null) {
+                    sessionByPartition.put(partition.number, authenticationSession);
+                }
+                if(barrier != null) {
+                    try {
+                        barrier.await(5, TimeUnit.SECONDS);
+                    } catch (Exception e) {
+                        throw new IllegalStateException("Partitions were not executed concurrently", e);
+                    }
+                }
+                for (final Bookmark commandBookmark : partition.commandBookmarks) {
+                    threadByCommand.put(commandBookmark, Thread.currentThread().getName());
+                    executedByTarget
+                            .computeIfAbsent(targetOf(commandBookmark), __ -> Collections.synchronizedList(Lists.newArrayList()))
+                            .add(commandBookmark);
+                }
+            }
+        };
+        execution.bookmarkService = mockBookmarkService;
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void commands_for_same_target_are_executed_in_order_by_the_same_thread() throws Exception {
+
+        // given
+        final List<Command> commands = Arrays.asList(
+                command("1", customer1), command("2", customer2), command("3", customer1), command("4", customer1));
+
+        // when
+        execution.executeConcurrently(execution.partition(commands, 4), null, 10);
+
+        // then
+        assertThat(executedByTarget.get(customer1), is(Arrays.asList(
+                commandBookmark("1", customer1), commandBookmark("3", customer1), commandBookmark("4", customer1))));
+        assertThat(executedByTarget.get(customer2), is(Arrays.asList(commandBookmark("2", customer2))));
+        assertThat(threadByCommand.get(commandBookmark("3", customer1)),
+                is(threadByCommand.get(commandBookmark("1", customer1))));
+        assertThat(threadByCommand.get(commandBookmark("4", customer1)),
+                is(threadByCommand.get(commandBookmark("1", customer1))));
+    }
+
+    @Test
+    public void commands_for_different_targets_are_executed_concurrently() throws Exception {
+
+        // given two targets that fall into different partitions
+        Bookmark otherCustomer = customer2;
+        for (int i = 3; partitionOf(otherCustomer, 2) == partitionOf(customer1, 2); i++) {
+            otherCustomer = new Bookmark("CUS", "" + i);
+        }
+        final List<Command> commands = Arrays.asList(command("1", customer1), command("2", otherCustomer));
+        final List<BackgroundCommandExecution.Partition> partitions = execution.partition(commands, 2);
+        assertThat(partitions.size(), is(2));
+
+        // when (each partition waiting for the other to have started)
+        barrier = new CyclicBarrier(2);
+        execution.executeConcurrently(partitions, null, 10);
+
+        // then
+        assertThat(executedByTarget.size(), is(2));
+        assertThat(threadByCommand.get(commandBookmark("1", customer1)),
+                is(not(threadByCommand.get(commandBookmark("2", otherCustomer)))));
+    }
+
+    @Test
+    public void rejected_partitions_are_skipped_rather_than_executed_by_the_caller() throws Exception {
+
+        // given
+        final List<Command> commands = Arrays.asList(command("1", customer1), command("2", customer2));
+        final List<BackgroundCommandExecution.Partition> partitions = execution.partition(commands, 2);
+        executorService.shutdown();
+
+        // when
+        final BackgroundCommandExecution.Statistics statistics = execution.executeConcurrently(partitions, null, 10);
+
+        // then
+        assertThat(executedByTarget.isEmpty(), is(true));
+        assertThat(statistics.getSkipped(), is(2));
+        assertThat(statistics.getExecuted(), is(0));
+        for (final BackgroundCommandExecution.PartitionStatistics partitionStatistics : statistics.getPartitions()) {
+            assertThat(partitionStatistics.isRejected(), is(true));
+        }
+    }
+
+    @Test
+    public void each_partition_has_its_own_copy_of_the_session() throws Exception {
+
+        // given
+        Bookmark otherCustomer = customer2;
+        for (int i = 3; partitionOf(otherCustomer, 2) == partitionOf(customer1, 2); i++) {
+            otherCustomer = new Bookmark("CUS", "" + i);
+        }
+        final List<Command> commands = Arrays.asList(command("1", customer1), command("2", otherCustomer));
+        final SimpleSession authenticationSession = new SimpleSession("sven", Arrays.asList("admin_role"), "code");
+        authenticationSession.setAttribute("someAttribute", "someValue");
+
+        // when
+        final BackgroundCommandExecution.Statistics statistics =
+                execution.executeConcurrently(execution.partition(commands, 2), authenticationSession, 10);
+
+        // then
+        assertThat(statistics.getPartitions().size(), is(2));
+        assertThat(sessionByPartition.size(), is(2));
+        final List<AuthenticationSession> sessions = Lists.newArrayList(sessionByPartition.values());
+        assertThat(sessions.get(0), is(not(sameInstance(sessions.get(1)))));
+        for (final AuthenticationSession session : sessions) {
+            assertThat(session, is(not(sameInstance((AuthenticationSession) authenticationSession))));
+            assertThat(session.getMessageBroker(), is(not(sameInstance(authenticationSession.getMessageBroker()))));
+            assertThat(session.getUserName(), is("sven"));
+            assertThat(session.getRoles(), is(authenticationSession.getRoles()));
+            assertThat(session.getAttribute("someAttribute"), is((Object) "someValue"));
+        }
+    }
+
+    private Command command(final String id, final Bookmark target) {
+        final Command command = context.mock(Command.class, "command" + id);
+        final Bookmark commandBookmark = commandBookmark(id, target);
+        context.checking(new Expectations() {{
+            allowing(command).getTarget();
+            will(returnValue(target));
+            allowing(command).getTransactionId();
+            will(returnValue(UUID.nameUUIDFromBytes(id.getBytes())));
+            allowing(mockBookmarkService).bookmarkFor(command);
+            will(returnValue(commandBookmark));
+        }});
+        return command;
+    }
+
+    private static int partitionOf(final Bookmark target, final int parallelism) {
+        return Math.floorMod(target.toString().hashCode(), parallelism);
+    }
+
+    /**
+     * Encodes the target in the command's bookmark, so that it can be recovered when the partition is executed.
+     */
+    private static Bookmark commandBookmark(final String id, final Bookmark target) {
+        return new Bookmark("CMD", id + "@" + target.getIdentifier());
+    }
+
+    private static Bookmark targetOf(final Bookmark commandBookmark) {
+        final String identifier = commandBookmark.getIdentifier();
+        return new Bookmark("CUS", identifier.substring(identifier.indexOf('@') + 1));
+    }
+
+}
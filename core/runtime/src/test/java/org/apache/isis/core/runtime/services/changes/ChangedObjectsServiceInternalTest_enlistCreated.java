@@ -0,0 +1,117 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.changes;
+
+import java.util.Arrays;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ChangedObjectsServiceInternalTest_enlistCreated {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    static class Customer {}
+
+    @Mock
+    private ObjectSpecification mockSpecification;
+    @Mock
+    private ObjectAssociation mockProperty;
+
+    private ChangedObjectsServiceInternal changedObjectsService;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockSpecification).getCorrespondingClass();
+            will(returnValue(Customer.class));
+            allowing(mockSpecification).getAssociations(Contributed.EXCLUDED, ObjectAssociation.Predicates.PROPERTIES);
+            will(returnValue(Arrays.asList(mockProperty)));
+
+            allowing(mockProperty).getId();
+            will(returnValue("someProperty"));
+            allowing(mockProperty).isNotPersisted();
+            will(returnValue(false));
+        }});
+
+        changedObjectsService = new ChangedObjectsServiceInternal();
+    }
+
+    @Test
+    public void created_objects_are_enlisted() throws Exception {
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            changedObjectsService.enlistCreated(newAdapter(i));
+        }
+
+        // then
+        assertThat(changedObjectsService.numberObjectsDirtied(), is(10));
+    }
+
+    @Test
+    public void created_objects_are_not_enlisted_while_persisting_in_bulk() throws Exception {
+
+        // given
+        changedObjectsService.setBulkPersistence(true);
+
+        // when
+        for (int i = 0; i < 1000; i++) {
+            changedObjectsService.enlistCreated(newAdapter(i));
+        }
+
+        // then nothing is held on to, however many are created
+        assertThat(changedObjectsService.numberObjectsDirtied(), is(0));
+        assertThat(changedObjectsService.getChangeKindByEnlistedAdapter().isEmpty(), is(true));
+        assertThat(changedObjectsService.getChangedObjectProperties().isEmpty(), is(true));
+
+        // and once no longer persisting in bulk
+        changedObjectsService.setBulkPersistence(false);
+        changedObjectsService.enlistCreated(newAdapter(1000));
+        assertThat(changedObjectsService.numberObjectsDirtied(), is(1));
+    }
+
+    private ObjectAdapter newAdapter(final int i) {
+        final ObjectAdapter adapter = context.mock(ObjectAdapter.class, "customer" + i);
+        context.checking(new Expectations() {{
+            allowing(adapter).getSpecification();
+            will(returnValue(mockSpecification));
+            allowing(adapter).getOid();
+            will(returnValue(RootOid.create(ObjectSpecId.of("CUS"), "" + i)));
+        }});
+        return adapter;
+    }
+
+}
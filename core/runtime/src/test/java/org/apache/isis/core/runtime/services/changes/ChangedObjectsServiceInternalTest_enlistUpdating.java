@@ -0,0 +1,189 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.changes;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ChangedObjectsServiceInternalTest_enlistUpdating {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    static class Customer {}
+
+    @Mock
+    private ObjectAdapter mockAdapter;
+    @Mock
+    private ObjectSpecification mockSpecification;
+    @Mock
+    private ObjectAssociation mockProperty;
+    @Mock
+    private ObjectSpecification mockPropertySpecification;
+
+    private ChangedObjectsServiceInternal changedObjectsService;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockAdapter).getOid();
+            will(returnValue(RootOid.create(ObjectSpecId.of("CUS"), "1")));
+            allowing(mockAdapter).getSpecification();
+            will(returnValue(mockSpecification));
+            allowing(mockAdapter).isDestroyed();
+            will(returnValue(false));
+
+            allowing(mockSpecification).getCorrespondingClass();
+            will(returnValue(Customer.class));
+            allowing(mockSpecification).getAssociations(Contributed.EXCLUDED, ObjectAssociation.Predicates.PROPERTIES);
+            will(returnValue(Arrays.asList(mockProperty)));
+
+            allowing(mockProperty).getId();
+            will(returnValue("someProperty"));
+            allowing(mockProperty).isNotPersisted();
+            will(returnValue(false));
+            allowing(mockProperty).getSpecification();
+            will(returnValue(mockPropertySpecification));
+        }});
+
+        changedObjectsService = new ChangedObjectsServiceInternal();
+    }
+
+    @Test
+    public void pre_and_post_values_are_both_read_using_the_property() throws Exception {
+
+        // given
+        final ObjectAdapter fooAdapter = valueAdapter("foo", "Foo");
+        final ObjectAdapter barAdapter = valueAdapter("bar", "Bar");
+        context.checking(new Expectations() {{
+            allowing(mockProperty).get(mockAdapter, InteractionInitiatedBy.FRAMEWORK);
+            will(onConsecutiveCalls(returnValue(fooAdapter), returnValue(barAdapter)));
+        }});
+
+        // when
+        changedObjectsService.enlistUpdating(mockAdapter, mockProperty);
+
+        // then
+        final PreAndPostValues papv = singleChange();
+        assertThat(papv.getPre(), is((Object) "Foo"));
+        assertThat(papv.getPost(), is((Object) "Bar"));
+    }
+
+    @Test
+    public void enlisting_again_keeps_the_original_pre_value() throws Exception {
+
+        // given
+        final ObjectAdapter fooAdapter = valueAdapter("foo", "Foo");
+        final ObjectAdapter barAdapter = valueAdapter("bar", "Bar");
+        final ObjectAdapter bazAdapter = valueAdapter("baz", "Baz");
+        context.checking(new Expectations() {{
+            allowing(mockProperty).get(mockAdapter, InteractionInitiatedBy.FRAMEWORK);
+            will(onConsecutiveCalls(returnValue(fooAdapter), returnValue(barAdapter), returnValue(bazAdapter)));
+        }});
+
+        // when
+        changedObjectsService.enlistUpdating(mockAdapter, mockProperty);
+        changedObjectsService.enlistUpdating(mockAdapter, mockProperty);
+
+        // then
+        final PreAndPostValues papv = singleChange();
+        assertThat(papv.getPre(), is((Object) "Foo"));
+        assertThat(papv.getPost(), is((Object) "Bar"));
+    }
+
+    @Test
+    public void date_modified_in_place_is_audited() throws Exception {
+
+        // given
+        final Date date = new Date(0L);
+        final ObjectAdapter dateAdapter = valueAdapter("date", date);
+        context.checking(new Expectations() {{
+            allowing(mockPropertySpecification).getCorrespondingClass();
+            will(returnValue(Date.class));
+            allowing(mockProperty).get(mockAdapter, InteractionInitiatedBy.FRAMEWORK);
+            will(returnValue(dateAdapter));
+        }});
+
+        // when
+        changedObjectsService.enlistUpdatingFieldByField(mockAdapter);
+        date.setTime(1000L);
+
+        // then
+        final PreAndPostValues papv = singleChange();
+        assertThat(papv.getPre(), is((Object) new Date(0L)));
+        assertThat(papv.getPost(), is((Object) new Date(1000L)));
+        assertThat(changedObjectsService.isEnlisted(mockAdapter), is(true));
+    }
+
+    @Test
+    public void immutable_values_are_not_enlisted_until_written() throws Exception {
+
+        // given
+        context.checking(new Expectations() {{
+            allowing(mockPropertySpecification).getCorrespondingClass();
+            will(returnValue(String.class));
+            never(mockProperty).get(mockAdapter, InteractionInitiatedBy.FRAMEWORK);
+        }});
+
+        // when
+        changedObjectsService.enlistUpdatingFieldByField(mockAdapter);
+
+        // then
+        assertThat(changedObjectsService.isEnlisted(mockAdapter), is(true));
+        assertThat(changedObjectsService.getChangedObjectProperties().size(), is(0));
+    }
+
+    private ObjectAdapter valueAdapter(final String name, final Object value) {
+        final ObjectAdapter valueAdapter = context.mock(ObjectAdapter.class, name);
+        context.checking(new Expectations() {{
+            allowing(valueAdapter).getObject();
+            will(returnValue(value));
+        }});
+        return valueAdapter;
+    }
+
+    private PreAndPostValues singleChange() {
+        final Set<Map.Entry<AdapterAndProperty, PreAndPostValues>> changes =
+                changedObjectsService.getChangedObjectProperties();
+        assertThat(changes.size(), is(1));
+        return changes.iterator().next().getValue();
+    }
+
+}
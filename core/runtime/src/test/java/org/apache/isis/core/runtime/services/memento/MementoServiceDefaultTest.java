@@ -21,7 +21,10 @@
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 import org.joda.time.LocalDate;
 import org.junit.Before;
@@ -29,6 +32,8 @@
 
 import org.apache.isis.applib.services.bookmark.Bookmark;
 import org.apache.isis.applib.services.memento.MementoService.Memento;
+import org.apache.isis.applib.services.urlencoding.UrlEncodingServiceUsingBaseEncoding;
+import org.apache.isis.core.commons.exceptions.IsisException;
 import org.apache.isis.core.runtime.services.memento.MementoServiceDefault;
 
 public class MementoServiceDefaultTest {
@@ -96,4 +101,146 @@ public void roundtrip() {
         assertThat(memento2.get("someEnum", DOW.class), is(DOW.Wed));
         
     }
+
+    @Test
+    public void roundtrip_when_encoded() {
+        final MementoServiceDefault encodingMementoService = new MementoServiceDefault();
+        encodingMementoService.urlEncodingService = new UrlEncodingServiceUsingBaseEncoding();
+
+        final Memento memento = encodingMementoService.create();
+        memento.set("someString", "a  string");
+        memento.set("someInt", -123456789);
+        memento.set("someLong", 1234567890123456789L);
+        memento.set("someDouble", 1234567890.123456);
+        memento.set("someBigDecimal", new BigDecimal("-123456789012345678901234567890.123456789"));
+        memento.set("someLocalDate", new LocalDate(2013,9,3));
+        memento.set("someJavaUtilDate", new Date(300_000_000));
+        memento.set("someBookmark", new Bookmark("CUS", "12345"));
+        memento.set("someNullValue", null);
+        memento.set("someEnum", DOW.Wed);
+
+        final String str = memento.asString();
+
+        final Memento memento2 = encodingMementoService.parse(str);
+
+        assertThat(memento2.keySet(), is(memento.keySet()));
+        assertThat(memento2.get("someString", String.class), is("a  string"));
+        assertThat(memento2.get("someInt", int.class), is(-123456789));
+        assertThat(memento2.get("someLong", Long.class), is(1234567890123456789L));
+        assertThat(memento2.get("someDouble", Double.class), is(1234567890.123456));
+        assertThat(memento2.get("someBigDecimal", BigDecimal.class), is(new BigDecimal("-123456789012345678901234567890.123456789")));
+        assertThat(memento2.get("someLocalDate", LocalDate.class), is(new LocalDate(2013,9,3)));
+        assertThat(memento2.get("someJavaUtilDate", Date.class), is(new Date(300_000_000)));
+        assertThat(memento2.get("someBookmark", Bookmark.class), is(new Bookmark("CUS", "12345")));
+        assertThat(memento2.get("someNullValue", Integer.class), is(nullValue()));
+        assertThat(memento2.get("someEnum", DOW.class), is(DOW.Wed));
+
+        // can also be read as any other (supported) type, as for XML
+        assertThat(memento2.get("someInt", Long.class), is(-123456789L));
+        assertThat(memento2.get("someInt", String.class), is("-123456789"));
+
+        // shorter than the XML would be, once encoded
+        final String encodedXmlStr = encodingMementoService.urlEncodingService.encode(memento.toString());
+        assertThat(str.length() < encodedXmlStr.length(), is(true));
+    }
+
+    @Test
+    public void parses_xml_mementos_when_encoded() {
+        final MementoServiceDefault encodingMementoService = new MementoServiceDefault();
+        encodingMementoService.urlEncodingService = new UrlEncodingServiceUsingBaseEncoding();
+
+        final Memento memento = mementoService.create();
+        memento.set("someString", "a string");
+        memento.set("someBookmark", new Bookmark("CUS", "12345"));
+        final String encodedXmlStr = encodingMementoService.urlEncodingService.encode(memento.asString());
+
+        final Memento memento2 = encodingMementoService.parse(encodedXmlStr);
+
+        assertThat(memento2.get("someString", String.class), is("a string"));
+        assertThat(memento2.get("someBookmark", Bookmark.class), is(new Bookmark("CUS", "12345")));
+    }
+
+    @Test
+    public void first_value_set_wins() {
+        final MementoServiceDefault encodingMementoService = new MementoServiceDefault();
+        encodingMementoService.urlEncodingService = new UrlEncodingServiceUsingBaseEncoding();
+
+        for (final MementoServiceDefault service : Arrays.asList(mementoService, encodingMementoService)) {
+            final Memento memento = service.create();
+            memento.set("someString", "first");
+            memento.set("someString", "second");
+
+            assertThat(memento.get("someString", String.class), is("first"));
+            assertThat(service.parse(memento.asString()).get("someString", String.class), is("first"));
+        }
+    }
+
+    /**
+     * Compares the URL length and encode/decode times of the binary form with those of the (encoded) XML form that it
+     * replaced, for a typical view model memento.  Only the lengths are asserted; the times are reported.
+     */
+    @Test
+    public void url_length_and_encode_decode_times() {
+        final MementoServiceDefault encodingMementoService = new MementoServiceDefault();
+        encodingMementoService.urlEncodingService = new UrlEncodingServiceUsingBaseEncoding();
+
+        final Memento memento = encodingMementoService.create();
+        memento.set("customer", new Bookmark("CUS", "12345"));
+        memento.set("order", new Bookmark("ORD", "987654"));
+        memento.set("name", "Smith & Sons Ltd");
+        memento.set("reference", "REF-2013-09-03-0001");
+        memento.set("quantity", 12);
+        memento.set("amount", new BigDecimal("1234.56"));
+        memento.set("dueDate", new LocalDate(2013,9,3));
+        memento.set("createdAt", new Date(300_000_000));
+        memento.set("approved", Boolean.TRUE);
+        memento.set("dayOfWeek", DOW.Wed);
+
+        final String binaryStr = memento.asString();
+        final String xmlStr = encodingMementoService.urlEncodingService.encode(memento.toString());
+        assertThat(encodingMementoService.parse(binaryStr).keySet(), is(memento.keySet()));
+        assertThat(encodingMementoService.parse(xmlStr).keySet(), is(memento.keySet()));
+        assertThat(binaryStr.length() < xmlStr.length(), is(true));
+
+        final int iterations = 2_000;
+        for (int warmup = 0; warmup < 2; warmup++) {
+            final long binaryEncodeNanos = time(iterations, memento::asString);
+            final long binaryDecodeNanos = time(iterations, () -> encodingMementoService.parse(binaryStr));
+            final long xmlEncodeNanos = time(iterations,
+                    () -> encodingMementoService.urlEncodingService.encode(memento.toString()));
+            final long xmlDecodeNanos = time(iterations, () -> encodingMementoService.parse(xmlStr));
+            if(warmup == 1) {
+                System.out.println(String.format(
+                        "memento URL length: binary %d chars, XML %d chars; "
+                                + "encode: binary %dus, XML %dus; decode: binary %dus, XML %dus",
+                        binaryStr.length(), xmlStr.length(),
+                        micros(binaryEncodeNanos, iterations), micros(xmlEncodeNanos, iterations),
+                        micros(binaryDecodeNanos, iterations), micros(xmlDecodeNanos, iterations)));
+            }
+        }
+    }
+
+    private static long time(final int iterations, final Runnable runnable) {
+        final long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            runnable.run();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long micros(final long nanos, final int iterations) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos / iterations);
+    }
+
+    @Test(expected = IsisException.class)
+    public void rejects_malformed_length_without_allocating_it() {
+        final MementoServiceDefault encodingMementoService = new MementoServiceDefault();
+        encodingMementoService.urlEncodingService = new UrlEncodingServiceUsingBaseEncoding();
+
+        // format 1, one entry, whose name claims to be Integer.MAX_VALUE bytes long
+        final byte[] bytes = { 1, 1, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 'x' };
+        final String str = "~" + Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        encodingMementoService.parse(str);
+    }
 }
@@ -0,0 +1,143 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.publish;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+
+import org.apache.isis.applib.services.publish.PublishedObjects;
+import org.apache.isis.applib.services.publish.PublisherService;
+import org.apache.isis.applib.services.publish.PublisherServiceInMemory;
+import org.apache.isis.schema.chg.v1.ChangesDto;
+
+public class AsyncPublishingServiceInternalTest {
+
+    final PublisherServiceInMemory publisherService = new PublisherServiceInMemory();
+
+    AsyncPublishingServiceInternal asyncPublishingService;
+
+    @After
+    public void tearDown() throws Exception {
+        asyncPublishingService.shutdown();
+    }
+
+    @Test
+    public void disabled_by_default() throws Exception {
+        asyncPublishingService = newService(publisherService);
+        asyncPublishingService.init(Collections.<String, String>emptyMap());
+
+        assertThat(asyncPublishingService.isEnabled(), is(false));
+    }
+
+    @Test
+    public void delivers_in_batches() throws Exception {
+        asyncPublishingService = newService(publisherService);
+        asyncPublishingService.init(ImmutableMap.of(
+                AsyncPublishingServiceInternal.KEY_ENABLED, "true",
+                AsyncPublishingServiceInternal.KEY_BATCH_SIZE, "10"));
+
+        asyncPublishingService.enqueue(publishedObjects(25));
+
+        assertThat(publisherService.awaitPublished(25, 10, TimeUnit.SECONDS), is(true));
+        asyncPublishingService.shutdown();
+
+        final AsyncPublishingServiceInternal.Statistics statistics = asyncPublishingService.getStatistics();
+        assertThat(statistics.getEnqueued(), is(25L));
+        assertThat(statistics.getDelivered(), is(25L));
+        assertThat(statistics.getFailed(), is(0L));
+        assertThat(statistics.getQueueDepth(), is(0));
+        assertThat(statistics.getLargestBatch(), is(lessThanOrEqualTo(10)));
+    }
+
+    @Test
+    public void failed_batch_is_redelivered_individually() throws Exception {
+        final AtomicBoolean failedOnce = new AtomicBoolean();
+        asyncPublishingService = newService(new PublisherServiceInMemory() {
+            @Override
+            public void publish(final PublishedObjects publishedObjects) {
+                if(failedOnce.compareAndSet(false, true)) {
+                    throw new RuntimeException("failing once");
+                }
+                publisherService.publish(publishedObjects);
+            }
+        });
+        asyncPublishingService.init(ImmutableMap.of(
+                AsyncPublishingServiceInternal.KEY_ENABLED, "true",
+                AsyncPublishingServiceInternal.KEY_RETRY_DELAY_MILLIS, "0"));
+
+        asyncPublishingService.enqueue(publishedObjects(3));
+
+        assertThat(publisherService.awaitPublished(3, 10, TimeUnit.SECONDS), is(true));
+        asyncPublishingService.shutdown();
+
+        final AsyncPublishingServiceInternal.Statistics statistics = asyncPublishingService.getStatistics();
+        assertThat(statistics.getDelivered(), is(3L));
+        assertThat(statistics.getFailed(), is(0L));
+        assertThat(statistics.getRetried() > 0, is(true));
+    }
+
+    private static AsyncPublishingServiceInternal newService(final PublisherService publisherService) {
+        final AsyncPublishingServiceInternal service = new AsyncPublishingServiceInternal() {
+            @Override
+            void runInSessionAndTransaction(final Runnable runnable) {
+                runnable.run();
+            }
+        };
+        service.publisherServices = Collections.singletonList(publisherService);
+        return service;
+    }
+
+    private static List<Object> publishedObjects(final int number) {
+        final List<Object> publishedObjects = Lists.newArrayList();
+        for (int i = 0; i < number; i++) {
+            publishedObjects.add(new PublishedObjectsStub());
+        }
+        return publishedObjects;
+    }
+
+    static class PublishedObjectsStub implements PublishedObjects {
+        private UUID transactionId = UUID.randomUUID();
+
+        @Override public UUID getTransactionId() { return transactionId; }
+        @Override public void setTransactionId(final UUID transactionId) { this.transactionId = transactionId; }
+        @Override public String getUsername() { return "sven"; }
+        @Override public Timestamp getCompletedAt() { return new Timestamp(0L); }
+        @Override public ChangesDto getDto() { return null; }
+        @Override public int getNumberLoaded() { return 0; }
+        @Override public int getNumberCreated() { return 0; }
+        @Override public int getNumberUpdated() { return 0; }
+        @Override public int getNumberDeleted() { return 0; }
+        @Override public int getNumberPropertiesModified() { return 0; }
+    }
+
+}
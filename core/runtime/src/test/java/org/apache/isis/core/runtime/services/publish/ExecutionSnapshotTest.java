@@ -0,0 +1,80 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.publish;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.iactn.Interaction;
+import org.apache.isis.schema.ixn.v1.ActionInvocationDto;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ExecutionSnapshotTest {
+
+    static class Customer {}
+
+    private Interaction.ActionInvocation execution;
+
+    @Before
+    public void setUp() throws Exception {
+        execution = new Interaction.ActionInvocation(
+                new Interaction(), "com.mycompany.Customer#placeOrder()", new Customer(),
+                Collections.<Object>emptyList(), "Place Order", "Customer");
+        final ActionInvocationDto dto = new ActionInvocationDto();
+        dto.setMemberIdentifier("com.mycompany.Customer#placeOrder()");
+        execution.setDto(dto);
+        execution.setReturned(new Customer());
+    }
+
+    @Test
+    public void copies_the_dto() throws Exception {
+        final ExecutionSnapshot<ActionInvocationDto, ?> snapshot = ExecutionSnapshot.of(execution);
+
+        // when the original dto is subsequently changed
+        execution.getDto().setMemberIdentifier("com.mycompany.Customer#cancelOrder()");
+
+        // then
+        assertThat(snapshot.getDto(), is(not(sameInstance(execution.getDto()))));
+        assertThat(snapshot.getDto().getMemberIdentifier(), is("com.mycompany.Customer#placeOrder()"));
+        assertThat(snapshot.getMemberIdentifier(), is("com.mycompany.Customer#placeOrder()"));
+        assertThat(snapshot.getTargetMember(), is("Place Order"));
+    }
+
+    @Test
+    public void does_not_hold_on_to_session_bound_objects() throws Exception {
+        final ExecutionSnapshot<ActionInvocationDto, ?> snapshot = ExecutionSnapshot.of(execution);
+
+        assertThat(snapshot.getTarget(), is(nullValue()));
+        assertThat(snapshot.getReturned(), is(nullValue()));
+        assertThat(snapshot.getInteraction(), is(nullValue()));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void cannot_be_modified() throws Exception {
+        ExecutionSnapshot.of(execution).setReturned(new Customer());
+    }
+
+}
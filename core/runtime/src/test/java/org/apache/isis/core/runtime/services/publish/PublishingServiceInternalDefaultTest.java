@@ -0,0 +1,137 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.publish;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.iactn.Interaction;
+import org.apache.isis.applib.services.publish.PublisherService;
+import org.apache.isis.applib.services.xactn.Transaction;
+import org.apache.isis.applib.services.xactn.TransactionService;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+import org.apache.isis.schema.ixn.v1.ActionInvocationDto;
+
+public class PublishingServiceInternalDefaultTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private PublisherService mockPublisherService;
+    @Mock
+    private TransactionService mockTransactionService;
+    @Mock
+    private AsyncPublishingServiceInternal mockAsyncPublishingServiceInternal;
+
+    private Transaction transaction1;
+    private Transaction transaction2;
+
+    private PublishingServiceInternalDefault publishingService;
+
+    static class Customer {}
+
+    @Before
+    public void setUp() throws Exception {
+        transaction1 = context.mock(Transaction.class, "transaction1");
+        transaction2 = context.mock(Transaction.class, "transaction2");
+
+        publishingService = new PublishingServiceInternalDefault();
+        publishingService.publisherServices = Collections.singletonList(mockPublisherService);
+        publishingService.transactionService = mockTransactionService;
+        publishingService.asyncPublishingServiceInternal = mockAsyncPublishingServiceInternal;
+
+        context.checking(new Expectations() {{
+            allowing(mockAsyncPublishingServiceInternal).isEnabled();
+            will(returnValue(true));
+        }});
+    }
+
+    @Test
+    public void hands_over_once_committed() throws Exception {
+
+        // given
+        publishIn(transaction1);
+
+        // expect
+        context.checking(new Expectations() {{
+            oneOf(mockAsyncPublishingServiceInternal).enqueue(with(any(List.class)));
+        }});
+
+        // when
+        publishingService.transactionCommitted(transaction1);
+    }
+
+    @Test
+    public void discards_when_aborted() throws Exception {
+
+        // given
+        publishIn(transaction1);
+        publishingService.transactionAborted(transaction1);
+
+        // expect
+        context.checking(new Expectations() {{
+            never(mockAsyncPublishingServiceInternal).enqueue(with(any(List.class)));
+        }});
+
+        // when a later transaction (in which nothing was published) commits
+        publishingService.transactionCommitted(transaction2);
+    }
+
+    @Test
+    public void does_not_hand_over_when_some_other_transaction_commits() throws Exception {
+
+        // given (an earlier transaction, aborted without notification)
+        publishIn(transaction1);
+
+        // expect
+        context.checking(new Expectations() {{
+            never(mockAsyncPublishingServiceInternal).enqueue(with(any(List.class)));
+        }});
+
+        // when
+        publishingService.transactionCommitted(transaction2);
+    }
+
+    private void publishIn(final Transaction transaction) {
+        context.checking(new Expectations() {{
+            allowing(mockTransactionService).currentTransaction();
+            will(returnValue(transaction));
+        }});
+        publishingService.publishAction(newExecution());
+    }
+
+    private static Interaction.ActionInvocation newExecution() {
+        final Interaction.ActionInvocation execution = new Interaction.ActionInvocation(
+                new Interaction(), "com.mycompany.Customer#placeOrder()", new Customer(),
+                Collections.<Object>emptyList(), "Place Order", "Customer");
+        final ActionInvocationDto dto = new ActionInvocationDto();
+        dto.setMemberIdentifier("com.mycompany.Customer#placeOrder()");
+        execution.setDto(dto);
+        return execution;
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.system.persistence.adaptermanager;
+
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class PojoAdapterHashMapTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    ObjectAdapter mockAdapter;
+
+    private PojoAdapterHashMap map;
+
+    @Before
+    public void setUp() throws Exception {
+        map = new PojoAdapterHashMap();
+    }
+
+    @Test
+    public void keyed_by_identity_rather_than_equality() throws Exception {
+        final String pojo = new String("customer");
+        final String equalPojo = new String("customer");
+
+        map.add(pojo, mockAdapter);
+
+        assertThat(map.containsPojo(pojo), is(true));
+        assertThat(map.getAdapter(pojo), is(mockAdapter));
+        assertThat(map.containsPojo(equalPojo), is(false));
+        assertThat(map.getAdapter(equalPojo), is(nullValue()));
+    }
+
+    @Test
+    public void cleared_when_closed() throws Exception {
+        map.add(new Object(), mockAdapter);
+
+        map.close();
+
+        assertThat(map.iterator().hasNext(), is(false));
+    }
+
+    @Test
+    public void observed_size_is_bounded_moving_average() throws Exception {
+        final ObservedMapSize observedSize = new ObservedMapSize(100);
+
+        observedSize.record(10);
+        assertThat(observedSize.expectedSize(), is(100));
+
+        observedSize.record(500);
+        assertThat(observedSize.expectedSize(), is(200));
+
+        for (int i = 0; i < 50; i++) {
+            observedSize.record(1_000_000);
+        }
+        assertThat(observedSize.expectedSize(), is(ObservedMapSize.MAX_EXPECTED_SIZE));
+    }
+
+}
@@ -0,0 +1,202 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.security.shiro;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+import com.google.common.collect.ImmutableSet;
+
+import org.apache.shiro.mgt.SecurityManager;
+import org.apache.shiro.subject.PrincipalCollection;
+
+import org.apache.isis.applib.Identifier;
+
+/**
+ * Memoises the permission decisions made by Shiro, per user (as identified by their {@link PrincipalCollection}),
+ * per {@link Identifier} and per read/write.
+ *
+ * <p>
+ * A user's decisions are discarded once they are older than the time-to-live, or as soon as that user is
+ * authenticated with a different set of roles.
+ */
+class PermissionDecisionCache {
+
+    private static final class Decisions {
+        private final Set<String> roles;
+        private final long createdAt = System.nanoTime();
+        // keyed by Identifier#toFullIdentityString() (Identifier#equals ignores the member name)
+        private final Map<String, Boolean> readable = new ConcurrentHashMap<>();
+        private final Map<String, Boolean> writable = new ConcurrentHashMap<>();
+
+        private Decisions(final Set<String> roles) {
+            this.roles = roles;
+        }
+
+        private boolean isExpired(final long now, final long ttlNanos) {
+            return now - createdAt >= ttlNanos;
+        }
+    }
+
+    private static final Map<SecurityManager, PermissionDecisionCache> cacheBySecurityManager =
+            Collections.synchronizedMap(new WeakHashMap<SecurityManager, PermissionDecisionCache>());
+
+    /**
+     * The cache shared by all callers using the same {@link SecurityManager}, created with the specified
+     * time-to-live if there is none yet.
+     */
+    static PermissionDecisionCache forSecurityManager(final SecurityManager securityManager, final int ttlSeconds) {
+        return cacheBySecurityManager.computeIfAbsent(securityManager, __ -> new PermissionDecisionCache(ttlSeconds));
+    }
+
+    private final long ttlNanos;
+    private final Map<PrincipalCollection, Decisions> decisionsByPrincipals = new ConcurrentHashMap<>();
+    private final AtomicLong lastPurgedAt = new AtomicLong(System.nanoTime());
+
+    private final LongAdder decisions = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private volatile long statisticsSince = System.nanoTime();
+
+    /**
+     * @param ttlSeconds - if zero (or negative), then no decisions are memoised.
+     */
+    PermissionDecisionCache(final int ttlSeconds) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(Math.max(ttlSeconds, 0));
+    }
+
+    boolean isEnabled() {
+        return ttlNanos > 0;
+    }
+
+    /**
+     * The memoised decision for this user, identifier and read/write if there is one, otherwise the decision
+     * made by the supplied (Shiro) evaluation, memoised.
+     */
+    boolean isPermitted(
+            final PrincipalCollection principals,
+            final Identifier identifier,
+            final boolean write,
+            final BooleanSupplier evaluation) {
+        decisions.increment();
+        if(!isEnabled() || principals == null || principals.isEmpty()) {
+            return evaluation.getAsBoolean();
+        }
+
+        final long now = System.nanoTime();
+        purgeExpiredIfDue(now);
+
+        Decisions decisionsForUser = decisionsByPrincipals.get(principals);
+        if(decisionsForUser == null || decisionsForUser.isExpired(now, ttlNanos)) {
+            final Decisions newDecisions = new Decisions(
+                    decisionsForUser != null ? decisionsForUser.roles : null);
+            if(decisionsForUser == null) {
+                final Decisions existing = decisionsByPrincipals.putIfAbsent(principals, newDecisions);
+                decisionsForUser = existing != null ? existing : newDecisions;
+            } else {
+                decisionsByPrincipals.replace(principals, decisionsForUser, newDecisions);
+                decisionsForUser = newDecisions;
+            }
+        }
+
+        final Map<String, Boolean> decisionsByIdentifier = write ? decisionsForUser.writable : decisionsForUser.readable;
+        final String key = identifier.toFullIdentityString();
+        final Boolean decision = decisionsByIdentifier.get(key);
+        if(decision != null) {
+            hits.increment();
+            return decision;
+        }
+        final boolean permitted = evaluation.getAsBoolean();
+        decisionsByIdentifier.put(key, permitted);
+        return permitted;
+    }
+
+    /**
+     * Discards the user's decisions if they were made for a different set of roles.
+     */
+    void authenticated(final PrincipalCollection principals, final Collection<String> roles) {
+        if(!isEnabled() || principals == null) {
+            return;
+        }
+        final Set<String> authenticatedRoles = ImmutableSet.copyOf(roles);
+        final Decisions decisionsForUser = decisionsByPrincipals.get(principals);
+        if(decisionsForUser != null && authenticatedRoles.equals(decisionsForUser.roles)) {
+            return;
+        }
+        decisionsByPrincipals.put(principals, new Decisions(authenticatedRoles));
+    }
+
+    void invalidateAll() {
+        decisionsByPrincipals.clear();
+    }
+
+    private void purgeExpiredIfDue(final long now) {
+        final long lastPurged = lastPurgedAt.get();
+        if(now - lastPurged < ttlNanos || !lastPurgedAt.compareAndSet(lastPurged, now)) {
+            return;
+        }
+        for (final Iterator<Decisions> iterator = decisionsByPrincipals.values().iterator(); iterator.hasNext(); ) {
+            if(iterator.next().isExpired(now, ttlNanos)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    // -- statistics
+
+    /**
+     * The number of decisions requested (whether memoised or not) since creation or the last
+     * {@link #resetStatistics() reset}.
+     */
+    long getDecisions() {
+        return decisions.sum();
+    }
+
+    /**
+     * The number of decisions answered from a memoised decision.
+     */
+    long getHits() {
+        return hits.sum();
+    }
+
+    double getDecisionsPerSecond() {
+        final long elapsedNanos = System.nanoTime() - statisticsSince;
+        return elapsedNanos > 0 ? getDecisions() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos : 0.0;
+    }
+
+    void resetStatistics() {
+        decisions.reset();
+        hits.reset();
+        statisticsSince = System.nanoTime();
+    }
+
+    int size() {
+        return decisionsByPrincipals.size();
+    }
+
+}
@@ -42,6 +42,8 @@
 import org.apache.shiro.realm.Realm;
 import org.apache.shiro.subject.PrincipalCollection;
 import org.apache.shiro.subject.Subject;
+import org.apache.shiro.subject.support.SubjectThreadState;
+import org.apache.shiro.util.ThreadState;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -74,9 +76,24 @@ public class ShiroAuthenticatorOrAuthorizor implements Authenticator, Authorizor
     private static final String ISIS_AUTHENTICATION_SHIRO_AUTO_LOGOUT_KEY = "isis.authentication.shiro.autoLogoutIfAlreadyAuthenticated";
     private static final boolean ISIS_AUTHENTICATION_SHIRO_AUTO_LOGOUT_DEFAULT = false;
 
+    private static final String ISIS_AUTHORIZATION_SHIRO_DECISION_CACHE_TTL_SECONDS_KEY = "isis.authorization.shiro.decisionCache.ttlSeconds";
+    private static final int ISIS_AUTHORIZATION_SHIRO_DECISION_CACHE_TTL_SECONDS_DEFAULT = 0;
+
+    /**
+     * The {@link PrincipalCollection principals} of the authenticated {@link Subject}, held as an attribute of the
+     * {@link AuthenticationSession} so that the session can be {@link #resume(AuthenticationSession) resumed}.
+     */
+    static final String PRINCIPALS_ATTRIBUTE = ShiroAuthenticatorOrAuthorizor.class.getName() + ".principals";
+
     // -- constructor and fields
     private final IsisConfiguration configuration;
     private final boolean autoLogout;
+    private final int decisionCacheTtlSeconds;
+
+    /**
+     * Used whenever decisions are not memoised, so that the statistics are still available.
+     */
+    private final PermissionDecisionCache noPermissionDecisionCache = new PermissionDecisionCache(0);
 
     private DeploymentCategory deploymentCategory;
 
@@ -85,6 +102,9 @@ public ShiroAuthenticatorOrAuthorizor(final IsisConfiguration configuration) {
         autoLogout = configuration.getBoolean(
                 ISIS_AUTHENTICATION_SHIRO_AUTO_LOGOUT_KEY,
                 ISIS_AUTHENTICATION_SHIRO_AUTO_LOGOUT_DEFAULT);
+        decisionCacheTtlSeconds = configuration.getInteger(
+                ISIS_AUTHORIZATION_SHIRO_DECISION_CACHE_TTL_SECONDS_KEY,
+                ISIS_AUTHORIZATION_SHIRO_DECISION_CACHE_TTL_SECONDS_DEFAULT);
     }
 
     public IsisConfiguration getConfiguration() {
@@ -186,7 +206,60 @@ AuthenticationSession authenticationSessionFor(AuthenticationRequest request, St
         // (this is used by the Wicket viewer, for example).
         roles.addAll(request.getRoles());
 
-        return new SimpleSession(request.getName(), roles, code);
+        final SimpleSession session = new SimpleSession(request.getName(), roles, code);
+        final PrincipalCollection principals = currentSubject.getPrincipals();
+        if(principals != null) {
+            session.setAttribute(PRINCIPALS_ATTRIBUTE, principals);
+            permissionDecisionCacheFor(getSecurityManager()).authenticated(principals, roles);
+        }
+        return session;
+    }
+
+    /**
+     * The thread state established by {@link #resume(AuthenticationSession)}, so that it can be restored by
+     * {@link #suspend(AuthenticationSession)}.
+     */
+    private final ThreadLocal<ThreadState> resumedThreadState = new ThreadLocal<>();
+
+    /**
+     * Binds a {@link Subject} having the originally authenticated principals to the current thread (so that
+     * permissions can subsequently be checked), without going back to the realm(s) to check the credentials.
+     * The subject remains bound until {@link #suspend(AuthenticationSession) suspended} at the end of the request.
+     */
+    @Override
+    public boolean resume(final AuthenticationSession session) {
+        final RealmSecurityManager securityManager = getSecurityManager();
+        if(securityManager == null) {
+            return false;
+        }
+        final Object principals = session.getAttribute(PRINCIPALS_ATTRIBUTE);
+        if(!(principals instanceof PrincipalCollection)) {
+            return false;
+        }
+        final Subject subject = new Subject.Builder(securityManager)
+                .principals((PrincipalCollection) principals)
+                .authenticated(true)
+                .sessionCreationEnabled(false)
+                .buildSubject();
+        suspend(session);
+        final ThreadState threadState = new SubjectThreadState(subject);
+        threadState.bind();
+        resumedThreadState.set(threadState);
+        return true;
+    }
+
+    /**
+     * Unbinds the {@link Subject} bound by {@link #resume(AuthenticationSession)} (if any), restoring whatever was
+     * bound to the current thread beforehand.
+     */
+    @Override
+    public void suspend(final AuthenticationSession session) {
+        final ThreadState threadState = resumedThreadState.get();
+        if(threadState == null) {
+            return;
+        }
+        resumedThreadState.remove();
+        threadState.restore();
     }
 
     /**
@@ -239,15 +312,15 @@ private static AuthenticationToken asAuthenticationToken(final AuthenticationReq
 
     @Override
     public boolean isVisibleInAnyRole(Identifier identifier) {
-        return isPermitted(identifier, "r");
+        return isPermitted(identifier, false);
     }
 
     @Override
     public boolean isUsableInAnyRole(Identifier identifier) {
-        return isPermitted(identifier, "w");
+        return isPermitted(identifier, true);
     }
 
-    private boolean isPermitted(Identifier identifier, String qualifier) {
+    private boolean isPermitted(final Identifier identifier, final boolean write) {
         RealmSecurityManager securityManager = getSecurityManager();
         if(securityManager == null) {
               // since a security manager will always be present for regular web requests, presumably the user
@@ -255,10 +328,13 @@ private boolean isPermitted(Identifier identifier, String qualifier) {
             return true;
         }
 
-        String permission = asPermissionsString(identifier) + ":" + qualifier;
+        final Subject subject = SecurityUtils.getSubject();
+        return permissionDecisionCacheFor(securityManager).isPermitted(
+                subject.getPrincipals(), identifier, write, () -> isPermitted(subject, identifier, write));
+    }
 
-        Subject subject = SecurityUtils.getSubject();
-        
+    private static boolean isPermitted(final Subject subject, final Identifier identifier, final boolean write) {
+        String permission = asPermissionsString(identifier) + ":" + (write ? "w" : "r");
         try {
             return subject.isPermitted(permission);
         } finally {
@@ -281,6 +357,59 @@ private static String asPermissionsString(Identifier identifier) {
         return packageName + ":" + className + ":" + identifier.getMemberName();
     }
 
+    // -- permission decision cache
+
+    /**
+     * Only memoises decisions if {@link #ISIS_AUTHORIZATION_SHIRO_DECISION_CACHE_TTL_SECONDS_KEY configured} to.
+     *
+     * <p>
+     * The memoised decisions are shared by all components using the same {@link SecurityManager Shiro SecurityManager}
+     * (in practice, both the {@link Authenticator} and the {@link Authorizor}), so that decisions can be discarded
+     * when a user is authenticated with different roles.  If Shiro is reconfigured (with a new
+     * {@link SecurityManager}) then no previous decisions are used.
+     */
+    private PermissionDecisionCache permissionDecisionCacheFor(final SecurityManager securityManager) {
+        return securityManager != null && decisionCacheTtlSeconds > 0
+                ? PermissionDecisionCache.forSecurityManager(securityManager, decisionCacheTtlSeconds)
+                : noPermissionDecisionCache;
+    }
+
+    private PermissionDecisionCache permissionDecisionCache() {
+        return permissionDecisionCacheFor(getSecurityManager());
+    }
+
+    /**
+     * Discards all memoised permission decisions, for example after changing the permissions or roles held by
+     * the realm(s) for users that are still logged in.
+     */
+    public void invalidatePermissionDecisions() {
+        permissionDecisionCache().invalidateAll();
+    }
+
+    /**
+     * The number of permission decisions (visibility and usability checks) requested since startup or the last
+     * {@link #resetPermissionDecisionStatistics() reset}.
+     */
+    public long getPermissionDecisions() {
+        return permissionDecisionCache().getDecisions();
+    }
+
+    /**
+     * The number of {@link #getPermissionDecisions() permission decisions} answered from the cache rather than by
+     * Shiro.
+     */
+    public long getPermissionDecisionCacheHits() {
+        return permissionDecisionCache().getHits();
+    }
+
+    public double getPermissionDecisionsPerSecond() {
+        return permissionDecisionCache().getDecisionsPerSecond();
+    }
+
+    public void resetPermissionDecisionStatistics() {
+        permissionDecisionCache().resetStatistics();
+    }
+
     /**
      * Returns <tt>false</tt> because the checking across all roles is done in
      * {@link #isVisibleInAnyRole(Identifier)}, which is always called prior to this.
@@ -60,6 +60,9 @@ public void setUp() throws Exception {
     	context.checking(new Expectations() {{
             allowing(mockConfiguration).getBoolean("isis.authentication.shiro.autoLogoutIfAlreadyAuthenticated", false);
             will(returnValue(false));
+
+            allowing(mockConfiguration).getInteger("isis.authorization.shiro.decisionCache.ttlSeconds", 0);
+            will(returnValue(0));
         }});
     	
    		authOrAuth = new ShiroAuthenticatorOrAuthorizor(mockConfiguration);
@@ -112,5 +115,30 @@ public void happyCase() throws Exception {
         assertThat(authOrAuth.isVisibleInAnyRole(cancelOrderIdentifier), is(false));
     }
 
+    @Test
+    public void resumed_subject_is_unbound_when_suspended() throws Exception {
+
+        Factory<SecurityManager> factory = new IniSecurityManagerFactory("classpath:shiro.ini");
+        SecurityManager securityManager = factory.getInstance();
+        SecurityUtils.setSecurityManager(securityManager);
+
+        AuthenticationSession isisAuthSession =
+                authOrAuth.authenticate(new AuthenticationRequestPassword("lonestarr", "vespa"), null);
+        ThreadContext.unbindSubject();
+
+        // when
+        assertThat(authOrAuth.resume(isisAuthSession), is(true));
+
+        // then
+        assertThat(ThreadContext.getSubject(), is(not(nullValue())));
+        assertThat(ThreadContext.getSubject().getPrincipal(), is((Object) "lonestarr"));
+
+        // when
+        authOrAuth.suspend(isisAuthSession);
+
+        // then
+        assertThat(ThreadContext.getSubject(), is(nullValue()));
+    }
+
 
 }
@@ -58,6 +58,10 @@ public void setUp() throws Exception {
     	context.checking(new Expectations() {{
             allowing(mockConfiguration).getBoolean("isis.authentication.shiro.autoLogoutIfAlreadyAuthenticated", false);
             will(returnValue(false));
+
+            // opt in to memoising decisions
+            allowing(mockConfiguration).getInteger("isis.authorization.shiro.decisionCache.ttlSeconds", 0);
+            will(returnValue(300));
         }});
     	
         authOrAuth = new ShiroAuthenticatorOrAuthorizor(mockConfiguration);
@@ -105,5 +109,64 @@ public void vetoingOverridden() throws Exception {
         assertThat(authOrAuth.isVisibleInAnyRole(removeCustomerIdentifier), is(true));
     }
 
+    @Test
+    public void decisionsAreMemoised() throws Exception {
+        // given
+        Factory<SecurityManager> factory = new IniSecurityManagerFactory("classpath:shiro.ini");
+        SecurityManager securityManager = factory.getInstance();
+        SecurityUtils.setSecurityManager(securityManager);
+
+        AuthenticationRequest ar = new AuthenticationRequestPassword("lonestarr", "vespa");
+        authOrAuth.authenticate(ar, null);
+
+        Identifier removeCustomerIdentifier = Identifier.actionIdentifier("com.mycompany.myapp.Customer", "remove");
+        Identifier changeAddressIdentifier = Identifier.actionIdentifier("com.mycompany.myapp.Customer", "changeAddress", String.class, String.class);
+        final boolean removeVisible = authOrAuth.isVisibleInAnyRole(removeCustomerIdentifier);
+        final boolean changeAddressVisible = authOrAuth.isVisibleInAnyRole(changeAddressIdentifier);
+
+        // when, then
+        assertThat(authOrAuth.isVisibleInAnyRole(removeCustomerIdentifier), is(removeVisible));
+        assertThat(authOrAuth.isVisibleInAnyRole(changeAddressIdentifier), is(changeAddressVisible));
+        assertThat(authOrAuth.getPermissionDecisions(), is(4L));
+        assertThat(authOrAuth.getPermissionDecisionCacheHits(), is(2L));
+
+        // and when
+        authOrAuth.invalidatePermissionDecisions();
+
+        // then
+        assertThat(authOrAuth.isVisibleInAnyRole(removeCustomerIdentifier), is(removeVisible));
+        assertThat(authOrAuth.getPermissionDecisionCacheHits(), is(2L));
+    }
+
+    @Test
+    public void decisionsAreNotMemoisedByDefault() throws Exception {
+        // given
+        final IsisConfiguration defaultConfiguration = context.mock(IsisConfiguration.class, "defaultConfiguration");
+        context.checking(new Expectations() {{
+            allowing(defaultConfiguration).getBoolean("isis.authentication.shiro.autoLogoutIfAlreadyAuthenticated", false);
+            will(returnValue(false));
+
+            allowing(defaultConfiguration).getInteger("isis.authorization.shiro.decisionCache.ttlSeconds", 0);
+            will(returnValue(0));
+        }});
+        final ShiroAuthenticatorOrAuthorizor defaultAuthOrAuth = new ShiroAuthenticatorOrAuthorizor(defaultConfiguration);
+        defaultAuthOrAuth.init(DeploymentCategory.PRODUCTION);
+
+        Factory<SecurityManager> factory = new IniSecurityManagerFactory("classpath:shiro.ini");
+        SecurityManager securityManager = factory.getInstance();
+        SecurityUtils.setSecurityManager(securityManager);
+
+        AuthenticationRequest ar = new AuthenticationRequestPassword("lonestarr", "vespa");
+        defaultAuthOrAuth.authenticate(ar, null);
+
+        // when
+        Identifier removeCustomerIdentifier = Identifier.actionIdentifier("com.mycompany.myapp.Customer", "remove");
+        defaultAuthOrAuth.isVisibleInAnyRole(removeCustomerIdentifier);
+        defaultAuthOrAuth.isVisibleInAnyRole(removeCustomerIdentifier);
+
+        // then
+        assertThat(defaultAuthOrAuth.getPermissionDecisions(), is(2L));
+        assertThat(defaultAuthOrAuth.getPermissionDecisionCacheHits(), is(0L));
+    }
 
 }
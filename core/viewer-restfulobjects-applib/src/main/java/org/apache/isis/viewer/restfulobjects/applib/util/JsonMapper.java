@@ -19,6 +19,7 @@
 package org.apache.isis.viewer.restfulobjects.applib.util;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.ws.rs.core.Response;
@@ -127,4 +128,12 @@ public String write(final Object object) throws JsonGenerationException, JsonMap
         return objectMapper.writeValueAsString(object);
     }
 
+    /**
+     * Writes the object directly to the provided stream (which is flushed but not closed), without first
+     * serializing it to an intermediate {@link String}.
+     */
+    public void write(final OutputStream outputStream, final Object object) throws JsonGenerationException, JsonMappingException, IOException {
+        objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(outputStream, object);
+    }
+
 }
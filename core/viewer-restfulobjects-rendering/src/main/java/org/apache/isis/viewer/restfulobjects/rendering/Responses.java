@@ -16,19 +16,29 @@
  */
 package org.apache.isis.viewer.restfulobjects.rendering;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.SimpleDateFormat;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
 
 import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
 import org.joda.time.DateTime;
 import org.joda.time.format.ISODateTimeFormat;
 
+import org.apache.isis.applib.internal.collections._Lists;
 import org.apache.isis.applib.services.clock.ClockService;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.Oid;
 import org.apache.isis.core.metamodel.adapter.version.Version;
 import org.apache.isis.core.runtime.system.context.IsisContext;
 import org.apache.isis.viewer.restfulobjects.applib.JsonRepresentation;
@@ -97,7 +107,7 @@ public static Response.ResponseBuilder ofOk(
                     .header("Date", dateFormat.format(now))
                     .type(mediaType)
                     .cacheControl(caching.getCacheControl())
-                    .entity(JsonWriterUtil.jsonFor(entityRepresentation));
+                    .entity(JsonWriterUtil.entityFor(entityRepresentation));
         return addLastModifiedAndETagIfAvailable(response, version);
     }
 
@@ -127,4 +137,105 @@ private static EntityTag asETag(final Date time) {
         final String utcTime = ISODateTimeFormat.basicDateTime().print(new DateTime(time));
         return new EntityTag(utcTime, true);
     }
+
+    /**
+     * Sets the {@link #strongETagFor(ObjectAdapter, AuthenticationSession, MediaType) strong tag}, replacing any tag
+     * {@link #addLastModifiedAndETagIfAvailable(Response.ResponseBuilder, Version) derived from the version's time}.
+     * Because the tag depends on the media type, the response also varies by <tt>Accept</tt>.
+     */
+    public static Response.ResponseBuilder addStrongETag(
+            final Response.ResponseBuilder responseBuilder,
+            final EntityTag eTag) {
+        return responseBuilder.tag(eTag).header(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    }
+
+    /**
+     * A strong tag for the representation of a (versioned) domain object, for use with conditional requests.
+     *
+     * <p>
+     *     The tag has two parts.  The first is derived from the object's {@link Oid}, its {@link Version}, and the
+     *     user and roles of the {@link AuthenticationSession} (because the representation reflects the visibility
+     *     and usability of its members to that user).  The second is derived from the media type of the
+     *     representation, so that different representations of the same object never share a tag.  Use
+     *     {@link #isSameObjectVersion(EntityTag, EntityTag)} to compare just the first parts, eg to evaluate an
+     *     <tt>If-Match</tt> precondition against whichever representation the client obtained its tag from.
+     * </p>
+     *
+     * @return the tag, or <tt>null</tt> if the object is not (or no longer) versioned.
+     */
+    public static EntityTag strongETagFor(
+            final ObjectAdapter objectAdapter,
+            final AuthenticationSession authenticationSession,
+            final MediaType mediaType) {
+        final Oid oid = objectAdapter.getOid();
+        if(oid == null || objectAdapter.isDestroyed()) {
+            return null;
+        }
+        return strongETagFor(oid.enStringNoVersion(), objectAdapter.getVersion(),
+                authenticationSession.getUserName(), authenticationSession.getRoles(), mediaType);
+    }
+
+    static EntityTag strongETagFor(
+            final String oidStr,
+            final Version version,
+            final String userName,
+            final List<String> roles,
+            final MediaType mediaType) {
+        if(version == null) {
+            return null;
+        }
+        final List<String> sortedRoles = roles != null ? _Lists.newArrayList(roles) : _Lists.<String>newArrayList();
+        Collections.sort(sortedRoles);
+
+        final StringBuilder buf = new StringBuilder();
+        appendLengthPrefixed(buf, oidStr);
+        appendLengthPrefixed(buf, version.enString());
+        appendLengthPrefixed(buf, userName);
+        for (final String role : sortedRoles) {
+            appendLengthPrefixed(buf, role);
+        }
+        final String mediaTypeStr = mediaType != null ? mediaType.toString() : "";
+        return new EntityTag(digest(buf.toString()) + ETAG_PART_SEPARATOR + digest(mediaTypeStr));
+    }
+
+    /**
+     * Whether the two (strong) tags are for the same version of the same object, as seen by the same user,
+     * irrespective of the media type of the representations they were computed for.
+     */
+    public static boolean isSameObjectVersion(final EntityTag eTag, final EntityTag otherETag) {
+        if(eTag == null || otherETag == null || eTag.isWeak() || otherETag.isWeak()) {
+            return false;
+        }
+        final String objectVersionPart = objectVersionPartOf(eTag);
+        return objectVersionPart != null && objectVersionPart.equals(objectVersionPartOf(otherETag));
+    }
+
+    private static final char ETAG_PART_SEPARATOR = '-';
+
+    private static String objectVersionPartOf(final EntityTag eTag) {
+        final String value = eTag.getValue();
+        final int separator = value.indexOf(ETAG_PART_SEPARATOR);
+        return separator > 0 ? value.substring(0, separator) : null;
+    }
+
+    private static void appendLengthPrefixed(final StringBuilder buf, final String str) {
+        // length-prefixed, so that eg ("ab","c") and ("a","bc") are distinguished
+        final String nonNull = str != null ? str : "";
+        buf.append(nonNull.length()).append(':').append(nonNull);
+    }
+
+    private static String digest(final String str) {
+        final MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        final byte[] bytes = messageDigest.digest(str.getBytes(StandardCharsets.UTF_8));
+        final StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (final byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
 }
@@ -29,6 +29,7 @@
 import org.apache.isis.applib.annotation.NatureOfService;
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.interactions.VisibilityMemo;
 import org.apache.isis.viewer.restfulobjects.rendering.domainobjects.ActionResultReprRenderer.SelfLink;
 import org.apache.isis.viewer.restfulobjects.rendering.domainobjects.MemberReprMode;
 import org.apache.isis.viewer.restfulobjects.rendering.domainobjects.ObjectAndAction;
@@ -187,17 +188,24 @@ void assertContentNegotiationServiceHandled(final ResponseBuilder responseBuilde
      *     {@link ContentNegotiationServiceForRestfulObjectsV1_0}.
      * </p>
      *
+     * <p>
+     *     The representation is rendered with the visibility of members {@link VisibilityMemo memoised}, each being
+     *     evaluated for each object at most once.
+     * </p>
+     *
      * @param connegServiceBuildResponse - the function to ask of the {@link ContentNegotiationService}.
      */
     ResponseBuilder buildResponse(
             final Function<ContentNegotiationService, ResponseBuilder> connegServiceBuildResponse) {
-        for (final ContentNegotiationService contentNegotiationService : contentNegotiationServices) {
-            final ResponseBuilder responseBuilder = connegServiceBuildResponse.apply(contentNegotiationService);
-            if(responseBuilder != null) {
-                return responseBuilder;
+        return VisibilityMemo.memoizing(() -> {
+            for (final ContentNegotiationService contentNegotiationService : contentNegotiationServices) {
+                final ResponseBuilder responseBuilder = connegServiceBuildResponse.apply(contentNegotiationService);
+                if(responseBuilder != null) {
+                    return responseBuilder;
+                }
             }
-        }
-        return null;
+            return null;
+        });
     }
 
     /**
@@ -20,25 +20,60 @@
 
 import java.io.IOException;
 
+import javax.ws.rs.core.StreamingOutput;
+
 import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
 import org.apache.isis.core.runtime.system.context.IsisContext;
 import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
+import org.apache.isis.viewer.restfulobjects.applib.JsonRepresentation;
 import org.apache.isis.viewer.restfulobjects.applib.util.JsonMapper;
 
 public final class JsonWriterUtil {
 
     private JsonWriterUtil(){}
 
+    /**
+     * The (already rendered) representation, {@link #streamingJsonFor(Object) written directly} to the response.
+     *
+     * <p>
+     *     Note that the representation itself is still built in its entirety (as a tree of {@link JsonRepresentation}s)
+     *     before any of it is written; this only avoids also serializing that tree to an intermediate {@link String}.
+     * </p>
+     */
+    public static Object entityFor(final JsonRepresentation representation) {
+        return streamingJsonFor(representation);
+    }
+
     public static String jsonFor(final Object object) {
-        final DeploymentCategory deploymentCategory = getIsisSessionFactory().getDeploymentCategory();
-        final JsonMapper.PrettyPrinting prettyPrinting = inferPrettyPrinting(deploymentCategory);
         try {
-            return JsonMapper.instance(prettyPrinting).write(object);
+            return jsonMapper().write(object);
         } catch (final IOException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Writes the JSON directly to the response stream, avoiding an intermediate {@link String} copy of the entire
+     * payload.
+     *
+     * <p>
+     *     The object is written only after the request has been processed (by which time the
+     *     {@link org.apache.isis.core.runtime.system.session.IsisSession} will have been closed), so must not
+     *     depend upon any domain objects.  This is the case for {@link JsonRepresentation}s, which have been
+     *     fully rendered by then.
+     * </p>
+     */
+    public static StreamingOutput streamingJsonFor(final Object object) {
+        final JsonMapper jsonMapper = jsonMapper();
+        return outputStream -> jsonMapper.write(outputStream, object);
+    }
+
+    private static JsonMapper jsonMapper() {
+        final DeploymentCategory deploymentCategory = getIsisSessionFactory().getDeploymentCategory();
+        final JsonMapper.PrettyPrinting prettyPrinting = inferPrettyPrinting(deploymentCategory);
+        return JsonMapper.instance(prettyPrinting);
+    }
+
     static IsisSessionFactory getIsisSessionFactory() {
         return IsisContext.getSessionFactory();
     }
@@ -0,0 +1,89 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.restfulobjects.rendering;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.MediaType;
+
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.version.Version;
+import org.apache.isis.viewer.restfulobjects.applib.RepresentationType;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class ResponsesTest_strongETagFor {
+
+    private final Version version1 = Version.create(1L, "sven", new Date(1000L));
+    private final Version version2 = Version.create(2L, "sven", new Date(2000L));
+
+    private final MediaType objectMediaType = RepresentationType.DOMAIN_OBJECT.getMediaType();
+    private final MediaType propertyMediaType = RepresentationType.OBJECT_PROPERTY.getMediaType();
+
+    @Test
+    public void strong_and_stable() throws Exception {
+        final EntityTag eTag = Responses.strongETagFor("CUS:1", version1, "dick", Arrays.asList("user", "admin"), objectMediaType);
+
+        assertThat(eTag.isWeak(), is(false));
+        assertThat(eTag, is(Responses.strongETagFor("CUS:1", version1, "dick", Arrays.asList("user", "admin"), objectMediaType)));
+    }
+
+    @Test
+    public void order_of_roles_is_ignored() throws Exception {
+        assertThat(
+                Responses.strongETagFor("CUS:1", version1, "dick", Arrays.asList("user", "admin"), objectMediaType),
+                is(Responses.strongETagFor("CUS:1", version1, "dick", Arrays.asList("admin", "user"), objectMediaType)));
+    }
+
+    @Test
+    public void differs_by_oid_version_user_roles_and_media_type() throws Exception {
+        final EntityTag eTag = Responses.strongETagFor("CUS:1", version1, "dick", Collections.singletonList("user"), objectMediaType);
+
+        assertThat(eTag, is(not(Responses.strongETagFor("CUS:2", version1, "dick", Collections.singletonList("user"), objectMediaType))));
+        assertThat(eTag, is(not(Responses.strongETagFor("CUS:1", version2, "dick", Collections.singletonList("user"), objectMediaType))));
+        assertThat(eTag, is(not(Responses.strongETagFor("CUS:1", version1, "joe", Collections.singletonList("user"), objectMediaType))));
+        assertThat(eTag, is(not(Responses.strongETagFor("CUS:1", version1, "dick", Arrays.asList("user", "admin"), objectMediaType))));
+        assertThat(eTag, is(not(Responses.strongETagFor("CUS:1", version1, "dick", Collections.singletonList("user"), propertyMediaType))));
+    }
+
+    @Test
+    public void same_object_version_irrespective_of_media_type() throws Exception {
+        final EntityTag objectETag = Responses.strongETagFor("CUS:1", version1, "dick", Collections.singletonList("user"), objectMediaType);
+        final EntityTag propertyETag = Responses.strongETagFor("CUS:1", version1, "dick", Collections.singletonList("user"), propertyMediaType);
+        final EntityTag laterETag = Responses.strongETagFor("CUS:1", version2, "dick", Collections.singletonList("user"), objectMediaType);
+
+        assertThat(Responses.isSameObjectVersion(objectETag, propertyETag), is(true));
+        assertThat(Responses.isSameObjectVersion(objectETag, laterETag), is(false));
+        assertThat(Responses.isSameObjectVersion(objectETag, new EntityTag(objectETag.getValue(), true)), is(false));
+        assertThat(Responses.isSameObjectVersion(objectETag, new EntityTag("20180101T000000.000Z", true)), is(false));
+    }
+
+    @Test
+    public void none_if_not_versioned() throws Exception {
+        assertThat(Responses.strongETagFor("CUS:1", null, "dick", Collections.singletonList("user"), objectMediaType), is(nullValue()));
+    }
+
+}
@@ -18,6 +18,17 @@
  */
 package org.apache.isis.viewer.restfulobjects.server.authentication;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -28,22 +39,55 @@
 import org.apache.commons.codec.binary.Base64;
 
 import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.commons.authentication.AuthenticationSessionAbstract;
+import org.apache.isis.core.commons.config.IsisConfiguration;
 import org.apache.isis.core.runtime.authentication.AuthenticationManager;
 import org.apache.isis.core.runtime.authentication.AuthenticationRequestPassword;
+import org.apache.isis.core.runtime.authentication.standard.SimpleSession;
 import org.apache.isis.core.runtime.system.context.IsisContext;
 import org.apache.isis.core.webapp.auth.AuthenticationSessionStrategyAbstract;
 
 /**
  * Implements the HTTP Basic Auth protocol; does not bind the
  * {@link AuthenticationSession} onto the {@link HttpSession}.
+ *
+ * <p>
+ * By default every request is authenticated.  If <tt>ttlSeconds</tt> is configured, then rather than authenticating
+ * every request, caches (for <tt>ttlSeconds</tt>, up to <tt>maxSize</tt> entries) the
+ * verified identity (user name, roles, validation code and attributes as authenticated) against a salted digest of
+ * the credentials (never the password itself).  Each subsequent request with the same credentials is given a new
+ * {@link AuthenticationSession} for that identity (sessions hold per-request state, eg messages, so are never shared),
+ * for as long as the {@link AuthenticationManager} is able to
+ * {@link AuthenticationManager#resumeSession(AuthenticationSession) resume} it.  This trades security for throughput:
+ * a changed or revoked password (or changed roles) takes effect only once the cached entry has expired, which is why
+ * the cache is disabled by default.
  */
 public class AuthenticationSessionStrategyBasicAuth extends AuthenticationSessionStrategyAbstract {
 
     public static final String HEADER_AUTHORIZATION = "Authorization";
     public static final String BASIC_AUTH_PREFIX = "Basic ";
 
+    public static final String KEY_CACHE_MAX_SIZE = "isis.viewer.restfulobjects.authentication.basicAuth.cache.maxSize";
+    public static final int CACHE_MAX_SIZE_DEFAULT = 1000;
+
+    /**
+     * 0 (the default) disables the cache; otherwise, the time for which changed or revoked credentials are still
+     * accepted.
+     */
+    public static final String KEY_CACHE_TTL_SECONDS = "isis.viewer.restfulobjects.authentication.basicAuth.cache.ttlSeconds";
+    public static final int CACHE_TTL_SECONDS_DEFAULT = 0;
+
     private static Pattern USER_AND_PASSWORD_REGEX = Pattern.compile("^(.+):(.+)$");
 
+    private final byte[] salt = newSalt();
+    private final Map<String, VerifiedIdentity> identityByCredentialsDigest = new ConcurrentHashMap<>();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    private volatile boolean configured;
+    private int cacheMaxSize;
+    private long cacheTtlMillis;
+
     @Override
     public AuthenticationSession lookupValid(final HttpServletRequest httpServletRequest, final HttpServletResponse httpServletResponse) {
 
@@ -61,12 +105,146 @@ public AuthenticationSession lookupValid(final HttpServletRequest httpServletReq
         final String user = matcher.group(1);
         final String password = matcher.group(2);
 
+        final AuthenticationManager authenticationManager = authenticationManagerFrom(httpServletRequest);
+        final String credentialsDigest = isCaching(httpServletRequest) ? digestOf(user, password) : null;
+        if (credentialsDigest != null) {
+            final AuthenticationSession cachedSession = lookupCached(credentialsDigest, user, authenticationManager);
+            if (cachedSession != null) {
+                return cachedSession;
+            }
+        }
+
         final AuthenticationRequestPassword request = new AuthenticationRequestPassword(user, password);
-        final AuthenticationSession authSession =
-                authenticationManagerFrom(httpServletRequest).authenticate(request);
+        final AuthenticationSession authSession = authenticationManager.authenticate(request);
+        if (authSession != null && credentialsDigest != null) {
+            cache(credentialsDigest, authSession);
+        }
         return authSession;
     }
 
+    // -- cache
+
+    private boolean isCaching(final HttpServletRequest httpServletRequest) {
+        if (!configured) {
+            final IsisConfiguration configuration = isisSessionFactoryFrom(httpServletRequest).getConfiguration();
+            cacheMaxSize = configuration.getInteger(KEY_CACHE_MAX_SIZE, CACHE_MAX_SIZE_DEFAULT);
+            cacheTtlMillis = TimeUnit.SECONDS.toMillis(
+                    configuration.getInteger(KEY_CACHE_TTL_SECONDS, CACHE_TTL_SECONDS_DEFAULT));
+            configured = true;
+        }
+        return cacheMaxSize > 0 && cacheTtlMillis > 0;
+    }
+
+    private AuthenticationSession lookupCached(
+            final String credentialsDigest,
+            final String user,
+            final AuthenticationManager authenticationManager) {
+        final VerifiedIdentity cached = identityByCredentialsDigest.get(credentialsDigest);
+        if (cached == null) {
+            cacheMisses.increment();
+            return null;
+        }
+        final AuthenticationSession session = cached.isExpired(System.currentTimeMillis()) ||
+                !cached.userName.equals(user)
+                ? null
+                : cached.newSession();
+        if (session == null || !authenticationManager.resumeSession(session)) {
+            identityByCredentialsDigest.remove(credentialsDigest, cached);
+            cacheMisses.increment();
+            return null;
+        }
+        cacheHits.increment();
+        return session;
+    }
+
+    /**
+     * Once full, expired entries are purged; if still full (of live entries), then the identity is simply not cached.
+     *
+     * <p>
+     * Must be called before the session is handed to the request, so that only the attributes set during
+     * authentication are captured.
+     */
+    private void cache(final String credentialsDigest, final AuthenticationSession authSession) {
+        if (!(authSession instanceof AuthenticationSessionAbstract)) {
+            // no means to copy its attributes
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        if (identityByCredentialsDigest.size() >= cacheMaxSize) {
+            identityByCredentialsDigest.values().removeIf(cached -> cached.isExpired(now));
+            if (identityByCredentialsDigest.size() >= cacheMaxSize) {
+                return;
+            }
+        }
+        identityByCredentialsDigest.put(credentialsDigest,
+                new VerifiedIdentity((AuthenticationSessionAbstract) authSession, now + cacheTtlMillis));
+    }
+
+    private String digestOf(final String user, final String password) {
+        final MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        messageDigest.update(salt);
+        messageDigest.update(user.getBytes(StandardCharsets.UTF_8));
+        messageDigest.update((byte) 0);
+        messageDigest.update(password.getBytes(StandardCharsets.UTF_8));
+        return Base64.encodeBase64String(messageDigest.digest());
+    }
+
+    private static byte[] newSalt() {
+        final byte[] salt = new byte[16];
+        new SecureRandom().nextBytes(salt);
+        return salt;
+    }
+
+    /**
+     * Number of requests whose credentials matched a cached (and still valid) identity.
+     */
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    /**
+     * Number of requests that had to be authenticated, caching being enabled.
+     */
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    /**
+     * Immutable; never handed to a request itself.
+     */
+    private static class VerifiedIdentity {
+        private final String userName;
+        private final List<String> roles;
+        private final String validationCode;
+        private final Map<String, Object> attributes;
+        private final long expiresAt;
+
+        VerifiedIdentity(final AuthenticationSessionAbstract session, final long expiresAt) {
+            this.userName = session.getUserName();
+            this.roles = Collections.unmodifiableList(new ArrayList<>(session.getRoles()));
+            this.validationCode = session.getValidationCode();
+            this.attributes = session.copyOfAttributes();
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(final long now) {
+            return now >= expiresAt;
+        }
+
+        AuthenticationSession newSession() {
+            final SimpleSession session = new SimpleSession(userName, roles, validationCode);
+            for (final Map.Entry<String, Object> entry : attributes.entrySet()) {
+                session.setAttribute(entry.getKey(), entry.getValue());
+            }
+            return session;
+        }
+    }
+
     // value should be in the form:
     // Basic QWxhZGRpbjpvcGVuIHNlc2FtZQ==
     String getBasicAuthDigest(final HttpServletRequest httpServletRequest) {
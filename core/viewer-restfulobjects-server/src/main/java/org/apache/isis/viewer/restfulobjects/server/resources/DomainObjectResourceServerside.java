@@ -135,7 +135,13 @@ public Response object(@PathParam("domainType") String domainType, @PathParam("i
 
         final ObjectAdapter objectAdapter = getObjectAdapterElseThrowNotFound(domainType, instanceId);
 
-        return newDomainResourceHelper(objectAdapter).objectRepresentation();
+        final Response notModified = evaluateIfNoneMatch(objectAdapter);
+        if(notModified != null) {
+            return notModified;
+        }
+
+        final Response response = newDomainResourceHelper(objectAdapter).objectRepresentation();
+        return withETag(response, objectAdapter);
     }
 
 
@@ -159,6 +165,12 @@ public Response object(@PathParam("domainType") String domainType, @PathParam("i
         }
 
         final ObjectAdapter objectAdapter = getObjectAdapterElseThrowNotFound(domainType, instanceId);
+
+        final Response preconditionFailed = evaluateIfMatch(objectAdapter);
+        if(preconditionFailed != null) {
+            return preconditionFailed;
+        }
+
         final ObjectAdapterUpdateHelper updateHelper = new ObjectAdapterUpdateHelper(getResourceContext(), objectAdapter);
 
         if (!updateHelper.copyOverProperties(argRepr, ObjectAdapterUpdateHelper.Intent.UPDATE_EXISTING)) {
@@ -170,7 +182,8 @@ public Response object(@PathParam("domainType") String domainType, @PathParam("i
             throw RestfulObjectsApplicationException.createWithBody(HttpStatusCode.BAD_REQUEST, argRepr, validity.getReason());
         }
 
-        return newDomainResourceHelper(objectAdapter).objectRepresentation();
+        final Response response = newDomainResourceHelper(objectAdapter).objectRepresentation();
+        return withETag(response, objectAdapter);
     }
 
     @Override
@@ -323,6 +336,10 @@ public Response modifyProperty(@PathParam("domainType") String domainType, @Path
         setCommandExecutor(Command.Executor.USER);
 
         final ObjectAdapter objectAdapter = getObjectAdapterElseThrowNotFound(domainType, instanceId);
+        final Response preconditionFailed = evaluateIfMatch(objectAdapter);
+        if(preconditionFailed != null) {
+            return preconditionFailed;
+        }
         final DomainResourceHelper helper = newDomainResourceHelper(objectAdapter);
         final ObjectAdapterAccessHelper accessHelper = new ObjectAdapterAccessHelper(getResourceContext(), objectAdapter);
 
@@ -342,10 +359,11 @@ public Response modifyProperty(@PathParam("domainType") String domainType, @Path
 
         property.set(objectAdapter, argAdapter, InteractionInitiatedBy.USER);
 
-        return helper.propertyDetails(
+        final Response response = helper.propertyDetails(
                 propertyId,
                 MemberReprMode.WRITE
         );
+        return withETag(response, objectAdapter);
     }
 
     @Override
@@ -362,6 +380,10 @@ public Response clearProperty(@PathParam("domainType") String domainType, @PathP
         setCommandExecutor(Command.Executor.USER);
 
         final ObjectAdapter objectAdapter = getObjectAdapterElseThrowNotFound(domainType, instanceId);
+        final Response preconditionFailed = evaluateIfMatch(objectAdapter);
+        if(preconditionFailed != null) {
+            return preconditionFailed;
+        }
         final DomainResourceHelper helper = newDomainResourceHelper(objectAdapter);
         final ObjectAdapterAccessHelper accessHelper = new ObjectAdapterAccessHelper(getResourceContext(), objectAdapter);
 
@@ -375,10 +397,11 @@ public Response clearProperty(@PathParam("domainType") String domainType, @PathP
 
         property.set(objectAdapter, null, InteractionInitiatedBy.USER);
 
-        return helper.propertyDetails(
+        final Response response = helper.propertyDetails(
                 propertyId,
                 MemberReprMode.WRITE
         );
+        return withETag(response, objectAdapter);
     }
 
     @Override
@@ -419,6 +442,10 @@ public Response addToSet(@PathParam("domainType") String domainType, @PathParam(
         init(Where.PARENTED_TABLES, RepresentationService.Intent.NOT_APPLICABLE);
 
         final ObjectAdapter objectAdapter = getObjectAdapterElseThrowNotFound(domainType, instanceId);
+        final Response preconditionFailed = evaluateIfMatch(objectAdapter);
+        if(preconditionFailed != null) {
+            return preconditionFailed;
+        }
         final DomainResourceHelper helper = newDomainResourceHelper(objectAdapter);
         final ObjectAdapterAccessHelper accessHelper = new ObjectAdapterAccessHelper(getResourceContext(), objectAdapter);
 
@@ -456,6 +483,10 @@ public Response addToList(@PathParam("domainType") String domainType, @PathParam
         init(Where.PARENTED_TABLES, RepresentationService.Intent.NOT_APPLICABLE);
 
         final ObjectAdapter objectAdapter = getObjectAdapterElseThrowNotFound(domainType, instanceId);
+        final Response preconditionFailed = evaluateIfMatch(objectAdapter);
+        if(preconditionFailed != null) {
+            return preconditionFailed;
+        }
         final DomainResourceHelper helper = newDomainResourceHelper(objectAdapter);
         final ObjectAdapterAccessHelper accessHelper = new ObjectAdapterAccessHelper(getResourceContext(), objectAdapter);
 
@@ -493,6 +524,10 @@ public Response removeFromCollection(@PathParam("domainType") String domainType,
         init(Where.PARENTED_TABLES, RepresentationService.Intent.NOT_APPLICABLE);
 
         final ObjectAdapter objectAdapter = getObjectAdapterElseThrowNotFound(domainType, instanceId);
+        final Response preconditionFailed = evaluateIfMatch(objectAdapter);
+        if(preconditionFailed != null) {
+            return preconditionFailed;
+        }
         final DomainResourceHelper helper = newDomainResourceHelper(objectAdapter);
         final ObjectAdapterAccessHelper accessHelper = new ObjectAdapterAccessHelper(getResourceContext(), objectAdapter);
 
@@ -605,9 +640,14 @@ public Response invokeActionIdempotent(
         final JsonRepresentation arguments = getResourceContext().getQueryStringAsJsonRepr();
         
         final ObjectAdapter objectAdapter = getObjectAdapterElseThrowNotFound(domainType, instanceId);
+        final Response preconditionFailed = evaluateIfMatch(objectAdapter);
+        if(preconditionFailed != null) {
+            return preconditionFailed;
+        }
         final DomainResourceHelper helper = newDomainResourceHelper(objectAdapter);
 
-        return helper.invokeActionIdempotent(actionId, arguments);
+        final Response response = helper.invokeActionIdempotent(actionId, arguments);
+        return withETag(response, objectAdapter);
     }
 
     @Override
@@ -632,9 +672,14 @@ public Response invokeAction(
         final JsonRepresentation arguments = getResourceContext().getQueryStringAsJsonRepr();
         
         final ObjectAdapter objectAdapter = getObjectAdapterElseThrowNotFound(domainType, instanceId);
+        final Response preconditionFailed = evaluateIfMatch(objectAdapter);
+        if(preconditionFailed != null) {
+            return preconditionFailed;
+        }
         final DomainResourceHelper helper = newDomainResourceHelper(objectAdapter);
 
-        return helper.invokeAction(actionId, arguments);
+        final Response response = helper.invokeAction(actionId, arguments);
+        return withETag(response, objectAdapter);
     }
 
     @Override
@@ -24,8 +24,11 @@
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
 import javax.ws.rs.core.UriInfo;
 import javax.ws.rs.ext.Providers;
@@ -48,6 +51,7 @@
 import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
 import org.apache.isis.viewer.restfulobjects.applib.RepresentationType;
 import org.apache.isis.viewer.restfulobjects.applib.client.RestfulResponse.HttpStatusCode;
+import org.apache.isis.viewer.restfulobjects.rendering.Responses;
 import org.apache.isis.viewer.restfulobjects.rendering.RestfulObjectsApplicationException;
 import org.apache.isis.viewer.restfulobjects.rendering.service.RepresentationService;
 import org.apache.isis.viewer.restfulobjects.rendering.util.Util;
@@ -165,6 +169,122 @@ protected ObjectAdapter getServiceAdapter(final String serviceId) {
     }
 
 
+    // //////////////////////////////////////////////////////////////
+    // Conditional requests
+    // //////////////////////////////////////////////////////////////
+
+    static final String KEY_CONDITIONAL_REQUESTS = "isis.viewer.restfulobjects.conditionalRequests";
+    private static final boolean CONDITIONAL_REQUESTS_DEFAULT = false;
+
+    private boolean isConditionalRequestsEnabled() {
+        return getConfiguration().getBoolean(KEY_CONDITIONAL_REQUESTS, CONDITIONAL_REQUESTS_DEFAULT);
+    }
+
+    /**
+     * Evaluates any <tt>If-Match</tt> header of the request against the {@link Responses#strongETagFor(ObjectAdapter,
+     * AuthenticationSession, MediaType) tag} of the object, ignoring the media type of the representation that the
+     * tag was obtained from.
+     *
+     * @return a <tt>412 Precondition Failed</tt> response if the request should not be processed any further, or
+     * <tt>null</tt> otherwise (including if conditional requests are not enabled or the object is not versioned).
+     */
+    protected Response evaluateIfMatch(final ObjectAdapter objectAdapter) {
+        if(!isConditionalRequestsEnabled()) {
+            return null;
+        }
+        final List<String> ifMatchHeaders = getResourceContext().getHttpHeaders().getRequestHeader(HttpHeaders.IF_MATCH);
+        if(ifMatchHeaders == null || ifMatchHeaders.isEmpty()) {
+            return null;
+        }
+        final EntityTag eTag = Responses.strongETagFor(objectAdapter, getAuthenticationSession(), null);
+        if(eTag == null) {
+            return null;
+        }
+        return matchingETag(ifMatchHeaders, eTag) != null
+                ? null
+                : Response.status(Response.Status.PRECONDITION_FAILED).build();
+    }
+
+    /**
+     * Evaluates any <tt>If-None-Match</tt> header of the request against the {@link Responses#strongETagFor(ObjectAdapter,
+     * AuthenticationSession, MediaType) tag} of the object, <i>before</i> the object is rendered.
+     *
+     * <p>
+     *     Because the representation has not yet been rendered, its media type is not known, so (as for
+     *     {@link #evaluateIfMatch(ObjectAdapter)}) only the object-version part of the tags is compared.  The
+     *     <tt>304 Not Modified</tt> response carries the client's own tag; a client that switches to a different
+     *     representation of the object should therefore not send the tag of the representation it already holds.
+     * </p>
+     *
+     * @return a <tt>304 Not Modified</tt> response if the client already holds the current version of the object,
+     * or <tt>null</tt> if the object should be rendered (including if conditional requests are not enabled or the
+     * object is not versioned).
+     */
+    protected Response evaluateIfNoneMatch(final ObjectAdapter objectAdapter) {
+        if(!isConditionalRequestsEnabled()) {
+            return null;
+        }
+        final List<String> ifNoneMatchHeaders = getResourceContext().getHttpHeaders().getRequestHeader(HttpHeaders.IF_NONE_MATCH);
+        if(ifNoneMatchHeaders == null || ifNoneMatchHeaders.isEmpty()) {
+            return null;
+        }
+        final EntityTag eTag = Responses.strongETagFor(objectAdapter, getAuthenticationSession(), null);
+        if(eTag == null) {
+            return null;
+        }
+        final EntityTag matchingETag = matchingETag(ifNoneMatchHeaders, eTag);
+        if(matchingETag == null) {
+            return null;
+        }
+        final Response.ResponseBuilder notModified = Response.notModified();
+        return matchingETag != ANY_ETAG
+                ? Responses.addStrongETag(notModified, matchingETag).build()
+                : notModified.build();
+    }
+
+    private static final EntityTag ANY_ETAG = new EntityTag("*");
+
+    /**
+     * @return the first of the tags in the (comma-separated) headers that is for the same object version as the
+     * provided tag, or {@link #ANY_ETAG} for <tt>*</tt>, or <tt>null</tt> if none matches.
+     */
+    private static EntityTag matchingETag(final List<String> headers, final EntityTag eTag) {
+        for (final String header : headers) {
+            for (final String candidate : header.split(",")) {
+                final String trimmed = candidate.trim();
+                if("*".equals(trimmed)) {
+                    return ANY_ETAG;
+                }
+                try {
+                    final EntityTag candidateETag = EntityTag.valueOf(trimmed);
+                    if(Responses.isSameObjectVersion(candidateETag, eTag)) {
+                        return candidateETag;
+                    }
+                } catch(IllegalArgumentException ex) {
+                    // not a valid tag, so cannot match
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds the {@link Responses#strongETagFor(ObjectAdapter, AuthenticationSession, MediaType) tag} of the object's
+     * current version, for the representation in the response (if conditional requests are enabled and the object
+     * is versioned).
+     */
+    protected Response withETag(final Response response, final ObjectAdapter objectAdapter) {
+        if(!isConditionalRequestsEnabled()) {
+            return response;
+        }
+        final EntityTag eTag = Responses.strongETagFor(objectAdapter, getAuthenticationSession(), response.getMediaType());
+        if(eTag == null) {
+            return response;
+        }
+        return Responses.addStrongETag(Response.fromResponse(response), eTag).build();
+    }
+
+
     // //////////////////////////////////////////////////////////////
     // Dependencies (from singletons)
     // //////////////////////////////////////////////////////////////
@@ -438,12 +438,22 @@ protected void init() {
             LOG.info("storeSettings.maxSizePerSession        : {}", getStoreSettings().getMaxSizePerSession());
             LOG.info("storeSettings.fileStoreFolder          : {}", getStoreSettings().getFileStoreFolder());
 
+            final List<Future<Object>> backgroundInitialization = futures;
+            futures = null; // so that a failure here is not joined (and reported) twice
+            ThreadPoolSupport.join(backgroundInitialization);
+
         } catch(RuntimeException ex) {
+            if(futures != null) {
+                // still wait for the background initialization, but without masking the original failure
+                try {
+                    ThreadPoolSupport.join(futures);
+                } catch(RuntimeException backgroundFailure) {
+                    ex.addSuppressed(backgroundFailure);
+                }
+            }
             // because Wicket's handling in its WicketFilter (that calls this method) does not log the exception.
             LOG.error("Failed to initialize", ex);
             throw ex;
-        } finally {
-            ThreadPoolSupport.join(futures);
         }
     }
 
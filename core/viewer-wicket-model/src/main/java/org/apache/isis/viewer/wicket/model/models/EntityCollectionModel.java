@@ -20,7 +20,6 @@
 package org.apache.isis.viewer.wicket.model.models;
 
 import java.io.Serializable;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -70,6 +69,7 @@ public class EntityCollectionModel extends ModelAbstract<List<ObjectAdapter>> im
     private static final long serialVersionUID = 1L;
 
     private static final String KEY_BULK_LOAD = "isis.persistor.datanucleus.standaloneCollection.bulkLoad";
+    private static final boolean BULK_LOAD_DEFAULT = false;
 
     private static final int PAGE_SIZE_DEFAULT_FOR_PARENTED = 12;
     private static final int PAGE_SIZE_DEFAULT_FOR_STANDALONE = 25;
@@ -84,42 +84,12 @@ public enum Type {
         STANDALONE {
             @Override
             List<ObjectAdapter> load(final EntityCollectionModel entityCollectionModel) {
-
-                final boolean bulkLoad = entityCollectionModel.getPersistenceSession().getConfiguration()
-                        .getBoolean(KEY_BULK_LOAD, false);
-                final Iterable<ObjectAdapter> values = bulkLoad
-                                ? loadInBulk(entityCollectionModel)
-                                : loadOneByOne(entityCollectionModel);
-                return Lists.newArrayList(values);
-            }
-
-            private Iterable<ObjectAdapter> loadInBulk(final EntityCollectionModel model) {
-                final List<ObjectAdapterMemento> mementoList = model.mementoList;
-
-                final PersistenceSession persistenceSession = model.getPersistenceSession();
-
-                final List<RootOid> rootOids = FluentIterable.from(mementoList)
-                        .transform(ObjectAdapterMemento.Functions.toOid()).toList();
-
-                final Map<RootOid, ObjectAdapter> adaptersByOid = persistenceSession.adaptersFor(rootOids);
-                final Collection<ObjectAdapter> adapterList = adaptersByOid.values();
-                return FluentIterable.from(adapterList)
-                        .filter(Predicates.<ObjectAdapter>notNull());
-            }
-
-            private Iterable<ObjectAdapter> loadOneByOne(final EntityCollectionModel model) {
-                final List<ObjectAdapterMemento> mementoList = model.mementoList;
-                return FluentIterable.from(mementoList)
-                            .transform(
-                                ObjectAdapterMemento.Functions.fromMemento(
-                                        ConcurrencyChecking.NO_CHECK,
-                                        model.getPersistenceSession(),
-                                        model.getSpecificationLoader()))
-                            .filter(Predicates.notNull());
+                return entityCollectionModel.loadAdapters(entityCollectionModel.mementoList);
             }
 
             @Override
             void setObject(final EntityCollectionModel entityCollectionModel, final List<ObjectAdapter> list) {
+                entityCollectionModel.clearSortedMementoList();
                 entityCollectionModel.mementoList = Lists.newArrayList(
                         Iterables.filter(
                                 Iterables.transform(list, ObjectAdapterMemento.Functions.toMemento()),
@@ -332,6 +302,14 @@ public Type getType() {
      */
     private List<ObjectAdapterMemento> toggledMementosList;
 
+    /**
+     * Optionally populated only if {@link Type#STANDALONE}.
+     *
+     * @see #getSortedMementoList(String)
+     */
+    private String sortedMementoListKey;
+    private List<ObjectAdapterMemento> sortedMementoList;
+
     /**
      * Populated only if {@link Type#PARENTED}.
      */
@@ -452,6 +430,82 @@ protected List<ObjectAdapter> load() {
         return type.load(this);
     }
 
+    /**
+     * Loads the adapters for the mementos (in bulk if so configured), in the same order, skipping any that can no
+     * longer be loaded.
+     */
+    public List<ObjectAdapter> loadAdapters(final List<ObjectAdapterMemento> mementoList) {
+        final boolean bulkLoad = getPersistenceSession().getConfiguration()
+                .getBoolean(KEY_BULK_LOAD, BULK_LOAD_DEFAULT);
+        final Iterable<ObjectAdapter> values = bulkLoad
+                        ? loadInBulk(mementoList)
+                        : loadOneByOne(mementoList);
+        return Lists.newArrayList(values);
+    }
+
+    private Iterable<ObjectAdapter> loadInBulk(final List<ObjectAdapterMemento> mementoList) {
+        return loadInBulk(mementoList, getPersistenceSession());
+    }
+
+    /**
+     * The adapters in the same order as the mementos, whatever the order in which the persistence session
+     * happened to map or fetch them.
+     */
+    static List<ObjectAdapter> loadInBulk(
+            final List<ObjectAdapterMemento> mementoList,
+            final PersistenceSession persistenceSession) {
+
+        final List<RootOid> rootOids = FluentIterable.from(mementoList)
+                .transform(ObjectAdapterMemento.Functions.toOid()).toList();
+
+        final Map<RootOid, ObjectAdapter> adaptersByOid = persistenceSession.adaptersFor(rootOids);
+        final List<ObjectAdapter> adapters = Lists.newArrayList();
+        for (final RootOid rootOid : rootOids) {
+            final ObjectAdapter adapter = adaptersByOid.get(rootOid);
+            if(adapter != null) {
+                adapters.add(adapter);
+            }
+        }
+        return adapters;
+    }
+
+    private Iterable<ObjectAdapter> loadOneByOne(final List<ObjectAdapterMemento> mementoList) {
+        return FluentIterable.from(mementoList)
+                    .transform(
+                        ObjectAdapterMemento.Functions.fromMemento(
+                                ConcurrencyChecking.NO_CHECK,
+                                getPersistenceSession(),
+                                getSpecificationLoader()))
+                    .filter(Predicates.notNull());
+    }
+
+    // -- sorted order
+
+    /**
+     * The (visible) mementos of a {@link Type#STANDALONE standalone} collection as last sorted (or, for an unsorted
+     * table, filtered) by the viewer, so that paging through the table need not re-sort (nor even load) every element.
+     *
+     * <p>
+     * Returns <tt>null</tt> if not yet sorted using the specified key, or if the collection has since changed.  Never
+     * populated for {@link Type#PARENTED parented} collections, because their contents may change at any time.
+     */
+    public List<ObjectAdapterMemento> getSortedMementoList(final String sortKey) {
+        return sortKey.equals(this.sortedMementoListKey) ? sortedMementoList : null;
+    }
+
+    public void setSortedMementoList(final String sortKey, final List<ObjectAdapterMemento> sortedMementoList) {
+        if(!isStandalone()) {
+            return;
+        }
+        this.sortedMementoListKey = sortKey;
+        this.sortedMementoList = sortedMementoList;
+    }
+
+    private void clearSortedMementoList() {
+        this.sortedMementoListKey = null;
+        this.sortedMementoList = null;
+    }
+
     public ObjectSpecification getTypeOfSpecification() {
         if (typeOfSpec == null) {
             typeOfSpec = getSpecificationLoader().loadSpecification(typeOf);
@@ -469,6 +523,7 @@ public void setObject(List<ObjectAdapter> list) {
      * Not API, but to refresh the model list.
      */
     public void setObjectList(ObjectAdapter resultAdapter) {
+        clearSortedMementoList();
         final Iterable<Object> pojos = EntityCollectionModel.asIterable(resultAdapter);
         this.mementoList = Lists.newArrayList(
                 Iterables.transform(pojos, ObjectAdapterMemento.Functions.fromPojo(getPersistenceSession())));
@@ -0,0 +1,143 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.model.models;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.viewer.wicket.model.mementos.ObjectAdapterMemento;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class EntityCollectionModelTest_loadInBulk {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    PersistenceSession mockPersistenceSession;
+
+    RootOid oid1, oid2, oid3, oid4;
+    ObjectAdapter adapter1, adapter2, adapter3, adapter4;
+
+    @Before
+    public void setUp() throws Exception {
+        final ObjectSpecId specId = ObjectSpecId.of("CUS");
+        oid1 = RootOid.create(specId, "1");
+        oid2 = RootOid.create(specId, "2");
+        oid3 = RootOid.create(specId, "3");
+        oid4 = RootOid.create(specId, "4");
+
+        adapter1 = context.mock(ObjectAdapter.class, "adapter1");
+        adapter2 = context.mock(ObjectAdapter.class, "adapter2");
+        adapter3 = context.mock(ObjectAdapter.class, "adapter3");
+        adapter4 = context.mock(ObjectAdapter.class, "adapter4");
+    }
+
+    private static List<ObjectAdapterMemento> mementosFor(final RootOid... oids) {
+        final List<ObjectAdapterMemento> mementos = Arrays.asList(new ObjectAdapterMemento[oids.length]);
+        for (int i = 0; i < oids.length; i++) {
+            mementos.set(i, ObjectAdapterMemento.createPersistent(oids[i]));
+        }
+        return mementos;
+    }
+
+    @Test
+    public void in_order_of_mementos_whatever_the_order_returned() throws Exception {
+
+        // given
+        final Map<RootOid, ObjectAdapter> adaptersByOid = new LinkedHashMap<>();
+        adaptersByOid.put(oid3, adapter3);
+        adaptersByOid.put(oid1, adapter1);
+        adaptersByOid.put(oid2, adapter2);
+
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceSession).adaptersFor(Arrays.asList(oid1, oid2, oid3));
+            will(returnValue(adaptersByOid));
+        }});
+
+        // when
+        final List<ObjectAdapter> adapters =
+                EntityCollectionModel.loadInBulk(mementosFor(oid1, oid2, oid3), mockPersistenceSession);
+
+        // then
+        assertThat(adapters, is(Arrays.asList(adapter1, adapter2, adapter3)));
+    }
+
+    @Test
+    public void skips_those_that_could_not_be_loaded() throws Exception {
+
+        // given
+        final Map<RootOid, ObjectAdapter> adaptersByOid = new LinkedHashMap<>();
+        adaptersByOid.put(oid4, adapter4);
+        adaptersByOid.put(oid1, adapter1);
+
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceSession).adaptersFor(Arrays.asList(oid1, oid2, oid4));
+            will(returnValue(adaptersByOid));
+        }});
+
+        // when
+        final List<ObjectAdapter> adapters =
+                EntityCollectionModel.loadInBulk(mementosFor(oid1, oid2, oid4), mockPersistenceSession);
+
+        // then
+        assertThat(adapters, is(Arrays.asList(adapter1, adapter4)));
+    }
+
+    @Test
+    public void page_of_sorted_mementos_mixing_mapped_and_unmapped() throws Exception {
+
+        // given a page of mementos, as sorted by the viewer
+        final List<ObjectAdapterMemento> sortedPage = mementosFor(oid4, oid1, oid3, oid2);
+
+        // and given that oid1 and oid2 are already mapped, and so are returned before those that have to be fetched
+        final Map<RootOid, ObjectAdapter> adaptersByOid = new LinkedHashMap<>();
+        adaptersByOid.put(oid1, adapter1);
+        adaptersByOid.put(oid2, adapter2);
+        adaptersByOid.put(oid3, adapter3);
+        adaptersByOid.put(oid4, adapter4);
+
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceSession).adaptersFor(Arrays.asList(oid4, oid1, oid3, oid2));
+            will(returnValue(adaptersByOid));
+        }});
+
+        // when
+        final List<ObjectAdapter> adapters = EntityCollectionModel.loadInBulk(sortedPage, mockPersistenceSession);
+
+        // then
+        assertThat(adapters, is(Arrays.asList(adapter4, adapter1, adapter3, adapter2)));
+    }
+
+}
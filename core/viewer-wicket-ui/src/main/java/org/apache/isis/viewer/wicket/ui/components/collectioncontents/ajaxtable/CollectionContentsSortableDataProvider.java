@@ -19,13 +19,15 @@
 
 package org.apache.isis.viewer.wicket.ui.components.collectioncontents.ajaxtable;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.Function;
 
 import com.google.common.base.Predicate;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Ordering;
 
 import org.apache.wicket.extensions.ajax.markup.html.repeater.data.table.AjaxFallbackDefaultDataTable;
 import org.apache.wicket.extensions.markup.html.repeater.util.SortParam;
@@ -43,6 +45,7 @@
 import org.apache.isis.core.metamodel.spec.ObjectSpecificationException;
 import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
 import org.apache.isis.viewer.wicket.model.models.EntityCollectionModel;
+import org.apache.isis.viewer.wicket.model.mementos.ObjectAdapterMemento;
 import org.apache.isis.viewer.wicket.model.models.EntityModel;
 
 /**
@@ -63,9 +66,14 @@ public IModel<ObjectAdapter> model(final ObjectAdapter adapter) {
         return new EntityModel(adapter);
     }
 
+    /**
+     * The number of visible adapters (so that the pages are of the expected size, with none left empty at the end).
+     */
     @Override
     public long size() {
-        return model.getObject().size();
+        return model.isStandalone()
+                ? sortedVisibleMementos().size()
+                : visibleAdapters().size();
     }
 
     @Override
@@ -78,45 +86,127 @@ public EntityCollectionModel getEntityCollectionModel() {
         return model;
     }
 
+    /**
+     * Hidden adapters are filtered out before the (sorted) adapters are paged, so every page (other than the last) is
+     * full.  This requires all adapters to be loaded (to check their visibility, and to sort them).
+     *
+     * <p>
+     * For {@link EntityCollectionModel#isStandalone() standalone} collections, the visible mementos in their sorted
+     * order are therefore {@link EntityCollectionModel#setSortedMementoList(String, List) cached} on the model, so that
+     * subsequent pages (using the same sort, or lack of one) only load the adapters of that page, in the cached order
+     * (see {@link EntityCollectionModel#loadAdapters(List)}).
+     */
     @Override
     public Iterator<ObjectAdapter> iterator(final long first, final long count) {
+        if(model.isStandalone()) {
+            return model.loadAdapters(subList(first, count, sortedVisibleMementos())).iterator();
+        }
+        return subList(first, count, sortedVisibleAdapters()).iterator();
+    }
 
-        final List<ObjectAdapter> adapters = model.getObject();
+    private List<ObjectAdapterMemento> sortedVisibleMementos() {
+        final String sortKey = sortKey();
+        final List<ObjectAdapterMemento> cachedMementos = model.getSortedMementoList(sortKey);
+        if(cachedMementos != null) {
+            return cachedMementos;
+        }
+        final List<ObjectAdapterMemento> sortedVisibleMementos = Lists.newArrayList(
+                Iterables.transform(sortedVisibleAdapters(), ObjectAdapterMemento.Functions.toMemento()));
+        model.setSortedMementoList(sortKey, sortedVisibleMementos);
+        return sortedVisibleMementos;
+    }
 
-        final Iterable<ObjectAdapter> visibleAdapters =
-                Iterables.filter(adapters, ignoreHidden());
+    private List<ObjectAdapter> visibleAdapters() {
+        return Lists.newArrayList(Iterables.filter(model.getObject(), ignoreHidden()));
+    }
 
-        // need to create a list from the iterable, then back to an iterable
-        // because guava's Ordering class doesn't support sorting of iterable -> iterable
-        final List<ObjectAdapter> sortedVisibleAdapters = sortedCopy(visibleAdapters, getSort());
-        final List<ObjectAdapter> pagedAdapters = subList(first, count, sortedVisibleAdapters);
-        return pagedAdapters.iterator();
+    private List<ObjectAdapter> sortedVisibleAdapters() {
+        final List<ObjectAdapter> visibleAdapters = visibleAdapters();
+
+        final SortParam<String> sort = getSort();
+        final ObjectAssociation sortProperty = lookupAssociationFor(sort);
+        if(sortProperty == null) {
+            return visibleAdapters;
+        }
+        return sortedCopy(visibleAdapters, sortKeyFunction(sortProperty), sort.isAscending());
     }
 
-    private static List<ObjectAdapter> subList(
+    /**
+     * Identifies the sort (if any) of the {@link EntityCollectionModel#getSortedMementoList(String) cached} mementos.
+     */
+    private String sortKey() {
+        final SortParam<String> sort = getSort();
+        final ObjectAssociation sortProperty = lookupAssociationFor(sort);
+        if(sortProperty == null) {
+            return UNSORTED_KEY;
+        }
+        return sortProperty.getId() + (sort.isAscending() ? ":asc" : ":desc");
+    }
+
+    private static final String UNSORTED_KEY = "";
+
+    private static <T> List<T> subList(
             final long first,
             final long count,
-            final List<ObjectAdapter> objectAdapters) {
+            final List<T> list) {
 
-        final int fromIndex = (int) first;
-        // if adapters where filter out (as invisible), then make sure don't run off the end
-        final int toIndex = Math.min((int) (first + count), objectAdapters.size());
+        // make sure don't run off the end
+        final int fromIndex = (int) Math.min(first, list.size());
+        final int toIndex = (int) Math.min(first + count, list.size());
 
-        return objectAdapters.subList(fromIndex, toIndex);
+        return list.subList(fromIndex, toIndex);
     }
 
-    private List<ObjectAdapter> sortedCopy(
-            final Iterable<ObjectAdapter> adapters,
-            final SortParam<String> sort) {
+    private static Function<ObjectAdapter, Object> sortKeyFunction(final ObjectAssociation sortProperty) {
+        return adapter -> {
+            final ObjectAdapter sortAdapter = sortProperty.get(adapter, InteractionInitiatedBy.FRAMEWORK);
+            return sortAdapter != null ? sortAdapter.getObject() : null;
+        };
+    }
 
-        final ObjectAssociation sortProperty = lookupAssociationFor(sort);
-        if(sortProperty == null) {
-            return Lists.newArrayList(adapters);
+    /**
+     * Sorts the adapters by their sort key, extracting each adapter's key only once (rather than for both sides of
+     * every comparison).
+     *
+     * <p>
+     * Ascending puts <tt>null</tt> keys first, descending puts them last; keys that aren't {@link Comparable} are
+     * treated as equal.  The sort is stable.
+     */
+    static List<ObjectAdapter> sortedCopy(
+            final List<ObjectAdapter> adapters,
+            final Function<ObjectAdapter, Object> sortKeyFunction,
+            final boolean ascending) {
+
+        final int size = adapters.size();
+        final Object[] keys = new Object[size];
+        final Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = sortKeyFunction.apply(adapters.get(i));
+            order[i] = i;
+        }
+
+        final Comparator<Integer> byKey = (i, j) -> compareKeys(keys[i], keys[j]);
+        Arrays.sort(order, ascending ? byKey : byKey.reversed());
+
+        final List<ObjectAdapter> sorted = Lists.newArrayListWithCapacity(size);
+        for (final Integer i : order) {
+            sorted.add(adapters.get(i));
         }
+        return sorted;
+    }
 
-        final Ordering<ObjectAdapter> ordering =
-                orderingBy(sortProperty, sort.isAscending());
-        return ordering.sortedCopy(adapters);
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static int compareKeys(final Object p, final Object q) {
+        if(p == null) {
+            return q == null ? 0 : -1;
+        }
+        if(q == null) {
+            return 1;
+        }
+        if(!(p instanceof Comparable) || !(q instanceof Comparable)) {
+            return 0;
+        }
+        return ((Comparable) p).compareTo(q);
     }
 
     private ObjectAssociation lookupAssociationFor(final SortParam<String> sort) {
@@ -153,43 +243,5 @@ private VisibilityContext<?> createVisibleInteractionContext(final ObjectAdapter
                 Where.ALL_TABLES);
     }
 
-    private static Ordering<ObjectAdapter> orderingBy(final ObjectAssociation sortProperty, final boolean ascending) {
-        final Ordering<ObjectAdapter> ordering = new Ordering<ObjectAdapter>(){
-    
-            @Override
-            public int compare(final ObjectAdapter p, final ObjectAdapter q) {
-                final ObjectAdapter pSort = sortProperty.get(p, InteractionInitiatedBy.FRAMEWORK);
-                final ObjectAdapter qSort = sortProperty.get(q, InteractionInitiatedBy.FRAMEWORK);
-                Ordering<ObjectAdapter> naturalOrdering;
-                if(ascending){
-                    naturalOrdering = ORDERING_BY_NATURAL.nullsFirst();
-                } else {
-                    naturalOrdering = ORDERING_BY_NATURAL.reverse().nullsLast();
-                }
-                return naturalOrdering.compare(pSort, qSort);
-            }
-        };
-        return ordering;
-    }
-
-    private static Ordering<ObjectAdapter> ORDERING_BY_NATURAL = new Ordering<ObjectAdapter>(){
-        @Override
-        public int compare(final ObjectAdapter p, final ObjectAdapter q) {
-            final Object pPojo = p.getObject();
-            final Object qPojo = q.getObject();
-            if(!(pPojo instanceof Comparable) || !(qPojo instanceof Comparable)) {
-                return 0;
-            } 
-            return naturalOrdering(pPojo, qPojo);
-        }
-        @SuppressWarnings("rawtypes")
-        private int naturalOrdering(final Object pPojo, final Object qPojo) {
-            Comparable pComparable = (Comparable) pPojo;
-            Comparable qComparable = (Comparable) qPojo;
-            return Ordering.natural().compare(pComparable, qComparable);
-        }
-    };
-
-
 
 }
\ No newline at end of file
@@ -37,6 +37,7 @@
 import org.apache.wicket.util.lang.Generics;
 
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.interactions.VisibilityMemo;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
 import org.apache.isis.viewer.wicket.model.hints.UiHintContainer;
 import org.apache.isis.viewer.wicket.model.models.EntityModel;
@@ -91,6 +92,30 @@ protected void onConfigure() {
         super.onConfigure();
     }
 
+    /**
+     * Populates (and configures) the rows with the visibility of members {@link VisibilityMemo memoised}, so that
+     * each member is evaluated for each row's object at most once.
+     */
+    @Override
+    protected void onBeforeRender() {
+        VisibilityMemo.memoizing(() -> {
+            super.onBeforeRender();
+            return null;
+        });
+    }
+
+    /**
+     * Renders the rows with the visibility of members {@link VisibilityMemo memoised}, as for
+     * {@link #onBeforeRender()}.
+     */
+    @Override
+    protected void onRender() {
+        VisibilityMemo.memoizing(() -> {
+            super.onRender();
+            return null;
+        });
+    }
+
     @Override
     protected Item<T> newRowItem(final String id, final int index, final IModel<T> model)
     {
@@ -0,0 +1,98 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.ui.components.collectioncontents.ajaxtable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import com.google.common.collect.Maps;
+
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class CollectionContentsSortableDataProviderTest_sortedCopy {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private ObjectAdapter mockAdapterB;
+    @Mock
+    private ObjectAdapter mockAdapterNull;
+    @Mock
+    private ObjectAdapter mockAdapterA;
+    @Mock
+    private ObjectAdapter mockAdapterA2;
+
+    private List<ObjectAdapter> adapters;
+    private AtomicInteger keysExtracted;
+    private Function<ObjectAdapter, Object> sortKeyFunction;
+
+    @Before
+    public void setUp() throws Exception {
+        final Map<ObjectAdapter, Object> keyByAdapter = Maps.newHashMap();
+        keyByAdapter.put(mockAdapterB, "b");
+        keyByAdapter.put(mockAdapterNull, null);
+        keyByAdapter.put(mockAdapterA, "a");
+        keyByAdapter.put(mockAdapterA2, "a");
+
+        adapters = Arrays.asList(mockAdapterB, mockAdapterNull, mockAdapterA, mockAdapterA2);
+        keysExtracted = new AtomicInteger();
+        sortKeyFunction = adapter -> {
+            keysExtracted.incrementAndGet();
+            return keyByAdapter.get(adapter);
+        };
+    }
+
+    @Test
+    public void ascending_nulls_first_and_stable() throws Exception {
+        final List<ObjectAdapter> sorted =
+                CollectionContentsSortableDataProvider.sortedCopy(adapters, sortKeyFunction, true);
+
+        assertThat(sorted, is(Arrays.asList(mockAdapterNull, mockAdapterA, mockAdapterA2, mockAdapterB)));
+    }
+
+    @Test
+    public void descending_nulls_last_and_stable() throws Exception {
+        final List<ObjectAdapter> sorted =
+                CollectionContentsSortableDataProvider.sortedCopy(adapters, sortKeyFunction, false);
+
+        assertThat(sorted, is(Arrays.asList(mockAdapterB, mockAdapterA, mockAdapterA2, mockAdapterNull)));
+    }
+
+    @Test
+    public void extracts_each_key_once() throws Exception {
+        CollectionContentsSortableDataProvider.sortedCopy(adapters, sortKeyFunction, true);
+
+        assertThat(keysExtracted.get(), is(adapters.size()));
+    }
+
+}